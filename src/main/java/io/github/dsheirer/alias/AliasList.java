@@ -51,6 +51,7 @@ import java.util.Collections;
 import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -75,6 +76,7 @@ public class AliasList
     private Map<Integer,Alias> mUserStatusMap = new HashMap<>();
     private Map<ToneSequence,Alias> mToneSequenceMap = new HashMap<>();
     private boolean mHasAliasActions = false;
+    private volatile int mGeneration;
     private String mName;
     private ObservableList<Alias> mAliases = FXCollections.observableArrayList(Alias.extractor());
 
@@ -118,6 +120,69 @@ public class AliasList
         }
     }
 
+    /**
+     * Bulk adds the aliases to this list.  Builds the alias identifier lookup maps in a single pass and adds the
+     * aliases to the observable alias list with a single change notification.
+     * @param aliases to add
+     */
+    public void addAliases(Collection<Alias> aliases)
+    {
+        mAliases.addAll(index(aliases));
+    }
+
+    /**
+     * Adds the aliases to the alias identifier lookup maps in a single pass, without updating the observable alias
+     * list.  This allows alias lists to be indexed in parallel, off of the thread that owns the observable list.
+     * @param aliases to index
+     * @return aliases that are not yet in the observable alias list and should be added to it.
+     */
+    List<Alias> index(Collection<Alias> aliases)
+    {
+        Set<Alias> existing = Collections.newSetFromMap(new IdentityHashMap<>());
+        existing.addAll(mAliases);
+        List<Alias> toAdd = new ArrayList<>();
+
+        for(Alias alias: aliases)
+        {
+            if(alias != null)
+            {
+                for(AliasID aliasID: alias.getAliasIdentifiers())
+                {
+                    addAliasID(aliasID, alias);
+                }
+
+                if(alias.hasActions())
+                {
+                    mHasAliasActions = true;
+                }
+
+                if(existing.add(alias))
+                {
+                    toAdd.add(alias);
+                }
+            }
+        }
+
+        return toAdd;
+    }
+
+    /**
+     * Removes all aliases from this list.
+     */
+    public void clear()
+    {
+        mAliases.clear();
+        mTalkgroupProtocolMap.clear();
+        mRadioProtocolMap.clear();
+        mDCSCodeAliasMap.clear();
+        mESNMap.clear();
+        mUnitStatusMap.clear();
+        mUserStatusMap.clear();
+        mToneSequenceMap.clear();
+        mHasAliasActions = false;
+        mGeneration++;
+    }
+
     /**
      * Adds the alias and alias identifier to the internal type mapping.
      */
@@ -125,6 +190,10 @@ public class AliasList
     {
         if(id.isValid())
         {
+            //Invalidate cached lookups before and after the maps change, so that a lookup that runs concurrently with
+            //the update can't cache a stale result under the final generation
+            mGeneration++;
+
             try
             {
                 switch(id.getType())
@@ -264,6 +333,10 @@ public class AliasList
             {
                 mLog.error("Couldn't add alias ID " + id + " for alias " + alias);
             }
+            finally
+            {
+                mGeneration++;
+            }
         }
     }
 
@@ -275,6 +348,7 @@ public class AliasList
         //Note: because the alias' identifiers could have changed from when we initially added the alias, we have to
         //inspect every collection and map to remove the alias completely.
         mAliases.remove(alias);
+        mGeneration++;
 
         mTalkgroupProtocolMap.values().stream().forEach(talkgroupAliasList -> talkgroupAliasList.remove(alias));
         mRadioProtocolMap.values().stream().forEach(radioAliasList -> radioAliasList.remove(alias));
@@ -284,6 +358,7 @@ public class AliasList
         mUnitStatusMap.values().removeAll(collection);
         mUserStatusMap.values().removeAll(collection);
         mToneSequenceMap.values().removeAll(collection);
+        mGeneration++;
 
         validate();
     }
@@ -366,6 +441,20 @@ public class AliasList
         }
     }
 
+    /**
+     * Caches the alias lookup result on the identifier so that repeat lookups of a shared (interned) identifier
+     * instance don't repeat the map and range searches.
+     * @param identifier that was looked up
+     * @param generation of this alias list at the start of the lookup
+     * @param aliases immutable lookup result
+     * @return aliases
+     */
+    private List<Alias> cache(Identifier identifier, int generation, List<Alias> aliases)
+    {
+        identifier.setLookupCache(new CachedAliases(this, generation, aliases));
+        return aliases;
+    }
+
     /**
      * Returns an optional alias that is associated with the identifier
       * @param identifier to alias
@@ -375,6 +464,14 @@ public class AliasList
     {
         if(identifier != null)
         {
+            //Reuse the cached lookup result when the identifier was last looked up against the current alias list state
+            int generation = mGeneration;
+
+            if(identifier.getLookupCache() instanceof CachedAliases cached && cached.matches(this, generation))
+            {
+                return cached.getAliases();
+            }
+
             switch(identifier.getForm())
             {
                 case TALKGROUP:
@@ -384,7 +481,7 @@ public class AliasList
 
                     if(talkgroupAliasList != null)
                     {
-                        return toList(talkgroupAliasList.getAlias(talkgroup));
+                        return cache(identifier, generation, toList(talkgroupAliasList.getAlias(talkgroup)));
                     }
                     break;
                 case PATCH_GROUP:
@@ -441,7 +538,7 @@ public class AliasList
 
                     if(radioAliasList != null)
                     {
-                        return toList(radioAliasList.getAlias(radio));
+                        return cache(identifier, generation, toList(radioAliasList.getAlias(radio)));
                     }
                     break;
                 case DCS:
@@ -781,4 +878,32 @@ public class AliasList
             mRadioRangeAliasMap.values().removeAll(Collections.singleton(alias));
         }
     }
+
+    /**
+     * Alias lookup result cached on an identifier.  The result is valid while the alias list is unchanged since the
+     * lookup, as indicated by the alias list generation count.
+     */
+    private static class CachedAliases
+    {
+        private final AliasList mAliasList;
+        private final int mGeneration;
+        private final List<Alias> mAliases;
+
+        private CachedAliases(AliasList aliasList, int generation, List<Alias> aliases)
+        {
+            mAliasList = aliasList;
+            mGeneration = generation;
+            mAliases = aliases;
+        }
+
+        private boolean matches(AliasList aliasList, int generation)
+        {
+            return mAliasList == aliasList && mGeneration == generation;
+        }
+
+        private List<Alias> getAliases()
+        {
+            return mAliases;
+        }
+    }
 }
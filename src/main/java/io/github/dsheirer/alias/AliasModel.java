@@ -23,11 +23,16 @@ import io.github.dsheirer.alias.id.AliasIDType;
 import io.github.dsheirer.alias.id.broadcast.BroadcastChannel;
 import io.github.dsheirer.identifier.IdentifierCollection;
 import io.github.dsheirer.identifier.configuration.AliasListConfigurationIdentifier;
+import io.github.dsheirer.util.ThreadPool;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import javafx.collections.FXCollections;
 import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
@@ -46,6 +51,7 @@ public class AliasModel
     private ObservableList<Alias> mAliases = FXCollections.observableArrayList(Alias.extractor());
     private ObservableList<String> mAliasListNames = FXCollections.observableArrayList();
     private Map<String,AliasList> mAliasListMap = new HashMap<>();
+    private boolean mBulkUpdate = false;
 
     public AliasModel()
     {
@@ -76,11 +82,20 @@ public class AliasModel
      */
     public void clear()
     {
-        List<Alias> aliasToRemove = new ArrayList<>(mAliases);
+        mBulkUpdate = true;
 
-        for(Alias alias: aliasToRemove)
+        try
         {
-            removeAlias(alias);
+            mAliases.clear();
+        }
+        finally
+        {
+            mBulkUpdate = false;
+        }
+
+        for(AliasList aliasList: mAliasListMap.values())
+        {
+            aliasList.clear();
         }
 
         mAliasListNames.clear();
@@ -179,12 +194,84 @@ public class AliasModel
     }
 
     /**
-     * Bulk loading of aliases
+     * Bulk loading of aliases.  An alias list is created for each alias list name and the alias lists are built in
+     * parallel, with the lookup indexes for each alias list built in a single pass.  The aliases are then added to the
+     * observable alias list with a single change notification.
      */
     public void addAliases(List<Alias> aliases)
     {
-        removeAliases(aliases);
-        mAliases.addAll(aliases);
+        if(aliases == null || aliases.isEmpty())
+        {
+            return;
+        }
+
+        if(!mAliases.isEmpty())
+        {
+            removeAliases(aliases);
+        }
+
+        //Group the aliases by case-insensitive alias list name, consistent with getAliasList(name)
+        Map<String,List<Alias>> aliasesByList = new HashMap<>();
+        Set<String> listNames = new LinkedHashSet<>();
+
+        for(Alias alias: aliases)
+        {
+            if(alias.hasList())
+            {
+                listNames.add(alias.getAliasListName());
+                aliasesByList.computeIfAbsent(alias.getAliasListName().toLowerCase(), key -> new ArrayList<>())
+                    .add(alias);
+            }
+            else
+            {
+                listNames.add(NO_ALIAS_LIST);
+            }
+        }
+
+        Map<AliasList,Future<List<Alias>>> futures = new HashMap<>();
+
+        for(String listName: listNames)
+        {
+            List<Alias> listAliases = aliasesByList.get(listName.toLowerCase());
+
+            if(!listName.equals(NO_ALIAS_LIST) && listAliases != null)
+            {
+                AliasList aliasList = mAliasListMap.computeIfAbsent(listName, AliasList::new);
+                futures.put(aliasList, ThreadPool.CACHED.submit(() -> aliasList.index(listAliases)));
+            }
+        }
+
+        //Publish the indexed aliases to each alias list's observable list on the calling thread
+        for(Map.Entry<AliasList,Future<List<Alias>>> entry: futures.entrySet())
+        {
+            try
+            {
+                entry.getKey().aliases().addAll(entry.getValue().get());
+            }
+            catch(InterruptedException | ExecutionException e)
+            {
+                mLog.error("Error building alias list [" + entry.getKey().getName() + "]", e);
+            }
+        }
+
+        for(String listName: listNames)
+        {
+            if(!mAliasListNames.contains(listName))
+            {
+                mAliasListNames.add(listName);
+            }
+        }
+
+        mBulkUpdate = true;
+
+        try
+        {
+            mAliases.addAll(aliases);
+        }
+        finally
+        {
+            mBulkUpdate = false;
+        }
     }
 
     /**
@@ -351,6 +438,12 @@ public class AliasModel
         @Override
         public void onChanged(ListChangeListener.Change<? extends Alias> change)
         {
+            //Alias lists are updated directly during bulk updates
+            if(mBulkUpdate)
+            {
+                return;
+            }
+
             while(change.next())
             {
                 if(change.wasAdded())
@@ -371,12 +464,7 @@ public class AliasModel
                     {
                         if(hasAliasList(alias.getAliasListName()))
                         {
-                            AliasList aliasList = getAliasList(alias.getName());
-
-                            if(alias != null)
-                            {
-                                aliasList.removeAlias(alias);
-                            }
+                            getAliasList(alias.getAliasListName()).removeAlias(alias);
                         }
                     }
                 }
@@ -24,6 +24,9 @@ import io.github.dsheirer.identifier.IdentifierUpdateListener;
 import io.github.dsheirer.identifier.IdentifierUpdateNotification;
 import io.github.dsheirer.identifier.MutableIdentifierCollection;
 import io.github.dsheirer.module.Module;
+import io.github.dsheirer.monitor.ILatencyTraced;
+import io.github.dsheirer.monitor.LatencyStage;
+import io.github.dsheirer.monitor.LatencyTrace;
 import io.github.dsheirer.sample.Broadcaster;
 import io.github.dsheirer.sample.Listener;
 import org.slf4j.Logger;
@@ -32,7 +35,8 @@ import org.slf4j.LoggerFactory;
 /**
  * Base audio module implementation.
  */
-public abstract class AbstractAudioModule extends Module implements IAudioSegmentProvider, IdentifierUpdateListener
+public abstract class AbstractAudioModule extends Module implements IAudioSegmentProvider, IdentifierUpdateListener,
+    ILatencyTraced
 {
     private final static Logger mLog = LoggerFactory.getLogger(AbstractAudioModule.class);
     public static final long DEFAULT_SEGMENT_AUDIO_SAMPLE_LENGTH = 60 * 8000; // 1 minute @ 8kHz
@@ -46,6 +50,8 @@ public abstract class AbstractAudioModule extends Module implements IAudioSegmen
     private int mAudioSampleCount = 0;
     private boolean mRecordAudioOverride;
     private int mTimeslot;
+    private LatencyTrace mLatencyTrace;
+    private long mAudioOrigin;
 
     /**
      * Constructs an abstract audio module
@@ -82,19 +88,65 @@ public abstract class AbstractAudioModule extends Module implements IAudioSegmen
      * Closes the current audio segment
      */
     protected void closeAudioSegment()
+    {
+        AudioSegment audioSegment = detachAudioSegment();
+
+        if(audioSegment != null)
+        {
+            completeAudioSegment(audioSegment);
+        }
+    }
+
+    /**
+     * Detaches the current audio segment from identifier updates so that the next call to getAudioSegment() creates
+     * a new audio segment.  The detached audio segment must be completed via completeAudioSegment().
+     * @return detached audio segment or null if there is no current audio segment.
+     */
+    protected AudioSegment detachAudioSegment()
     {
         synchronized(this)
         {
-            if(mAudioSegment != null)
+            AudioSegment audioSegment = mAudioSegment;
+
+            if(audioSegment != null)
             {
-                mAudioSegment.completeProperty().set(true);
-                mIdentifierUpdateNotificationBroadcaster.removeListener(mAudioSegment);
-                mAudioSegment.decrementConsumerCount();
+                mIdentifierUpdateNotificationBroadcaster.removeListener(audioSegment);
                 mAudioSegment = null;
             }
+
+            return audioSegment;
         }
     }
 
+    /**
+     * Marks the detached audio segment as complete and releases this module's consumer count on the segment.
+     * @param audioSegment that was detached via detachAudioSegment()
+     */
+    protected void completeAudioSegment(AudioSegment audioSegment)
+    {
+        audioSegment.completeProperty().set(true);
+        audioSegment.decrementConsumerCount();
+    }
+
+    /**
+     * Indicates if the audio segment is the current audio segment for this module.
+     */
+    protected boolean isCurrentAudioSegment(AudioSegment audioSegment)
+    {
+        synchronized(this)
+        {
+            return mAudioSegment == audioSegment;
+        }
+    }
+
+    /**
+     * Indicates if the audio segment has reached the maximum segment length and should be replaced by a linked segment.
+     */
+    protected boolean isAudioSegmentFull(AudioSegment audioSegment)
+    {
+        return audioSegment.getDuration() * 8 >= mMaxSegmentAudioSampleLength;
+    }
+
     @Override
     public void stop()
     {
@@ -112,6 +164,7 @@ public abstract class AbstractAudioModule extends Module implements IAudioSegmen
             if(mAudioSegment == null)
             {
                 mAudioSegment = new AudioSegment(mAliasList, getTimeslot());
+                mAudioSegment.setLatencyTrace(mLatencyTrace);
                 mAudioSegment.incrementConsumerCount();
                 mAudioSegment.addIdentifiers(mIdentifierCollection.getIdentifiers());
                 mIdentifierUpdateNotificationBroadcaster.addListener(mAudioSegment);
@@ -152,6 +205,13 @@ public abstract class AbstractAudioModule extends Module implements IAudioSegmen
         {
             audioSegment.addAudio(audioBuffer);
             mAudioSampleCount += audioBuffer.length;
+
+            if(mLatencyTrace != null)
+            {
+                long origin = mAudioOrigin != 0 ? mAudioOrigin : mLatencyTrace.getCurrentOrigin();
+                mLatencyTrace.record(LatencyStage.AUDIO, origin);
+                audioSegment.setLatencyOrigin(origin);
+            }
         }
         catch(Exception e)
         {
@@ -159,6 +219,62 @@ public abstract class AbstractAudioModule extends Module implements IAudioSegmen
         }
     }
 
+    /**
+     * Adds audio to the specified audio segment.  This is used by sub-classes that produce audio asynchronously from
+     * the channel decoder thread, where the audio segment was obtained on the channel decoder thread when the audio was
+     * submitted for processing.
+     * @param audioSegment to receive the audio
+     * @param audioBuffer to add
+     */
+    protected void addAudio(AudioSegment audioSegment, float[] audioBuffer)
+    {
+        try
+        {
+            audioSegment.addAudio(audioBuffer);
+
+            if(mLatencyTrace != null)
+            {
+                long origin = mAudioOrigin != 0 ? mAudioOrigin : mLatencyTrace.getCurrentOrigin();
+                mLatencyTrace.record(LatencyStage.AUDIO, origin);
+                audioSegment.setLatencyOrigin(origin);
+            }
+        }
+        catch(Exception e)
+        {
+            mLog.error("Error adding audio to audio segment - " + e.getMessage());
+        }
+    }
+
+    /**
+     * Sets the latency trace for the channel that owns this module.
+     */
+    @Override
+    public void setLatencyTrace(LatencyTrace latencyTrace)
+    {
+        mLatencyTrace = latencyTrace;
+    }
+
+    /**
+     * Current latency tracing origin stamp of the sample buffer being processed by the channel decoder.
+     * @return origin stamp in nanoseconds, or zero if the channel is not traced
+     */
+    protected long getCurrentLatencyOrigin()
+    {
+        LatencyTrace latencyTrace = mLatencyTrace;
+        return latencyTrace != null ? latencyTrace.getCurrentOrigin() : 0;
+    }
+
+    /**
+     * Sets the latency tracing origin stamp to attribute to subsequently added audio.  Sub-classes that produce audio
+     * asynchronously from the channel decoder thread use this to carry the origin captured on the decoder thread.
+     * When this value is zero, the channel's current origin is used.
+     * @param origin stamp in nanoseconds
+     */
+    protected void setAudioOrigin(long origin)
+    {
+        mAudioOrigin = origin;
+    }
+
     /**
      * Sets all audio segments as recordable when the argument is true.  Otherwise, defers to the aliased identifiers
      * from the identifier collection to determine whether to record the audio or not.
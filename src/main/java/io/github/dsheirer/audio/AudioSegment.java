@@ -27,6 +27,8 @@ import io.github.dsheirer.identifier.Identifier;
 import io.github.dsheirer.identifier.IdentifierCollection;
 import io.github.dsheirer.identifier.IdentifierUpdateNotification;
 import io.github.dsheirer.identifier.MutableIdentifierCollection;
+import io.github.dsheirer.monitor.LatencyStage;
+import io.github.dsheirer.monitor.LatencyTrace;
 import io.github.dsheirer.sample.Broadcaster;
 import io.github.dsheirer.sample.Listener;
 import java.util.Collection;
@@ -81,6 +83,8 @@ public class AudioSegment implements Listener<IdentifierUpdateNotification>
     private boolean mDisposing = false;
     private AudioSegment mLinkedAudioSegment;
     private int mTimeslot;
+    private LatencyTrace mLatencyTrace;
+    private volatile long mLatencyOrigin;
 
     /**
      * Constructs an instance
@@ -111,6 +115,36 @@ public class AudioSegment implements Listener<IdentifierUpdateNotification>
         return mStartTimestamp;
     }
 
+    /**
+     * Sets the latency trace for the channel that produced this audio segment.
+     */
+    public void setLatencyTrace(LatencyTrace latencyTrace)
+    {
+        mLatencyTrace = latencyTrace;
+    }
+
+    /**
+     * Sets the latency tracing origin stamp of the sample buffer that produced the most recently added audio.
+     * @param origin stamp in nanoseconds
+     */
+    public void setLatencyOrigin(long origin)
+    {
+        mLatencyOrigin = origin;
+    }
+
+    /**
+     * Records the latency for the stage, measured from the origin of the most recently added audio to now, with the
+     * latency trace of the channel that produced this audio segment.
+     * @param stage that completed processing this audio segment
+     */
+    public void recordLatency(LatencyStage stage)
+    {
+        if(mLatencyTrace != null)
+        {
+            mLatencyTrace.record(stage, mLatencyOrigin);
+        }
+    }
+
     /**
      * End timestamp as calculated from start timestamp and current sample count
      */
@@ -215,6 +249,16 @@ public class AudioSegment implements Listener<IdentifierUpdateNotification>
         return mMonitorPriority.get() <= Priority.DO_NOT_MONITOR;
     }
 
+    /**
+     * Indicates if the audio for this segment will be consumed, meaning that the segment is either recordable, has
+     * audio streaming broadcast channels, or is not flagged as do not monitor.  Producers can use this to defer the
+     * (costly) production of audio until the audio is actually needed.
+     */
+    public boolean isAudioRequired()
+    {
+        return mRecordAudio.get() || hasBroadcastChannels() || !isDoNotMonitor();
+    }
+
     /**
      * Alias list for this audio segment
      */
@@ -21,6 +21,7 @@ package io.github.dsheirer.audio.broadcast;
 
 import io.github.dsheirer.audio.AudioSegment;
 import io.github.dsheirer.identifier.IdentifierCollection;
+import io.github.dsheirer.monitor.LatencyStage;
 import io.github.dsheirer.preference.UserPreferences;
 import io.github.dsheirer.record.AudioSegmentRecorder;
 import io.github.dsheirer.record.RecordFormat;
@@ -157,6 +158,7 @@ public class AudioStreamingManager implements Listener<AudioSegment>
                         AudioRecording audioRecording = new AudioRecording(path, audioSegment.getBroadcastChannels(),
                             identifierCollectionCopy, audioSegment.getStartTimestamp(), length);
                         mAudioRecordingListener.receive(audioRecording);
+                        audioSegment.recordLatency(LatencyStage.STREAM);
                     }
                     catch(IOException ioe)
                     {
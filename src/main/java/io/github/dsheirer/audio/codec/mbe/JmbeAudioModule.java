@@ -22,6 +22,7 @@ package io.github.dsheirer.audio.codec.mbe;
 import com.google.common.eventbus.Subscribe;
 import io.github.dsheirer.alias.AliasList;
 import io.github.dsheirer.audio.AbstractAudioModule;
+import io.github.dsheirer.audio.AudioSegment;
 import io.github.dsheirer.audio.squelch.ISquelchStateListener;
 import io.github.dsheirer.eventbus.MyEventBus;
 import io.github.dsheirer.message.IMessage;
@@ -34,8 +35,10 @@ import java.net.MalformedURLException;
 import java.net.URL;
 import java.net.URLClassLoader;
 import java.nio.file.Path;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import jmbe.iface.IAudioCodec;
 import jmbe.iface.IAudioCodecLibrary;
 import org.slf4j.Logger;
@@ -47,9 +50,13 @@ public abstract class JmbeAudioModule extends AbstractAudioModule implements Lis
     private static final Logger mLog = LoggerFactory.getLogger(JmbeAudioModule.class);
     private static final String JMBE_AUDIO_LIBRARY = "JMBE";
     private static final List<String> mLibraryLoadStatusLogged = new ArrayList<>();
-    private IAudioCodec mAudioCodec;
+    private volatile IAudioCodec mAudioCodec;
     private final UserPreferences mUserPreferences;
     private static Class sLoadedJmbeAudioConverterClass;
+    private static final int MAX_DEFERRED_FRAMES = 3000; //60 seconds of 20 ms voice frames
+    private final ArrayDeque<DeferredFrame> mDeferredFrames = new ArrayDeque<>();
+    private final VocoderExecutor.Lane mVocoderLane = VocoderExecutor.getInstance().createLane();
+    private final ConcurrentLinkedQueue<Runnable> mDecoderThreadTasks = new ConcurrentLinkedQueue<>();
 
     public JmbeAudioModule(UserPreferences userPreferences, AliasList aliasList, int timeslot)
     {
@@ -86,6 +93,173 @@ public abstract class JmbeAudioModule extends AbstractAudioModule implements Lis
         return this;
     }
 
+    /**
+     * Decodes the voice frame to PCM audio and adds the audio to the audio segment.  Invoked on the vocoder executor.
+     * @param audioSegment that was current when the voice frame was submitted for decoding
+     * @param frame of raw codec bytes
+     * @param timestamp of the message that carried the voice frame
+     */
+    protected abstract void decodeFrame(AudioSegment audioSegment, byte[] frame, long timestamp);
+
+    /**
+     * Submits an ordered batch of voice frames to the vocoder executor for decoding.  Decoding for this module runs
+     * serially on the vocoder executor in submission order, so that the audio is appended to the audio segment in
+     * frame order, without blocking the calling (channel DSP) thread.  The audio segment is obtained here on the
+     * calling thread, so that the audio segment lifecycle and identifier updates stay on the channel DSP thread.
+     *
+     * @param frames of raw codec bytes
+     * @param timestamp of the message that carried the voice frames
+     */
+    protected void processFrames(List<byte[]> frames, long timestamp)
+    {
+        processDecoderThreadTasks();
+
+        if(!frames.isEmpty())
+        {
+            AudioSegment audioSegment = getAudioSegment();
+
+            //If the current segment exceeds the max samples length, close it so that a new segment gets generated
+            //and then link the segments together
+            if(isAudioSegmentFull(audioSegment))
+            {
+                closeAudioSegment();
+                AudioSegment previous = audioSegment;
+                audioSegment = getAudioSegment();
+                audioSegment.linkTo(previous);
+            }
+
+            AudioSegment target = audioSegment;
+            List<byte[]> batch = new ArrayList<>(frames);
+            long origin = getCurrentLatencyOrigin();
+            mVocoderLane.execute(() -> {
+                setAudioOrigin(origin);
+
+                for(byte[] frame: batch)
+                {
+                    processFrameNow(target, frame, timestamp);
+                }
+            }, batch.size());
+        }
+    }
+
+    /**
+     * Submits a task to run on the vocoder executor after any voice frames that were previously submitted.
+     * @param task to run
+     */
+    protected void executeOnVocoder(Runnable task)
+    {
+        mVocoderLane.execute(task);
+    }
+
+    /**
+     * Queues a task from the vocoder executor to run on the channel DSP thread the next time that voice frames are
+     * submitted or the audio segment is closed.  Use this for updates to identifier state that result from decoding.
+     * @param task to run on the channel DSP thread
+     */
+    protected void runOnDecoderThread(Runnable task)
+    {
+        mDecoderThreadTasks.add(task);
+    }
+
+    /**
+     * Runs any tasks that were queued from the vocoder executor.  Invoked on the channel DSP thread.
+     */
+    private void processDecoderThreadTasks()
+    {
+        Runnable task = mDecoderThreadTasks.poll();
+
+        while(task != null)
+        {
+            task.run();
+            task = mDecoderThreadTasks.poll();
+        }
+    }
+
+    /**
+     * Processes a voice frame on the vocoder executor.  When deferred decoding is enabled in the user preferences and
+     * the audio for the current audio segment is not required (ie not monitored, recorded or streamed), the raw codec
+     * frame is retained instead of decoded.  Retained frames are decoded in sequence once the audio segment requires
+     * audio, or they are discarded when the audio segment closes, so that the vocoder only runs for audio that will
+     * be consumed.
+     *
+     * @param audioSegment to receive the decoded audio
+     * @param frame of raw codec bytes
+     * @param timestamp of the message that carried the voice frame
+     */
+    private void processFrameNow(AudioSegment audioSegment, byte[] frame, long timestamp)
+    {
+        if(!hasAudioCodec())
+        {
+            return;
+        }
+
+        if(mUserPreferences.getJmbeLibraryPreference().isDeferredDecoding() && !audioSegment.isAudioRequired())
+        {
+            if(mDeferredFrames.size() >= MAX_DEFERRED_FRAMES)
+            {
+                mDeferredFrames.poll();
+            }
+
+            mDeferredFrames.add(new DeferredFrame(frame, timestamp));
+        }
+        else
+        {
+            decodeDeferredFrames(audioSegment);
+            decodeFrame(audioSegment, frame, timestamp);
+        }
+    }
+
+    /**
+     * Decodes any voice frames that were retained while the audio segment's audio was not required.
+     */
+    private void decodeDeferredFrames(AudioSegment audioSegment)
+    {
+        DeferredFrame deferredFrame = mDeferredFrames.poll();
+
+        while(deferredFrame != null)
+        {
+            decodeFrame(audioSegment, deferredFrame.frame(), deferredFrame.timestamp());
+            deferredFrame = mDeferredFrames.poll();
+        }
+    }
+
+    /**
+     * Detaches the current audio segment on the calling thread so that subsequent identifier updates apply to the
+     * next audio segment, and then completes the detached audio segment on the vocoder executor after any voice
+     * frames that were submitted ahead of the close request have been decoded.
+     */
+    @Override
+    protected void closeAudioSegment()
+    {
+        processDecoderThreadTasks();
+
+        AudioSegment audioSegment = detachAudioSegment();
+
+        if(audioSegment != null)
+        {
+            mVocoderLane.execute(() -> completeAudioSegmentNow(audioSegment));
+        }
+    }
+
+    /**
+     * Completes the detached audio segment after decoding any retained voice frames when the audio segment now
+     * requires audio (e.g. an alias identified late in the call), otherwise the retained voice frames are discarded.
+     */
+    private void completeAudioSegmentNow(AudioSegment audioSegment)
+    {
+        if(!mDeferredFrames.isEmpty())
+        {
+            if(hasAudioCodec() && audioSegment.isAudioRequired())
+            {
+                decodeDeferredFrames(audioSegment);
+            }
+
+            mDeferredFrames.clear();
+        }
+
+        completeAudioSegment(audioSegment);
+    }
+
     /**
      * Receives notifications that the JMBE library preference has been updated via the Guava event bus
      *
@@ -239,4 +413,11 @@ public abstract class JmbeAudioModule extends AbstractAudioModule implements Lis
 
         mAudioCodec = audioConverter;
     }
+
+    /**
+     * Raw codec voice frame retained for deferred decoding
+     * @param frame of raw codec bytes
+     * @param timestamp of the message that carried the voice frame
+     */
+    private record DeferredFrame(byte[] frame, long timestamp) {}
 }
@@ -0,0 +1,400 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2023 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.audio.codec.mbe;
+
+import io.github.dsheirer.module.decode.p25.audio.VoiceFrame;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Compact binary archive format for MBE (IMBE/AMBE) codec frame call sequences.
+ *
+ * Calls are appended to a daily archive data file (.mbea) and each call is indexed in a companion index file (.mbei)
+ * so that calls can be located by time without parsing the data file.  Both files are append-only.
+ *
+ * Data file call record:
+ *   int    record magic
+ *   int    payload length
+ *   byte[] payload
+ *   int    CRC32 of the payload
+ *
+ * Call payload:
+ *   long   call timestamp (first voice frame timestamp)
+ *   long   channel frequency
+ *   byte   flags (bit 0: encrypted)
+ *   UTF    protocol, call type, from, to, system and site (empty string when not specified)
+ *   int    voice frame count, followed by each voice frame:
+ *     zig-zag varint  timestamp delta from the previous frame, in milliseconds
+ *     byte            hex nibble count, followed by the packed nibbles (high nibble first)
+ *     byte            encryption flag, followed by varint algorithm, varint key id and UTF message indicator when set
+ *
+ * Index file entries are fixed length: long record offset, long call timestamp, int payload length, int frame count.
+ *
+ * A voice frame is stored in roughly 21 bytes (vs. ~60 bytes for JSON and ~320 bytes for 20 ms of 8 kHz PCM) and
+ * the original JSON MBE call sequence can be reconstructed exactly from the archived call.
+ */
+public class MBECallArchive
+{
+    public static final String DATA_FILE_EXTENSION = ".mbea";
+    public static final String INDEX_FILE_EXTENSION = ".mbei";
+    public static final String FILE_PREFIX = "mbe_calls_";
+    public static final int RECORD_MAGIC = 0x4D424541; //MBEA
+    public static final int RECORD_OVERHEAD = 12;
+    public static final int INDEX_ENTRY_LENGTH = 24;
+    private static final int MAX_PAYLOAD_LENGTH = 16 * 1024 * 1024;
+    private static final DateTimeFormatter DAY_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+    private static final int FLAG_ENCRYPTED = 0x01;
+
+    /**
+     * Archive data file path for the day in the directory
+     */
+    public static Path getDataFile(Path directory, LocalDate day)
+    {
+        return directory.resolve(FILE_PREFIX + DAY_FORMATTER.format(day) + DATA_FILE_EXTENSION);
+    }
+
+    /**
+     * Archive index file path that accompanies the archive data file
+     */
+    public static Path getIndexFile(Path dataFile)
+    {
+        String name = dataFile.getFileName().toString();
+
+        if(name.endsWith(DATA_FILE_EXTENSION))
+        {
+            name = name.substring(0, name.length() - DATA_FILE_EXTENSION.length());
+        }
+
+        return dataFile.resolveSibling(name + INDEX_FILE_EXTENSION);
+    }
+
+    /**
+     * Encodes the call sequence as a call payload
+     * @param sequence to encode
+     * @param frequency of the channel
+     * @return encoded payload
+     */
+    public static byte[] encode(MBECallSequence sequence, long frequency) throws IOException
+    {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream(64 + sequence.getVoiceFrames().size() * 22);
+        DataOutputStream out = new DataOutputStream(baos);
+
+        List<VoiceFrame> frames = sequence.getVoiceFrames();
+        long previous = frames.isEmpty() ? System.currentTimeMillis() : frames.get(0).getTimestamp();
+
+        out.writeLong(previous);
+        out.writeLong(frequency);
+        out.writeByte(sequence.isEncrypted() ? FLAG_ENCRYPTED : 0);
+        writeString(out, sequence.getProtocol());
+        writeString(out, sequence.getCallType());
+        writeString(out, sequence.getFromIdentifier());
+        writeString(out, sequence.getToIdentifier());
+        writeString(out, sequence.getSystem());
+        writeString(out, sequence.getSite());
+        out.writeInt(frames.size());
+
+        for(VoiceFrame frame: frames)
+        {
+            writeVarLong(out, zigzag(frame.getTimestamp() - previous));
+            previous = frame.getTimestamp();
+            writeNibbles(out, frame.getFrame());
+
+            if(frame.getAlgorithm() != null)
+            {
+                out.writeByte(1);
+                writeVarLong(out, frame.getAlgorithm());
+                writeVarLong(out, frame.getKeyId() != null ? frame.getKeyId() : 0);
+                writeString(out, frame.getMessageIndicator());
+            }
+            else
+            {
+                out.writeByte(0);
+            }
+        }
+
+        out.flush();
+        return baos.toByteArray();
+    }
+
+    /**
+     * Decodes the call payload into a call sequence
+     * @param payload to decode
+     * @return decoded call
+     */
+    public static ArchivedCall decode(byte[] payload) throws IOException
+    {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+
+        long timestamp = in.readLong();
+        long frequency = in.readLong();
+        int flags = in.readByte();
+        MBECallSequence sequence = new MBECallSequence(readString(in));
+        sequence.setCallType(readString(in));
+        sequence.setFromIdentifier(readString(in));
+        sequence.setToIdentifier(readString(in));
+        sequence.setSystem(readString(in));
+        sequence.setSite(readString(in));
+        sequence.setEncrypted((flags & FLAG_ENCRYPTED) == FLAG_ENCRYPTED);
+
+        int frameCount = in.readInt();
+        List<VoiceFrame> frames = new ArrayList<>(frameCount);
+        long previous = timestamp;
+
+        for(int x = 0; x < frameCount; x++)
+        {
+            previous += unzigzag(readVarLong(in));
+            String hex = readNibbles(in);
+
+            if(in.readByte() == 1)
+            {
+                int algorithm = (int)readVarLong(in);
+                int keyId = (int)readVarLong(in);
+                frames.add(new VoiceFrame(previous, hex, algorithm, keyId, readString(in)));
+            }
+            else
+            {
+                frames.add(new VoiceFrame(previous, hex));
+            }
+        }
+
+        sequence.setVoiceFrames(frames);
+        return new ArchivedCall(timestamp, frequency, sequence);
+    }
+
+    /**
+     * Scans the data file for complete and valid call records, starting at the offset.
+     * @param channel for the data file
+     * @param offset to start scanning
+     * @param entries to receive an index entry for each valid record
+     * @return offset following the last valid record
+     */
+    public static long scan(FileChannel channel, long offset, List<Entry> entries) throws IOException
+    {
+        long size = channel.size();
+        ByteBuffer header = ByteBuffer.allocate(8);
+
+        while(offset + RECORD_OVERHEAD <= size)
+        {
+            header.clear();
+
+            if(channel.read(header, offset) != 8)
+            {
+                break;
+            }
+
+            header.flip();
+            int magic = header.getInt();
+            int length = header.getInt();
+
+            if(magic != RECORD_MAGIC || length < 0 || length > MAX_PAYLOAD_LENGTH ||
+                offset + RECORD_OVERHEAD + length > size)
+            {
+                break;
+            }
+
+            ByteBuffer record = ByteBuffer.allocate(length + 4);
+            channel.read(record, offset + 8);
+            record.flip();
+            byte[] payload = new byte[length];
+            record.get(payload);
+
+            CRC32 crc = new CRC32();
+            crc.update(payload);
+
+            if((int)crc.getValue() != record.getInt())
+            {
+                break;
+            }
+
+            ByteBuffer buffer = ByteBuffer.wrap(payload);
+            long timestamp = buffer.getLong();
+            entries.add(new Entry(offset, timestamp, length, getFrameCount(payload)));
+            offset += RECORD_OVERHEAD + length;
+        }
+
+        return offset;
+    }
+
+    /**
+     * Parses the voice frame count from the call payload
+     */
+    private static int getFrameCount(byte[] payload) throws IOException
+    {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        in.skipNBytes(17);
+
+        for(int x = 0; x < 6; x++)
+        {
+            readString(in);
+        }
+
+        return in.readInt();
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException
+    {
+        out.writeUTF(value != null ? value : "");
+    }
+
+    private static String readString(DataInputStream in) throws IOException
+    {
+        String value = in.readUTF();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static long zigzag(long value)
+    {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value)
+    {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static void writeVarLong(DataOutputStream out, long value) throws IOException
+    {
+        while((value & ~0x7FL) != 0)
+        {
+            out.writeByte((int)((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+
+        out.writeByte((int)value);
+    }
+
+    private static long readVarLong(DataInputStream in) throws IOException
+    {
+        long value = 0;
+        int shift = 0;
+        int b;
+
+        do
+        {
+            if(shift > 63)
+            {
+                throw new IOException("Malformed variable length value");
+            }
+
+            b = in.readUnsignedByte();
+            value |= (long)(b & 0x7F) << shift;
+            shift += 7;
+        }
+        while((b & 0x80) != 0);
+
+        return value;
+    }
+
+    /**
+     * Writes the hex string as a nibble count and packed nibbles.
+     */
+    private static void writeNibbles(DataOutputStream out, String hex) throws IOException
+    {
+        int length = hex != null ? hex.length() : 0;
+
+        if(length > 255)
+        {
+            throw new IOException("Voice frame exceeds maximum length [" + length + "]");
+        }
+
+        out.writeByte(length);
+
+        for(int x = 0; x < length; x += 2)
+        {
+            int high = Character.digit(hex.charAt(x), 16);
+            int low = x + 1 < length ? Character.digit(hex.charAt(x + 1), 16) : 0;
+
+            if(high < 0 || low < 0)
+            {
+                throw new IOException("Invalid voice frame hex value [" + hex + "]");
+            }
+
+            out.writeByte((high << 4) | low);
+        }
+    }
+
+    /**
+     * Reads a nibble count and packed nibbles as an (upper case) hex string.
+     */
+    private static String readNibbles(DataInputStream in) throws IOException
+    {
+        int length = in.readUnsignedByte();
+        char[] hex = new char[length];
+
+        for(int x = 0; x < length; x += 2)
+        {
+            int value = in.readUnsignedByte();
+            hex[x] = HEX[(value >> 4) & 0xF];
+
+            if(x + 1 < length)
+            {
+                hex[x + 1] = HEX[value & 0xF];
+            }
+        }
+
+        return new String(hex);
+    }
+
+    /**
+     * Index entry for an archived call record
+     * @param offset of the record in the data file
+     * @param timestamp of the call
+     * @param length of the record payload
+     * @param frameCount number of voice frames in the call
+     */
+    public record Entry(long offset, long timestamp, int length, int frameCount)
+    {
+        /**
+         * Offset of the byte following this record in the data file
+         */
+        public long getEndOffset()
+        {
+            return offset + RECORD_OVERHEAD + length;
+        }
+
+        /**
+         * Approximate call duration in milliseconds (20 ms per voice frame)
+         */
+        public long getDuration()
+        {
+            return frameCount * 20L;
+        }
+    }
+
+    /**
+     * Call read from the archive
+     * @param timestamp of the call
+     * @param frequency of the channel
+     * @param sequence of voice frames and call metadata
+     */
+    public record ArchivedCall(long timestamp, long frequency, MBECallSequence sequence) {}
+}
@@ -0,0 +1,176 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2023 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.audio.codec.mbe;
+
+import io.github.dsheirer.preference.UserPreferences;
+import io.github.dsheirer.record.RecordFormat;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Reader for a daily compact binary MBE call archive file.  Uses the index file to locate calls and falls back to
+ * scanning the data file when the index is missing or incomplete.  Archived calls can be transcoded to WAVE or MP3
+ * audio recordings on demand.
+ */
+public class MBECallArchiveReader implements AutoCloseable
+{
+    private final FileChannel mDataChannel;
+    private final List<MBECallArchive.Entry> mEntries;
+
+    /**
+     * Opens the archive data file and loads the call index
+     * @param dataFile for the archive (.mbea)
+     * @throws IOException if there is an error reading the archive
+     */
+    public MBECallArchiveReader(Path dataFile) throws IOException
+    {
+        mDataChannel = FileChannel.open(dataFile, StandardOpenOption.READ);
+        mEntries = Collections.unmodifiableList(loadIndex(MBECallArchive.getIndexFile(dataFile)));
+    }
+
+    /**
+     * Index entries for all calls in the archive, in archive order.
+     */
+    public List<MBECallArchive.Entry> getEntries()
+    {
+        return mEntries;
+    }
+
+    /**
+     * Index entries for calls that started within the time range.
+     * @param start timestamp inclusive
+     * @param end timestamp exclusive
+     */
+    public List<MBECallArchive.Entry> getEntries(long start, long end)
+    {
+        List<MBECallArchive.Entry> entries = new ArrayList<>();
+
+        for(MBECallArchive.Entry entry: mEntries)
+        {
+            if(start <= entry.timestamp() && entry.timestamp() < end)
+            {
+                entries.add(entry);
+            }
+        }
+
+        return entries;
+    }
+
+    /**
+     * Reads the archived call for the index entry.
+     * @param entry for the call
+     * @return call
+     * @throws IOException if the record can't be read or fails the CRC check
+     */
+    public MBECallArchive.ArchivedCall read(MBECallArchive.Entry entry) throws IOException
+    {
+        ByteBuffer record = ByteBuffer.allocate(MBECallArchive.RECORD_OVERHEAD + entry.length());
+
+        while(record.hasRemaining())
+        {
+            if(mDataChannel.read(record, entry.offset() + record.position()) < 0)
+            {
+                throw new IOException("Unexpected end of MBE call archive at offset [" + entry.offset() + "]");
+            }
+        }
+
+        record.flip();
+
+        if(record.getInt() != MBECallArchive.RECORD_MAGIC || record.getInt() != entry.length())
+        {
+            throw new IOException("Invalid MBE call archive record at offset [" + entry.offset() + "]");
+        }
+
+        byte[] payload = new byte[entry.length()];
+        record.get(payload);
+
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+
+        if((int)crc.getValue() != record.getInt())
+        {
+            throw new IOException("MBE call archive record CRC check failed at offset [" + entry.offset() + "]");
+        }
+
+        return MBECallArchive.decode(payload);
+    }
+
+    /**
+     * Transcodes the archived call to an audio recording.
+     * @param entry for the call
+     * @param output path for the recording
+     * @param recordFormat for the recording (WAVE or MP3)
+     * @param userPreferences for the JMBE library and MP3 encoder settings
+     * @throws IOException if there is an error reading the call or writing the recording
+     */
+    public void transcode(MBECallArchive.Entry entry, Path output, RecordFormat recordFormat,
+                          UserPreferences userPreferences) throws IOException
+    {
+        MBECallSequenceConverter.convert(read(entry).sequence(), output, recordFormat, userPreferences);
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        mDataChannel.close();
+    }
+
+    /**
+     * Loads the index entries from the index file and scans the data file for any records following the last
+     * indexed record.
+     */
+    private List<MBECallArchive.Entry> loadIndex(Path indexFile) throws IOException
+    {
+        List<MBECallArchive.Entry> entries = new ArrayList<>();
+        long dataSize = mDataChannel.size();
+        long indexedEnd = 0;
+
+        if(Files.exists(indexFile))
+        {
+            byte[] bytes = Files.readAllBytes(indexFile);
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+
+            while(buffer.remaining() >= MBECallArchive.INDEX_ENTRY_LENGTH)
+            {
+                MBECallArchive.Entry entry = new MBECallArchive.Entry(buffer.getLong(), buffer.getLong(),
+                    buffer.getInt(), buffer.getInt());
+
+                if(entry.getEndOffset() > dataSize)
+                {
+                    break;
+                }
+
+                entries.add(entry);
+                indexedEnd = entry.getEndOffset();
+            }
+        }
+
+        MBECallArchive.scan(mDataChannel, indexedEnd, entries);
+        return entries;
+    }
+}
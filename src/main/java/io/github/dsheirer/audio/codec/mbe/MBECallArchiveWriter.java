@@ -0,0 +1,247 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2023 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.audio.codec.mbe;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Appends MBE call sequences to the daily compact binary call archive.  A single shared writer instance serializes
+ * the calls from all MBE call sequence recorders into the archive file for the current day and rolls over to a new
+ * archive file at midnight (local time).
+ *
+ * On opening an existing archive file, any records that were written but not indexed (e.g. application crash) are
+ * indexed and any partially written trailing record is discarded.
+ */
+public class MBECallArchiveWriter
+{
+    private final static Logger mLog = LoggerFactory.getLogger(MBECallArchiveWriter.class);
+    private static final MBECallArchiveWriter INSTANCE = new MBECallArchiveWriter();
+    private final ReentrantLock mLock = new ReentrantLock();
+    private Path mDirectory;
+    private LocalDate mDay;
+    private FileChannel mDataChannel;
+    private FileChannel mIndexChannel;
+    private long mDataOffset;
+
+    private MBECallArchiveWriter()
+    {
+    }
+
+    /**
+     * Shared archive writer instance
+     */
+    public static MBECallArchiveWriter getInstance()
+    {
+        return INSTANCE;
+    }
+
+    /**
+     * Appends the call sequence to the archive for the current day in the directory.
+     * @param directory for the archive files
+     * @param sequence to archive
+     * @param frequency of the channel
+     * @throws IOException if there is an error writing to the archive
+     */
+    public void write(Path directory, MBECallSequence sequence, long frequency) throws IOException
+    {
+        byte[] payload = MBECallArchive.encode(sequence, frequency);
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+
+        ByteBuffer record = ByteBuffer.allocate(payload.length + MBECallArchive.RECORD_OVERHEAD);
+        record.putInt(MBECallArchive.RECORD_MAGIC).putInt(payload.length).put(payload).putInt((int)crc.getValue());
+        record.flip();
+
+        mLock.lock();
+
+        try
+        {
+            open(directory, LocalDate.now());
+
+            long offset = mDataOffset;
+
+            while(record.hasRemaining())
+            {
+                mDataChannel.write(record, mDataOffset + record.position());
+            }
+
+            mDataOffset += record.limit();
+
+            ByteBuffer entry = ByteBuffer.allocate(MBECallArchive.INDEX_ENTRY_LENGTH);
+            entry.putLong(offset).putLong(ByteBuffer.wrap(payload).getLong()).putInt(payload.length)
+                .putInt(sequence.getVoiceFrames().size());
+            entry.flip();
+
+            while(entry.hasRemaining())
+            {
+                mIndexChannel.write(entry);
+            }
+        }
+        catch(IOException ioe)
+        {
+            close();
+            throw ioe;
+        }
+        finally
+        {
+            mLock.unlock();
+        }
+    }
+
+    /**
+     * Closes the current archive files.
+     */
+    public void close()
+    {
+        mLock.lock();
+
+        try
+        {
+            closeChannel(mDataChannel);
+            closeChannel(mIndexChannel);
+            mDataChannel = null;
+            mIndexChannel = null;
+            mDirectory = null;
+            mDay = null;
+        }
+        finally
+        {
+            mLock.unlock();
+        }
+    }
+
+    /**
+     * Opens the archive files for the directory and day, if they are not already open.  Note: invoke while holding
+     * the lock.
+     */
+    private void open(Path directory, LocalDate day) throws IOException
+    {
+        if(mDataChannel != null && directory.equals(mDirectory) && day.equals(mDay))
+        {
+            return;
+        }
+
+        close();
+
+        Path dataFile = MBECallArchive.getDataFile(directory, day);
+        Path indexFile = MBECallArchive.getIndexFile(dataFile);
+
+        mDataChannel = FileChannel.open(dataFile, StandardOpenOption.CREATE, StandardOpenOption.READ,
+            StandardOpenOption.WRITE);
+        mIndexChannel = FileChannel.open(indexFile, StandardOpenOption.CREATE, StandardOpenOption.READ,
+            StandardOpenOption.WRITE);
+        mDirectory = directory;
+        mDay = day;
+
+        recover();
+    }
+
+    /**
+     * Reconciles the index file with the data file so that every complete record in the data file is indexed and any
+     * partially written trailing record or index entry is discarded.
+     */
+    private void recover() throws IOException
+    {
+        long indexSize = mIndexChannel.size() - (mIndexChannel.size() % MBECallArchive.INDEX_ENTRY_LENGTH);
+        long dataSize = mDataChannel.size();
+        long indexedEnd = 0;
+
+        //Find the last index entry that refers to a complete record in the data file
+        ByteBuffer entry = ByteBuffer.allocate(MBECallArchive.INDEX_ENTRY_LENGTH);
+
+        while(indexSize > 0)
+        {
+            entry.clear();
+            mIndexChannel.read(entry, indexSize - MBECallArchive.INDEX_ENTRY_LENGTH);
+            entry.flip();
+            long offset = entry.getLong();
+            entry.getLong();
+            int length = entry.getInt();
+            long end = offset + MBECallArchive.RECORD_OVERHEAD + length;
+
+            if(end <= dataSize)
+            {
+                indexedEnd = end;
+                break;
+            }
+
+            indexSize -= MBECallArchive.INDEX_ENTRY_LENGTH;
+        }
+
+        //Index any complete records that follow the last indexed record and discard a partial trailing record
+        List<MBECallArchive.Entry> unindexed = new ArrayList<>();
+        long validEnd = MBECallArchive.scan(mDataChannel, indexedEnd, unindexed);
+
+        mIndexChannel.truncate(indexSize);
+        mIndexChannel.position(indexSize);
+
+        for(MBECallArchive.Entry unindexedEntry: unindexed)
+        {
+            entry.clear();
+            entry.putLong(unindexedEntry.offset()).putLong(unindexedEntry.timestamp()).putInt(unindexedEntry.length())
+                .putInt(unindexedEntry.frameCount());
+            entry.flip();
+
+            while(entry.hasRemaining())
+            {
+                mIndexChannel.write(entry);
+            }
+        }
+
+        if(validEnd < dataSize)
+        {
+            mLog.warn("Discarding [" + (dataSize - validEnd) + "] bytes of incomplete records from MBE call archive");
+            mDataChannel.truncate(validEnd);
+        }
+
+        if(!unindexed.isEmpty())
+        {
+            mLog.info("Indexed [" + unindexed.size() + "] previously unindexed MBE call archive records");
+        }
+
+        mDataOffset = validEnd;
+    }
+
+    private static void closeChannel(FileChannel channel)
+    {
+        if(channel != null)
+        {
+            try
+            {
+                channel.close();
+            }
+            catch(IOException ioe)
+            {
+                mLog.error("Error closing MBE call archive file", ioe);
+            }
+        }
+    }
+}
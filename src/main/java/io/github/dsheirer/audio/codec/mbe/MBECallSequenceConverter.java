@@ -23,13 +23,17 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import io.github.dsheirer.alias.AliasList;
 import io.github.dsheirer.audio.AudioSegment;
 import io.github.dsheirer.identifier.IdentifierUpdateNotification;
+import io.github.dsheirer.module.decode.dmr.audio.DMRCallSequenceRecorder;
 import io.github.dsheirer.module.decode.p25.audio.P25P1AudioModule;
 import io.github.dsheirer.module.decode.p25.audio.P25P1CallSequenceRecorder;
+import io.github.dsheirer.module.decode.p25.audio.P25P2AudioModule;
+import io.github.dsheirer.module.decode.p25.audio.P25P2CallSequenceRecorder;
 import io.github.dsheirer.module.decode.p25.audio.VoiceFrame;
 import io.github.dsheirer.module.decode.p25.identifier.radio.APCO25RadioIdentifier;
 import io.github.dsheirer.module.decode.p25.identifier.talkgroup.APCO25Talkgroup;
 import io.github.dsheirer.preference.UserPreferences;
 import io.github.dsheirer.record.AudioSegmentRecorder;
+import io.github.dsheirer.record.RecordFormat;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
@@ -65,75 +69,116 @@ public class MBECallSequenceConverter
         convert(sequence, output);
     }
 
+    /**
+     * Converts the MBE call sequence to PCM audio and writes to the output wave file.
+     * @param callSequence to convert
+     * @param outputPath to write the WAVE recording.
+     */
     public static void convert(MBECallSequence callSequence, Path outputPath)
+    {
+        try
+        {
+            convert(callSequence, outputPath, RecordFormat.WAVE, new UserPreferences());
+        }
+        catch(IOException ioe)
+        {
+            mLog.error("Error writing audio segment", ioe);
+        }
+    }
+
+    /**
+     * Converts the MBE call sequence to PCM audio and writes the audio to the output path in the record format.
+     * IMBE (P25 Phase 1) and AMBE (P25 Phase 2 and DMR) call sequences are supported.
+     * @param callSequence to convert
+     * @param outputPath to write the recording
+     * @param recordFormat for the recording (WAVE or MP3)
+     * @param userPreferences for the JMBE library and MP3 encoder settings
+     * @throws IOException if there is an error writing the recording
+     */
+    public static void convert(MBECallSequence callSequence, Path outputPath, RecordFormat recordFormat,
+                               UserPreferences userPreferences) throws IOException
     {
         if(callSequence == null || callSequence.isEncrypted())
         {
             throw new IllegalArgumentException("Cannot decode null or encrypted call sequence");
         }
 
-        if(callSequence != null)
+        JmbeAudioModule audioModule;
+        boolean apco25 = true;
+
+        switch(callSequence.getProtocol())
         {
-            if(callSequence.getProtocol().equals(P25P1CallSequenceRecorder.PROTOCOL))
-            {
-                P25P1AudioModule audioModule = new P25P1AudioModule(new UserPreferences(), new AliasList("mbe generator"));
-                audioModule.setRecordAudio(true);
-                audioModule.start();
+            case P25P1CallSequenceRecorder.PROTOCOL:
+                audioModule = new P25P1AudioModule(userPreferences, new AliasList("mbe generator"));
+                break;
+            case P25P2CallSequenceRecorder.PROTOCOL:
+                audioModule = new P25P2AudioModule(userPreferences, 0, new AliasList("mbe generator"));
+                break;
+            case DMRCallSequenceRecorder.PROTOCOL:
+                audioModule = new P25P2AudioModule(userPreferences, 0, new AliasList("mbe generator"));
+                apco25 = false;
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported call sequence protocol [" +
+                    callSequence.getProtocol() + "]");
+        }
 
-                if(callSequence.getFromIdentifier() != null)
-                {
-                    int from = 0;
-
-                    try
-                    {
-                        from = Integer.parseInt(callSequence.getFromIdentifier());
-                        audioModule.getIdentifierUpdateListener().receive(new IdentifierUpdateNotification(APCO25RadioIdentifier.createFrom(from),
-                                IdentifierUpdateNotification.Operation.ADD, 0));
-                    }
-                    catch(Exception e)
-                    {
-                        mLog.error("Error parsing from identifier from value [" + callSequence.getFromIdentifier());
-                    }
-                }
+        audioModule.setRecordAudio(true);
+        audioModule.start();
 
-                if(callSequence.getToIdentifier() != null)
-                {
-                    int to = 0;
-
-                    try
-                    {
-                        to = Integer.parseInt(callSequence.getToIdentifier());
-                        audioModule.getIdentifierUpdateListener().receive(new IdentifierUpdateNotification(APCO25Talkgroup.create(to),
-                                IdentifierUpdateNotification.Operation.ADD, 0));
-                    }
-                    catch(Exception e)
-                    {
-                        mLog.error("Error parsing from identifier from value [" + callSequence.getFromIdentifier());
-                    }
-                }
+        if(apco25 && callSequence.getFromIdentifier() != null)
+        {
+            try
+            {
+                int from = Integer.parseInt(callSequence.getFromIdentifier());
+                audioModule.getIdentifierUpdateListener().receive(new IdentifierUpdateNotification(APCO25RadioIdentifier.createFrom(from),
+                        IdentifierUpdateNotification.Operation.ADD, 0));
+            }
+            catch(Exception e)
+            {
+                mLog.error("Error parsing from identifier from value [" + callSequence.getFromIdentifier());
+            }
+        }
 
-                IAudioCodec codec = audioModule.getAudioCodec();
+        if(apco25 && callSequence.getToIdentifier() != null)
+        {
+            try
+            {
+                int to = Integer.parseInt(callSequence.getToIdentifier());
+                audioModule.getIdentifierUpdateListener().receive(new IdentifierUpdateNotification(APCO25Talkgroup.create(to),
+                        IdentifierUpdateNotification.Operation.ADD, 0));
+            }
+            catch(Exception e)
+            {
+                mLog.error("Error parsing from identifier from value [" + callSequence.getFromIdentifier());
+            }
+        }
 
-                for(VoiceFrame voiceFrame: callSequence.getVoiceFrames())
-                {
-                    byte[] frameBytes = voiceFrame.getFrameBytes();
-                    float[] audio = codec.getAudio(frameBytes);
-                    audioModule.addAudio(audio);
-                }
+        IAudioCodec codec = audioModule.getAudioCodec();
 
-                AudioSegment audioSegment = audioModule.getAudioSegment();
+        if(codec == null)
+        {
+            audioModule.dispose();
+            throw new IOException("JMBE audio library is not available to decode the call sequence");
+        }
 
-                try
-                {
-                    AudioSegmentRecorder.recordWAVE(audioSegment, outputPath);
-                }
-                catch(IOException ioe)
-                {
-                    mLog.error("Error writing audio segment, ioe");
-                }
+        for(VoiceFrame voiceFrame: callSequence.getVoiceFrames())
+        {
+            byte[] frameBytes = voiceFrame.getFrameBytes();
+            float[] audio = codec.getAudio(frameBytes);
+            audioModule.addAudio(audio);
+        }
 
-                audioModule.stop();
-            }
+        AudioSegment audioSegment = audioModule.getAudioSegment();
+
+        try
+        {
+            AudioSegmentRecorder.record(audioSegment, outputPath, recordFormat, userPreferences);
+        }
+        finally
+        {
+            audioModule.stop();
+            audioModule.dispose();
         }
     }
 
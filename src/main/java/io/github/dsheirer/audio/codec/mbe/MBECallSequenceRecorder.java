@@ -99,6 +99,22 @@ public abstract class MBECallSequenceRecorder extends Module implements IMessage
             sequence.setSystem(mSystem);
             sequence.setSite(mSite);
 
+            if(mUserPreferences.getRecordPreference().isMbeCallArchive())
+            {
+                Path recordingDirectory = mUserPreferences.getDirectoryPreference().getDirectoryRecording();
+
+                try
+                {
+                    MBECallArchiveWriter.getInstance().write(recordingDirectory, sequence, mChannelFrequency);
+                }
+                catch(IOException ioe)
+                {
+                    mLog.error("Couldn't write MBE call sequence to call archive in [" + recordingDirectory + "]", ioe);
+                }
+
+                return;
+            }
+
             StringBuilder sb = new StringBuilder();
             sb.append(TimestampFormat.TIMESTAMP_COMPACT.getFormatter().format(new Date(System.currentTimeMillis())));
             sb.append("_").append(mChannelFrequency);
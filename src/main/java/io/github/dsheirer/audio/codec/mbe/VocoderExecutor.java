@@ -0,0 +1,105 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2023 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.audio.codec.mbe;
+
+import io.github.dsheirer.util.SerialLaneExecutor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Shared, bounded worker pool for vocoder (JMBE) decoding so that synthesizing audio for many simultaneous calls
+ * doesn't compete with demodulation on the channel DSP threads.
+ *
+ * Each audio module obtains a lane from this executor.  Tasks submitted to a lane execute serially and in submission
+ * order, while separate lanes execute concurrently across the worker threads.  Each lane limits the number of pending
+ * voice frames, and frame batches submitted to a lane that is over the limit are dropped so that a stalled lane can't
+ * consume unbounded memory.  Control tasks (e.g. closing an audio segment) are never dropped.
+ */
+public class VocoderExecutor extends SerialLaneExecutor
+{
+    private final static Logger mLog = LoggerFactory.getLogger(VocoderExecutor.class);
+    private static final int MAX_PENDING_FRAMES_PER_LANE = 500; //10 seconds of 20 ms voice frames
+    private static final int MAX_TASKS_PER_RUN = 16;
+    private static VocoderExecutor sInstance;
+
+    private long mRateFrameCount;
+    private long mRateTimestamp = System.nanoTime();
+
+    /**
+     * Constructs an instance
+     * @param threadCount number of worker threads
+     */
+    private VocoderExecutor(int threadCount)
+    {
+        super("vocoder", threadCount, MAX_TASKS_PER_RUN, MAX_PENDING_FRAMES_PER_LANE);
+    }
+
+    /**
+     * Shared vocoder executor instance, sized to half of the available processors.
+     */
+    public static synchronized VocoderExecutor getInstance()
+    {
+        if(sInstance == null)
+        {
+            sInstance = new VocoderExecutor(Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+        }
+
+        return sInstance;
+    }
+
+    /**
+     * Total number of voice frames decoded.
+     */
+    public long getFrameCount()
+    {
+        return getUnitCount();
+    }
+
+    /**
+     * Total number of voice frames dropped because a lane exceeded the pending frame limit.
+     */
+    public long getDroppedFrameCount()
+    {
+        return getDroppedUnitCount();
+    }
+
+    /**
+     * Voice frames decoded per second since the previous invocation of this method.
+     */
+    public synchronized double getFrameRate()
+    {
+        long now = System.nanoTime();
+        long frames = getFrameCount();
+        double rate = (frames - mRateFrameCount) / ((now - mRateTimestamp) / 1E9);
+        mRateFrameCount = frames;
+        mRateTimestamp = now;
+        return rate;
+    }
+
+    /**
+     * Logs the vocoder metrics
+     */
+    public void logMetrics()
+    {
+        mLog.info(String.format("Vocoder - frames [%d] frames/sec [%.1f] dropped [%d] queue latency avg [%.2f ms] " +
+            "max [%.2f ms]", getFrameCount(), getFrameRate(), getDroppedFrameCount(), getAverageQueueLatency(),
+            getMaxQueueLatency()));
+    }
+}
@@ -25,7 +25,9 @@ import io.github.dsheirer.alias.Alias;
 import io.github.dsheirer.alias.AliasList;
 import io.github.dsheirer.alias.AliasModel;
 import io.github.dsheirer.audio.AudioEvent;
+import io.github.dsheirer.eventbus.DeliveryThread;
 import io.github.dsheirer.eventbus.MyEventBus;
+import io.github.dsheirer.eventbus.SubscribeOn;
 import io.github.dsheirer.icon.IconModel;
 import io.github.dsheirer.identifier.Identifier;
 import io.github.dsheirer.identifier.IdentifierClass;
@@ -118,6 +120,7 @@ public class AudioChannelPanel extends JPanel implements Listener<AudioEvent>, S
      * @param preferenceType that was updated
      */
     @Subscribe
+    @SubscribeOn(DeliveryThread.SWING)
     public void preferenceUpdated(PreferenceType preferenceType)
     {
         if(preferenceType == PreferenceType.TALKGROUP_FORMAT)
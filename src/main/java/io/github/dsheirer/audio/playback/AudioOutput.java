@@ -21,7 +21,6 @@ package io.github.dsheirer.audio.playback;
 import com.google.common.eventbus.Subscribe;
 import io.github.dsheirer.audio.AudioEvent;
 import io.github.dsheirer.audio.AudioSegment;
-import io.github.dsheirer.controller.NamingThreadFactory;
 import io.github.dsheirer.eventbus.MyEventBus;
 import io.github.dsheirer.identifier.IdentifierCollection;
 import io.github.dsheirer.identifier.IdentifierUpdateNotification;
@@ -30,138 +29,58 @@ import io.github.dsheirer.preference.UserPreferences;
 import io.github.dsheirer.sample.Broadcaster;
 import io.github.dsheirer.sample.Listener;
 import io.github.dsheirer.source.mixer.MixerChannel;
-import java.nio.ByteBuffer;
-import java.util.concurrent.Executors;
+import java.util.Arrays;
 import java.util.concurrent.LinkedTransferQueue;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicBoolean;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import javax.sound.sampled.AudioFormat;
-import javax.sound.sampled.BooleanControl;
-import javax.sound.sampled.Control;
 import javax.sound.sampled.FloatControl;
-import javax.sound.sampled.Line;
-import javax.sound.sampled.LineEvent;
-import javax.sound.sampled.LineListener;
-import javax.sound.sampled.LineUnavailableException;
-import javax.sound.sampled.Mixer;
-import javax.sound.sampled.SourceDataLine;
 
 /**
- * Audio output/playback channel for a single audio mixer channel.  Providers support for playback of audio segments
+ * Audio output/playback channel for a single audio mixer channel.  Provides support for playback of audio segments
  * and broadcasts audio segment metadata to registered listeners (ie gui components).
+ *
+ * Audio outputs don't own a source data line or a processing thread.  The playback mixer pulls audio samples from
+ * each output via the read() method, driven by the available capacity of the shared source data line, and mixes
+ * the samples from all outputs into a single line.  Gain and mute are applied in software so that they remain
+ * independent for the left and right channels of a stereo output.
  */
-public abstract class AudioOutput implements LineListener, Listener<IdentifierUpdateNotification>
+public abstract class AudioOutput implements Listener<IdentifierUpdateNotification>
 {
     private final static Logger mLog = LoggerFactory.getLogger(AudioOutput.class);
-    private int mBufferStartThreshold;
-    private int mBufferStopThreshold;
     private Listener<IdentifierCollection> mIdentifierCollectionListener;
     private Broadcaster<AudioEvent> mAudioEventBroadcaster = new Broadcaster<>();
-    private SourceDataLine mOutput;
-    private Mixer mMixer;
     private MixerChannel mMixerChannel;
-    private FloatControl mGainControl;
-    private BooleanControl mMuteControl;
+    private SoftwareGainControl mGainControl = new SoftwareGainControl();
+    private volatile boolean mMuted = false;
     private AudioEvent mAudioStartEvent;
     private AudioEvent mAudioStopEvent;
-    private boolean mCanProcessAudio = false;
     private LinkedTransferQueue<AudioSegment> mAudioSegmentQueue = new LinkedTransferQueue<>();
-    private AudioSegment mCurrentAudioSegment;
+    private volatile AudioSegment mCurrentAudioSegment;
     private int mCurrentBufferIndex = 0;
+    private int mCurrentBufferOffset = 0;
+    private boolean mStartTonePlayed = false;
+    private float[] mTone;
+    private int mToneOffset = 0;
     private UserPreferences mUserPreferences;
-    private ByteBuffer mAudioSegmentStartTone;
-    private ByteBuffer mAudioSegmentDropTone;
-    private boolean mRunning = false;
-    private ScheduledExecutorService mScheduledExecutorService;
-    private ScheduledFuture<?> mProcessorFuture;
-    private boolean mDropDuplicates;
-    private long mOutputLastTimestamp = 0;
-    private static final long STALE_PLAYBACK_THRESHOLD_MS = 500;
+    private volatile float[] mAudioSegmentStartTone;
+    private volatile float[] mAudioSegmentDropTone;
+    private volatile boolean mDropDuplicates;
+    private boolean mPlaying = false;
 
     /**
-     * Single audio channel playback with automatic starting and stopping of the
-     * underlying sourcedataline specified by the mixer and mixer channel
-     * arguments.
-     *
-     * Maintains an internal non-blocking audio packet queue and processes this
-     * queue 25 times a second (every 40 ms).
+     * Single audio channel playback for the mixer channel argument.
      *
-     * @param mixer to obtain source data line
      * @param mixerChannel either mono or left/right stereo
-     * @param audioFormat to use during playback
-     * @param lineInfo to use when obtaining the source data line
-     * @param requestedBufferSize of approximately 1 second of audio
+     * @param userPreferences for tone insertion and duplicate call playback preferences
      */
-    public AudioOutput(Mixer mixer, MixerChannel mixerChannel, AudioFormat audioFormat, Line.Info lineInfo,
-                       int requestedBufferSize, UserPreferences userPreferences)
+    public AudioOutput(MixerChannel mixerChannel, UserPreferences userPreferences)
     {
-        mMixer = mixer;
         mMixerChannel = mixerChannel;
-        mScheduledExecutorService = Executors.newSingleThreadScheduledExecutor(new NamingThreadFactory(
-                "sdrtrunk audio output " + mixerChannel.name()));
         mUserPreferences = userPreferences;
         mDropDuplicates = mUserPreferences.getDuplicateCallDetectionPreference().isDuplicatePlaybackSuppressionEnabled();
-
-        try
-        {
-            mOutput = (SourceDataLine) mMixer.getLine(lineInfo);
-
-            if(mOutput != null)
-            {
-                mOutput.open(audioFormat, requestedBufferSize);
-
-                //Start threshold: buffer is full with 10% or less of capacity remaining
-                mBufferStartThreshold = (int) (mOutput.getBufferSize() * 0.10);
-
-                //Stop threshold: buffer is empty with 90% or more capacity available
-                mBufferStopThreshold = (int) (mOutput.getBufferSize() * 0.90);
-
-                mOutput.addLineListener(this);
-
-                if(mOutput != null)
-                {
-                    try
-                    {
-                        Control gain = mOutput.getControl(FloatControl.Type.MASTER_GAIN);
-                        mGainControl = (FloatControl) gain;
-                    }
-                    catch(IllegalArgumentException iae)
-                    {
-                        mLog.warn("Couldn't obtain MASTER GAIN control for stereo line [" +
-                            mixer.getMixerInfo().getName() + " | " + getChannelName() + "]");
-                    }
-
-                    try
-                    {
-                        Control mute = mOutput.getControl(BooleanControl.Type.MUTE);
-                        mMuteControl = (BooleanControl) mute;
-                    }
-                    catch(IllegalArgumentException iae)
-                    {
-                        mLog.warn("Couldn't obtain MUTE control for stereo line [" +
-                            mixer.getMixerInfo().getName() + " | " + getChannelName() + "]");
-                    }
-
-					//Run the queue processor task every 100 milliseconds or 10 times a second
-                    mProcessorFuture = mScheduledExecutorService.scheduleAtFixedRate(new AudioSegmentProcessor(),
-                        0, 100, TimeUnit.MILLISECONDS);
-                }
-
-                mAudioStartEvent = new AudioEvent(AudioEvent.Type.AUDIO_STARTED, getChannelName());
-                mAudioStopEvent = new AudioEvent(AudioEvent.Type.AUDIO_STOPPED, getChannelName());
-                mCanProcessAudio = true;
-            }
-        }
-        catch(LineUnavailableException e)
-        {
-            mLog.error("Couldn't obtain audio source data line for audio output - mixer [" +
-                mMixer.getMixerInfo().getName() + "]");
-        }
+        mAudioStartEvent = new AudioEvent(AudioEvent.Type.AUDIO_STARTED, getChannelName());
+        mAudioStopEvent = new AudioEvent(AudioEvent.Type.AUDIO_STOPPED, getChannelName());
 
         updateToneInsertionAudioClips();
 
@@ -178,6 +97,15 @@ public abstract class AudioOutput implements LineListener, Listener<IdentifierUp
         return mAudioSegmentQueue.isEmpty();
     }
 
+    /**
+     * Indicates if this audio output is idle, with no audio segment currently playing or queued for playback.
+     * @return true if idle
+     */
+    public boolean isIdle()
+    {
+        return mCurrentAudioSegment == null && mAudioSegmentQueue.isEmpty() && mTone == null;
+    }
+
     /**
      * Schedules the audio segment for playback.  The audio segment user count should already be incremented by the
      * calling entity.
@@ -207,9 +135,11 @@ public abstract class AudioOutput implements LineListener, Listener<IdentifierUp
     @Override
     public void receive(IdentifierUpdateNotification identifierUpdateNotification)
     {
-        if(mCurrentAudioSegment != null)
+        AudioSegment current = mCurrentAudioSegment;
+
+        if(current != null)
         {
-            IdentifierCollection identifierCollection = mCurrentAudioSegment.getIdentifierCollection();
+            IdentifierCollection identifierCollection = current.getIdentifierCollection();
 
             if(identifierCollection != null)
             {
@@ -239,62 +169,174 @@ public abstract class AudioOutput implements LineListener, Listener<IdentifierUp
      */
     private void updateToneInsertionAudioClips()
     {
-        mAudioSegmentStartTone = null;
-        mAudioSegmentDropTone = null;
+        mAudioSegmentStartTone = mUserPreferences.getPlaybackPreference().getStartTone();
+        mAudioSegmentDropTone = mUserPreferences.getPlaybackPreference().getDropTone();
+    }
 
-        float[] start = mUserPreferences.getPlaybackPreference().getStartTone();
+    /**
+     * Fills the samples array with up to length audio samples from the current audio segment, including any start or
+     * drop tone insertions, with the gain and mute settings applied.  Any unfilled samples are set to zero.  Returns
+     * fewer than the requested samples when the output runs out of audio, or when the current segment is still active
+     * and is waiting on additional audio from the decoder.
+     *
+     * Note: this method should only be invoked by the playback mixer thread.
+     *
+     * @param samples array to fill
+     * @param length number of samples requested
+     * @return number of samples provided
+     */
+    public int read(float[] samples, int length)
+    {
+        int count = 0;
 
-        if(start != null)
+        try
         {
-            mAudioSegmentStartTone = convert(start);
+            count = fill(samples, length);
+        }
+        catch(Exception e)
+        {
+            mLog.error("Error while processing audio for [" + mMixerChannel.name() + "]", e);
         }
 
-        float[] drop = mUserPreferences.getPlaybackPreference().getDropTone();
-
-        if(drop != null)
+        if(count > 0)
         {
-            mAudioSegmentDropTone = convert(drop);
+            float gain = mMuted ? 0.0f : mGainControl.getLinearGain();
+
+            if(gain != 1.0f)
+            {
+                for(int x = 0; x < count; x++)
+                {
+                    samples[x] *= gain;
+                }
+            }
+
+            if(!mPlaying)
+            {
+                mPlaying = true;
+                mAudioEventBroadcaster.broadcast(mAudioStartEvent);
+            }
         }
+
+        Arrays.fill(samples, count, length, 0.0f);
+        return count;
     }
 
     /**
-     * Writes the audio buffer data to the source data line.  If the data line is not currently playing, write as
-     * much of the buffer to the data line as will fit, start the dataline, and then finish writing the residual
-     * buffer content to the data line as a blocking call.
-     *
-     * @param buffer of audio to playback
+     * Copies audio samples from pending tones and the current audio segment into the samples array.
+     * @param samples array to fill
+     * @param length number of samples requested
+     * @return number of samples copied
      */
-    private void playAudio(ByteBuffer buffer)
+    private int fill(float[] samples, int length)
     {
-        if(buffer != null)
+        int count = 0;
+
+        while(count < length)
         {
-            int wrote = 0;
+            if(mTone != null)
+            {
+                int toCopy = Math.min(length - count, mTone.length - mToneOffset);
+                System.arraycopy(mTone, mToneOffset, samples, count, toCopy);
+                count += toCopy;
+                mToneOffset += toCopy;
 
-            //If the output data line is not running, we can only write up to the available capacity.  So, only write
-            //what will fit initially, start playback, and then use a blocking write for the remainder.
-            if(!mOutput.isRunning())
+                if(mToneOffset >= mTone.length)
+                {
+                    mTone = null;
+                }
+
+                continue;
+            }
+
+            if(mCurrentAudioSegment == null)
             {
-                int toWrite = mOutput.available();
+                loadNextAudioSegment();
 
-                if(toWrite > buffer.array().length)
+                if(mCurrentAudioSegment == null)
                 {
-                    toWrite = buffer.array().length;
+                    return count;
                 }
+            }
 
-                //Top off the buffer and check if we can start it
-                wrote += mOutput.write(buffer.array(), 0, toWrite);
-                mOutputLastTimestamp = System.currentTimeMillis();
+            //Continuously evaluate current audio segment to see if the status has changed for duplicate or do-not-monitor.
+            if(isThrowaway(mCurrentAudioSegment))
+            {
+                if(mCurrentBufferIndex > 0 || mCurrentBufferOffset > 0)
+                {
+                    insertTone(mAudioSegmentDropTone);
+                }
 
-                checkStart();
+                disposeCurrentAudioSegment();
             }
+            else if(!mStartTonePlayed)
+            {
+                mStartTonePlayed = true;
+                insertTone(mAudioSegmentStartTone);
+            }
+            else if(mCurrentBufferIndex < mCurrentAudioSegment.getAudioBufferCount())
+            {
+                float[] audioBuffer = mCurrentAudioSegment.getAudioBuffers().get(mCurrentBufferIndex);
+
+                if(audioBuffer == null)
+                {
+                    mCurrentBufferIndex++;
+                    mCurrentBufferOffset = 0;
+                    continue;
+                }
+
+                int toCopy = Math.min(length - count, audioBuffer.length - mCurrentBufferOffset);
+                System.arraycopy(audioBuffer, mCurrentBufferOffset, samples, count, toCopy);
+                count += toCopy;
+                mCurrentBufferOffset += toCopy;
 
-            if(mOutput.isRunning() && wrote < buffer.array().length)
+                if(mCurrentBufferOffset >= audioBuffer.length)
+                {
+                    mCurrentBufferIndex++;
+                    mCurrentBufferOffset = 0;
+                }
+            }
+            else if(mCurrentAudioSegment.isComplete())
+            {
+                //Completed and fully-played audio segment
+                disposeCurrentAudioSegment();
+            }
+            else
             {
-                //This will block until the buffer is fully written to the data line
-                mOutput.write(buffer.array(), wrote, buffer.array().length - wrote);
-                mOutputLastTimestamp = System.currentTimeMillis();
+                //Current segment is still active, but doesn't have any more audio yet
+                return count;
             }
         }
+
+        return count;
+    }
+
+    /**
+     * Queues the tone for insertion ahead of any further audio segment samples.
+     * @param tone to insert, or null for no tone.
+     */
+    private void insertTone(float[] tone)
+    {
+        if(tone != null && tone.length > 0)
+        {
+            mTone = tone;
+            mToneOffset = 0;
+        }
+    }
+
+    /**
+     * Notifies this output that the playback mixer has drained and stopped the source data line.  Broadcasts an audio
+     * stopped event and clears the gui panel when this output was playing.
+     *
+     * Note: this method should only be invoked by the playback mixer thread.
+     */
+    void playbackStopped()
+    {
+        if(mPlaying)
+        {
+            mPlaying = false;
+            mAudioEventBroadcaster.broadcast(mAudioStopEvent);
+            broadcast(null);
+        }
     }
 
     /**
@@ -302,11 +344,13 @@ public abstract class AudioOutput implements LineListener, Listener<IdentifierUp
      */
     private void disposeCurrentAudioSegment()
     {
-        if(mCurrentAudioSegment != null)
+        AudioSegment current = mCurrentAudioSegment;
+
+        if(current != null)
         {
-            mCurrentAudioSegment.decrementConsumerCount();
-            mCurrentAudioSegment.removeIdentifierUpdateNotificationListener(this);
             mCurrentAudioSegment = null;
+            current.decrementConsumerCount();
+            current.removeIdentifierUpdateNotificationListener(this);
             broadcast(null);
         }
     }
@@ -318,38 +362,23 @@ public abstract class AudioOutput implements LineListener, Listener<IdentifierUp
     {
         AudioSegment audioSegment = mAudioSegmentQueue.poll();
 
-        boolean verificationInProgress = (audioSegment != null);
-
-        while(verificationInProgress)
+        //Throw away the audio segment if it has been flagged as do not monitor or is duplicate
+        while(isThrowaway(audioSegment))
         {
-            if(audioSegment != null)
-            {
-                //Throw away the audio segment if it has been flagged as do not monitor or is duplicate
-                if(isThrowaway(audioSegment))
-                {
-                    audioSegment.decrementConsumerCount();
-                    audioSegment = mAudioSegmentQueue.poll();
-                }
-                else
-                {
-                    verificationInProgress = false;
-                }
-            }
-            else
-            {
-                verificationInProgress = false;
-            }
+            audioSegment.decrementConsumerCount();
+            audioSegment = mAudioSegmentQueue.poll();
         }
 
         mCurrentAudioSegment = audioSegment;
+        mCurrentBufferIndex = 0;
+        mCurrentBufferOffset = 0;
+        mStartTonePlayed = false;
 
         if(audioSegment != null)
         {
-            mCurrentAudioSegment.addIdentifierUpdateNotificationListener(this);
-            broadcast(mCurrentAudioSegment.getIdentifierCollection());
+            audioSegment.addIdentifierUpdateNotificationListener(this);
+            broadcast(audioSegment.getIdentifierCollection());
         }
-
-        mCurrentBufferIndex = 0;
     }
 
     /**
@@ -363,111 +392,28 @@ public abstract class AudioOutput implements LineListener, Listener<IdentifierUp
     }
 
     /**
-     * Manage audio segment playback and process audio segment buffers.  This method is designed to be called
-     * by a threaded processor repeatedly to playback the current audio segment and check for and start newly
-     * added audio segments.  It also handles starting and stopping the playback source data line to avoid audio
-     * discontinuities due to buffer underruns.
-     */
-    private void processAudio()
-    {
-        if(mCurrentAudioSegment == null)
-        {
-            loadNextAudioSegment();
-        }
-
-        //Evaluate current audio segment to see if the status has changed for duplicate or do-not-monitor.
-        while(isThrowaway(mCurrentAudioSegment))
-        {
-            if(mCurrentBufferIndex > 0)
-            {
-                playAudio(mAudioSegmentDropTone);
-            }
-
-            disposeCurrentAudioSegment();
-            loadNextAudioSegment();
-        }
-
-        while(mCurrentAudioSegment != null && mCurrentBufferIndex < mCurrentAudioSegment.getAudioBufferCount())
-        {
-            //Continuously evaluate current audio segment to see if the status has changed for duplicate or do-not-monitor.
-            if(isThrowaway(mCurrentAudioSegment))
-            {
-                if(mCurrentBufferIndex > 0)
-                {
-                    playAudio(mAudioSegmentDropTone);
-                }
-
-                disposeCurrentAudioSegment();
-            }
-            else
-            {
-                if(mCurrentBufferIndex == 0)
-                {
-                    playAudio(mAudioSegmentStartTone);
-                }
-
-                try
-                {
-                    float[] audioBuffer = mCurrentAudioSegment.getAudioBuffers().get(mCurrentBufferIndex++);
-
-                    if(audioBuffer != null)
-                    {
-                        ByteBuffer audio = convert(audioBuffer);
-                        //This call blocks until all audio bytes are dumped into the data line.
-                        playAudio(audio);
-                    }
-                }
-                catch(Exception e)
-                {
-                    mLog.error("Error while processing audio for [" + mMixerChannel.name() + "]", e);
-                }
-            }
-        }
-
-        //Check for completed and fully-played audio segment to closeout
-        if(mCurrentAudioSegment != null &&
-           mCurrentAudioSegment.isComplete() &&
-           (mCurrentBufferIndex >= mCurrentAudioSegment.getAudioBufferCount()))
-        {
-            disposeCurrentAudioSegment();
-        }
-
-        checkStop();
-    }
-
-    /**
-     * Prepares this audio output for disposal.
+     * Prepares this audio output for disposal.  Any queued audio segments are released.
+     *
+     * Note: the playback mixer must be stopped before disposing the outputs that it services.
      */
     public void dispose()
     {
         MyEventBus.getGlobalEventBus().unregister(this);
-        mCanProcessAudio = false;
+        disposeCurrentAudioSegment();
+
+        AudioSegment queued = mAudioSegmentQueue.poll();
 
-        if(mProcessorFuture != null)
+        while(queued != null)
         {
-            mProcessorFuture.cancel(true);
+            queued.decrementConsumerCount();
+            queued = mAudioSegmentQueue.poll();
         }
 
-        mProcessorFuture = null;
-        disposeCurrentAudioSegment();
+        mTone = null;
         mAudioEventBroadcaster.clear();
         mIdentifierCollectionListener = null;
-
-        if(mOutput != null)
-        {
-            mOutput.close();
-        }
-
-        mOutput = null;
-        mGainControl = null;
-        mMuteControl = null;
     }
 
-    /**
-     * Converts the audio buffer data into a byte buffer format appropriate for the underlying source data line.
-     */
-    protected abstract ByteBuffer convert(float[] buffer);
-
     /**
      * Audio output channel name
      */
@@ -497,14 +443,6 @@ public abstract class AudioOutput implements LineListener, Listener<IdentifierUp
         mAudioEventBroadcaster.removeListener(listener);
     }
 
-    /**
-     * Broadcasts an audio event to the registered listener
-     */
-    private void broadcastAudioEvent(AudioEvent audioEvent)
-    {
-        mAudioEventBroadcaster.broadcast(audioEvent);
-    }
-
     /**
      * Registers a single listener to receive the audio metadata from each
      * audio packet
@@ -527,68 +465,11 @@ public abstract class AudioOutput implements LineListener, Listener<IdentifierUp
      */
     private void broadcast(IdentifierCollection identifierCollection)
     {
-        if(mIdentifierCollectionListener != null)
-        {
-            mIdentifierCollectionListener.receive(identifierCollection);
-        }
-    }
+        Listener<IdentifierCollection> listener = mIdentifierCollectionListener;
 
-    /**
-     * Starts audio playback once audio buffer is almost full and remaining capacity falls below the start threshold.
-     *
-     * Note: this method should only be invoked from the processAudio() method
-     */
-    private void checkStart()
-    {
-        if(mCanProcessAudio && !mOutput.isRunning() && mOutput.available() <= mBufferStartThreshold)
+        if(listener != null)
         {
-            mOutput.start();
-            mRunning = true;
-        }
-    }
-
-    /**
-     * Stops audio playback and drains the audio buffer to empty when the audio buffer is mostly empty and the
-     * available buffer capacity exceeds the stop threshold
-     *
-     * Note: this method should only be invoked from the processAudio() method
-     */
-    private void checkStop()
-    {
-        if(mRunning)
-        {
-            //If the output buffer falls below the threshold then drain the output and stop playback
-            if(mOutput.isRunning())
-            {
-                if(mOutput.available() >= mBufferStopThreshold)
-                {
-                    mOutput.drain();
-                    mOutput.stop();
-                    mRunning = false;
-                }
-                //Detect when we have a partially filled output that will neither start nor stop and the last write
-                //timestamp was more than the staleness threshold (500 ms) -- stop the output and discard stale contents
-                else if(mOutput.available() < mBufferStopThreshold &&
-                        mOutput.available() > mBufferStartThreshold &&
-                        (System.currentTimeMillis() - mOutputLastTimestamp >= STALE_PLAYBACK_THRESHOLD_MS))
-                {
-                    mOutput.stop();
-                    //Discard the stale buffer contents.
-                    mOutput.flush();
-                    mRunning = false;
-                }
-            }
-            //If output playback stopped on its own because the buffer emptied, then cleanup
-            else
-            {
-                mRunning = false;
-            }
-
-            //If we stopped audio playback, broadcast a null identifier to clear the gui panel
-            if(!mRunning)
-            {
-                broadcast(null);
-            }
+            listener.receive(identifierCollection);
         }
     }
 
@@ -597,11 +478,9 @@ public abstract class AudioOutput implements LineListener, Listener<IdentifierUp
      */
     public void setMuted(boolean muted)
     {
-        if(mMuteControl != null)
-        {
-            mMuteControl.setValue(muted);
-            broadcastAudioEvent(new AudioEvent(muted ? AudioEvent.Type.AUDIO_MUTED : AudioEvent.Type.AUDIO_UNMUTED, getChannelName()));
-        }
+        mMuted = muted;
+        mAudioEventBroadcaster.broadcast(new AudioEvent(muted ? AudioEvent.Type.AUDIO_MUTED :
+            AudioEvent.Type.AUDIO_UNMUTED, getChannelName()));
     }
 
     /**
@@ -609,16 +488,11 @@ public abstract class AudioOutput implements LineListener, Listener<IdentifierUp
      */
     public boolean isMuted()
     {
-        if(mMuteControl != null)
-        {
-            return mMuteControl.getValue();
-        }
-
-        return false;
+        return mMuted;
     }
 
     /**
-     * Gain/volume control for this audio output channel, if one is available.
+     * Gain/volume control for this audio output channel.
      */
     public FloatControl getGainControl()
     {
@@ -630,51 +504,36 @@ public abstract class AudioOutput implements LineListener, Listener<IdentifierUp
      */
     public boolean hasGainControl()
     {
-        return mGainControl != null;
+        return true;
     }
 
     /**
-     * Monitors the source data line playback state and broadcasts audio events to the registered listener as the
-     * state changes
+     * Software master gain control applied to the audio samples of this output as they are mixed.
      */
-    @Override
-    public void update(LineEvent event)
+    public static class SoftwareGainControl extends FloatControl
     {
-        LineEvent.Type type = event.getType();
+        private static final float MINIMUM_GAIN_DB = -40.0f;
+        private static final float MAXIMUM_GAIN_DB = 6.0f;
+        private volatile float mLinearGain = 1.0f;
 
-        if(type == LineEvent.Type.START)
-        {
-            mAudioEventBroadcaster.broadcast(mAudioStartEvent);
-        }
-        else if(type == LineEvent.Type.STOP)
+        public SoftwareGainControl()
         {
-            mAudioEventBroadcaster.broadcast(mAudioStopEvent);
+            super(Type.MASTER_GAIN, MINIMUM_GAIN_DB, MAXIMUM_GAIN_DB, 0.1f, -1, 0.0f, "dB");
         }
-    }
-
-    /**
-     * Runnable audio segment processor
-     */
-    public class AudioSegmentProcessor implements Runnable
-    {
-        private AtomicBoolean mProcessing = new AtomicBoolean();
 
         @Override
-        public void run()
+        public void setValue(float newValue)
         {
-            if(mProcessing.compareAndSet(false, true))
-            {
-                try
-                {
-                    processAudio();
-                }
-                catch(Throwable t)
-                {
-                    mLog.error("Error while processing audio buffers", t);
-                }
+            super.setValue(newValue);
+            mLinearGain = (float)Math.pow(10.0, getValue() / 20.0);
+        }
 
-                mProcessing.set(false);
-            }
+        /**
+         * Current gain as a linear amplitude multiplier.
+         */
+        public float getLinearGain()
+        {
+            return mLinearGain;
         }
     }
 }
@@ -21,9 +21,9 @@ package io.github.dsheirer.audio.playback;
 import com.google.common.eventbus.Subscribe;
 import io.github.dsheirer.audio.AudioEvent;
 import io.github.dsheirer.audio.AudioException;
+import io.github.dsheirer.audio.AudioFormats;
 import io.github.dsheirer.audio.AudioSegment;
 import io.github.dsheirer.audio.IAudioController;
-import io.github.dsheirer.controller.NamingThreadFactory;
 import io.github.dsheirer.eventbus.MyEventBus;
 import io.github.dsheirer.preference.PreferenceType;
 import io.github.dsheirer.preference.UserPreferences;
@@ -35,17 +35,15 @@ import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
-import java.util.concurrent.Executors;
 import java.util.concurrent.LinkedTransferQueue;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicBoolean;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * Manages scheduling and playback of audio segments to the local users audio system.
+ *
+ * Audio segment scheduling and playback for all audio outputs run on the single playback thread of the audio playback
+ * mixer, which is paced by the available capacity of the source data line.
  */
 public class AudioPlaybackManager implements Listener<AudioSegment>, IAudioController
 {
@@ -56,15 +54,13 @@ public class AudioPlaybackManager implements Listener<AudioSegment>, IAudioContr
     public static final AudioEvent CONFIGURATION_CHANGE_COMPLETE =
         new AudioEvent(AudioEvent.Type.AUDIO_CONFIGURATION_CHANGE_COMPLETE, null);
     private Broadcaster<AudioEvent> mControllerBroadcaster = new Broadcaster<>();
-    private ScheduledFuture<?> mProcessingTask;
+    private AudioPlaybackMixer mPlaybackMixer;
     private UserPreferences mUserPreferences;
     private MixerChannelConfiguration mMixerChannelConfiguration;
     private List<AudioOutput> mAudioOutputs = new ArrayList<>();
     private List<AudioSegment> mAudioSegments = new ArrayList<>();
     private List<AudioSegment> mPendingAudioSegments = new ArrayList<>();
     private LinkedTransferQueue<AudioSegment> mNewAudioSegmentQueue = new LinkedTransferQueue<>();
-    private ScheduledExecutorService mScheduledExecutorService =
-            Executors.newSingleThreadScheduledExecutor(new NamingThreadFactory("sdrtrunk audio manager"));
 
     /**
      * Constructs an instance.
@@ -105,14 +101,36 @@ public class AudioPlaybackManager implements Listener<AudioSegment>, IAudioContr
     public void receive(AudioSegment audioSegment)
     {
         mNewAudioSegmentQueue.add(audioSegment);
+
+        AudioPlaybackMixer playbackMixer = mPlaybackMixer;
+
+        if(playbackMixer != null)
+        {
+            playbackMixer.wakeup();
+        }
     }
 
     /**
      * Processes new audio segments and automatically assigns them to audio outputs.
      *
-     * Note: this method is intended to be repeatedly invoked by a scheduled processing thread.
+     * Note: this method is intended to be repeatedly invoked by the audio playback mixer thread.
      */
     private void processAudioSegments()
+    {
+        try
+        {
+            scheduleAudioSegments();
+        }
+        catch(Throwable t)
+        {
+            mLog.error("Encountered error while processing audio segments", t);
+        }
+    }
+
+    /**
+     * Assigns new and pending audio segments to the audio outputs in monitor priority order.
+     */
+    private void scheduleAudioSegments()
     {
         //Process new audio segments queue.  If segment has audio, queue it for replay, otherwise place in pending queue
         AudioSegment newSegment = mNewAudioSegmentQueue.poll();
@@ -240,11 +258,7 @@ public class AudioPlaybackManager implements Listener<AudioSegment>, IAudioContr
     public void dispose()
     {
         MyEventBus.getGlobalEventBus().unregister(this);
-        if(mProcessingTask != null)
-        {
-            mProcessingTask.cancel(true);
-            mProcessingTask = null;
-        }
+        stopPlayback();
 
         mNewAudioSegmentQueue.clear();
         mAudioSegments.clear();
@@ -288,42 +302,51 @@ public class AudioPlaybackManager implements Listener<AudioSegment>, IAudioContr
         {
             mControllerBroadcaster.broadcast(CONFIGURATION_CHANGE_STARTED);
 
-            if(mProcessingTask != null)
-            {
-                mProcessingTask.cancel(true);
-            }
-
-            for(AudioOutput audioOutput: mAudioOutputs)
-            {
-                audioOutput.dispose();
-            }
-
-            mAudioOutputs.clear();
+            stopPlayback();
 
             switch(entry.getMixerChannel())
             {
                 case MONO:
-                    AudioOutput mono = new MonoAudioOutput(entry.getMixer(), mUserPreferences);
-                    mAudioOutputs.add(mono);
+                    mAudioOutputs.add(new MonoAudioOutput(mUserPreferences));
+                    mPlaybackMixer = new AudioPlaybackMixer(entry.getMixer(), AudioFormats.PCM_SIGNED_8000_HZ_16_BIT_MONO,
+                        AudioFormats.MONO_SOURCE_DATALINE_INFO, mAudioOutputs, this::processAudioSegments);
                     break;
                 case STEREO:
-                    AudioOutput left = new StereoAudioOutput(entry.getMixer(), MixerChannel.LEFT, mUserPreferences);
-                    mAudioOutputs.add(left);
-
-                    AudioOutput right = new StereoAudioOutput(entry.getMixer(), MixerChannel.RIGHT, mUserPreferences);
-                    mAudioOutputs.add(right);
+                    //Left channel output must be first for the playback mixer
+                    mAudioOutputs.add(new StereoAudioOutput(MixerChannel.LEFT, mUserPreferences));
+                    mAudioOutputs.add(new StereoAudioOutput(MixerChannel.RIGHT, mUserPreferences));
+                    mPlaybackMixer = new AudioPlaybackMixer(entry.getMixer(), AudioFormats.PCM_SIGNED_8000_HZ_16BITS_STEREO,
+                        AudioFormats.STEREO_SOURCE_DATALINE_INFO, mAudioOutputs, this::processAudioSegments);
                     break;
                 default:
                     throw new AudioException("Unsupported mixer channel configuration: " + entry.getMixerChannel());
             }
 
-            mProcessingTask = mScheduledExecutorService.scheduleAtFixedRate(new AudioSegmentProcessor(),
-                0, 100, TimeUnit.MILLISECONDS);
+            mPlaybackMixer.start();
             mControllerBroadcaster.broadcast(CONFIGURATION_CHANGE_COMPLETE);
             mMixerChannelConfiguration = entry;
         }
     }
 
+    /**
+     * Stops the playback mixer thread and disposes the current audio outputs.
+     */
+    private void stopPlayback()
+    {
+        if(mPlaybackMixer != null)
+        {
+            mPlaybackMixer.stop();
+            mPlaybackMixer = null;
+        }
+
+        for(AudioOutput audioOutput: mAudioOutputs)
+        {
+            audioOutput.dispose();
+        }
+
+        mAudioOutputs.clear();
+    }
+
     /**
      * Current audio playback mixer channel configuration setting.
      */
@@ -363,30 +386,4 @@ public class AudioPlaybackManager implements Listener<AudioSegment>, IAudioContr
     {
         mControllerBroadcaster.removeListener(listener);
     }
-
-    /**
-     * Scheduled runnable to process incoming audio segments
-     */
-    public class AudioSegmentProcessor implements Runnable
-    {
-        private AtomicBoolean mProcessing = new AtomicBoolean();
-
-        @Override
-        public void run()
-        {
-            if(mProcessing.compareAndSet(false, true))
-            {
-                try
-                {
-                    processAudioSegments();
-                }
-                catch(Throwable t)
-                {
-                    mLog.error("Encountered error while processing audio segments", t);
-                }
-
-                mProcessing.set(false);
-            }
-        }
-    }
 }
@@ -0,0 +1,421 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2023 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+package io.github.dsheirer.audio.playback;
+
+import io.github.dsheirer.audio.AudioException;
+import io.github.dsheirer.audio.AudioFormats;
+import io.github.dsheirer.controller.NamingThreadFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.Line;
+import javax.sound.sampled.LineUnavailableException;
+import javax.sound.sampled.Mixer;
+import javax.sound.sampled.SourceDataLine;
+
+/**
+ * Pull-based audio playback mixer.  A single playback thread services all audio outputs for the current mixer channel
+ * configuration using a single source data line.  Each cycle the thread invokes the segment scheduler to assign new
+ * audio segments to the outputs, pulls up to one period of audio samples from each output, interleaves (stereo) or
+ * copies (mono) the samples into a preallocated PCM buffer and writes the buffer to the source data line.  The
+ * blocking write paces the thread to the playback rate of the line, so audio is only produced when the line has
+ * capacity for it.
+ *
+ * Line playback starts once the prebuffer threshold is reached, or once the prebuffer duration has elapsed since the
+ * first prebuffered sample, so that the monitor latency is bounded by the prebuffer duration rather than by the size
+ * of the line buffer.  The prebuffer covers more than one P25 LDU (180 ms of audio that arrives in a single burst), so
+ * that bursty decoder output doesn't underrun the line.  If the line underruns while the outputs are still active, the
+ * mixer stops the line and prebuffers again.  When all outputs are idle, the thread parks until woken by the arrival
+ * of a new audio segment, or until the idle poll interval lapses.
+ *
+ * For stereo, when one output is still active but has produced fewer samples than the other, the mixer writes only
+ * the frames that both sides can fill and carries the longer side's remaining samples over to the next period, rather
+ * than zero-padding the short side and shifting its audio out of alignment.
+ */
+public class AudioPlaybackMixer implements Runnable
+{
+    private static final Logger mLog = LoggerFactory.getLogger(AudioPlaybackMixer.class);
+    private static final int SAMPLE_RATE = (int)AudioFormats.PCM_8_KHZ_RATE;
+    private static final int PERIOD_FRAMES = SAMPLE_RATE / 50; //20 ms
+    private static final int LINE_BUFFER_FRAMES = SAMPLE_RATE / 2; //500 ms
+    private static final int PREBUFFER_FRAMES = SAMPLE_RATE * 3 / 10; //300 ms
+    private static final long PREBUFFER_MS = PREBUFFER_FRAMES * 1000L / SAMPLE_RATE;
+    private static final long IDLE_POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(20);
+    private static final int BYTES_PER_SAMPLE = 2;
+
+    private final List<AudioOutput> mAudioOutputs;
+    private final Runnable mSegmentScheduler;
+    private final SourceDataLine mOutput;
+    private final int mChannelCount;
+    private final int mFrameSize;
+    private final float[][] mChannelSamples;
+    private final int[] mChannelSampleCounts;
+    private final float[] mReadSamples;
+    private final byte[] mPcmBuffer;
+    private Thread mThread;
+    private volatile boolean mRunning;
+    private long mPrebufferStartTimestamp;
+
+    /**
+     * Constructs an instance and opens the source data line.
+     *
+     * @param mixer to obtain the source data line
+     * @param audioFormat for the source data line, either 16-bit mono or 16-bit stereo
+     * @param lineInfo to use when obtaining the source data line
+     * @param audioOutputs serviced by this mixer.  For stereo, the left channel output must be first.
+     * @param segmentScheduler invoked on the playback thread each cycle to assign audio segments to the outputs
+     * @throws AudioException if the source data line is unavailable
+     */
+    public AudioPlaybackMixer(Mixer mixer, AudioFormat audioFormat, Line.Info lineInfo, List<AudioOutput> audioOutputs,
+                              Runnable segmentScheduler) throws AudioException
+    {
+        mAudioOutputs = new ArrayList<>(audioOutputs);
+        mSegmentScheduler = segmentScheduler;
+        mChannelCount = audioFormat.getChannels();
+        mFrameSize = mChannelCount * BYTES_PER_SAMPLE;
+        mChannelSamples = new float[audioOutputs.size()][PERIOD_FRAMES];
+        mChannelSampleCounts = new int[audioOutputs.size()];
+        mReadSamples = new float[PERIOD_FRAMES];
+        mPcmBuffer = new byte[PERIOD_FRAMES * mFrameSize];
+
+        try
+        {
+            mOutput = (SourceDataLine)mixer.getLine(lineInfo);
+            mOutput.open(audioFormat, LINE_BUFFER_FRAMES * mFrameSize);
+        }
+        catch(LineUnavailableException | IllegalArgumentException e)
+        {
+            throw new AudioException("Couldn't obtain audio source data line for audio output - mixer [" +
+                mixer.getMixerInfo().getName() + "]", e);
+        }
+    }
+
+    /**
+     * Starts the playback thread.
+     */
+    public void start()
+    {
+        if(mThread == null)
+        {
+            mRunning = true;
+            mThread = new NamingThreadFactory("sdrtrunk audio playback").newThread(this);
+            mThread.setPriority(Thread.MAX_PRIORITY);
+            mThread.start();
+        }
+    }
+
+    /**
+     * Stops the playback thread, waits for it to exit and closes the source data line.
+     */
+    public void stop()
+    {
+        mRunning = false;
+
+        if(mThread != null)
+        {
+            mOutput.stop();
+            mOutput.flush();
+            LockSupport.unpark(mThread);
+
+            try
+            {
+                mThread.join(1000);
+            }
+            catch(InterruptedException ie)
+            {
+                Thread.currentThread().interrupt();
+            }
+
+            mThread = null;
+        }
+
+        mOutput.close();
+    }
+
+    /**
+     * Wakes the playback thread when it is idle so that newly arrived audio segments are scheduled without waiting for
+     * the idle poll interval.  Safe to invoke from any thread.
+     */
+    public void wakeup()
+    {
+        Thread thread = mThread;
+
+        if(thread != null)
+        {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    @Override
+    public void run()
+    {
+        while(mRunning)
+        {
+            try
+            {
+                mSegmentScheduler.run();
+
+                if(!mix())
+                {
+                    LockSupport.parkNanos(IDLE_POLL_NANOS);
+                }
+            }
+            catch(Throwable t)
+            {
+                mLog.error("Error while processing audio playback", t);
+            }
+        }
+    }
+
+    /**
+     * Pulls up to one period of audio from each output, converts it to PCM and writes it to the source data line.
+     *
+     * @return true if audio was written, or false if the outputs didn't produce any audio
+     */
+    private boolean mix()
+    {
+        int requested = PERIOD_FRAMES;
+
+        //Before playback starts, the line won't drain, so we can only write what fits without blocking
+        if(!mOutput.isRunning())
+        {
+            requested = Math.min(requested, mOutput.available() / mFrameSize);
+
+            if(requested == 0)
+            {
+                startPlayback();
+                return false;
+            }
+        }
+
+        int available = 0;
+
+        //Top up each channel, after any samples carried over from the previous period
+        for(int x = 0; x < mAudioOutputs.size(); x++)
+        {
+            int held = mChannelSampleCounts[x];
+
+            if(held < requested)
+            {
+                int count = mAudioOutputs.get(x).read(mReadSamples, requested - held);
+                System.arraycopy(mReadSamples, 0, mChannelSamples[x], held, count);
+                mChannelSampleCounts[x] = held + count;
+            }
+
+            available = Math.max(available, mChannelSampleCounts[x]);
+        }
+
+        //Never write more than was requested, since the line won't drain before playback starts
+        int frames = Math.min(getMixFrames(available), requested);
+
+        if(frames == 0)
+        {
+            checkStartStop();
+            return false;
+        }
+
+        //The line drained while the outputs were still active - prebuffer again before resuming playback
+        if(mOutput.isRunning() && getBufferedFrames() == 0)
+        {
+            mOutput.stop();
+            mPrebufferStartTimestamp = 0;
+        }
+
+        if(mChannelCount == 1)
+        {
+            float[] samples = mChannelSamples[0];
+
+            for(int x = 0; x < frames; x++)
+            {
+                put(samples[x], x * BYTES_PER_SAMPLE);
+            }
+        }
+        else
+        {
+            int rightIndex = mChannelSamples.length > 1 ? 1 : 0;
+            float[] left = mChannelSamples[0];
+            float[] right = mChannelSamples[rightIndex];
+            int leftCount = mChannelSampleCounts[0];
+            int rightCount = mChannelSampleCounts[rightIndex];
+
+            //A side that is idle has no further audio, so it is padded with silence
+            for(int x = 0; x < frames; x++)
+            {
+                put(x < leftCount ? left[x] : 0.0f, x * mFrameSize);
+                put(x < rightCount ? right[x] : 0.0f, x * mFrameSize + BYTES_PER_SAMPLE);
+            }
+        }
+
+        consume(frames);
+
+        if(!mOutput.isRunning() && mPrebufferStartTimestamp == 0)
+        {
+            mPrebufferStartTimestamp = System.currentTimeMillis();
+        }
+
+        //Blocks until the line has capacity for the audio when playback is running
+        mOutput.write(mPcmBuffer, 0, frames * mFrameSize);
+
+        if(!mOutput.isRunning() && getBufferedFrames() >= PREBUFFER_FRAMES)
+        {
+            startPlayback();
+        }
+
+        return true;
+    }
+
+    /**
+     * Number of frames to mix this period.  For stereo, when a side that is still active has fewer samples than the
+     * other side, only the frames that both sides can fill are mixed and the remainder is carried over to the next
+     * period, unless the carry-over buffer is full.
+     *
+     * @param available maximum number of samples held by any channel
+     * @return frames to mix
+     */
+    private int getMixFrames(int available)
+    {
+        if(mChannelCount == 1 || available >= PERIOD_FRAMES)
+        {
+            return available;
+        }
+
+        int frames = available;
+
+        for(int x = 0; x < mAudioOutputs.size(); x++)
+        {
+            if(mChannelSampleCounts[x] < frames && !mAudioOutputs.get(x).isIdle())
+            {
+                frames = mChannelSampleCounts[x];
+            }
+        }
+
+        return frames;
+    }
+
+    /**
+     * Removes the mixed frames from each channel and shifts any carried over samples to the start of the channel.
+     * @param frames that were mixed
+     */
+    private void consume(int frames)
+    {
+        for(int x = 0; x < mChannelSampleCounts.length; x++)
+        {
+            int remaining = Math.max(0, mChannelSampleCounts[x] - frames);
+
+            if(remaining > 0)
+            {
+                System.arraycopy(mChannelSamples[x], frames, mChannelSamples[x], 0, remaining);
+            }
+
+            mChannelSampleCounts[x] = remaining;
+        }
+    }
+
+    /**
+     * Converts the sample to a clipped 16-bit little-endian PCM value in the PCM buffer at the offset.
+     */
+    private void put(float sample, int offset)
+    {
+        int value = (int)(sample * Short.MAX_VALUE);
+
+        if(value > Short.MAX_VALUE)
+        {
+            value = Short.MAX_VALUE;
+        }
+        else if(value < Short.MIN_VALUE)
+        {
+            value = Short.MIN_VALUE;
+        }
+
+        mPcmBuffer[offset] = (byte)value;
+        mPcmBuffer[offset + 1] = (byte)(value >> 8);
+    }
+
+    /**
+     * Number of audio frames written to the line that have not yet been played.
+     */
+    private int getBufferedFrames()
+    {
+        return (mOutput.getBufferSize() - mOutput.available()) / mFrameSize;
+    }
+
+    /**
+     * Invoked when the outputs have no audio to provide.  Starts playback of prebuffered audio once the prebuffer
+     * duration has elapsed since the first prebuffered sample.  Once the line has drained, stops playback and either
+     * notifies the outputs when they are all idle, or prebuffers again when an output is still active (underrun).
+     */
+    private void checkStartStop()
+    {
+        int buffered = getBufferedFrames();
+
+        if(!mOutput.isRunning())
+        {
+            if(buffered > 0 && mPrebufferStartTimestamp > 0 &&
+                (System.currentTimeMillis() - mPrebufferStartTimestamp) >= PREBUFFER_MS)
+            {
+                startPlayback();
+            }
+        }
+        else if(buffered == 0)
+        {
+            mOutput.stop();
+            mPrebufferStartTimestamp = 0;
+
+            if(isIdle())
+            {
+                for(AudioOutput audioOutput: mAudioOutputs)
+                {
+                    audioOutput.playbackStopped();
+                }
+            }
+        }
+    }
+
+    /**
+     * Indicates if all audio outputs are idle.
+     */
+    private boolean isIdle()
+    {
+        for(AudioOutput audioOutput: mAudioOutputs)
+        {
+            if(!audioOutput.isIdle())
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Starts source data line playback.
+     */
+    private void startPlayback()
+    {
+        if(mRunning && !mOutput.isRunning())
+        {
+            mOutput.start();
+        }
+    }
+}
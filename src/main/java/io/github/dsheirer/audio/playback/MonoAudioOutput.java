@@ -1,6 +1,6 @@
 /*
  * *****************************************************************************
- * Copyright (C) 2014-2022 Dennis Sheirer
+ * Copyright (C) 2014-2023 Dennis Sheirer
  *
  * This program is free software: you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -18,48 +18,16 @@
  */
 package io.github.dsheirer.audio.playback;
 
-import io.github.dsheirer.audio.AudioFormats;
 import io.github.dsheirer.preference.UserPreferences;
 import io.github.dsheirer.source.mixer.MixerChannel;
 
-import javax.sound.sampled.Mixer;
-import java.nio.ByteBuffer;
-import java.nio.ByteOrder;
-import java.nio.ShortBuffer;
-
 /**
  * Mono Audio output implementation
  */
 public class MonoAudioOutput extends AudioOutput
 {
-    private final static int BUFFER_SIZE = 8000;
-
-    public MonoAudioOutput(Mixer mixer, UserPreferences userPreferences)
-    {
-        super(mixer, MixerChannel.MONO, AudioFormats.PCM_SIGNED_8000_HZ_16_BIT_MONO,
-            AudioFormats.MONO_SOURCE_DATALINE_INFO, BUFFER_SIZE, userPreferences);
-    }
-
-    /**
-     * Converts the audio packet data into mono audio frames.
-     */
-    protected ByteBuffer convert(float[] samples)
+    public MonoAudioOutput(UserPreferences userPreferences)
     {
-        ByteBuffer buffer = null;
-
-        if(samples.length > 0)
-        {
-			/* Little-endian byte buffer */
-            buffer = ByteBuffer.allocate(samples.length * 2).order(ByteOrder.LITTLE_ENDIAN);
-
-            ShortBuffer shortBuffer = buffer.asShortBuffer();
-
-            for(float sample : samples)
-            {
-                shortBuffer.put((short) (sample * Short.MAX_VALUE));
-            }
-        }
-
-        return buffer;
+        super(MixerChannel.MONO, userPreferences);
     }
 }
@@ -1,6 +1,6 @@
 /*
  * *****************************************************************************
- * Copyright (C) 2014-2022 Dennis Sheirer
+ * Copyright (C) 2014-2023 Dennis Sheirer
  *
  * This program is free software: you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -18,62 +18,18 @@
  */
 package io.github.dsheirer.audio.playback;
 
-import io.github.dsheirer.audio.AudioFormats;
 import io.github.dsheirer.preference.UserPreferences;
 import io.github.dsheirer.source.mixer.MixerChannel;
 
-import javax.sound.sampled.Mixer;
-import java.nio.ByteBuffer;
-import java.nio.ByteOrder;
-import java.nio.ShortBuffer;
-
 /**
- * Stereo audio output implementation.
+ * Stereo audio output implementation for either the left or the right channel of a stereo source data line.  The
+ * playback mixer places the audio from this output in the mixer channel's side of each stereo frame and the audio from
+ * the opposite output in the other side.
  */
 public class StereoAudioOutput extends AudioOutput
 {
-    private final static int BUFFER_SIZE = 16000;
-
-    public StereoAudioOutput(Mixer mixer, MixerChannel channel, UserPreferences userPreferences)
-    {
-        super(mixer, channel, AudioFormats.PCM_SIGNED_8000_HZ_16BITS_STEREO, AudioFormats.STEREO_SOURCE_DATALINE_INFO,
-            BUFFER_SIZE, userPreferences);
-    }
-
-    /**
-     * Converts the audio packet data into stereo audio frames with the mixer
-     * channel containing the audio and the other channel containing zero
-     * valued (silent) samples.
-     */
-    protected ByteBuffer convert(float[] samples)
+    public StereoAudioOutput(MixerChannel channel, UserPreferences userPreferences)
     {
-        ByteBuffer buffer = null;
-
-        if(samples.length > 0)
-        {
-			/* Little-endian byte buffer */
-            buffer = ByteBuffer.allocate(samples.length * 4).order(ByteOrder.LITTLE_ENDIAN);
-
-            ShortBuffer shortBuffer = buffer.asShortBuffer();
-
-            if(getMixerChannel() == MixerChannel.LEFT)
-            {
-                for(float sample : samples)
-                {
-                    shortBuffer.put((short) (sample * Short.MAX_VALUE));
-                    shortBuffer.put((short) 0);
-                }
-            }
-            else
-            {
-                for(float sample : samples)
-                {
-                    shortBuffer.put((short) 0);
-                    shortBuffer.put((short) (sample * Short.MAX_VALUE));
-                }
-            }
-        }
-
-        return buffer;
+        super(channel, userPreferences);
     }
 }
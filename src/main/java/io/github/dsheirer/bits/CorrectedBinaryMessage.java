@@ -21,11 +21,13 @@
  */
 package io.github.dsheirer.bits;
 
+import java.util.Arrays;
 import java.util.BitSet;
 
 public class CorrectedBinaryMessage extends BinaryMessage
 {
     private int mCorrectedBitCount;
+    private float[] mSoftBits;
 
     /**
      * Subclass of binary message class to allow capturing a corrected bits metric.
@@ -82,7 +84,45 @@ public class CorrectedBinaryMessage extends BinaryMessage
     }
 
     /**
-     * Returns a new binary message containing the bits from (inclusive) to end (exclusive).
+     * Indicates if this message carries per-bit soft decision values.
+     */
+    public boolean hasSoftBits()
+    {
+        return mSoftBits != null;
+    }
+
+    /**
+     * Per-bit soft decision values aligned to the bits of this message, or null.  Each value is a log-likelihood
+     * where a positive value indicates a one bit, a negative value indicates a zero bit and the magnitude indicates
+     * the reliability of the bit decision.
+     */
+    public float[] getSoftBits()
+    {
+        return mSoftBits;
+    }
+
+    /**
+     * Sets the per-bit soft decision values for this message.
+     * @param softBits aligned to the bits of this message, or null to clear the soft decision values.
+     */
+    public void setSoftBits(float[] softBits)
+    {
+        mSoftBits = softBits;
+    }
+
+    /**
+     * Soft decision value for the bit at the index.
+     * @param index of the bit
+     * @return soft value
+     */
+    public float getSoftBit(int index)
+    {
+        return mSoftBits[index];
+    }
+
+    /**
+     * Returns a new binary message containing the bits from (inclusive) to end (exclusive).  Soft decision values
+     * for the bit range are also transferred when this message carries soft values.
      *
      * @param start bit
      * @param end bit
@@ -91,6 +131,13 @@ public class CorrectedBinaryMessage extends BinaryMessage
     public CorrectedBinaryMessage getSubMessage(int start, int end)
     {
         BitSet subset = this.get(start, end);
-        return new CorrectedBinaryMessage(subset, end - start);
+        CorrectedBinaryMessage subMessage = new CorrectedBinaryMessage(subset, end - start);
+
+        if(hasSoftBits())
+        {
+            subMessage.setSoftBits(Arrays.copyOfRange(mSoftBits, start, end));
+        }
+
+        return subMessage;
     }
 }
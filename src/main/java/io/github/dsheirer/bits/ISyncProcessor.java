@@ -23,4 +23,16 @@ public interface ISyncProcessor
      * @return
      */
     boolean checkSync(long value);
+
+    /**
+     * Checks if the value matches a known sync pattern, where the erasures argument flags the bit positions that
+     * were received with low confidence.  Processors that don't support soft matching ignore the erasures.
+     * @param value to check
+     * @param erasures bit mask of low confidence bit positions in the value
+     * @return true if the value matches
+     */
+    default boolean checkSync(long value, long erasures)
+    {
+        return checkSync(value);
+    }
 }
@@ -50,6 +50,7 @@ public class MultiSyncPatternMatcher
 
     private long mBits = 0;
     private long mMask = 0;
+    private long mErasures = 0;
 
     public MultiSyncPatternMatcher(ISyncDetectListener syncDetectListener, int syncLossThreshold, int syncSize)
     {
@@ -70,6 +71,15 @@ public class MultiSyncPatternMatcher
      * Processes two bits before checking sync processors for a match.
      */
     public void receive(boolean bit1, boolean bit2)
+    {
+        receive(bit1, bit2, false, false);
+    }
+
+    /**
+     * Processes two bits and flags for each bit indicating that the bit was received with low confidence, before
+     * checking sync processors for a match.
+     */
+    public void receive(boolean bit1, boolean bit2, boolean erasure1, boolean erasure2)
     {
         mBits = Long.rotateLeft(mBits, 1);
 
@@ -89,11 +99,13 @@ public class MultiSyncPatternMatcher
             mBits += 1;
         }
 
+        mErasures = ((mErasures << 2) | (erasure1 ? 2 : 0) | (erasure2 ? 1 : 0)) & mMask;
+
         mBitCount += 2;
 
         for(ISyncProcessor processor : mSyncProcessors)
         {
-            if(processor.checkSync(mBits))
+            if(processor.checkSync(mBits, mErasures))
             {
                 mBitCount = 0;
             }
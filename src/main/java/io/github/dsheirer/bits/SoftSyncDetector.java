@@ -66,6 +66,35 @@ public class SoftSyncDetector implements ISyncProcessor
         return false;
     }
 
+    /**
+     * Checks the value against the sync pattern, weighting bit errors that occur in low confidence (erased) bit
+     * positions as half of a bit error.
+     *
+     * @param value to check
+     * @param erasures bit mask of low confidence bit positions in the value
+     * @return true if the value matches
+     */
+    @Override
+    public boolean checkSync(long value, long erasures)
+    {
+        long difference = value ^ mPattern;
+
+        if(difference == 0 || erasures == 0)
+        {
+            return checkSync(value);
+        }
+
+        mBitErrorCount = Long.bitCount(difference & ~erasures) + (Long.bitCount(difference & erasures) / 2);
+
+        if(mBitErrorCount <= mThreshold)
+        {
+            mListener.syncDetected(mBitErrorCount);
+            return true;
+        }
+
+        return false;
+    }
+
     public void setThreshold(int threshold)
     {
         mThreshold = threshold;
@@ -24,6 +24,7 @@ package io.github.dsheirer.buffer;
  */
 public abstract class AbstractNativeBuffer implements INativeBuffer
 {
+    private final long mOriginNanos = System.nanoTime();
     private long mTimestamp;
     private float mSamplesPerMillisecond;
 
@@ -48,6 +49,16 @@ public abstract class AbstractNativeBuffer implements INativeBuffer
         return mTimestamp;
     }
 
+    /**
+     * Monotonic origin stamp captured when this buffer was created from the tuner's sample transfer.
+     * @return origin stamp in nanoseconds
+     */
+    @Override
+    public long getOriginNanos()
+    {
+        return mOriginNanos;
+    }
+
     /**
      * Quantity of samples representing one millisecond of sample data, used for calculating fragment timestamp offsets.
      * @return samples per millisecond count.
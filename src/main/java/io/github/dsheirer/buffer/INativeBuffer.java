@@ -50,4 +50,14 @@ public interface INativeBuffer
      * @return millis since epoch
      */
     long getTimestamp();
+
+    /**
+     * Monotonic origin stamp for latency tracing, captured from System.nanoTime() when the samples for this buffer
+     * arrived from the tuner.
+     * @return origin stamp in nanoseconds, or zero if this buffer is not traced.
+     */
+    default long getOriginNanos()
+    {
+        return 0;
+    }
 }
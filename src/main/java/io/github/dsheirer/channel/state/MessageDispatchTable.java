@@ -0,0 +1,107 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2023 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.channel.state;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Message class dispatch table for decoder states.  Handlers are registered for message classes at construction and
+ * each received message is routed to the handler registered for the closest super class (or interface) of the
+ * message's runtime class.  The route for each concrete message class is resolved once and cached in a ClassValue,
+ * so that dispatch is a constant time lookup instead of a chain of instanceof checks.
+ *
+ * Registered message classes should not be sub-classes of each other unless the more specific handler is intended to
+ * take precedence, since the closest registered class is always selected regardless of registration order.
+ *
+ * @param <T> base message type
+ */
+public class MessageDispatchTable<T>
+{
+    private final Map<Class<?>,Consumer<? super T>> mHandlers = new LinkedHashMap<>();
+    private final ClassValue<Consumer<? super T>> mRoutes = new ClassValue<>()
+    {
+        @Override
+        protected Consumer<? super T> computeValue(Class<?> type)
+        {
+            return resolve(type);
+        }
+    };
+
+    /**
+     * Registers a handler for the message class and any sub-classes that don't have a more specific handler.
+     * Note: all handlers must be registered before the first message is dispatched.
+     * @param messageClass to handle
+     * @param handler for the message class
+     */
+    @SuppressWarnings("unchecked")
+    public <S extends T> MessageDispatchTable<T> register(Class<S> messageClass, Consumer<S> handler)
+    {
+        mHandlers.put(messageClass, message -> handler.accept((S)message));
+        return this;
+    }
+
+    /**
+     * Dispatches the message to the handler registered for the closest super type of the message.
+     * @param message to dispatch
+     * @return true if a handler was found for the message
+     */
+    public boolean dispatch(T message)
+    {
+        Consumer<? super T> handler = mRoutes.get(message.getClass());
+
+        if(handler != null)
+        {
+            handler.accept(message);
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Resolves the handler for the closest registered super class or interface of the type.
+     */
+    private Consumer<? super T> resolve(Class<?> type)
+    {
+        for(Class<?> current = type; current != null; current = current.getSuperclass())
+        {
+            Consumer<? super T> handler = mHandlers.get(current);
+
+            if(handler != null)
+            {
+                return handler;
+            }
+
+            for(Class<?> implemented: current.getInterfaces())
+            {
+                handler = resolve(implemented);
+
+                if(handler != null)
+                {
+                    return handler;
+                }
+            }
+        }
+
+        return null;
+    }
+}
@@ -230,7 +230,7 @@ public class MultiChannelState extends AbstractChannelState implements IDecoderS
     }
 
     @Override
-    protected void checkState()
+    protected synchronized void checkState()
     {
         for(StateMachine stateMachine: mStateMachineMap.values())
         {
@@ -519,12 +519,23 @@ public class MultiChannelState extends AbstractChannelState implements IDecoderS
     }
 
     /**
-     * DecoderStateEvent receiver wrapper
+     * DecoderStateEvent receiver wrapper.
+     *
+     * Note: decoder state events can arrive concurrently from each timeslot when the processing chain uses parallel
+     * timeslot processing, so event processing is synchronized on the channel state.
      */
     public class DecoderStateEventReceiver implements Listener<DecoderStateEvent>
     {
         @Override
         public void receive(DecoderStateEvent event)
+        {
+            synchronized(MultiChannelState.this)
+            {
+                process(event);
+            }
+        }
+
+        private void process(DecoderStateEvent event)
         {
             if(event.getSource() != this)
             {
@@ -581,7 +592,10 @@ public class MultiChannelState extends AbstractChannelState implements IDecoderS
 
             if(channelMetadata != null)
             {
-                channelMetadata.receive(identifierUpdateNotification);
+                synchronized(MultiChannelState.this)
+                {
+                    channelMetadata.receive(identifierUpdateNotification);
+                }
             }
         }
     }
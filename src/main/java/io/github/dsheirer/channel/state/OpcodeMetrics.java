@@ -0,0 +1,136 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2023 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.channel.state;
+
+/**
+ * Per-opcode message count and handler time metrics for control channel load analysis.  Counters are indexed by the
+ * opcode enumeration ordinal.
+ *
+ * Note: updates are intended to be made by a single decoder thread.  Other threads may read the metrics at any time
+ * and observe slightly stale values.
+ *
+ * @param <E> opcode enumeration
+ */
+public class OpcodeMetrics<E extends Enum<E>>
+{
+    private final E[] mOpcodes;
+    private final long[] mCounts;
+    private final long[] mHandlerNanos;
+    private final String mLabel;
+
+    /**
+     * Constructs an instance
+     * @param label for the metrics summary
+     * @param opcodeClass enumeration class
+     */
+    public OpcodeMetrics(String label, Class<E> opcodeClass)
+    {
+        mLabel = label;
+        mOpcodes = opcodeClass.getEnumConstants();
+        mCounts = new long[mOpcodes.length];
+        mHandlerNanos = new long[mOpcodes.length];
+    }
+
+    /**
+     * Records a processed message
+     * @param opcode of the message
+     * @param handlerNanos elapsed time spent processing the message, in nanoseconds
+     */
+    public void record(E opcode, long handlerNanos)
+    {
+        if(opcode != null)
+        {
+            int index = opcode.ordinal();
+            mCounts[index]++;
+            mHandlerNanos[index] += handlerNanos;
+        }
+    }
+
+    /**
+     * Count of messages processed for the opcode
+     */
+    public long getCount(E opcode)
+    {
+        return mCounts[opcode.ordinal()];
+    }
+
+    /**
+     * Total time spent processing messages for the opcode, in nanoseconds
+     */
+    public long getHandlerTime(E opcode)
+    {
+        return mHandlerNanos[opcode.ordinal()];
+    }
+
+    /**
+     * Total count of messages processed for all opcodes
+     */
+    public long getTotalCount()
+    {
+        long total = 0;
+
+        for(long count: mCounts)
+        {
+            total += count;
+        }
+
+        return total;
+    }
+
+    /**
+     * Resets all counters
+     */
+    public void reset()
+    {
+        for(int x = 0; x < mOpcodes.length; x++)
+        {
+            mCounts[x] = 0;
+            mHandlerNanos[x] = 0;
+        }
+    }
+
+    /**
+     * Formatted summary of message count and average handler time for each opcode that has been processed.
+     */
+    public String getSummary()
+    {
+        StringBuilder sb = new StringBuilder();
+        sb.append(mLabel).append(" Message Load [").append(getTotalCount()).append(" messages]\n");
+
+        for(int x = 0; x < mOpcodes.length; x++)
+        {
+            long count = mCounts[x];
+
+            if(count > 0)
+            {
+                sb.append("  ").append(mOpcodes[x].name()).append(" COUNT:").append(count);
+                sb.append(String.format(" AVG:%.1fus\n", mHandlerNanos[x] / (double)count / 1000.0));
+            }
+        }
+
+        return sb.toString();
+    }
+
+    @Override
+    public String toString()
+    {
+        return getSummary();
+    }
+}
@@ -26,9 +26,10 @@ import io.github.dsheirer.identifier.IdentifierClass;
 import io.github.dsheirer.identifier.IdentifierUpdateNotification;
 import io.github.dsheirer.identifier.MutableIdentifierCollection;
 import io.github.dsheirer.identifier.configuration.ChannelDescriptorConfigurationIdentifier;
+import io.github.dsheirer.module.ITimeslotModule;
 import io.github.dsheirer.sample.Listener;
 
-public abstract class TimeslotDecoderState extends DecoderState
+public abstract class TimeslotDecoderState extends DecoderState implements ITimeslotModule
 {
     private int mTimeslot;
 
@@ -39,7 +40,8 @@ public abstract class TimeslotDecoderState extends DecoderState
         mConfigurationIdentifierListener = new TimeslotConfigurationIdentifierListener();
     }
 
-    protected int getTimeslot()
+    @Override
+    public int getTimeslot()
     {
         return mTimeslot;
     }
@@ -21,6 +21,13 @@ package io.github.dsheirer.dsp.filter;
 import io.github.dsheirer.dsp.filter.decimate.IRealDecimationFilter;
 import io.github.dsheirer.dsp.filter.design.FilterDesignException;
 import io.github.dsheirer.dsp.filter.fir.FIRFilterSpecification;
+import io.github.dsheirer.dsp.filter.fir.complex.IComplexDecimationFilter;
+import io.github.dsheirer.dsp.filter.fir.complex.ScalarComplexDecimationFIRFilter;
+import io.github.dsheirer.dsp.filter.fir.complex.VectorComplexDecimationFIRFilter128Bit;
+import io.github.dsheirer.dsp.filter.fir.complex.VectorComplexDecimationFIRFilter256Bit;
+import io.github.dsheirer.dsp.filter.fir.complex.VectorComplexDecimationFIRFilter512Bit;
+import io.github.dsheirer.dsp.filter.fir.complex.VectorComplexDecimationFIRFilter64Bit;
+import io.github.dsheirer.dsp.filter.fir.complex.VectorComplexDecimationFIRFilterDefaultBit;
 import io.github.dsheirer.dsp.filter.fir.real.IRealFilter;
 import io.github.dsheirer.dsp.filter.fir.real.RealFIRFilter;
 import io.github.dsheirer.dsp.filter.fir.real.VectorRealFIRFilter128Bit;
@@ -1098,6 +1105,50 @@ public class FilterFactory
         }
     }
 
+    /**
+     * Determines the largest integer decimation factor for a channel sample rate that preserves at least the minimum
+     * number of samples per symbol for a downstream symbol timing recovery demodulator.
+     * @param sampleRate of the channel
+     * @param symbolRate of the signal
+     * @param minimumSamplesPerSymbol required after decimation
+     * @return decimation factor, 1 or greater.
+     */
+    public static int getDecimation(double sampleRate, double symbolRate, double minimumSamplesPerSymbol)
+    {
+        return Math.max(1, (int)(sampleRate / (symbolRate * minimumSamplesPerSymbol)));
+    }
+
+    /**
+     * Creates the optimal complex decimating FIR filter implementation using calibration data to select from among the
+     * scalar and vector implementations.
+     * @param coefficients for the filter
+     * @param decimation factor, 1 or greater.
+     * @return complex decimating filter implementation
+     */
+    public static IComplexDecimationFilter getComplexDecimationFilter(float[] coefficients, int decimation)
+    {
+        Implementation implementation = CalibrationManager.getInstance()
+                .getImplementation(CalibrationType.FILTER_FIR_COMPLEX_DECIMATION);
+
+        switch(implementation)
+        {
+            case VECTOR_SIMD_PREFERRED:
+                return new VectorComplexDecimationFIRFilterDefaultBit(coefficients, decimation);
+            case VECTOR_SIMD_64:
+                return new VectorComplexDecimationFIRFilter64Bit(coefficients, decimation);
+            case VECTOR_SIMD_128:
+                return new VectorComplexDecimationFIRFilter128Bit(coefficients, decimation);
+            case VECTOR_SIMD_256:
+                return new VectorComplexDecimationFIRFilter256Bit(coefficients, decimation);
+            case VECTOR_SIMD_512:
+                return new VectorComplexDecimationFIRFilter512Bit(coefficients, decimation);
+            case UNCALIBRATED:
+            case SCALAR:
+            default:
+                return new ScalarComplexDecimationFIRFilter(coefficients, decimation);
+        }
+    }
+
     /**
      * Constructs the optimal decimation filter implementation for filter length and window type
      * using calibration data to select among scalar and vector implementation options.
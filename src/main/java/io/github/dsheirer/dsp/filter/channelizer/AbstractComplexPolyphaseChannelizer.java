@@ -38,6 +38,7 @@ public abstract class AbstractComplexPolyphaseChannelizer implements Listener<In
     private int mSubChannelCount;
     private double mChannelSampleRate;
     protected long mCurrentSamplesTimestamp;
+    protected long mCurrentSamplesOrigin;
 
     /**
      * Complex sample polyphase channelizer
@@ -52,6 +53,15 @@ public abstract class AbstractComplexPolyphaseChannelizer implements Listener<In
         mChannelSampleRate = (double)mSampleRate / (double)mChannelCount;
     }
 
+    /**
+     * Sets the latency tracing origin stamp for the samples that are subsequently received by this channelizer.
+     * @param origin stamp in nanoseconds from the tuner's native buffer
+     */
+    public void setCurrentSamplesOrigin(long origin)
+    {
+        mCurrentSamplesOrigin = origin;
+    }
+
     /**
      * Input sample rate for this channelizer
      * @return sample rate in hertz
@@ -106,7 +116,7 @@ public abstract class AbstractComplexPolyphaseChannelizer implements Listener<In
     {
         for(PolyphaseChannelSource channel : mChannels)
         {
-            channel.receiveChannelResults(channelResultsList, mCurrentSamplesTimestamp);
+            channel.receiveChannelResults(channelResultsList, mCurrentSamplesTimestamp, mCurrentSamplesOrigin);
         }
     }
 
@@ -71,6 +71,7 @@ public class PolyphaseChannelManager implements ISourceEventProcessor
     private static final double MINIMUM_CHANNEL_BANDWIDTH = 25000.0;
     private static final double CHANNEL_OVERSAMPLING = 2.0;
     private static final int POLYPHASE_CHANNELIZER_TAPS_PER_CHANNEL = 9;
+    private static final double PROCESSING_LOAD_SMOOTHING = 0.05;
 
     private Broadcaster<SourceEvent> mSourceEventBroadcaster = new Broadcaster<>();
     private INativeBufferProvider mNativeBufferProvider;
@@ -81,6 +82,7 @@ public class PolyphaseChannelManager implements ISourceEventProcessor
     private ChannelSourceEventListener mChannelSourceEventListener = new ChannelSourceEventListener();
     private NativeBufferReceiver mNativeBufferReceiver = new NativeBufferReceiver();
     private Dispatcher mBufferDispatcher;
+    private volatile double mProcessingLoad;
     private Map<Integer,float[]> mOutputProcessorFilters = new HashMap<>();
     private boolean mRunning = true;
 
@@ -259,6 +261,7 @@ public class PolyphaseChannelManager implements ISourceEventProcessor
                 mNativeBufferProvider.removeBufferListener(mBufferDispatcher);
                 mBufferDispatcher.stop();
                 mPolyphaseChannelizer.stop();
+                mProcessingLoad = 0.0;
             }
         }
 
@@ -369,6 +372,16 @@ public class PolyphaseChannelManager implements ISourceEventProcessor
         }
     }
 
+    /**
+     * Smoothed processing load of the polyphase buffer processing (channelizer) thread, measured as the time spent
+     * channelizing each native buffer relative to the duration of the samples in the buffer.
+     * @return load where 0.0 is idle and 1.0 or greater indicates that the channelizer can't keep up with the tuner.
+     */
+    public double getProcessingLoad()
+    {
+        return mProcessingLoad;
+    }
+
     /**
      * Sorted set of currently sourced tuner channels being provided by this channel manager.  The set is ordered by
      * frequency (low to high).
@@ -505,6 +518,8 @@ public class PolyphaseChannelManager implements ISourceEventProcessor
 
             if(mPolyphaseChannelizer != null)
             {
+                long start = System.nanoTime();
+                mPolyphaseChannelizer.setCurrentSamplesOrigin(nativeBuffer.getOriginNanos());
                 Iterator<InterleavedComplexSamples> iterator = nativeBuffer.iteratorInterleaved();
 
                 while(iterator.hasNext())
@@ -518,6 +533,14 @@ public class PolyphaseChannelManager implements ISourceEventProcessor
                         mLog.error("Error", throwable);
                     }
                 }
+
+                double bufferDuration = nativeBuffer.sampleCount() / mPolyphaseChannelizer.getSampleRate() * 1E9;
+
+                if(bufferDuration > 0)
+                {
+                    double load = (System.nanoTime() - start) / bufferDuration;
+                    mProcessingLoad += PROCESSING_LOAD_SMOOTHING * (load - mProcessingLoad);
+                }
             }
         }
     }
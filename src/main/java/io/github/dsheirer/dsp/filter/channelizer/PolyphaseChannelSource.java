@@ -267,8 +267,10 @@ public class PolyphaseChannelSource extends TunerChannelSource implements Listen
      *
      * @param channelResultsList containing a list of polyphase channelizer output arrays.
      * @param currentSamplesTimestamp for the samples
+     * @param currentSamplesOrigin latency tracing stamp for the samples
      */
-    public void receiveChannelResults(List<float[]> channelResultsList, long currentSamplesTimestamp)
+    public void receiveChannelResults(List<float[]> channelResultsList, long currentSamplesTimestamp,
+                                      long currentSamplesOrigin)
     {
         if(mPendingOutputProcessorUpdate != null)
         {
@@ -282,7 +284,8 @@ public class PolyphaseChannelSource extends TunerChannelSource implements Listen
         {
             if(mPolyphaseChannelOutputProcessor != null)
             {
-                mPolyphaseChannelOutputProcessor.receiveChannelResults(channelResultsList, currentSamplesTimestamp);
+                mPolyphaseChannelOutputProcessor.receiveChannelResults(channelResultsList, currentSamplesTimestamp,
+                    currentSamplesOrigin);
             }
         }
         catch(Exception e)
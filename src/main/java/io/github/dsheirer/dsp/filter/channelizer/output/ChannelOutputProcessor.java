@@ -35,6 +35,7 @@ public abstract class ChannelOutputProcessor implements IPolyphaseChannelOutputP
     protected Listener<ComplexSamples> mComplexSamplesListener;
     private int mInputChannelCount;
     private long mCurrentSampleTimestamp = System.currentTimeMillis();
+    private long mCurrentSampleOrigin;
 
     /**
      * Base class for polyphase channelizer output channel processing.  Provides built-in frequency translation
@@ -72,6 +73,15 @@ public abstract class ChannelOutputProcessor implements IPolyphaseChannelOutputP
         return mCurrentSampleTimestamp;
     }
 
+    /**
+     * Latency tracing origin stamp for the current series of samples.
+     * @return origin stamp in nanoseconds to use with assembled complex sample buffers.
+     */
+    protected long getCurrentSampleOrigin()
+    {
+        return mCurrentSampleOrigin;
+    }
+
     @Override
     public void start()
     {
@@ -104,10 +114,11 @@ public abstract class ChannelOutputProcessor implements IPolyphaseChannelOutputP
     }
 
     @Override
-    public void receiveChannelResults(List<float[]> channelResultsList, long timestamp)
+    public void receiveChannelResults(List<float[]> channelResultsList, long timestamp, long origin)
     {
         mChannelResultsDispatcher.receive(channelResultsList);
         mCurrentSampleTimestamp = timestamp;
+        mCurrentSampleOrigin = origin;
     }
 
     /**
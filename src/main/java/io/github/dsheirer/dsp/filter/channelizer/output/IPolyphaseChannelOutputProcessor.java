@@ -42,8 +42,9 @@ public interface IPolyphaseChannelOutputProcessor
      * Receive and enqueue output results from the polyphase analysis channelizer
      * @param channelResults to enqueue
      * @param timestamp for the first channel results buffer
+     * @param origin latency tracing stamp for the channel results
      */
-    void receiveChannelResults(List<float[]> channelResults, long timestamp);
+    void receiveChannelResults(List<float[]> channelResults, long timestamp, long origin);
 
     /**
      * Listener to receive assembled complex samples buffers
@@ -103,7 +103,8 @@ public class OneChannelOutputProcessor extends ChannelOutputProcessor
 
             if(mMixerAssembler.hasBuffer())
             {
-                ComplexSamples buffer = mMixerAssembler.getBuffer(getCurrentSampleTimestamp());
+                ComplexSamples buffer = mMixerAssembler.getBuffer(getCurrentSampleTimestamp())
+                    .withOrigin(getCurrentSampleOrigin());
 
                 if(mComplexSamplesListener != null)
                 {
@@ -115,7 +115,8 @@ public class TwoChannelOutputProcessor extends ChannelOutputProcessor
 
             if(mMixerAssembler.hasBuffer())
             {
-                ComplexSamples buffer = mMixerAssembler.getBuffer(getCurrentSampleTimestamp());
+                ComplexSamples buffer = mMixerAssembler.getBuffer(getCurrentSampleTimestamp())
+                    .withOrigin(getCurrentSampleOrigin());
 
                 if(mComplexSamplesListener != null)
                 {
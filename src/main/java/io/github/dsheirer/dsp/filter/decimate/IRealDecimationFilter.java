@@ -24,5 +24,31 @@ package io.github.dsheirer.dsp.filter.decimate;
  */
 public interface IRealDecimationFilter
 {
-    float[] decimateReal(float[] samples);
+    /**
+     * Decimates the sample array into a newly allocated output array.
+     * @param samples to decimate
+     * @return decimated samples
+     */
+    default float[] decimateReal(float[] samples)
+    {
+        return decimateReal(samples, new float[getDecimatedLength(samples.length)]);
+    }
+
+    /**
+     * Decimates the sample array into the output array.
+     * @param samples to decimate
+     * @param output array to receive the decimated samples, at least as long as the decimated length of the samples.
+     * @return the output array
+     */
+    float[] decimateReal(float[] samples, float[] output);
+
+    /**
+     * Length of the decimated output for the specified input sample array length.
+     * @param sampleCount of the input sample array
+     * @return decimated sample count
+     */
+    default int getDecimatedLength(int sampleCount)
+    {
+        return sampleCount / 2;
+    }
 }
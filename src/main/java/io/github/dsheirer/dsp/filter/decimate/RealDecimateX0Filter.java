@@ -29,4 +29,21 @@ public class RealDecimateX0Filter implements IRealDecimationFilter
     {
         return samples;
     }
+
+    @Override
+    public float[] decimateReal(float[] samples, float[] output)
+    {
+        if(output != samples)
+        {
+            System.arraycopy(samples, 0, output, 0, samples.length);
+        }
+
+        return output;
+    }
+
+    @Override
+    public int getDecimatedLength(int sampleCount)
+    {
+        return sampleCount;
+    }
 }
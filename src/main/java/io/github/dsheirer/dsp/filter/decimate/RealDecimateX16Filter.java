@@ -31,6 +31,7 @@ public class RealDecimateX16Filter extends RealDecimateX8Filter
     private static final int DECIMATE_BY_16_FILTER_LENGTH = 15;
     private static final WindowType DECIMATE_BY_16_WINDOW_TYPE = WindowType.BLACKMAN;
     private IRealDecimationFilter mFilter;
+    private float[] mDecimated = new float[0];
 
     /**
      * Constructs the decimation filter.
@@ -42,11 +43,22 @@ public class RealDecimateX16Filter extends RealDecimateX8Filter
     }
 
     @Override
-    public float[] decimateReal(float[] samples)
+    public float[] decimateReal(float[] samples, float[] output)
     {
         validate(samples, VALIDATION_LENGTH);
 
-        //Decimate by this filter, then by the parent decimation filter
-        return super.decimateReal(mFilter.decimateReal(samples));
+        if(mDecimated.length != samples.length / 2)
+        {
+            mDecimated = new float[samples.length / 2];
+        }
+
+        //Decimate by this filter into the reusable intermediate buffer, then by the parent decimation filter
+        return super.decimateReal(mFilter.decimateReal(samples, mDecimated), output);
+    }
+
+    @Override
+    public int getDecimatedLength(int sampleCount)
+    {
+        return super.getDecimatedLength(sampleCount / 2);
     }
 }
@@ -40,9 +40,9 @@ public class RealDecimateX2Filter implements IRealDecimationFilter
                 DECIMATE_BY_2_WINDOW_TYPE);
     }
 
-    @Override public float[] decimateReal(float[] samples)
+    @Override public float[] decimateReal(float[] samples, float[] output)
     {
-        return mFilter.decimateReal(samples);
+        return mFilter.decimateReal(samples, output);
     }
 
     /**
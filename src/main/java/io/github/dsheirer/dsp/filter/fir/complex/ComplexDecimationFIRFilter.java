@@ -0,0 +1,173 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2023 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+package io.github.dsheirer.dsp.filter.fir.complex;
+
+import io.github.dsheirer.sample.complex.ComplexSamples;
+import org.apache.commons.lang3.ArrayUtils;
+
+import java.util.Arrays;
+
+/**
+ * Base polyphase decimating Finite Impulse Response (FIR) filter for complex sample buffers.  The I and Q sample
+ * arrays are filtered jointly, sharing the coefficients and the buffer overlap management, and only the filter
+ * outputs that survive decimation are calculated.  This is computationally equivalent to a polyphase decimator where
+ * each output sample costs one pass through the filter taps and the discarded outputs cost nothing.
+ *
+ * The decimation phase is maintained across sample buffers, so buffer lengths do not need to be an integer multiple
+ * of the decimation factor.
+ */
+public abstract class ComplexDecimationFIRFilter implements IComplexDecimationFilter
+{
+    protected float[] mIBuffer;
+    protected float[] mQBuffer;
+    protected float[] mCoefficients;
+    protected int mBufferOverlap;
+    protected final int mDecimation;
+    private int mDecimationOffset;
+
+    /**
+     * Constructs an instance
+     * @param coefficients for the filter in normal order.
+     * @param decimation factor, 1 or greater.
+     * @param laneWidth to size the coefficients array as an integer multiple of the SIMD lane width.  Use 1 for scalar.
+     */
+    protected ComplexDecimationFIRFilter(float[] coefficients, int decimation, int laneWidth)
+    {
+        if(decimation < 1)
+        {
+            throw new IllegalArgumentException("Decimation factor must be 1 or greater: " + decimation);
+        }
+
+        mDecimation = decimation;
+
+        //Size the coefficients array to a multiple of the lane width, large enough to hold the taps
+        int arrayLength = laneWidth;
+
+        while(arrayLength < coefficients.length)
+        {
+            arrayLength += laneWidth;
+        }
+
+        //Reverse a copy of the coefficients so that the caller's (possibly shared/cached) array is unmodified and
+        //right-align them in the zero-padded coefficients array so that padding doesn't add group delay
+        float[] reversed = coefficients.clone();
+        ArrayUtils.reverse(reversed);
+        mCoefficients = new float[arrayLength];
+        System.arraycopy(reversed, 0, mCoefficients, arrayLength - reversed.length, reversed.length);
+
+        //Set buffer overlap to the coefficient array length minus 1 to ensure that we don't get an index out of
+        //bounds exception when loading samples from the buffer.
+        mBufferOverlap = arrayLength - 1;
+
+        //We'll resize these later when we get the first sample buffer.  For now, make them non-null.
+        mIBuffer = new float[arrayLength];
+        mQBuffer = new float[arrayLength];
+    }
+
+    @Override
+    public int getDecimation()
+    {
+        return mDecimation;
+    }
+
+    @Override
+    public int getOutputLength(int sampleCount)
+    {
+        if(mDecimationOffset < sampleCount)
+        {
+            return (sampleCount - mDecimationOffset + mDecimation - 1) / mDecimation;
+        }
+
+        return 0;
+    }
+
+    /**
+     * Filters and decimates the complex sample buffer
+     * @param samples to filter
+     * @return filtered samples
+     */
+    @Override
+    public ComplexSamples filter(ComplexSamples samples)
+    {
+        int count = getOutputLength(samples.i().length);
+        return filter(samples, new float[count], new float[count]);
+    }
+
+    /**
+     * Filters and decimates the complex sample buffer into the I and Q output arrays.  Output arrays that are sized
+     * to the output length are returned directly, otherwise the filtered samples are copied to right-sized arrays.
+     * @param samples to filter
+     * @param iOutput array to receive the filtered I samples, can be the I samples array
+     * @param qOutput array to receive the filtered Q samples, can be the Q samples array
+     * @return filtered samples
+     */
+    @Override
+    public ComplexSamples filter(ComplexSamples samples, float[] iOutput, float[] qOutput)
+    {
+        float[] i = samples.i();
+        float[] q = samples.q();
+        int bufferLength = i.length + mBufferOverlap;
+
+        //Resize the data buffers if needed.  This shouldn't happen more than once since all buffers should be same size
+        if(mIBuffer.length != bufferLength)
+        {
+            float[] tempI = new float[bufferLength];
+            float[] tempQ = new float[bufferLength];
+            //Move residual samples from end of previous buffer to the beginning of the new temp buffer and reassign
+            System.arraycopy(mIBuffer, mIBuffer.length - mBufferOverlap, tempI, 0, mBufferOverlap);
+            System.arraycopy(mQBuffer, mQBuffer.length - mBufferOverlap, tempQ, 0, mBufferOverlap);
+            mIBuffer = tempI;
+            mQBuffer = tempQ;
+        }
+        else
+        {
+            //Move residual samples from end of buffer to the beginning of the buffer
+            System.arraycopy(mIBuffer, i.length, mIBuffer, 0, mBufferOverlap);
+            System.arraycopy(mQBuffer, q.length, mQBuffer, 0, mBufferOverlap);
+        }
+
+        //Copy new sample arrays to end of buffers
+        System.arraycopy(i, 0, mIBuffer, mBufferOverlap, i.length);
+        System.arraycopy(q, 0, mQBuffer, mBufferOverlap, q.length);
+
+        int count = getOutputLength(i.length);
+
+        filter(iOutput, qOutput, mDecimationOffset, count);
+
+        //Carry the decimation phase forward into the next buffer
+        mDecimationOffset = mDecimationOffset + (count * mDecimation) - i.length;
+
+        if(iOutput.length != count)
+        {
+            iOutput = Arrays.copyOf(iOutput, count);
+            qOutput = Arrays.copyOf(qOutput, count);
+        }
+
+        return new ComplexSamples(iOutput, qOutput, samples.timestamp());
+    }
+
+    /**
+     * Calculates the filtered output samples from the I and Q buffers.
+     * @param filteredI array to receive the filtered I samples
+     * @param filteredQ array to receive the filtered Q samples
+     * @param offset into the I/Q buffers for the first output sample
+     * @param count of output samples to calculate, each separated by the decimation factor in the I/Q buffers.
+     */
+    protected abstract void filter(float[] filteredI, float[] filteredQ, int offset, int count);
+}
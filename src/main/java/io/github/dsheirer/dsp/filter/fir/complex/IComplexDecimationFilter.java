@@ -0,0 +1,57 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2023 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+package io.github.dsheirer.dsp.filter.fir.complex;
+
+import io.github.dsheirer.sample.complex.ComplexSamples;
+
+/**
+ * Interface for a filter that jointly filters and decimates the I and Q sample arrays of a complex sample buffer.
+ */
+public interface IComplexDecimationFilter
+{
+    /**
+     * Filters and decimates the complex sample buffer.
+     * @param samples to filter
+     * @return filtered and decimated samples, reduced in length by the decimation factor.
+     */
+    ComplexSamples filter(ComplexSamples samples);
+
+    /**
+     * Filters and decimates the complex sample buffer into the I and Q output arrays.  Implementations copy the
+     * samples into internal buffers before filtering, so the output arrays can be the sample arrays.
+     * @param samples to filter
+     * @param iOutput array to receive the filtered I samples, at least as long as the output length for the samples.
+     * @param qOutput array to receive the filtered Q samples, at least as long as the output length for the samples.
+     * @return filtered and decimated samples that wrap the output arrays.
+     */
+    ComplexSamples filter(ComplexSamples samples, float[] iOutput, float[] qOutput);
+
+    /**
+     * Number of filtered samples that will be produced for the next sample buffer, accounting for the decimation
+     * phase carried forward from the previous sample buffer.
+     * @param sampleCount of the next sample buffer
+     * @return filtered sample count
+     */
+    int getOutputLength(int sampleCount);
+
+    /**
+     * Decimation factor applied by this filter.
+     */
+    int getDecimation();
+}
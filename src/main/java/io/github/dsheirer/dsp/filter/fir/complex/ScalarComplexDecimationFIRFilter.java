@@ -0,0 +1,59 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2023 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+package io.github.dsheirer.dsp.filter.fir.complex;
+
+/**
+ * Scalar implementation of a polyphase decimating FIR filter for complex sample buffers.
+ */
+public class ScalarComplexDecimationFIRFilter extends ComplexDecimationFIRFilter
+{
+    /**
+     * Constructs an instance
+     * @param coefficients for the filter in normal order.
+     * @param decimation factor, 1 or greater.
+     */
+    public ScalarComplexDecimationFIRFilter(float[] coefficients, int decimation)
+    {
+        super(coefficients, decimation, 1);
+    }
+
+    @Override
+    protected void filter(float[] filteredI, float[] filteredQ, int offset, int count)
+    {
+        float iAccumulator, qAccumulator, coefficient;
+        int bufferPointer = offset;
+
+        for(int x = 0; x < count; x++)
+        {
+            iAccumulator = 0.0f;
+            qAccumulator = 0.0f;
+
+            for(int coefficientPointer = 0; coefficientPointer < mCoefficients.length; coefficientPointer++)
+            {
+                coefficient = mCoefficients[coefficientPointer];
+                iAccumulator += mIBuffer[bufferPointer + coefficientPointer] * coefficient;
+                qAccumulator += mQBuffer[bufferPointer + coefficientPointer] * coefficient;
+            }
+
+            filteredI[x] = iAccumulator;
+            filteredQ[x] = qAccumulator;
+            bufferPointer += mDecimation;
+        }
+    }
+}
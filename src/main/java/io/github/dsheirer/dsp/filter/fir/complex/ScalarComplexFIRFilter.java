@@ -56,11 +56,13 @@ public class ScalarComplexFIRFilter implements IComplexFilter
     }
 
     /**
-     * Filters the sample array
+     * Filters the sample array into the output array, which can be the samples array for in-place filtering.
      * @param samples to filter
+     * @param filtered array to receive the filtered samples, at least as long as the samples array
      * @return filtered samples
      */
-    public float[] filter(float[] samples)
+    @Override
+    public float[] filter(float[] samples, float[] filtered)
     {
         int bufferLength = samples.length + mBufferOverlap;
 
@@ -81,8 +83,6 @@ public class ScalarComplexFIRFilter implements IComplexFilter
         //Copy new sample array into end of buffer
         System.arraycopy(samples, 0, mBuffer, mBufferOverlap, samples.length);
 
-        float[] filtered = new float[samples.length];
-
         int offset = 0;
 
         float iAccumulator, qAccumulator;
@@ -0,0 +1,68 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2023 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+package io.github.dsheirer.dsp.filter.fir.complex;
+
+import io.github.dsheirer.vector.VectorUtilities;
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Polyphase decimating FIR filter for complex sample buffers.
+ * Note: this filter uses Project Panama SIMD instructions available in JDK 17+
+ */
+public class VectorComplexDecimationFIRFilter512Bit extends ComplexDecimationFIRFilter
+{
+    private static final VectorSpecies<Float> VECTOR_SPECIES = FloatVector.SPECIES_512;
+
+    /**
+     * Constructs an instance
+     * @param coefficients for the filter in normal order.
+     * @param decimation factor, 1 or greater.
+     */
+    public VectorComplexDecimationFIRFilter512Bit(float[] coefficients, int decimation)
+    {
+        super(coefficients, decimation, VECTOR_SPECIES.length());
+        VectorUtilities.checkSpecies(VECTOR_SPECIES);
+    }
+
+    @Override
+    protected void filter(float[] filteredI, float[] filteredQ, int offset, int count)
+    {
+        FloatVector iAccumulator, qAccumulator, filter;
+        int bufferPointer = offset;
+
+        for(int x = 0; x < count; x++)
+        {
+            iAccumulator = FloatVector.zero(VECTOR_SPECIES);
+            qAccumulator = FloatVector.zero(VECTOR_SPECIES);
+
+            for(int coefficientPointer = 0; coefficientPointer < mCoefficients.length; coefficientPointer += VECTOR_SPECIES.length())
+            {
+                filter = FloatVector.fromArray(VECTOR_SPECIES, mCoefficients, coefficientPointer);
+                iAccumulator = filter.fma(FloatVector.fromArray(VECTOR_SPECIES, mIBuffer, bufferPointer + coefficientPointer), iAccumulator);
+                qAccumulator = filter.fma(FloatVector.fromArray(VECTOR_SPECIES, mQBuffer, bufferPointer + coefficientPointer), qAccumulator);
+            }
+
+            filteredI[x] = iAccumulator.reduceLanes(VectorOperators.ADD);
+            filteredQ[x] = qAccumulator.reduceLanes(VectorOperators.ADD);
+            bufferPointer += mDecimation;
+        }
+    }
+}
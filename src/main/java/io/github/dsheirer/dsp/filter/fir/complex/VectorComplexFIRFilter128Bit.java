@@ -75,11 +75,13 @@ public class VectorComplexFIRFilter128Bit implements IComplexFilter
     }
 
     /**
-     * Filters the sample array
+     * Filters the sample array into the output array, which can be the samples array for in-place filtering.
      * @param samples to filter
+     * @param filtered array to receive the filtered samples, at least as long as the samples array
      * @return filtered samples
      */
-    public float[] filter(float[] samples)
+    @Override
+    public float[] filter(float[] samples, float[] filtered)
     {
         int bufferLength = samples.length + mBufferOverlap;
 
@@ -100,8 +102,6 @@ public class VectorComplexFIRFilter128Bit implements IComplexFilter
         //Copy new sample array to end of buffer
         System.arraycopy(samples, 0, mBuffer, mBufferOverlap, samples.length);
 
-        float[] filtered = new float[samples.length];
-
         FloatVector accumulator, buffer, filter;
 
         for(int bufferPointer = 0; bufferPointer < samples.length; bufferPointer += 2)
@@ -24,5 +24,22 @@ package io.github.dsheirer.dsp.filter.fir.real;
  */
 public interface IRealFilter
 {
-    float[] filter(float[] samples);
+    /**
+     * Filters the sample array into a newly allocated output array.
+     * @param samples to filter
+     * @return filtered samples
+     */
+    default float[] filter(float[] samples)
+    {
+        return filter(samples, new float[samples.length]);
+    }
+
+    /**
+     * Filters the sample array into the output array.  Implementations copy the samples into an internal buffer before
+     * filtering, so the output array can be the samples array to filter in place.
+     * @param samples to filter
+     * @param output array to receive the filtered samples, at least as long as the samples array.
+     * @return the output array
+     */
+    float[] filter(float[] samples, float[] output);
 }
@@ -54,11 +54,13 @@ public class RealFIRFilter implements IRealFilter
     }
 
     /**
-     * Filters the sample array
+     * Filters the sample array into the output array, which can be the samples array for in-place filtering.
      * @param samples to filter
+     * @param filtered array to receive the filtered samples, at least as long as the samples array
      * @return filtered samples
      */
-    public float[] filter(float[] samples)
+    @Override
+    public float[] filter(float[] samples, float[] filtered)
     {
         int bufferLength = samples.length + mBufferOverlap;
 
@@ -79,14 +81,18 @@ public class RealFIRFilter implements IRealFilter
         //Copy new sample array into end of buffer
         System.arraycopy(samples, 0, mBuffer, mBufferOverlap, samples.length);
 
-        float[] filtered = new float[samples.length];
+        float accumulator;
 
         for(int bufferPointer = 0; bufferPointer < samples.length; bufferPointer++)
         {
+            accumulator = 0.0f;
+
             for(int coefficientPointer = 0; coefficientPointer < mCoefficients.length; coefficientPointer++)
             {
-                filtered[bufferPointer] += mBuffer[bufferPointer + coefficientPointer] * mCoefficients[coefficientPointer];
+                accumulator += mBuffer[bufferPointer + coefficientPointer] * mCoefficients[coefficientPointer];
             }
+
+            filtered[bufferPointer] = accumulator;
         }
 
         return filtered;
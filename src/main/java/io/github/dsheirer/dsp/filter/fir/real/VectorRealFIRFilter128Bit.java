@@ -66,11 +66,13 @@ public class VectorRealFIRFilter128Bit implements IRealFilter
     }
 
     /**
-     * Filters the sample array
+     * Filters the sample array into the output array, which can be the samples array for in-place filtering.
      * @param samples to filter
+     * @param filtered array to receive the filtered samples, at least as long as the samples array
      * @return filtered samples
      */
-    public float[] filter(float[] samples)
+    @Override
+    public float[] filter(float[] samples, float[] filtered)
     {
         int bufferLength = samples.length + mBufferOverlap;
 
@@ -91,8 +93,6 @@ public class VectorRealFIRFilter128Bit implements IRealFilter
         //Copy new sample array to end of buffer
         System.arraycopy(samples, 0, mBuffer, mBufferOverlap, samples.length);
 
-        float[] filtered = new float[samples.length];
-
         FloatVector accumulator, buffer, filter;
 
         for(int bufferPointer = 0; bufferPointer < samples.length; bufferPointer++)
@@ -58,7 +58,8 @@ public class RealHalfBandDecimationFilter implements IRealDecimationFilter
         mBufferOverlap = mCoefficients.length - 1;
     }
 
-    public float[] decimateReal(float[] samples)
+    @Override
+    public float[] decimateReal(float[] samples, float[] filtered)
     {
         if(samples.length % 2 != 0)
         {
@@ -87,8 +88,6 @@ public class RealHalfBandDecimationFilter implements IRealDecimationFilter
         //Copy new sample array into end of buffer
         System.arraycopy(samples, 0, mBuffer, mBufferOverlap, samples.length);
 
-        float[] filtered = new float[samples.length / 2];
-
         float accumulator = 0.0f;
         int half = mBufferOverlap / 2;
 
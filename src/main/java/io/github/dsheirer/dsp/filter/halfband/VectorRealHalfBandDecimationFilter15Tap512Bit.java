@@ -65,7 +65,8 @@ public class VectorRealHalfBandDecimationFilter15Tap512Bit implements IRealDecim
         mBufferOverlap = Math.max(VECTOR_SPECIES.length() -1, coefficients.length - 1);
     }
 
-    public float[] decimateReal(float[] samples)
+    @Override
+    public float[] decimateReal(float[] samples, float[] filtered)
     {
         if(samples.length % 2 != 0)
         {
@@ -94,8 +95,6 @@ public class VectorRealHalfBandDecimationFilter15Tap512Bit implements IRealDecim
         //Copy new sample array into end of buffer
         System.arraycopy(samples, 0, mBuffer, mBufferOverlap, samples.length);
 
-        float[] filtered = new float[samples.length / 2];
-
         FloatVector filter = FloatVector.fromArray(VECTOR_SPECIES, mCoefficients, 0);
 
         FloatVector product;
@@ -66,7 +66,8 @@ public class VectorRealHalfBandDecimationFilter512Bit implements IRealDecimation
         mBufferOverlap = Math.max(arrayLength - 1, coefficients.length - 1);
     }
 
-    public float[] decimateReal(float[] samples)
+    @Override
+    public float[] decimateReal(float[] samples, float[] filtered)
     {
         if(samples.length % 2 != 0)
         {
@@ -95,8 +96,6 @@ public class VectorRealHalfBandDecimationFilter512Bit implements IRealDecimation
         //Copy new sample array into end of buffer
         System.arraycopy(samples, 0, mBuffer, mBufferOverlap, samples.length);
 
-        float[] filtered = new float[samples.length / 2];
-
         FloatVector accumulator, buffer, filter;
 
         for(int bufferPointer = 0; bufferPointer < samples.length; bufferPointer += 2)
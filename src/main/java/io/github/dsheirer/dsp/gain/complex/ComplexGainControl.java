@@ -45,9 +45,11 @@ public class ComplexGainControl implements IComplexGainControl
      * @param i samples
      * @param q samples
      * @param timestamp of the first sample
+     * @param iOutput array to receive the amplified I samples, can be the I samples array
+     * @param qOutput array to receive the amplified Q samples, can be the Q samples array
      * @return processed/amplified buffer
      */
-    @Override public ComplexSamples process(float[] i, float[] q, long timestamp)
+    @Override public ComplexSamples process(float[] i, float[] q, long timestamp, float[] iOutput, float[] qOutput)
     {
         float maxEnvelope = MINIMUM_ENVELOPE;
 
@@ -58,15 +60,12 @@ public class ComplexGainControl implements IComplexGainControl
 
         float gain = OBJECTIVE_ENVELOPE / maxEnvelope;
 
-        float[] iProcessed = new float[i.length];
-        float[] qProcessed = new float[q.length];
-
         for(int x = 0; x < i.length; x++)
         {
-            iProcessed[x] = i[x] * gain;
-            qProcessed[x] = q[x] * gain;
+            iOutput[x] = i[x] * gain;
+            qOutput[x] = q[x] * gain;
         }
 
-        return new ComplexSamples(iProcessed, qProcessed, timestamp);
+        return new ComplexSamples(iOutput, qOutput, timestamp);
     }
 }
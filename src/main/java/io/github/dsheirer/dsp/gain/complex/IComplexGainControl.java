@@ -32,5 +32,21 @@ public interface IComplexGainControl
      * @param q samples
      * @return amplified gain samples
      */
-    ComplexSamples process(float[] i, float[] q, long timestamp);
+    default ComplexSamples process(float[] i, float[] q, long timestamp)
+    {
+        return process(i, q, timestamp, new float[i.length], new float[q.length]);
+    }
+
+    /**
+     * Processes a buffer of complex I & Q samples and applies gain to achieve an objective unity gain, storing the
+     * amplified samples in the I & Q output arrays.  The output arrays can be the sample arrays for in-place
+     * processing.
+     * @param i samples
+     * @param q samples
+     * @param timestamp of the first sample
+     * @param iOutput array to receive the amplified I samples, at least as long as the I samples array
+     * @param qOutput array to receive the amplified Q samples, at least as long as the Q samples array
+     * @return amplified gain samples that wrap the output arrays
+     */
+    ComplexSamples process(float[] i, float[] q, long timestamp, float[] iOutput, float[] qOutput);
 }
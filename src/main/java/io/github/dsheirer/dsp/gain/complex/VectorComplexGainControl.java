@@ -20,7 +20,6 @@
 package io.github.dsheirer.dsp.gain.complex;
 
 import io.github.dsheirer.sample.complex.ComplexSamples;
-import io.github.dsheirer.vector.VectorUtilities;
 import jdk.incubator.vector.FloatVector;
 import jdk.incubator.vector.VectorOperators;
 import jdk.incubator.vector.VectorSpecies;
@@ -37,16 +36,27 @@ public class VectorComplexGainControl implements IComplexGainControl
     private static final float MINIMUM_ENVELOPE = 0.0001f;
     private static final float ENVELOPE_ESTIMATE = 0.4f;
 
-    @Override public ComplexSamples process(float[] i, float[] q, long timestamp)
+    /**
+     * Processes the complex I & Q samples and applies gain to achieve an objective unity gain for the single sample in
+     * the buffer that has the largest envelope.  Samples beyond the last full SIMD lane width are processed as scalars
+     * so that decimated sample buffers don't have to be an integer multiple of the lane width.
+     * @param i samples
+     * @param q samples
+     * @param timestamp of the first sample
+     * @param iOutput array to receive the amplified I samples, can be the I samples array
+     * @param qOutput array to receive the amplified Q samples, can be the Q samples array
+     * @return processed/amplified buffer
+     */
+    @Override public ComplexSamples process(float[] i, float[] q, long timestamp, float[] iOutput, float[] qOutput)
     {
-        VectorUtilities.checkComplexArrayLength(i, q, VECTOR_SPECIES);
+        int vectorLength = VECTOR_SPECIES.loopBound(i.length);
 
         //Determine the largest envelope
         FloatVector iAbs, qAbs, maxEnvelope;
 
         maxEnvelope = FloatVector.zero(VECTOR_SPECIES).add(MINIMUM_ENVELOPE);
 
-        for(int bufferPointer = 0; bufferPointer < i.length; bufferPointer += VECTOR_SPECIES.length())
+        for(int bufferPointer = 0; bufferPointer < vectorLength; bufferPointer += VECTOR_SPECIES.length())
         {
             iAbs = FloatVector.fromArray(VECTOR_SPECIES, i, bufferPointer).abs();
             qAbs = FloatVector.fromArray(VECTOR_SPECIES, q, bufferPointer).abs();
@@ -54,18 +64,32 @@ public class VectorComplexGainControl implements IComplexGainControl
             maxEnvelope = maxEnvelope.max(qAbs.add(iAbs.mul(ENVELOPE_ESTIMATE)));
         }
 
-        float gain = OBJECTIVE_ENVELOPE / maxEnvelope.reduceLanes(VectorOperators.MAX);
+        float maximum = maxEnvelope.reduceLanes(VectorOperators.MAX);
+        float iAbsolute, qAbsolute;
 
-        float[] iProcessed = new float[i.length];
-        float[] qProcessed = new float[q.length];
+        for(int bufferPointer = vectorLength; bufferPointer < i.length; bufferPointer++)
+        {
+            iAbsolute = Math.abs(i[bufferPointer]);
+            qAbsolute = Math.abs(q[bufferPointer]);
+            maximum = Math.max(maximum, iAbsolute + (qAbsolute * ENVELOPE_ESTIMATE));
+            maximum = Math.max(maximum, qAbsolute + (iAbsolute * ENVELOPE_ESTIMATE));
+        }
+
+        float gain = OBJECTIVE_ENVELOPE / maximum;
 
         //Apply gain to all I & Q samples
-        for(int bufferPointer = 0; bufferPointer < i.length; bufferPointer += VECTOR_SPECIES.length())
+        for(int bufferPointer = 0; bufferPointer < vectorLength; bufferPointer += VECTOR_SPECIES.length())
+        {
+            FloatVector.fromArray(VECTOR_SPECIES, i, bufferPointer).mul(gain).intoArray(iOutput, bufferPointer);
+            FloatVector.fromArray(VECTOR_SPECIES, q, bufferPointer).mul(gain).intoArray(qOutput, bufferPointer);
+        }
+
+        for(int bufferPointer = vectorLength; bufferPointer < i.length; bufferPointer++)
         {
-            FloatVector.fromArray(VECTOR_SPECIES, i, bufferPointer).mul(gain).intoArray(iProcessed, bufferPointer);
-            FloatVector.fromArray(VECTOR_SPECIES, q, bufferPointer).mul(gain).intoArray(qProcessed, bufferPointer);
+            iOutput[bufferPointer] = i[bufferPointer] * gain;
+            qOutput[bufferPointer] = q[bufferPointer] * gain;
         }
 
-        return new ComplexSamples(iProcessed, qProcessed, timestamp);
+        return new ComplexSamples(iOutput, qOutput, timestamp);
     }
 }
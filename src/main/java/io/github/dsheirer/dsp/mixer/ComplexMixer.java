@@ -31,6 +31,8 @@ import io.github.dsheirer.sample.complex.InterleavedComplexSamples;
 public abstract class ComplexMixer
 {
     private IComplexOscillator mOscillator;
+    protected float[] mOscillatorI = new float[0];
+    protected float[] mOscillatorQ = new float[0];
 
     /**
      * Constructs an instance
@@ -101,6 +103,22 @@ public abstract class ComplexMixer
         return mOscillator.generateComplexSamples(sampleCount, timestamp);
     }
 
+    /**
+     * Generates complex samples from the underlying oscillator into the reusable mOscillatorI and mOscillatorQ arrays
+     * that are owned by this mixer.
+     * @param sampleCount to generate
+     */
+    protected void generate(int sampleCount)
+    {
+        if(mOscillatorI.length != sampleCount)
+        {
+            mOscillatorI = new float[sampleCount];
+            mOscillatorQ = new float[sampleCount];
+        }
+
+        mOscillator.generateComplexSamples(mOscillatorI, mOscillatorQ);
+    }
+
     /**
      * Mixes the complex I & Q samples with samples generated from an oscillator.
      * @param samples to mix
@@ -127,5 +145,20 @@ public abstract class ComplexMixer
      * @param q complex samples to mix
      * @return mixed samples
      */
-    public abstract ComplexSamples mix(float[] i, float[] q, long timestamp);
+    public ComplexSamples mix(float[] i, float[] q, long timestamp)
+    {
+        return mix(i, q, timestamp, new float[i.length], new float[q.length]);
+    }
+
+    /**
+     * Mixes the complex I & Q samples with samples generated from an oscillator and stores the mixed samples in the
+     * I & Q output arrays.  The output arrays can be the sample arrays for in-place mixing.
+     * @param i complex samples to mix
+     * @param q complex samples to mix
+     * @param timestamp of the first sample
+     * @param iOutput array to receive the mixed I samples, at least as long as the I samples array
+     * @param qOutput array to receive the mixed Q samples, at least as long as the Q samples array
+     * @return mixed samples that wrap the output arrays
+     */
+    public abstract ComplexSamples mix(float[] i, float[] q, long timestamp, float[] iOutput, float[] qOutput);
 }
@@ -53,14 +53,17 @@ public class ScalarComplexMixer extends ComplexMixer
      * @param iSamples complex samples to mix
      * @param qSamples complex samples to mix
      * @param timestamp of the first sample
+     * @param iOutput array to receive the mixed I samples, can be the I samples array
+     * @param qOutput array to receive the mixed Q samples, can be the Q samples array
      * @return mixed samples
      */
-    @Override public ComplexSamples mix(float[] iSamples, float[] qSamples, long timestamp)
+    @Override public ComplexSamples mix(float[] iSamples, float[] qSamples, long timestamp, float[] iOutput,
+                                        float[] qOutput)
     {
-        ComplexSamples mixer = generate(iSamples.length, timestamp);
+        generate(iSamples.length);
 
-        float[] iMixer = mixer.i();
-        float[] qMixer = mixer.q();
+        float[] iMixer = mOscillatorI;
+        float[] qMixer = mOscillatorQ;
 
         float inphase, quadrature;
 
@@ -68,11 +71,11 @@ public class ScalarComplexMixer extends ComplexMixer
         {
             inphase = (iMixer[x] * iSamples[x]) - (qMixer[x] * qSamples[x]);
             quadrature = (qMixer[x] * iSamples[x]) + (iMixer[x] * qSamples[x]);
-            iMixer[x] = inphase;
-            qMixer[x] = quadrature;
+            iOutput[x] = inphase;
+            qOutput[x] = quadrature;
         }
 
-        return mixer;
+        return new ComplexSamples(iOutput, qOutput, timestamp);
     }
 
     /**
@@ -46,17 +46,19 @@ public class VectorComplexMixer extends ComplexMixer
      * @param iSamples complex samples to mix
      * @param qSamples complex samples to mix
      * @param timestamp for the first sample
+     * @param iOutput array to receive the mixed I samples, can be the I samples array
+     * @param qOutput array to receive the mixed Q samples, can be the Q samples array
      * @return mixed samples
      */
-    @Override public ComplexSamples mix(float[] iSamples, float[] qSamples, long timestamp)
+    @Override public ComplexSamples mix(float[] iSamples, float[] qSamples, long timestamp, float[] iOutput,
+                                        float[] qOutput)
     {
         VectorUtilities.checkComplexArrayLength(iSamples, qSamples, VECTOR_SPECIES);
 
-        //Reuse this complex samples buffer to store the results and return to caller
-        ComplexSamples mixer = generate(iSamples.length, timestamp);
+        generate(iSamples.length);
 
-        float[] iMixer = mixer.i();
-        float[] qMixer = mixer.q();
+        float[] iMixer = mOscillatorI;
+        float[] qMixer = mOscillatorQ;
 
         FloatVector iS, qS, iM, qM;
 
@@ -67,11 +69,11 @@ public class VectorComplexMixer extends ComplexMixer
             iM = FloatVector.fromArray(VECTOR_SPECIES, iMixer, x);
             qM = FloatVector.fromArray(VECTOR_SPECIES, qMixer, x);
 
-            //Perform complex mixing and store results back to mixer arrays
-            iM.mul(iS).sub(qM.mul(qS)).intoArray(iMixer, x);
-            qM.mul(iS).add(iM.mul(qS)).intoArray(qMixer, x);
+            //Perform complex mixing and store results to the output arrays
+            iM.mul(iS).sub(qM.mul(qS)).intoArray(iOutput, x);
+            qM.mul(iS).add(iM.mul(qS)).intoArray(qOutput, x);
         }
 
-        return mixer;
+        return new ComplexSamples(iOutput, qOutput, timestamp);
     }
 }
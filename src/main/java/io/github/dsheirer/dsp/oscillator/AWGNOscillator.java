@@ -79,6 +79,18 @@ public class AWGNOscillator implements IComplexOscillator
         return samples;
     }
 
+    @Override
+    public void generateComplexSamples(float[] iSamples, float[] qSamples)
+    {
+        mComplexOscillator.generateComplexSamples(iSamples, qSamples);
+
+        for(int x = 0; x < iSamples.length; x++)
+        {
+            iSamples[x] += nextNoise();
+            qSamples[x] += nextNoise();
+        }
+    }
+
     @Override
     public double getFrequency()
     {
@@ -37,4 +37,11 @@ public interface IComplexOscillator extends IOscillator
      * @return generated samples
      */
     ComplexSamples generateComplexSamples(int sampleCount, long timestamp);
+
+    /**
+     * Generates complex samples into the I & Q sample arrays, filling each array.
+     * @param iSamples array to receive the generated I samples
+     * @param qSamples array to receive the generated Q samples, same length as the I samples array.
+     */
+    void generateComplexSamples(float[] iSamples, float[] qSamples);
 }
@@ -149,15 +149,22 @@ public class VectorComplexOscillator extends AbstractOscillator implements IComp
      */
     @Override public ComplexSamples generateComplexSamples(int sampleCount, long timestamp)
     {
+        float[] iSamples = new float[sampleCount];
+        float[] qSamples = new float[sampleCount];
+        generateComplexSamples(iSamples, qSamples);
+        return new ComplexSamples(iSamples, qSamples, timestamp);
+    }
+
+    @Override public void generateComplexSamples(float[] iSamples, float[] qSamples)
+    {
+        int sampleCount = iSamples.length;
+
         if(sampleCount % VECTOR_SPECIES.length() != 0)
         {
             throw new IllegalArgumentException("Requested sample count [" + sampleCount +
                     "] must be a power of 2 and a multiple of the SIMD lane width [" + VECTOR_SPECIES.length() + "]");
         }
 
-        float[] iSamples = new float[sampleCount];
-        float[] qSamples = new float[sampleCount];
-
         FloatVector previousInphase = FloatVector.fromArray(VECTOR_SPECIES, mPreviousInphases, 0);
         FloatVector previousQuadrature = FloatVector.fromArray(VECTOR_SPECIES, mPreviousQuadratures, 0);
         FloatVector gainInitials = FloatVector.fromArray(VECTOR_SPECIES, mGainInitials, 0);
@@ -183,7 +190,5 @@ public class VectorComplexOscillator extends AbstractOscillator implements IComp
 
         previousInphase.intoArray(mPreviousInphases, 0);
         previousQuadrature.intoArray(mPreviousQuadratures, 0);
-
-        return new ComplexSamples(iSamples, qSamples, timestamp);
     }
 }
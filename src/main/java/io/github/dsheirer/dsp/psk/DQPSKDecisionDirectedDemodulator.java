@@ -17,6 +17,7 @@ package io.github.dsheirer.dsp.psk;
 
 import io.github.dsheirer.dsp.psk.pll.IPhaseLockedLoop;
 import io.github.dsheirer.dsp.symbol.Dibit;
+import io.github.dsheirer.dsp.symbol.ISoftDibitListener;
 import io.github.dsheirer.sample.complex.Complex;
 
 public class DQPSKDecisionDirectedDemodulator extends PSKDemodulator<Dibit>
@@ -28,6 +29,7 @@ public class DQPSKDecisionDirectedDemodulator extends PSKDemodulator<Dibit>
     private Complex mCurrentSample = new Complex(0, 0);
     private Complex mPrecedingSymbol = new Complex(0, 0);
     protected Complex mCurrentSymbol = new Complex(0, 0);
+    private ISoftDibitListener mSoftSymbolListener;
 
     /**
      * Decoder for Differential Quaternary Phase Shift Keying (DQPSK).  This decoder uses both a Costas Loop (PLL) and
@@ -86,5 +88,22 @@ public class DQPSKDecisionDirectedDemodulator extends PSKDemodulator<Dibit>
         mPreviousCurrentSample.setValues(mCurrentSample);
 
         broadcast(mSymbolEvaluator.getSymbolDecision());
+
+        //Soft decision values are the unity-gain symbol's signed distance from each decision boundary: bit 1 is set
+        //for negative quadrature and bit 2 is set for negative inphase
+        if(mSoftSymbolListener != null)
+        {
+            mSoftSymbolListener.receive(mSymbolEvaluator.getSymbolDecision(), -mCurrentSymbol.quadrature(),
+                -mCurrentSymbol.inphase());
+        }
+    }
+
+    /**
+     * Registers the listener to receive symbol decisions accompanied by per-bit soft decision values.
+     * @param listener to receive soft symbols, or null to stop producing soft symbols
+     */
+    public void setSoftSymbolListener(ISoftDibitListener listener)
+    {
+        mSoftSymbolListener = listener;
     }
 }
@@ -0,0 +1,156 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2023 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.dsp.psk;
+
+import io.github.dsheirer.dsp.filter.FilterFactory;
+import io.github.dsheirer.dsp.filter.design.FilterDesignException;
+import io.github.dsheirer.dsp.filter.fir.FIRFilterSpecification;
+import io.github.dsheirer.dsp.filter.fir.complex.IComplexDecimationFilter;
+import io.github.dsheirer.dsp.gain.complex.ComplexGainFactory;
+import io.github.dsheirer.dsp.gain.complex.IComplexGainControl;
+import io.github.dsheirer.dsp.psk.pll.CostasLoop;
+import io.github.dsheirer.dsp.psk.pll.PLLBandwidth;
+import io.github.dsheirer.dsp.symbol.Dibit;
+import io.github.dsheirer.sample.complex.ComplexSamples;
+import io.github.dsheirer.source.tuner.channel.rotation.IHuntSyncDetector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Lightweight DQPSK demodulator front-end for detecting control channel sync while hunting for a control channel.
+ * Uses the same baseband filter, gain control, Costas loop and decision-directed demodulator as the P25 Phase 1 and
+ * DMR decoders, but without the power monitor, frequency correction or message framing.  Subclasses process the
+ * demodulated dibit stream and invoke controlSyncDetected() for each control channel sync pattern that they detect.
+ */
+public abstract class DQPSKHuntSyncDetector implements IHuntSyncDetector
+{
+    private final static Logger mLog = LoggerFactory.getLogger(DQPSKHuntSyncDetector.class);
+    private static final float SAMPLE_COUNTER_GAIN = 0.3f;
+    private static final double SYMBOL_RATE = 4800.0;
+    private static final double MINIMUM_SAMPLES_PER_SYMBOL = 4.0;
+    private static final Map<Double,float[]> BASEBAND_FILTERS = new HashMap<>();
+    private IComplexDecimationFilter mBasebandFilter;
+    private IComplexGainControl mAGC = ComplexGainFactory.getComplexGainControl();
+    private CostasLoop mCostasLoop;
+    private DQPSKDecisionDirectedDemodulator mDemodulator;
+    private double mSampleRate;
+    private int mSyncCount;
+
+    @Override
+    public void setSampleRate(double sampleRate)
+    {
+        int decimation = FilterFactory.getDecimation(sampleRate, SYMBOL_RATE, MINIMUM_SAMPLES_PER_SYMBOL);
+        mBasebandFilter = FilterFactory.getComplexDecimationFilter(getBasebandFilter(sampleRate), decimation);
+        mSampleRate = sampleRate / decimation;
+        mCostasLoop = new CostasLoop(mSampleRate, SYMBOL_RATE);
+        mCostasLoop.setPLLBandwidth(PLLBandwidth.BW_300);
+        InterpolatingSampleBuffer buffer = new InterpolatingSampleBuffer((float)(mSampleRate / SYMBOL_RATE),
+            SAMPLE_COUNTER_GAIN);
+        mDemodulator = new DQPSKDecisionDirectedDemodulator(mCostasLoop, buffer);
+        mDemodulator.setSymbolListener(this::process);
+        mDemodulator.start();
+        sampleRateChanged(mCostasLoop, mSampleRate);
+    }
+
+    /**
+     * Notifies the subclass that the demodulator was recreated for a new sample rate so that any sync detectors
+     * that apply phase corrections to the Costas loop can be updated.
+     * @param costasLoop for the demodulator
+     * @param sampleRate of the demodulator, after decimation
+     */
+    protected abstract void sampleRateChanged(CostasLoop costasLoop, double sampleRate);
+
+    /**
+     * Processes a demodulated dibit to detect control channel sync patterns.
+     * @param dibit to process
+     */
+    protected abstract void process(Dibit dibit);
+
+    /**
+     * Indicates that the subclass detected a control channel sync pattern.
+     */
+    protected void controlSyncDetected()
+    {
+        mSyncCount++;
+    }
+
+    @Override
+    public int getSyncCount()
+    {
+        return mSyncCount;
+    }
+
+    @Override
+    public void receive(ComplexSamples samples)
+    {
+        if(mDemodulator != null)
+        {
+            ComplexSamples filtered = mBasebandFilter.filter(samples);
+            mDemodulator.receive(mAGC.process(filtered.i(), filtered.q(), filtered.timestamp()));
+        }
+    }
+
+    /**
+     * Designs or reuses a cached baseband filter for the channel sample rate
+     * @param sampleRate of the channel, prior to any decimation
+     */
+    private static float[] getBasebandFilter(double sampleRate)
+    {
+        synchronized(BASEBAND_FILTERS)
+        {
+            float[] filter = BASEBAND_FILTERS.get(sampleRate);
+
+            if(filter == null)
+            {
+                FIRFilterSpecification specification = FIRFilterSpecification.lowPassBuilder()
+                    .sampleRate((int)sampleRate)
+                    .passBandCutoff(5100)
+                    .passBandAmplitude(1.0)
+                    .passBandRipple(0.01)
+                    .stopBandAmplitude(0.0)
+                    .stopBandStart(6500)
+                    .stopBandRipple(0.01)
+                    .build();
+
+                try
+                {
+                    filter = FilterFactory.getTaps(specification);
+                }
+                catch(FilterDesignException fde)
+                {
+                    mLog.error("Couldn't design low pass baseband filter for sample rate: " + sampleRate);
+                }
+
+                if(filter == null)
+                {
+                    throw new IllegalStateException("Couldn't design a hunt baseband filter for sample rate: " +
+                        sampleRate);
+                }
+
+                BASEBAND_FILTERS.put(sampleRate, filter);
+            }
+
+            return filter;
+        }
+    }
+}
@@ -24,12 +24,14 @@ package io.github.dsheirer.dsp.symbol;
 
 import io.github.dsheirer.bits.BitSetFullException;
 import io.github.dsheirer.bits.CorrectedBinaryMessage;
+import java.util.Arrays;
 import org.apache.commons.lang3.Validate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Circular buffer for storing and accessing dibits.
+ * Circular buffer for storing and accessing dibits.  Optionally stores per-bit soft decision values alongside each
+ * dibit once soft dibits are placed into the buffer.
  */
 public class DibitDelayBuffer
 {
@@ -37,6 +39,7 @@ public class DibitDelayBuffer
 
     protected Dibit[] mBuffer;
     protected int mPointer;
+    private float[] mSoftBits;
 
     /**
      * Constructs a dibit delay buffer of the specified length
@@ -57,6 +60,11 @@ public class DibitDelayBuffer
         {
             mBuffer[x] = Dibit.D00_PLUS_1;
         }
+
+        if(mSoftBits != null)
+        {
+            Arrays.fill(mSoftBits, 0.0f);
+        }
     }
 
     /**
@@ -95,6 +103,13 @@ public class DibitDelayBuffer
         }
 
         mBuffer[index] = dibit;
+
+        //The replacement dibit invalidates the soft decision values, so substitute hard decision values
+        if(mSoftBits != null)
+        {
+            mSoftBits[index * 2] = dibit.getBit1() ? 1.0f : -1.0f;
+            mSoftBits[index * 2 + 1] = dibit.getBit2() ? 1.0f : -1.0f;
+        }
     }
 
     /**
@@ -157,6 +172,7 @@ public class DibitDelayBuffer
     public CorrectedBinaryMessage getMessage(int start, int dibitLength)
     {
         CorrectedBinaryMessage message = new CorrectedBinaryMessage(dibitLength * 2);
+        float[] softBits = mSoftBits != null ? new float[dibitLength * 2] : null;
 
         int dibitCount = 0;
         int bufferPointer = (mPointer + start) % mBuffer.length;
@@ -165,6 +181,12 @@ public class DibitDelayBuffer
         {
             while(dibitCount < dibitLength)
             {
+                if(softBits != null)
+                {
+                    softBits[dibitCount * 2] = mSoftBits[bufferPointer * 2];
+                    softBits[dibitCount * 2 + 1] = mSoftBits[bufferPointer * 2 + 1];
+                }
+
                 Dibit dibit = mBuffer[bufferPointer++];
                 message.add(dibit.getBit1());
                 message.add(dibit.getBit2());
@@ -182,6 +204,8 @@ public class DibitDelayBuffer
             mLog.error("Bit set full ??", e);
         }
 
+        message.setSoftBits(softBits);
+
         return message;
     }
 
@@ -214,6 +238,36 @@ public class DibitDelayBuffer
      */
     public void put(Dibit dibit)
     {
+        if(mSoftBits != null)
+        {
+            mSoftBits[mPointer * 2] = dibit.getBit1() ? 1.0f : -1.0f;
+            mSoftBits[mPointer * 2 + 1] = dibit.getBit2() ? 1.0f : -1.0f;
+        }
+
+        mBuffer[mPointer++] = dibit;
+
+        if(mPointer >= mBuffer.length)
+        {
+            mPointer = 0;
+        }
+    }
+
+    /**
+     * Places the dibit and soft decision values into the internal circular buffer, overwriting the oldest dibit.
+     * Messages extracted from this buffer carry soft decision values once this method is used.
+     * @param dibit to store
+     * @param softBit1 soft decision value for bit 1
+     * @param softBit2 soft decision value for bit 2
+     */
+    public void put(Dibit dibit, float softBit1, float softBit2)
+    {
+        if(mSoftBits == null)
+        {
+            mSoftBits = new float[mBuffer.length * 2];
+        }
+
+        mSoftBits[mPointer * 2] = softBit1;
+        mSoftBits[mPointer * 2 + 1] = softBit2;
         mBuffer[mPointer++] = dibit;
 
         if(mPointer >= mBuffer.length)
@@ -0,0 +1,38 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2023 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+package io.github.dsheirer.dsp.symbol;
+
+/**
+ * Listener interface to receive hard symbol decisions accompanied by per-bit soft decision values.
+ *
+ * Soft decision values are log-likelihood style values where a positive value indicates a one bit, a negative value
+ * indicates a zero bit, and the magnitude indicates the reliability of the decision.  Values near zero are symbols
+ * that were sampled close to a decision boundary.
+ */
+public interface ISoftDibitListener
+{
+    /**
+     * Receives a symbol decision and soft values for each of the two bits of the dibit.
+     *
+     * @param dibit hard symbol decision
+     * @param softBit1 soft decision value for bit 1 of the dibit
+     * @param softBit2 soft decision value for bit 2 of the dibit
+     */
+    void receive(Dibit dibit, float softBit1, float softBit2);
+}
@@ -0,0 +1,124 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2023 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+package io.github.dsheirer.dsp.symbol;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Tracks the count of messages that pass error detection when decoded from hard symbol decisions versus soft
+ * decision values, to compare decoder performance when playing back recordings.
+ */
+public class SoftDecisionMetrics
+{
+    private final static Logger mLog = LoggerFactory.getLogger(SoftDecisionMetrics.class);
+    private String mName;
+    private long mMessageCount;
+    private long mHardValidCount;
+    private long mSoftValidCount;
+
+    /**
+     * Constructs an instance
+     * @param name of the decoder for logging
+     */
+    public SoftDecisionMetrics(String name)
+    {
+        mName = name;
+    }
+
+    /**
+     * Records the outcome of decoding the same message from hard and soft decisions.
+     * @param hardValid true if the hard decision message passed error detection
+     * @param softValid true if the soft decision message passed error detection
+     */
+    public void update(boolean hardValid, boolean softValid)
+    {
+        mMessageCount++;
+
+        if(hardValid)
+        {
+            mHardValidCount++;
+        }
+
+        if(softValid)
+        {
+            mSoftValidCount++;
+        }
+    }
+
+    /**
+     * Count of messages compared
+     */
+    public long getMessageCount()
+    {
+        return mMessageCount;
+    }
+
+    /**
+     * Count of messages that passed error detection using hard decisions
+     */
+    public long getHardValidCount()
+    {
+        return mHardValidCount;
+    }
+
+    /**
+     * Count of messages that passed error detection using soft decisions
+     */
+    public long getSoftValidCount()
+    {
+        return mSoftValidCount;
+    }
+
+    /**
+     * Resets the counters
+     */
+    public void reset()
+    {
+        mMessageCount = 0;
+        mHardValidCount = 0;
+        mSoftValidCount = 0;
+    }
+
+    @Override
+    public String toString()
+    {
+        StringBuilder sb = new StringBuilder();
+        sb.append(mName).append(" soft decision metrics - messages [").append(mMessageCount).append("]");
+        sb.append(" hard valid [").append(mHardValidCount).append("]");
+        sb.append(" soft valid [").append(mSoftValidCount).append("]");
+
+        if(mMessageCount > 0)
+        {
+            sb.append(String.format(" error rate hard [%.2f%%] soft [%.2f%%]",
+                100.0 * (mMessageCount - mHardValidCount) / mMessageCount,
+                100.0 * (mMessageCount - mSoftValidCount) / mMessageCount));
+        }
+
+        return sb.toString();
+    }
+
+    /**
+     * Logs the current metrics
+     */
+    public void log()
+    {
+        mLog.info(toString());
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2023 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+package io.github.dsheirer.dsp.symbol;
+
+/**
+ * Symbol decision mode for decoders that support soft decision error correction.
+ */
+public enum SoftDecisionMode
+{
+    HARD("Hard Decision"),
+    SOFT("Soft Decision"),
+    COMPARE("Soft Decision (Compare With Hard)");
+
+    private String mLabel;
+
+    SoftDecisionMode(String label)
+    {
+        mLabel = label;
+    }
+
+    /**
+     * Indicates if this mode uses soft decision values for error correction.
+     */
+    public boolean isSoft()
+    {
+        return this != HARD;
+    }
+
+    @Override
+    public String toString()
+    {
+        return mLabel;
+    }
+}
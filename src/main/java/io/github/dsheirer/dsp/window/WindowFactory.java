@@ -19,6 +19,9 @@
 
 package io.github.dsheirer.dsp.window;
 
+import io.github.dsheirer.vector.calibrate.CalibrationManager;
+import io.github.dsheirer.vector.calibrate.CalibrationType;
+import io.github.dsheirer.vector.calibrate.Implementation;
 import org.apache.commons.math3.util.FastMath;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -38,6 +41,29 @@ public class WindowFactory
     private static final float SIX_PI = (float)FastMath.PI * 6.0f;
     private static final float EIGHT_PI = (float)FastMath.PI * 8.0f;
 
+    /**
+     * Creates a reusable window implementation of the specified type and length, using calibration data to select the
+     * optimal implementation from scalar and vector options.
+     *
+     * @param type of window
+     * @param length of window
+     * @return window implementation
+     */
+    public static Window getWindowImplementation(WindowType type, int length)
+    {
+        float[] coefficients = getWindow(type, length);
+        Implementation implementation = CalibrationManager.getInstance().getImplementation(CalibrationType.WINDOW);
+
+        switch(implementation)
+        {
+            case VECTOR_SIMD_PREFERRED:
+                return new VectorWindow(coefficients);
+            case SCALAR:
+            default:
+                return new ScalarWindow(coefficients);
+        }
+    }
+
     /**
      * Creates a window of the specified type and length.
      *
@@ -73,20 +73,28 @@ public class CRCDMR
         };
 
 
+    /**
+     * Byte-at-a-time lookup table for CRC-CCITT 16-bit protected 80-bit messages
+     */
+    private static final ChecksumTable CCITT_80_TABLE = new ChecksumTable(CCITT_80_CHECKSUMS, 80);
+
+    /**
+     * Byte-at-a-time lookup table for CRC-9 protected 144-bit confirmed data blocks
+     */
+    private static final ChecksumTable CRC9_TABLE = new ChecksumTable(CRCP25.getCRC9BlockChecksums(CRC9_CHECKSUMS), 144);
+
+    /**
+     * CRC-8 polynomial (x^8 + x^2 + x + 1) without the leading x^8 term and byte lookup table
+     */
+    private static final int CRC8_POLYNOMIAL = 0x07;
+    private static final int[] CRC8_TABLE = createCRC8Table();
+
     /**
      * Error detection and correction of single-bit errors for CCITT 16-bit CRC protected 80-bit messages.
      */
     public static BinaryMessage correctCCITT80(BinaryMessage message, int messageStart, int crcStart)
     {
-        int calculated = 0; //Starting value
-
-        /* Iterate the set bits and XOR running checksum with lookup value */
-        for(int i = message.nextSetBit(messageStart);
-            i >= messageStart && i < crcStart;
-            i = message.nextSetBit(i + 1))
-        {
-            calculated ^= CCITT_80_CHECKSUMS[i - messageStart];
-        }
+        int calculated = (int)CCITT_80_TABLE.calculate(message, messageStart);
 
         int checksum = getIntChecksum(message, crcStart, 16);
 
@@ -100,7 +108,7 @@ public class CRCDMR
         }
         else
         {
-            int errorLocation = getBitError(residual, CCITT_80_CHECKSUMS);
+            int errorLocation = CCITT_80_TABLE.getBitError(residual);
 
             if(errorLocation >= 0)
             {
@@ -143,13 +151,7 @@ public class CRCDMR
      */
     public static int correctCCITT80(CorrectedBinaryMessage message, int messageStart, int crcStart, int mask)
     {
-        int calculated = mask; //Starting value
-
-        /* Iterate the set bits and XOR running checksum with lookup value */
-        for(int i = message.nextSetBit(messageStart); i >= messageStart && i < crcStart; i = message.nextSetBit(i + 1))
-        {
-            calculated ^= CCITT_80_CHECKSUMS[i - messageStart];
-        }
+        int calculated = mask ^ (int)CCITT_80_TABLE.calculate(message, messageStart); //Starting value
 
         int checksum = getIntChecksum(message, crcStart, 16);
 
@@ -161,7 +163,7 @@ public class CRCDMR
         }
         else
         {
-            int errorLocation = getBitError(residual, CCITT_80_CHECKSUMS);
+            int errorLocation = CCITT_80_TABLE.getBitError(residual);
 
             if(errorLocation >= 0)
             {
@@ -186,24 +188,7 @@ public class CRCDMR
      */
     public static CRC checkCRC9(BinaryMessage message, int messageStart)
     {
-        int calculated = 0x0; //Initial fill of all ones
-
-        /* Iterate the set bits and XOR running checksum with lookup value */
-        for(int i = message.nextSetBit(messageStart);
-            i >= messageStart && i < messageStart + 144;
-            i = message.nextSetBit(i + 1))
-        {
-            /* message bits before the CRC */
-            if(i < (messageStart + 7))
-            {
-                calculated ^= CRC9_CHECKSUMS[i - messageStart];
-            }
-            /* message bits after the CRC */
-            else if(i > (messageStart + 15))
-            {
-                calculated ^= CRC9_CHECKSUMS[i - messageStart - 9];
-            }
-        }
+        int calculated = (int)CRC9_TABLE.calculate(message, messageStart);
 
         int checksum = message.getInt(messageStart + 7, messageStart + 15);
 
@@ -267,24 +252,59 @@ public class CRCDMR
         return -1;
     }
 
-    public static int crc8(BinaryMessage bits, int len) {
-        int crc=0;
-        final int K = 8;
-        final boolean[] poly = new boolean[]{true,false,false,false,false,false,true,true,true}; // crc8 poly
-        boolean[] buf = new boolean[256];
-        if (len+K > 256) {
-            return 0;
-        }
-        for (int i=0; i<len; i++){
-            buf[i] = bits.get(i);
+    /**
+     * Calculates the CRC-8 (polynomial x^8 + x^2 + x + 1) remainder for the first len bits of the message, processing
+     * full bytes via lookup table and any trailing bits one at a time.  When the message includes the transmitted
+     * CRC-8 checksum as the final 8 bits, a remainder of zero indicates a valid message.
+     * @param bits message
+     * @param len number of message bits
+     * @return remainder
+     */
+    public static int crc8(BinaryMessage bits, int len)
+    {
+        int crc = 0;
+        int x = 0;
+
+        for(; x + 8 <= len; x += 8)
+        {
+            crc = CRC8_TABLE[crc ^ bits.getInt(x, x + 7)];
         }
-        for (int i=0; i<len; i++)
-            if (buf[i])
-                for (int j=0; j<K+1; j++)
-                    buf[i+j] ^= poly[j];
-        for (int i=0; i<K; i++){
-            crc = (crc << 1) + (buf[len + i] ? 1:0);
+
+        for(; x < len; x++)
+        {
+            crc = crc8Step(crc ^ (bits.get(x) ? 0x80 : 0));
         }
+
         return crc;
     }
+
+    /**
+     * Shifts the CRC-8 register one bit, applying the polynomial when the high order bit is set.
+     */
+    private static int crc8Step(int crc)
+    {
+        return ((crc & 0x80) != 0 ? (crc << 1) ^ CRC8_POLYNOMIAL : crc << 1) & 0xFF;
+    }
+
+    /**
+     * Creates the CRC-8 byte lookup table
+     */
+    private static int[] createCRC8Table()
+    {
+        int[] table = new int[256];
+
+        for(int x = 0; x < 256; x++)
+        {
+            int crc = x;
+
+            for(int bit = 0; bit < 8; bit++)
+            {
+                crc = crc8Step(crc);
+            }
+
+            table[x] = crc;
+        }
+
+        return table;
+    }
 }
@@ -216,13 +216,48 @@ public class CRCP25
             0x20000000l, 0x40000000l, 0x80000000l
         };
 
+    /**
+     * Byte-at-a-time lookup table for CRC-CCITT 16-bit protected 80-bit messages
+     */
+    private static final ChecksumTable CCITT_80_TABLE = new ChecksumTable(CCITT_80_CHECKSUMS, 80);
+
+    /**
+     * Byte-at-a-time lookup table for CRC-9 protected 144-bit confirmed data blocks, where the 9-bit checksum located
+     * at bits 7-15 is excluded from the calculation.
+     */
+    private static final ChecksumTable CRC9_TABLE = new ChecksumTable(getCRC9BlockChecksums(CRC9_CHECKSUMS), 144);
+
+    /**
+     * Lookup tables for the PDU CRC-32 checksums, created on first use.
+     */
+    private static class PDUTables
+    {
+        private static final ChecksumTable PDU1 = new ChecksumTable(PDU1_CHECKSUMS, 64);
+        private static final ChecksumTable PDU2 = new ChecksumTable(PDU2_CHECKSUMS, 160);
+        private static final ChecksumTable PDU3 = new ChecksumTable(PDU3_CHECKSUMS, 256);
+    }
+
+    /**
+     * Creates a per-bit checksum array for a 144-bit confirmed data block from the contiguous 135-bit CRC-9
+     * checksums, inserting zero-valued entries for the embedded checksum at bits 7-15.
+     * @param checksums for a contiguous 135-bit message
+     * @return checksums for a 144-bit block
+     */
+    static int[] getCRC9BlockChecksums(int[] checksums)
+    {
+        int[] blockChecksums = new int[144];
+        System.arraycopy(checksums, 0, blockChecksums, 0, 7);
+        System.arraycopy(checksums, 7, blockChecksums, 16, 128);
+        return blockChecksums;
+    }
+
     /**
      * Performs error detection and single-bit error correction against the
      * data blocks of a PDU1 message.
      */
     public static BinaryMessage correctPDU1(BinaryMessage message)
     {
-        return correctPDU(message, PDU1_CHECKSUMS, 224);
+        return correctPDU(message, PDUTables.PDU1, 224);
     }
 
     /**
@@ -231,7 +266,7 @@ public class CRCP25
      */
     public static BinaryMessage correctPDU2(BinaryMessage message)
     {
-        return correctPDU(message, PDU2_CHECKSUMS, 320);
+        return correctPDU(message, PDUTables.PDU2, 320);
     }
 
     /**
@@ -240,22 +275,20 @@ public class CRCP25
      */
     public static BinaryMessage correctPDU3(BinaryMessage message)
     {
-        return correctPDU(message, PDU3_CHECKSUMS, 416);
+        return correctPDU(message, PDUTables.PDU3, 416);
     }
 
-    public static BinaryMessage correctPDU(BinaryMessage message, long[] checksums, int crcStart)
+    /**
+     * Performs error detection and single-bit error correction against the data blocks of a PDU message.
+     * @param message containing the data blocks
+     * @param table of precomputed CRC-32 checksums for the data blocks
+     * @param crcStart index of the CRC-32 checksum
+     */
+    public static BinaryMessage correctPDU(BinaryMessage message, ChecksumTable table, int crcStart)
     {
-        long calculated = 0; //Starting value
-
         int messageStart = 160;
 
-        /* Iterate the set bits and XOR running checksum with lookup value */
-        for(int i = message.nextSetBit(messageStart);
-            i >= messageStart && i < crcStart;
-            i = message.nextSetBit(i + 1))
-        {
-            calculated ^= checksums[i - messageStart];
-        }
+        long calculated = table.calculate(message, messageStart);
 
         long checksum = getLongChecksum(message, crcStart, 32);
 
@@ -269,7 +302,7 @@ public class CRCP25
         }
         else
         {
-            int errorLocation = getBitError(error, checksums);
+            int errorLocation = table.getBitError(error);
 
             if(errorLocation >= 0)
             {
@@ -294,15 +327,7 @@ public class CRCP25
                                                int messageStart,
                                                int crcStart)
     {
-        int calculated = 0; //Starting value
-
-        /* Iterate the set bits and XOR running checksum with lookup value */
-        for(int i = message.nextSetBit(messageStart);
-            i >= messageStart && i < crcStart;
-            i = message.nextSetBit(i + 1))
-        {
-            calculated ^= CCITT_80_CHECKSUMS[i - messageStart];
-        }
+        int calculated = (int)CCITT_80_TABLE.calculate(message, messageStart);
 
         int checksum = getIntChecksum(message, crcStart, 16);
 
@@ -316,7 +341,7 @@ public class CRCP25
         }
         else
         {
-            int errorLocation = getBitError(residual, CCITT_80_CHECKSUMS);
+            int errorLocation = CCITT_80_TABLE.getBitError(residual);
 
             if(errorLocation >= 0)
             {
@@ -339,13 +364,7 @@ public class CRCP25
      */
     public static int correctCCITT80(CorrectedBinaryMessage message, int messageStart, int crcStart)
     {
-        int calculated = 0xFFFF; //Starting value
-
-        /* Iterate the set bits and XOR running checksum with lookup value */
-        for(int i = message.nextSetBit(messageStart); i >= messageStart && i < crcStart; i = message.nextSetBit(i + 1))
-        {
-            calculated ^= CCITT_80_CHECKSUMS[i - messageStart];
-        }
+        int calculated = 0xFFFF ^ (int)CCITT_80_TABLE.calculate(message, messageStart); //Starting value 0xFFFF
 
         int checksum = getIntChecksum(message, crcStart, 16);
 
@@ -357,7 +376,7 @@ public class CRCP25
         }
         else
         {
-            int errorLocation = getBitError(residual, CCITT_80_CHECKSUMS);
+            int errorLocation = CCITT_80_TABLE.getBitError(residual);
 
             if(errorLocation >= 0)
             {
@@ -382,24 +401,7 @@ public class CRCP25
      */
     public static CRC checkCRC9(BinaryMessage message, int messageStart)
     {
-        int calculated = 0x0; //Initial fill of all ones
-
-        /* Iterate the set bits and XOR running checksum with lookup value */
-        for(int i = message.nextSetBit(messageStart);
-            i >= messageStart && i < messageStart + 144;
-            i = message.nextSetBit(i + 1))
-        {
-            /* message bits before the CRC */
-            if(i < (messageStart + 7))
-            {
-                calculated ^= CRC9_CHECKSUMS[i - messageStart];
-            }
-            /* message bits after the CRC */
-            else if(i > (messageStart + 15))
-            {
-                calculated ^= CRC9_CHECKSUMS[i - messageStart - 9];
-            }
-        }
+        int calculated = (int)CRC9_TABLE.calculate(message, messageStart);
 
         int checksum = message.getInt(messageStart + 7, messageStart + 15);
 
@@ -0,0 +1,193 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2023 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+package io.github.dsheirer.edac;
+
+import io.github.dsheirer.bits.CorrectedBinaryMessage;
+
+/**
+ * Chase (type II) soft decision decoder that wraps a hard decision block decoder.
+ *
+ * When the hard decision decoder is unable to correct a codeword, the least reliable bit positions (smallest soft
+ * decision magnitude) are identified and each combination of those test bits is flipped in a scratch copy of the
+ * codeword and passed back through the hard decision decoder.  Of the candidate codewords that decode successfully,
+ * the candidate with the smallest soft distance (sum of the soft magnitudes of the bits that differ from the received
+ * bits) is selected as the corrected codeword.
+ *
+ * Note: codewords are limited to 31 bits.
+ */
+public class ChaseDecoder
+{
+    private IHardDecisionDecoder mHardDecisionDecoder;
+    private int mCodewordLength;
+    private int mTestBitCount;
+
+    /**
+     * Constructs an instance
+     * @param hardDecisionDecoder to decode each candidate codeword
+     * @param codewordLength in bits
+     * @param testBitCount number of least reliable bits to test, producing 2^testBitCount - 1 candidate codewords
+     */
+    public ChaseDecoder(IHardDecisionDecoder hardDecisionDecoder, int codewordLength, int testBitCount)
+    {
+        if(codewordLength > 31 || testBitCount > codewordLength)
+        {
+            throw new IllegalArgumentException("Unsupported codeword length [" + codewordLength + "] or test bit count [" +
+                testBitCount + "]");
+        }
+
+        mHardDecisionDecoder = hardDecisionDecoder;
+        mCodewordLength = codewordLength;
+        mTestBitCount = testBitCount;
+    }
+
+    /**
+     * Performs soft decision error correction of the codeword using the soft decision values carried by the message.
+     * The message is only modified when a candidate codeword is found.
+     *
+     * @param message containing the codeword and soft decision values
+     * @param startIndex of the codeword
+     * @return 1 if the codeword was corrected, or 2 if the codeword could not be corrected or the message does not
+     * carry soft decision values.
+     */
+    public int checkAndCorrect(CorrectedBinaryMessage message, int startIndex)
+    {
+        float[] softBits = message.getSoftBits();
+
+        if(softBits == null || softBits.length < startIndex + mCodewordLength)
+        {
+            return 2;
+        }
+
+        int[] testBits = getLeastReliableBits(softBits, startIndex);
+        int received = message.getInt(startIndex, startIndex + mCodewordLength - 1);
+        CorrectedBinaryMessage candidate = new CorrectedBinaryMessage(mCodewordLength);
+        float bestDistance = Float.POSITIVE_INFINITY;
+        int bestCodeword = 0;
+
+        for(int pattern = 1; pattern < (1 << mTestBitCount); pattern++)
+        {
+            int testValue = received;
+
+            for(int x = 0; x < mTestBitCount; x++)
+            {
+                if((pattern & (1 << x)) != 0)
+                {
+                    testValue ^= 1 << (mCodewordLength - 1 - testBits[x]);
+                }
+            }
+
+            candidate.load(0, mCodewordLength, testValue);
+
+            if(mHardDecisionDecoder.checkAndCorrect(candidate, 0) < 2)
+            {
+                int codeword = candidate.getInt(0, mCodewordLength - 1);
+                float distance = getSoftDistance(received ^ codeword, softBits, startIndex);
+
+                if(distance < bestDistance)
+                {
+                    bestDistance = distance;
+                    bestCodeword = codeword;
+                }
+            }
+        }
+
+        if(bestDistance == Float.POSITIVE_INFINITY)
+        {
+            return 2;
+        }
+
+        message.load(startIndex, mCodewordLength, bestCodeword);
+        message.incrementCorrectedBitCount(Integer.bitCount(received ^ bestCodeword));
+        return 1;
+    }
+
+    /**
+     * Sum of the soft decision magnitudes for each bit set in the difference value
+     */
+    private float getSoftDistance(int difference, float[] softBits, int startIndex)
+    {
+        float distance = 0.0f;
+
+        for(int x = 0; x < mCodewordLength; x++)
+        {
+            if((difference & (1 << (mCodewordLength - 1 - x))) != 0)
+            {
+                distance += Math.abs(softBits[startIndex + x]);
+            }
+        }
+
+        return distance;
+    }
+
+    /**
+     * Identifies the codeword bit offsets with the smallest soft decision magnitudes.
+     */
+    private int[] getLeastReliableBits(float[] softBits, int startIndex)
+    {
+        int[] offsets = new int[mTestBitCount];
+        float[] magnitudes = new float[mTestBitCount];
+        int count = 0;
+
+        for(int x = 0; x < mCodewordLength; x++)
+        {
+            float magnitude = Math.abs(softBits[startIndex + x]);
+
+            //Insertion sort into the fixed size set of least reliable bits
+            int insert = count;
+
+            while(insert > 0 && magnitudes[insert - 1] > magnitude)
+            {
+                if(insert < mTestBitCount)
+                {
+                    magnitudes[insert] = magnitudes[insert - 1];
+                    offsets[insert] = offsets[insert - 1];
+                }
+
+                insert--;
+            }
+
+            if(insert < mTestBitCount)
+            {
+                magnitudes[insert] = magnitude;
+                offsets[insert] = x;
+
+                if(count < mTestBitCount)
+                {
+                    count++;
+                }
+            }
+        }
+
+        return offsets;
+    }
+
+    /**
+     * Hard decision block decoder
+     */
+    public interface IHardDecisionDecoder
+    {
+        /**
+         * Performs hard decision error detection and correction of the codeword.
+         * @param message containing the codeword
+         * @param startIndex of the codeword
+         * @return 0 = no errors, 1 = errors corrected, 2 = uncorrectable errors
+         */
+        int checkAndCorrect(CorrectedBinaryMessage message, int startIndex);
+    }
+}
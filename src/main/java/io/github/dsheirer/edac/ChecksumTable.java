@@ -0,0 +1,282 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2023 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+package io.github.dsheirer.edac;
+
+import io.github.dsheirer.bits.BinaryMessage;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Table-driven (byte-at-a-time) calculator for linear block checksums (CRC) that are defined by a per-bit checksum
+ * lookup array, such as the arrays produced by CRCUtil.generate().
+ *
+ * Since these checksums are linear, the checksum of a message is the XOR of the per-bit checksums for each set
+ * message bit.  This class precomputes, for each byte-sized chunk of the message, the combined checksum of all 256
+ * possible chunk values, so that the checksum is calculated with one table lookup per 8 message bits instead of one
+ * lookup per set bit.  Each chunk is read directly from the message, without copying the message bit set words.
+ *
+ * Per-bit checksum entries can be zero to exclude a message bit from the calculation, for example when the
+ * transmitted checksum is embedded in the middle of the protected message.
+ */
+public class ChecksumTable
+{
+    private final long[][] mTable;
+    private final int mMessageLength;
+    private final long[] mSortedChecksums;
+    private final int[] mSortedIndices;
+
+    /**
+     * Constructs an instance
+     * @param checksums per-bit checksum values, optionally followed by the per-bit values of the checksum bits
+     * @param messageLength number of message bits included in the checksum calculation
+     */
+    public ChecksumTable(long[] checksums, int messageLength)
+    {
+        if(messageLength > checksums.length)
+        {
+            throw new IllegalArgumentException("Message length [" + messageLength + "] exceeds checksums length [" +
+                checksums.length + "]");
+        }
+
+        mMessageLength = messageLength;
+        mTable = new long[(messageLength + 7) / 8][256];
+
+        for(int chunk = 0; chunk < mTable.length; chunk++)
+        {
+            for(int value = 1; value < 256; value++)
+            {
+                long checksum = 0;
+
+                for(int bit = 0; bit < 8; bit++)
+                {
+                    int index = chunk * 8 + bit;
+
+                    if((value & (1 << bit)) != 0 && index < messageLength)
+                    {
+                        checksum ^= checksums[index];
+                    }
+                }
+
+                mTable[chunk][value] = checksum;
+            }
+        }
+
+        //Sort the per-bit checksums (and the bit indices) by value to support single bit error lookups, preferring
+        //the lowest bit index for any duplicate values
+        Integer[] order = new Integer[checksums.length];
+
+        for(int x = 0; x < order.length; x++)
+        {
+            order[x] = x;
+        }
+
+        Arrays.sort(order, (a, b) -> checksums[a] != checksums[b] ? Long.compare(checksums[a], checksums[b]) :
+            Integer.compare(a, b));
+
+        mSortedChecksums = new long[checksums.length];
+        mSortedIndices = new int[checksums.length];
+
+        for(int x = 0; x < order.length; x++)
+        {
+            mSortedChecksums[x] = checksums[order[x]];
+            mSortedIndices[x] = order[x];
+        }
+    }
+
+    /**
+     * Constructs an instance
+     * @param checksums per-bit checksum values, optionally followed by the per-bit values of the checksum bits
+     * @param messageLength number of message bits included in the checksum calculation
+     */
+    public ChecksumTable(int[] checksums, int messageLength)
+    {
+        this(toLong(checksums), messageLength);
+    }
+
+    /**
+     * Number of message bits included in the checksum calculation.
+     */
+    public int getMessageLength()
+    {
+        return mMessageLength;
+    }
+
+    /**
+     * Calculates the checksum of the message bits starting at the offset and spanning the message length.
+     * @param message containing the protected bits
+     * @param offset to the first protected bit
+     * @return calculated checksum
+     */
+    public long calculate(BinaryMessage message, int offset)
+    {
+        long calculated = 0;
+
+        for(int chunk = 0; chunk < mTable.length; chunk++)
+        {
+            calculated ^= mTable[chunk][getChunk(message, offset + chunk * 8)];
+        }
+
+        return calculated;
+    }
+
+    /**
+     * Calculates the checksum of the message bits using the per-bit checksum values, one set bit at a time.  This is
+     * the reference implementation for the table-driven calculation.
+     * @param message containing the protected bits
+     * @param offset to the first protected bit
+     * @param checksums per-bit checksum values
+     * @param messageLength number of message bits included in the checksum calculation
+     * @return calculated checksum
+     */
+    public static long calculateBitwise(BinaryMessage message, int offset, long[] checksums, int messageLength)
+    {
+        long calculated = 0;
+
+        for(int i = message.nextSetBit(offset); i >= offset && i < offset + messageLength; i = message.nextSetBit(i + 1))
+        {
+            calculated ^= checksums[i - offset];
+        }
+
+        return calculated;
+    }
+
+    /**
+     * Identifies the index of a single bit error that produces the checksum residual/error value.
+     * @param residual checksum error value
+     * @return bit index relative to the start of the message, or -1 if the residual doesn't match a single bit error.
+     */
+    public int getBitError(long residual)
+    {
+        int index = Arrays.binarySearch(mSortedChecksums, residual);
+
+        if(index < 0)
+        {
+            return -1;
+        }
+
+        //Walk back to the first of any duplicate values
+        while(index > 0 && mSortedChecksums[index - 1] == residual)
+        {
+            index--;
+        }
+
+        return mSortedIndices[index];
+    }
+
+    /**
+     * Reads 8 message bits starting at the bit index, where the first message bit is in the least significant bit
+     * of the returned value.  Bits beyond the end of the message are returned as zero.  The bit reads are unrolled
+     * and branch-free since the message bits are effectively random.
+     * @param message containing the bits
+     * @param index of the first bit
+     * @return chunk value 0 - 255
+     */
+    private static int getChunk(BinaryMessage message, int index)
+    {
+        return (message.get(index) ? 0x01 : 0) |
+            (message.get(index + 1) ? 0x02 : 0) |
+            (message.get(index + 2) ? 0x04 : 0) |
+            (message.get(index + 3) ? 0x08 : 0) |
+            (message.get(index + 4) ? 0x10 : 0) |
+            (message.get(index + 5) ? 0x20 : 0) |
+            (message.get(index + 6) ? 0x40 : 0) |
+            (message.get(index + 7) ? 0x80 : 0);
+    }
+
+    /**
+     * Converts the integer checksums array to a long checksums array.
+     */
+    private static long[] toLong(int[] checksums)
+    {
+        long[] converted = new long[checksums.length];
+
+        for(int x = 0; x < checksums.length; x++)
+        {
+            converted[x] = checksums[x] & 0xFFFFFFFFL;
+        }
+
+        return converted;
+    }
+
+    /**
+     * Benchmark comparing the bitwise and table-driven checksum calculations for the CCITT-16 80-bit message and the
+     * CRC-32 PDU3 message checksums.
+     */
+    public static void main(String[] args)
+    {
+        Random random = new Random();
+        int iterations = 2_000_000;
+
+        benchmark("CCITT-16/80", CRCP25.CCITT_80_CHECKSUMS, 80, random, iterations);
+        benchmark("CRC-32 PDU3", CRCP25.PDU3_CHECKSUMS, 256, random, iterations);
+    }
+
+    private static void benchmark(String label, int[] checksums, int messageLength, Random random, int iterations)
+    {
+        benchmark(label, toLong(checksums), messageLength, random, iterations);
+    }
+
+    private static void benchmark(String label, long[] checksums, int messageLength, Random random, int iterations)
+    {
+        ChecksumTable table = new ChecksumTable(checksums, messageLength);
+        BinaryMessage[] messages = new BinaryMessage[64];
+
+        for(int x = 0; x < messages.length; x++)
+        {
+            messages[x] = new BinaryMessage(messageLength);
+
+            for(int bit = 0; bit < messageLength; bit++)
+            {
+                messages[x].set(bit, random.nextBoolean());
+            }
+
+            if(table.calculate(messages[x], 0) != calculateBitwise(messages[x], 0, checksums, messageLength))
+            {
+                throw new IllegalStateException(label + " table and bitwise checksums do not match");
+            }
+        }
+
+        long accumulator = 0;
+
+        for(int round = 0; round < 3; round++)
+        {
+            long start = System.nanoTime();
+
+            for(int x = 0; x < iterations; x++)
+            {
+                accumulator ^= calculateBitwise(messages[x & 63], 0, checksums, messageLength);
+            }
+
+            long bitwise = System.nanoTime() - start;
+            start = System.nanoTime();
+
+            for(int x = 0; x < iterations; x++)
+            {
+                accumulator ^= table.calculate(messages[x & 63], 0);
+            }
+
+            long tabled = System.nanoTime() - start;
+
+            System.out.println(label + " Bitwise: " + (bitwise / iterations) + " ns/msg  Table: " +
+                (tabled / iterations) + " ns/msg");
+        }
+
+        System.out.println(label + " (" + accumulator + ")");
+    }
+}
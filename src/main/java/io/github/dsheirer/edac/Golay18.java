@@ -1,6 +1,7 @@
 package io.github.dsheirer.edac;
 
 import io.github.dsheirer.bits.CorrectedBinaryMessage;
+import java.util.Arrays;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -44,6 +45,15 @@ public class Golay18
         CorrectedBinaryMessage temp = new CorrectedBinaryMessage(24);
         temp.load(6, 18, value);
 
+        //Transfer soft decision values, treating the 6 leading zero bits as fully reliable
+        if(message.hasSoftBits())
+        {
+            float[] softBits = new float[24];
+            Arrays.fill(softBits, 0, 6, Float.NEGATIVE_INFINITY);
+            System.arraycopy(message.getSoftBits(), startIndex, softBits, 6, 18);
+            temp.setSoftBits(softBits);
+        }
+
         int errorsCorrected = Golay24.checkAndCorrect(temp, 0);
 
         int correctedValue = temp.getInt(6, 23);
@@ -13,6 +13,13 @@ public class Golay23
 	    0x040, 0x020, 0x010, 0x008, 0x004, 0x002, 0x001 
 	};
 
+	/**
+	 * Syndrome to error pattern lookup table.  Golay(23,12,7) is a perfect code, so each of the 2048 syndromes maps to
+	 * exactly one error pattern with a weight of 3 or less.  Error patterns use bit 22 for the first message bit and bit
+	 * 0 for the final message bit, matching the bit order of BinaryMessage.getInt().
+	 */
+	private static final int[] ERROR_PATTERNS = createErrorPatterns();
+
 	/**
 	 * Implements Golay(23,12,7) error detection and correction.  Returns the
 	 * number of detected errors.  If the error count is less than or equal to
@@ -34,72 +41,62 @@ public class Golay23
 		{
 			return 0;
 		}
-		
-		BinaryMessage copy = frame.getSubMessage( startIndex, startIndex + 23 );
 
-		int index = -1;
-		int syndromeWeight = MAX_CORRECTABLE_ERRORS;
-		int errors = 0;
-		
-		while( index < 23 )
+		int errorPattern = getErrorPattern( syndrome );
+
+		if( errorPattern == 0 )
 		{
-			if( index != -1 )
+			/* Return an error count greater than 3 to indicate failed correction attempt */
+			return 4;
+		}
+
+		for( int i = 0; i < 23; i++ )
+		{
+			if( ( errorPattern & ( 1 << ( 22 - i ) ) ) != 0 )
 			{
-				/* restore the previous flipped bit */
-				if( index > 0 )
-				{
-					copy.flip( index - 1 );
-				}
-				
-				copy.flip( index );
-				
-				syndromeWeight = MAX_CORRECTABLE_ERRORS - 1;
+				frame.flip( startIndex + i );
 			}
-			
-			syndrome = getSyndrome( copy, 0 );
-			
-			if( syndrome > 0 )
+		}
+
+		return Integer.bitCount( errorPattern );
+	}
+
+	/**
+	 * Lookup the 23-bit error pattern for the syndrome.
+	 * 
+	 * @param syndrome - 11-bit syndrome value
+	 * 
+	 * @return - error pattern with bit 22 representing the first message bit, or 0 for a zero-valued syndrome
+	 */
+	public static int getErrorPattern( int syndrome )
+	{
+		return ERROR_PATTERNS[ syndrome & 0x7FF ];
+	}
+
+	/**
+	 * Creates the syndrome to error pattern lookup table from all error patterns with a weight of 1, 2, or 3.
+	 */
+	private static int[] createErrorPatterns()
+	{
+		int[] patterns = new int[ 2048 ];
+
+		for( int a = 0; a < 23; a++ )
+		{
+			patterns[ CHECKSUMS[ a ] ] = 1 << ( 22 - a );
+
+			for( int b = a + 1; b < 23; b++ )
 			{
-				for( int i = 0; i < 23; i++ )
+				patterns[ CHECKSUMS[ a ] ^ CHECKSUMS[ b ] ] = ( 1 << ( 22 - a ) ) | ( 1 << ( 22 - b ) );
+
+				for( int c = b + 1; c < 23; c++ )
 				{
-					errors = Integer.bitCount( syndrome );
-					
-					if( errors <= syndromeWeight )
-					{
-						copy.xor( 12, 11, syndrome );
-						
-						copy.rotateRight( i, 0, 22 );
-
-						if( index >= 0 )
-						{
-							errors ++;
-						}
-
-						int corrected = copy.getInt( 0, 22 );
-						int original = frame.getInt( startIndex, startIndex + 22 );
-						
-						int errorCount = Integer.bitCount( original ^ corrected );
-						
-						if( errorCount <= 3 )
-						{
-							frame.load( startIndex, 23, corrected );
-						}
-
-						return errorCount;
-					}
-					else
-					{
-						copy.rotateLeft( 0, 22 );
-						syndrome = getSyndrome( copy, 0 );
-					}
+					patterns[ CHECKSUMS[ a ] ^ CHECKSUMS[ b ] ^ CHECKSUMS[ c ] ] = 
+						( 1 << ( 22 - a ) ) | ( 1 << ( 22 - b ) ) | ( 1 << ( 22 - c ) );
 				}
-				
-				index++;
 			}
 		}
 
-		/* Return an error count greater than 3 to indicate failed correction attempt */
-		return 4;
+		return patterns;
 	}
 
 	private static int getSyndrome( BinaryMessage frame, int startIndex )
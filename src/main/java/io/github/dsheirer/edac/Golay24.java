@@ -30,6 +30,7 @@ import org.slf4j.LoggerFactory;
 public class Golay24
 {
     private final static Logger mLog = LoggerFactory.getLogger(Golay24.class);
+    private static final ChaseDecoder CHASE_DECODER = new ChaseDecoder(Golay24::hardCheckAndCorrect, 24, 4);
 
     /**
      * Galois 24/12 checksums generated by:
@@ -59,16 +60,39 @@ public class Golay24
     }
 
     /**
-     * Performs error detection and returns a corrected copy of the 24-bit
-     * message that starts at the start index.
+     * Performs error detection and correction of the 24-bit extended Golay codeword that starts at the start index.
+     * The first 23 bits are corrected via syndrome lookup and the overall parity bit (bit 23) is used to detect 4-bit
+     * error patterns.  Corrected bits are added to the message corrected bit count.
+     *
+     * When the errors are uncorrectable and the message carries soft decision values, a soft decision (Chase)
+     * decode is attempted using the least reliable bits of the codeword.
      *
      * @param message - source message containing startIndex + 24 bits length
      * @param startIndex - start of the 24-bit galois 24 protected bit set
-     * @return - corrected 24-bit galois value
+     * @return - 0 when there are no errors, 1 when errors were corrected, or 2 when the errors are uncorrectable
      */
     public static int checkAndCorrect(CorrectedBinaryMessage message, int startIndex)
     {
-        boolean parityError = message.cardinality() % 2 != 0;
+        int result = hardCheckAndCorrect(message, startIndex);
+
+        if(result == 2 && message.hasSoftBits())
+        {
+            return CHASE_DECODER.checkAndCorrect(message, startIndex);
+        }
+
+        return result;
+    }
+
+    /**
+     * Performs hard decision error detection and correction of the 24-bit codeword.
+     *
+     * @param message - source message containing startIndex + 24 bits length
+     * @param startIndex - start of the 24-bit galois 24 protected bit set
+     * @return - 0 when there are no errors, 1 when errors were corrected, or 2 when the errors are uncorrectable
+     */
+    private static int hardCheckAndCorrect(CorrectedBinaryMessage message, int startIndex)
+    {
+        boolean parityError = Integer.bitCount(message.getInt(startIndex, startIndex + 23)) % 2 != 0;
 
         int syndrome = getSyndrome(message, startIndex);
 
@@ -85,69 +109,35 @@ public class Golay24
             return 0;
         }
 
-        /* Get original message value */
-        int original = message.getInt(0, 22);
+        int errorPattern = Golay23.getErrorPattern(syndrome);
+        int errorCount = Integer.bitCount(errorPattern);
 
-        int index = -1;
-        int syndromeWeight = 3;
-        int errors = 0;
+        /* An odd error count in the first 23 bits corrects the parity error, otherwise the parity bit is also in error */
+        boolean parityBitError = parityError ^ (errorCount % 2 != 0);
 
-        while(index < 23)
+        /* Three errors plus a parity bit error indicates at least 4 errors - uncorrectable */
+        if(parityBitError && errorCount == 3)
         {
-            if(index != -1)
-            {
-                /* restore the previous flipped bit */
-                if(index > 0)
-                {
-                    message.flip(index - 1);
-                }
-
-                message.flip(index);
-
-                syndromeWeight = 2;
-            }
-
-            syndrome = getSyndrome(message, startIndex);
+            return 2;
+        }
 
-            if(syndrome > 0)
+        for(int i = 0; i < 23; i++)
+        {
+            if((errorPattern & (1 << (22 - i))) != 0)
             {
-                for(int i = 0; i < 23; i++)
-                {
-
-                    errors = Integer.bitCount(syndrome);
-
-                    if(errors <= syndromeWeight)
-                    {
-                        message.xor(12, 11, syndrome);
-
-                        message.rotateRight(i, startIndex, startIndex + 22);
-
-                        if(index >= 0)
-                        {
-                            errors++;
-                        }
-
-                        int corrected = message.getInt(0, 22);
-
-                        if(Integer.bitCount(original ^ corrected) > 3)
-                        {
-                            return 2;
-                        }
-
-                        return 1;
-                    }
-                    else
-                    {
-                        message.rotateLeft(startIndex, startIndex + 22);
-                        syndrome = getSyndrome(message, startIndex);
-                    }
-                }
-
-                index++;
+                message.flip(startIndex + i);
             }
         }
 
-        return 2;
+        if(parityBitError)
+        {
+            message.flip(startIndex + 23);
+            errorCount++;
+        }
+
+        message.incrementCorrectedBitCount(errorCount);
+
+        return 1;
     }
 
     private static int getSyndrome(BinaryMessage message, int startIndex)
@@ -13,6 +13,7 @@ public class Hamming10
     private final static Logger mLog = LoggerFactory.getLogger(Hamming10.class);
 
     private static int[] CHECKSUMS = new int[]{0xE, 0xD, 0xB, 0X7, 0x3, 0xC};
+    private static final ChaseDecoder CHASE_DECODER = new ChaseDecoder(Hamming10::hardCheckAndCorrect, 10, 3);
 
     /**
      * Performs error detection and correction of any single-bit errors.
@@ -24,6 +25,22 @@ public class Hamming10
      * 2 = more than 1 bit error detected - unable to correct word
      */
     public static int checkAndCorrect(CorrectedBinaryMessage frame, int startIndex)
+    {
+        int result = hardCheckAndCorrect(frame, startIndex);
+
+        //Attempt a soft decision (Chase) decode of the word when the frame carries soft decision values
+        if(result == 2 && frame.hasSoftBits())
+        {
+            return CHASE_DECODER.checkAndCorrect(frame, startIndex);
+        }
+
+        return result;
+    }
+
+    /**
+     * Performs hard decision error detection and correction of any single-bit errors.
+     */
+    private static int hardCheckAndCorrect(CorrectedBinaryMessage frame, int startIndex)
     {
         int syndrome = getSyndrome(frame, startIndex);
 
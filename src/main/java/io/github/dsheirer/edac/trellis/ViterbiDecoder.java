@@ -18,6 +18,7 @@
  */
 package io.github.dsheirer.edac.trellis;
 
+import java.util.Arrays;
 import org.apache.commons.math3.util.FastMath;
 
 public abstract class ViterbiDecoder
@@ -26,6 +27,7 @@ public abstract class ViterbiDecoder
     private int mInputValueCount;
     private int mOutputBitLength;
     private int mOutputValueCount;
+    private int[][] mExpectedOutputValues;
 
     /**
      * Viterbi decoder for trellis coded modulation (TCM) encoded binary sequences.
@@ -137,6 +139,147 @@ public abstract class ViterbiDecoder
         return flush(survivingPaths, transmittedOutputValues[transmittedOutputValues.length - 1]);
     }
 
+    /**
+     * Decodes the TCM encoded transmitted output values using per-bit soft decision values and returns a path that
+     * represents the most likely transmitted sequence of nodes.
+     *
+     * The branch metric for each trellis transition is the sum of the soft decision magnitudes of the received bits
+     * that disagree with the expected output value, so that disagreement with unreliable bits costs less than
+     * disagreement with reliable bits.  Path metrics are held in primitive arrays and the returned path is
+     * constructed only for the surviving sequence, so the path error value is the Hamming distance between the
+     * received and the re-encoded sequence.
+     *
+     * @param transmittedOutputValues from the encoded message
+     * @param softBits for each transmitted bit, ordered most significant bit first for each output value, where a
+     * positive value indicates a one bit and the magnitude indicates the reliability of the bit.
+     * @return most likely path representing the transmitted values
+     */
+    public Path decode(int[] transmittedOutputValues, float[] softBits)
+    {
+        if(softBits.length < transmittedOutputValues.length * getOutputBitLength())
+        {
+            throw new IllegalArgumentException("Soft bits array must contain a value for each transmitted bit");
+        }
+
+        int[][] expectedOutputValues = getExpectedOutputValues();
+        int stateCount = getInputValueCount();
+        int symbolCount = transmittedOutputValues.length;
+        int flushingInput = createFlushingNode(0).getInputValue();
+
+        float[] metrics = new float[stateCount];
+        float[] nextMetrics = new float[stateCount];
+        int[] predecessors = new int[symbolCount * stateCount];
+        float[] branchCosts = new float[getOutputValueCount()];
+
+        Arrays.fill(metrics, Float.POSITIVE_INFINITY);
+        metrics[createStartingNode().getInputValue()] = 0.0f;
+
+        for(int symbol = 0; symbol < symbolCount; symbol++)
+        {
+            calculateBranchCosts(transmittedOutputValues[symbol], softBits, symbol * getOutputBitLength(), branchCosts);
+            Arrays.fill(nextMetrics, Float.POSITIVE_INFINITY);
+
+            //The final transmitted value is constrained to the flushing input value
+            int firstInput = (symbol == symbolCount - 1) ? flushingInput : 0;
+            int lastInput = (symbol == symbolCount - 1) ? flushingInput : stateCount - 1;
+
+            for(int state = 0; state < stateCount; state++)
+            {
+                if(metrics[state] != Float.POSITIVE_INFINITY)
+                {
+                    for(int input = firstInput; input <= lastInput; input++)
+                    {
+                        float metric = metrics[state] + branchCosts[expectedOutputValues[state][input]];
+
+                        if(metric < nextMetrics[input])
+                        {
+                            nextMetrics[input] = metric;
+                            predecessors[symbol * stateCount + input] = state;
+                        }
+                    }
+                }
+            }
+
+            float[] swap = metrics;
+            metrics = nextMetrics;
+            nextMetrics = swap;
+        }
+
+        //Trace back the surviving input values from the flushing state
+        int[] inputValues = new int[symbolCount];
+        int state = flushingInput;
+
+        for(int symbol = symbolCount - 1; symbol >= 0; symbol--)
+        {
+            inputValues[symbol] = state;
+            state = predecessors[symbol * stateCount + state];
+        }
+
+        Path path = new Path(createStartingNode());
+
+        for(int symbol = 0; symbol < symbolCount - 1; symbol++)
+        {
+            path.add(createNode(inputValues[symbol], transmittedOutputValues[symbol]));
+        }
+
+        path.add(createFlushingNode(transmittedOutputValues[symbolCount - 1]));
+
+        return path;
+    }
+
+    /**
+     * Calculates the soft decision cost of each possible output value against the received output value.
+     *
+     * @param receivedOutputValue hard decision received output value
+     * @param softBits array
+     * @param offset to the first soft bit for the received output value
+     * @param branchCosts array to fill, indexed by output value
+     */
+    private void calculateBranchCosts(int receivedOutputValue, float[] softBits, int offset, float[] branchCosts)
+    {
+        for(int outputValue = 0; outputValue < branchCosts.length; outputValue++)
+        {
+            int disagreement = outputValue ^ receivedOutputValue;
+            float cost = 0.0f;
+
+            for(int bit = 0; bit < getOutputBitLength(); bit++)
+            {
+                if((disagreement & (1 << (getOutputBitLength() - 1 - bit))) != 0)
+                {
+                    cost += Math.abs(softBits[offset + bit]);
+                }
+            }
+
+            branchCosts[outputValue] = cost;
+        }
+    }
+
+    /**
+     * Lookup table of expected output values indexed by preceding state (input value) and input value, derived from
+     * the node implementation.
+     */
+    private int[][] getExpectedOutputValues()
+    {
+        if(mExpectedOutputValues == null)
+        {
+            int[][] expectedOutputValues = new int[getInputValueCount()][getInputValueCount()];
+
+            for(int state = 0; state < getInputValueCount(); state++)
+            {
+                Node precedingNode = createNode(state, 0);
+
+                for(int input = 0; input < getInputValueCount(); input++)
+                {
+                    expectedOutputValues[state][input] = createNode(input, 0).getOutputValue(precedingNode);
+                }
+            }
+
+            mExpectedOutputValues = expectedOutputValues;
+        }
+
+        return mExpectedOutputValues;
+    }
+
     /**
      * Creates a set of new nodes representing all possible input values and the transmitted output value argument
      * and iteratively adds the set of nodes to a copy of each of the surviving paths.  A set of surviving paths is
@@ -35,7 +35,8 @@ public class ViterbiDecoder_1_2_P25 extends ViterbiDecoder
 
     /**
      * Decodes a 1/2 rate trellis coded modulation (TCM) encoded P25 binary message containing 196 bits that have
-     * already been deinterleaved.
+     * already been deinterleaved.  When the encoded message carries soft decision values, a soft decision decode is
+     * performed.
      *
      * @param encodedMessage to decode that has already been deinterleaved.
      * @return decoded message
@@ -44,7 +45,16 @@ public class ViterbiDecoder_1_2_P25 extends ViterbiDecoder
     {
         int[] symbols = getSymbols(encodedMessage);
 
-        Path mostLikelyPath = decode(symbols);
+        Path mostLikelyPath;
+
+        if(encodedMessage instanceof CorrectedBinaryMessage && ((CorrectedBinaryMessage)encodedMessage).hasSoftBits())
+        {
+            mostLikelyPath = decode(symbols, ((CorrectedBinaryMessage)encodedMessage).getSoftBits());
+        }
+        else
+        {
+            mostLikelyPath = decode(symbols);
+        }
 
         return getMessage(mostLikelyPath);
     }
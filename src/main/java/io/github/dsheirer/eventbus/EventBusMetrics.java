@@ -0,0 +1,156 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2023 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.eventbus;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Post and delivery latency statistics for an event topic or an event class.
+ *
+ * Dispatch latency is the time from when the event is posted until the topic dispatch thread starts delivering it.
+ * Handler time is the time spent invoking the subscriber handlers on the topic dispatch thread.
+ */
+public class EventBusMetrics
+{
+    private final String mName;
+    private final LongAdder mPostCount = new LongAdder();
+    private final LongAdder mDeliveryCount = new LongAdder();
+    private final LongAdder mErrorCount = new LongAdder();
+    private final LongAdder mDispatchLatencyTotal = new LongAdder();
+    private final AtomicLong mDispatchLatencyMax = new AtomicLong();
+    private final LongAdder mHandlerTimeTotal = new LongAdder();
+    private final AtomicLong mHandlerTimeMax = new AtomicLong();
+
+    /**
+     * Constructs an instance
+     * @param name of the topic or event class
+     */
+    public EventBusMetrics(String name)
+    {
+        mName = name;
+    }
+
+    /**
+     * Name of the topic or event class
+     */
+    public String getName()
+    {
+        return mName;
+    }
+
+    /**
+     * Records that an event was posted.
+     */
+    void posted()
+    {
+        mPostCount.increment();
+    }
+
+    /**
+     * Records the dispatch of a posted event.
+     * @param dispatchLatency nanoseconds from post until dispatch started
+     * @param handlerTime nanoseconds spent invoking the subscriber handlers
+     * @param deliveries count of subscribers that received the event
+     */
+    void dispatched(long dispatchLatency, long handlerTime, int deliveries)
+    {
+        mDeliveryCount.add(deliveries);
+        mDispatchLatencyTotal.add(dispatchLatency);
+        mDispatchLatencyMax.accumulateAndGet(dispatchLatency, Math::max);
+        mHandlerTimeTotal.add(handlerTime);
+        mHandlerTimeMax.accumulateAndGet(handlerTime, Math::max);
+    }
+
+    /**
+     * Records an error thrown by a subscriber handler.
+     */
+    void error()
+    {
+        mErrorCount.increment();
+    }
+
+    /**
+     * Count of posted events
+     */
+    public long getPostCount()
+    {
+        return mPostCount.sum();
+    }
+
+    /**
+     * Count of event deliveries to subscribers
+     */
+    public long getDeliveryCount()
+    {
+        return mDeliveryCount.sum();
+    }
+
+    /**
+     * Count of errors thrown by subscriber handlers
+     */
+    public long getErrorCount()
+    {
+        return mErrorCount.sum();
+    }
+
+    /**
+     * Average post to dispatch latency in microseconds
+     */
+    public double getAverageDispatchLatency()
+    {
+        long count = getPostCount();
+        return count > 0 ? TimeUnit.NANOSECONDS.toMicros(mDispatchLatencyTotal.sum()) / (double)count : 0.0;
+    }
+
+    /**
+     * Maximum post to dispatch latency in microseconds
+     */
+    public long getMaximumDispatchLatency()
+    {
+        return TimeUnit.NANOSECONDS.toMicros(mDispatchLatencyMax.get());
+    }
+
+    /**
+     * Average handler time per posted event in microseconds
+     */
+    public double getAverageHandlerTime()
+    {
+        long count = getPostCount();
+        return count > 0 ? TimeUnit.NANOSECONDS.toMicros(mHandlerTimeTotal.sum()) / (double)count : 0.0;
+    }
+
+    /**
+     * Maximum handler time for a posted event in microseconds
+     */
+    public long getMaximumHandlerTime()
+    {
+        return TimeUnit.NANOSECONDS.toMicros(mHandlerTimeMax.get());
+    }
+
+    @Override
+    public String toString()
+    {
+        return String.format("%s posted:%d delivered:%d errors:%d dispatch latency avg:%.1fus max:%dus handler time " +
+                "avg:%.1fus max:%dus", getName(), getPostCount(), getDeliveryCount(), getErrorCount(),
+            getAverageDispatchLatency(), getMaximumDispatchLatency(), getAverageHandlerTime(), getMaximumHandlerTime());
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2023 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.eventbus;
+
+/**
+ * Event bus topic partitions.  Each topic is dispatched on its own dedicated thread so that events posted from one
+ * part of the application (e.g. a tuner or DSP thread) are never delivered on that thread and so that a slow handler
+ * in one topic does not delay delivery of events in another topic.  Events within a topic are delivered in the order
+ * that they were posted.
+ */
+public enum EventTopic
+{
+    CHANNEL("Channel processing requests"),
+    PREFERENCE("User preference changes"),
+    UI("User interface view requests"),
+    DEFAULT("General");
+
+    private String mLabel;
+
+    EventTopic(String label)
+    {
+        mLabel = label;
+    }
+
+    @Override
+    public String toString()
+    {
+        return mLabel;
+    }
+}
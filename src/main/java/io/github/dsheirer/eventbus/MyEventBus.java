@@ -20,17 +20,34 @@
 
 package io.github.dsheirer.eventbus;
 
-import com.google.common.eventbus.EventBus;
+import io.github.dsheirer.controller.channel.event.ChannelStopProcessingRequest;
+import io.github.dsheirer.gui.JavaFxWindowRequest;
+import io.github.dsheirer.gui.playlist.radioreference.FlashAliasListComboBoxRequest;
+import io.github.dsheirer.jmbe.JmbeEditorRequest;
+import io.github.dsheirer.preference.PreferenceType;
 
 /**
- * System wide event bus for dispatching/broadcasting system wide events or objects
+ * System wide event bus for dispatching/broadcasting system wide events or objects.
+ *
+ * Events are delivered asynchronously on a dispatch thread per event topic, so that channel stop requests posted from
+ * tuner and DSP threads, preference change notifications and user interface requests never run subscriber handlers
+ * on the posting thread.
  */
 public class MyEventBus
 {
-    private static final EventBus GLOBAL_EVENT_BUS = new EventBus();
+    private static final TypedEventBus GLOBAL_EVENT_BUS = new TypedEventBus("eventbus");
+
+    static
+    {
+        GLOBAL_EVENT_BUS.assignTopic(ChannelStopProcessingRequest.class, EventTopic.CHANNEL);
+        GLOBAL_EVENT_BUS.assignTopic(PreferenceType.class, EventTopic.PREFERENCE);
+        GLOBAL_EVENT_BUS.assignTopic(JavaFxWindowRequest.class, EventTopic.UI);
+        GLOBAL_EVENT_BUS.assignTopic(JmbeEditorRequest.class, EventTopic.UI);
+        GLOBAL_EVENT_BUS.assignTopic(FlashAliasListComboBoxRequest.class, EventTopic.UI);
+    }
 
     //TODO: this is primarily used by the Preference Service ... move this event bus to the Preference Service
-    public static EventBus getGlobalEventBus()
+    public static TypedEventBus getGlobalEventBus()
     {
         return GLOBAL_EVENT_BUS;
     }
@@ -0,0 +1,636 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2023 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.eventbus;
+
+import com.google.common.eventbus.Subscribe;
+import io.github.dsheirer.controller.NamingThreadFactory;
+import io.github.dsheirer.sample.Listener;
+import java.awt.EventQueue;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import javafx.application.Platform;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Typed, topic partitioned asynchronous event bus.
+ *
+ * Each posted event class is mapped to an event topic and each topic is delivered on its own dispatch thread, so
+ * that the posting thread (e.g. a tuner or DSP thread) never runs subscriber handlers and returns as soon as the event
+ * is queued.  Events within a topic are delivered in posting order.  Event classes are assigned to a topic with
+ * {@link #assignTopic(Class, EventTopic)}, which also applies to subclasses of the assigned class.  Unassigned event
+ * classes are delivered on the {@link EventTopic#DEFAULT} topic.
+ *
+ * Subscribers are either typed listeners added via {@link #subscribe(Class, Listener)}, or objects with Guava
+ * {@link Subscribe} annotated handler methods registered via {@link #register(Object)}, which allows existing
+ * subscribers to be used with this event bus unchanged.  Handler methods are resolved once per subscriber class and
+ * invoked via method handles.  Handlers that update JavaFX or Swing components directly can request delivery on the
+ * corresponding UI thread with the {@link SubscribeOn} annotation.
+ *
+ * The set of subscribers for each posted event class, including subscribers to its super classes and interfaces, is
+ * computed on first post and cached in a dispatch table that is rebuilt whenever a subscriber is added or removed.
+ *
+ * Post and dispatch latency metrics are tracked per topic and per event class.
+ */
+public class TypedEventBus
+{
+    private final static Logger mLog = LoggerFactory.getLogger(TypedEventBus.class);
+    private static final long DISPATCH_THREAD_KEEP_ALIVE_SECONDS = 30;
+    private static final Map<Class<?>,List<Method>> HANDLER_METHOD_CACHE = new ConcurrentHashMap<>();
+
+    private final ReentrantLock mLock = new ReentrantLock();
+    private final Map<Object,List<Subscriber>> mSubscribersByTarget = new IdentityHashMap<>();
+    private final Map<EventTopic,ThreadPoolExecutor> mTopicExecutors = new EnumMap<>(EventTopic.class);
+    private final Map<EventTopic,EventBusMetrics> mTopicMetrics = new EnumMap<>(EventTopic.class);
+    private final Map<Class<?>,EventBusMetrics> mEventMetrics = new ConcurrentHashMap<>();
+    private final Map<Class<?>,EventTopic> mTopicAssignments = new ConcurrentHashMap<>();
+    private volatile Map<Class<?>,Subscriber[]> mSubscribersByType = Collections.emptyMap();
+    private volatile Map<Class<?>,Dispatch> mDispatchTable = new ConcurrentHashMap<>();
+    private final String mName;
+
+    /**
+     * Constructs an instance
+     * @param name of the event bus, used for naming the topic dispatch threads
+     */
+    public TypedEventBus(String name)
+    {
+        mName = name;
+
+        for(EventTopic topic: EventTopic.values())
+        {
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, DISPATCH_THREAD_KEEP_ALIVE_SECONDS,
+                TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                new NamingThreadFactory("sdrtrunk " + name + " " + topic.name().toLowerCase()));
+            executor.allowCoreThreadTimeOut(true);
+            mTopicExecutors.put(topic, executor);
+            mTopicMetrics.put(topic, new EventBusMetrics(topic.name()));
+        }
+    }
+
+    /**
+     * Assigns the event class, and any subclasses, to the specified topic.  Subclass assignments take precedence over
+     * super class assignments.
+     * @param eventClass to assign
+     * @param topic for delivering the event class
+     */
+    public void assignTopic(Class<?> eventClass, EventTopic topic)
+    {
+        mLock.lock();
+
+        try
+        {
+            mTopicAssignments.put(eventClass, topic);
+            mDispatchTable = new ConcurrentHashMap<>();
+        }
+        finally
+        {
+            mLock.unlock();
+        }
+    }
+
+    /**
+     * Registers all {@link Subscribe} annotated handler methods of the subscriber object.  Each handler method must
+     * have a single argument which is the event class that the handler receives.
+     * @param subscriber to register
+     */
+    public void register(Object subscriber)
+    {
+        List<Subscriber> subscribers = new ArrayList<>();
+
+        for(Method method: getHandlerMethods(subscriber.getClass()))
+        {
+            SubscribeOn subscribeOn = method.getAnnotation(SubscribeOn.class);
+            DeliveryThread deliveryThread = subscribeOn != null ? subscribeOn.value() : DeliveryThread.TOPIC;
+            subscribers.add(new MethodSubscriber(subscriber, method, deliveryThread));
+        }
+
+        add(subscriber, subscribers, true);
+    }
+
+    /**
+     * Unregisters all handler methods of the subscriber object.
+     * @param subscriber to unregister
+     * @throws IllegalArgumentException if the subscriber is not registered
+     */
+    public void unregister(Object subscriber)
+    {
+        if(!remove(subscriber))
+        {
+            throw new IllegalArgumentException("Subscriber is not registered: " + subscriber);
+        }
+    }
+
+    /**
+     * Subscribes the listener to receive events of the specified class, including subclasses, on the topic dispatch
+     * thread.
+     * @param eventClass to receive
+     * @param listener to receive events
+     */
+    public <T> void subscribe(Class<T> eventClass, Listener<T> listener)
+    {
+        subscribe(eventClass, listener, DeliveryThread.TOPIC);
+    }
+
+    /**
+     * Subscribes the listener to receive events of the specified class, including subclasses.
+     * @param eventClass to receive
+     * @param listener to receive events
+     * @param deliveryThread for invoking the listener
+     */
+    public <T> void subscribe(Class<T> eventClass, Listener<T> listener, DeliveryThread deliveryThread)
+    {
+        add(listener, List.of(new ListenerSubscriber<>(eventClass, listener, deliveryThread)), false);
+    }
+
+    /**
+     * Removes the listener subscription(s).
+     * @param listener to remove
+     */
+    public void unsubscribe(Listener<?> listener)
+    {
+        remove(listener);
+    }
+
+    /**
+     * Posts the event for delivery to all subscribers of the event class, its super classes and interfaces.  The
+     * event is queued on the event topic's dispatch thread and this method returns without waiting for delivery.
+     * @param event to post
+     */
+    public void post(Object event)
+    {
+        long posted = System.nanoTime();
+        Map<Class<?>,Dispatch> dispatchTable = mDispatchTable;
+        Dispatch dispatch = dispatchTable.get(event.getClass());
+
+        if(dispatch == null)
+        {
+            dispatch = dispatchTable.computeIfAbsent(event.getClass(), this::createDispatch);
+        }
+
+        dispatch.mTopicMetrics.posted();
+        dispatch.mEventMetrics.posted();
+
+        if(dispatch.mSubscribers.length == 0)
+        {
+            return;
+        }
+
+        Dispatch finalDispatch = dispatch;
+        mTopicExecutors.get(dispatch.mTopic).execute(() -> dispatch(finalDispatch, event, posted));
+    }
+
+    /**
+     * Post and dispatch latency metrics for each topic.
+     */
+    public List<EventBusMetrics> getTopicMetrics()
+    {
+        return new ArrayList<>(mTopicMetrics.values());
+    }
+
+    /**
+     * Post and dispatch latency metrics for each posted event class.
+     */
+    public List<EventBusMetrics> getEventMetrics()
+    {
+        return new ArrayList<>(mEventMetrics.values());
+    }
+
+    /**
+     * Logs the post and dispatch latency metrics for each topic and event class that has been posted.
+     */
+    public void logMetrics()
+    {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Event bus [").append(mName).append("] metrics");
+
+        for(EventBusMetrics metrics: getTopicMetrics())
+        {
+            sb.append("\n\tTopic ").append(metrics);
+        }
+
+        for(EventBusMetrics metrics: getEventMetrics())
+        {
+            sb.append("\n\tEvent ").append(metrics);
+        }
+
+        mLog.info(sb.toString());
+    }
+
+    /**
+     * Delivers the event to each subscriber in the dispatch.  Note: invoked on the topic dispatch thread.
+     */
+    private void dispatch(Dispatch dispatch, Object event, long posted)
+    {
+        long start = System.nanoTime();
+        int deliveries = 0;
+
+        for(Subscriber subscriber: dispatch.mSubscribers)
+        {
+            if(subscriber.isActive())
+            {
+                switch(subscriber.getDeliveryThread())
+                {
+                    case JAVAFX -> runOnJavaFxThread(() -> deliver(dispatch, subscriber, event));
+                    case SWING -> EventQueue.invokeLater(() -> deliver(dispatch, subscriber, event));
+                    default -> deliver(dispatch, subscriber, event);
+                }
+
+                deliveries++;
+            }
+        }
+
+        long handlerTime = System.nanoTime() - start;
+        dispatch.mTopicMetrics.dispatched(start - posted, handlerTime, deliveries);
+        dispatch.mEventMetrics.dispatched(start - posted, handlerTime, deliveries);
+    }
+
+    /**
+     * Delivers the event to the subscriber and logs any error thrown by the subscriber's handler.
+     */
+    private void deliver(Dispatch dispatch, Subscriber subscriber, Object event)
+    {
+        //Subscriber may have been removed while the event was queued for a UI thread
+        if(!subscriber.isActive())
+        {
+            return;
+        }
+
+        try
+        {
+            subscriber.receive(event);
+        }
+        catch(Throwable t)
+        {
+            dispatch.mTopicMetrics.error();
+            dispatch.mEventMetrics.error();
+            mLog.error("Error delivering event [" + event.getClass().getName() + "] to subscriber [" + subscriber +
+                "] on event bus [" + mName + "]", t);
+        }
+    }
+
+    /**
+     * Runs the runnable on the JavaFX application thread, or directly when the JavaFX platform is not running.
+     */
+    private static void runOnJavaFxThread(Runnable runnable)
+    {
+        try
+        {
+            Platform.runLater(runnable);
+        }
+        catch(IllegalStateException ise)
+        {
+            runnable.run();
+        }
+    }
+
+    /**
+     * Adds the subscribers for the target and rebuilds the subscriber map and dispatch table.
+     * @param target that owns the subscribers
+     * @param subscribers to add
+     * @param ignoreIfRegistered to ignore repeat registrations of the same target
+     */
+    private void add(Object target, List<Subscriber> subscribers, boolean ignoreIfRegistered)
+    {
+        mLock.lock();
+
+        try
+        {
+            if(ignoreIfRegistered && mSubscribersByTarget.containsKey(target))
+            {
+                return;
+            }
+
+            mSubscribersByTarget.computeIfAbsent(target, key -> new ArrayList<>()).addAll(subscribers);
+            rebuild();
+        }
+        finally
+        {
+            mLock.unlock();
+        }
+    }
+
+    /**
+     * Removes the subscribers for the target and rebuilds the subscriber map and dispatch table.
+     * @return true if the target was registered
+     */
+    private boolean remove(Object target)
+    {
+        mLock.lock();
+
+        try
+        {
+            List<Subscriber> removed = mSubscribersByTarget.remove(target);
+
+            if(removed == null)
+            {
+                return false;
+            }
+
+            for(Subscriber subscriber: removed)
+            {
+                subscriber.deactivate();
+            }
+
+            rebuild();
+            return true;
+        }
+        finally
+        {
+            mLock.unlock();
+        }
+    }
+
+    /**
+     * Rebuilds the copy-on-write map of subscribers by event class and resets the dispatch table so that it is lazily
+     * recreated from the updated subscriber map.  Note: the lock must be held when invoking this method.
+     */
+    private void rebuild()
+    {
+        Map<Class<?>,List<Subscriber>> map = new HashMap<>();
+
+        for(List<Subscriber> subscribers: mSubscribersByTarget.values())
+        {
+            for(Subscriber subscriber: subscribers)
+            {
+                map.computeIfAbsent(subscriber.getEventClass(), key -> new ArrayList<>()).add(subscriber);
+            }
+        }
+
+        Map<Class<?>,Subscriber[]> subscribersByType = new HashMap<>();
+
+        for(Map.Entry<Class<?>,List<Subscriber>> entry: map.entrySet())
+        {
+            subscribersByType.put(entry.getKey(), entry.getValue().toArray(new Subscriber[0]));
+        }
+
+        mSubscribersByType = subscribersByType;
+        mDispatchTable = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Creates the dispatch entry for an event class with all subscribers to the class and its super types, and the
+     * topic assigned to the closest super type.
+     */
+    private Dispatch createDispatch(Class<?> eventClass)
+    {
+        Map<Class<?>,Subscriber[]> subscribersByType = mSubscribersByType;
+        List<Subscriber> subscribers = new ArrayList<>();
+        EventTopic topic = null;
+
+        for(Class<?> type: getTypes(eventClass))
+        {
+            Subscriber[] typeSubscribers = subscribersByType.get(type);
+
+            if(typeSubscribers != null)
+            {
+                subscribers.addAll(Arrays.asList(typeSubscribers));
+            }
+
+            if(topic == null)
+            {
+                topic = mTopicAssignments.get(type);
+            }
+        }
+
+        if(topic == null)
+        {
+            topic = EventTopic.DEFAULT;
+        }
+
+        EventBusMetrics eventMetrics = mEventMetrics.computeIfAbsent(eventClass,
+            key -> new EventBusMetrics(key.getSimpleName().isEmpty() ? key.getName() : key.getSimpleName()));
+
+        return new Dispatch(topic, subscribers.toArray(new Subscriber[0]), mTopicMetrics.get(topic), eventMetrics);
+    }
+
+    /**
+     * Ordered set of the class, its super classes and all interfaces, closest types first.
+     */
+    private static Set<Class<?>> getTypes(Class<?> eventClass)
+    {
+        Set<Class<?>> types = new LinkedHashSet<>();
+        List<Class<?>> toVisit = new ArrayList<>();
+        toVisit.add(eventClass);
+
+        //Breadth first traversal so that closer super types precede more distant super types
+        for(int x = 0; x < toVisit.size(); x++)
+        {
+            Class<?> type = toVisit.get(x);
+
+            if(types.add(type))
+            {
+                if(type.getSuperclass() != null)
+                {
+                    toVisit.add(type.getSuperclass());
+                }
+
+                toVisit.addAll(Arrays.asList(type.getInterfaces()));
+            }
+        }
+
+        return types;
+    }
+
+    /**
+     * Finds the Subscribe annotated handler methods for the subscriber class and its super classes.  Handler methods
+     * that are overridden in a subclass are only included once.  Results are cached per subscriber class.
+     */
+    private static List<Method> getHandlerMethods(Class<?> subscriberClass)
+    {
+        return HANDLER_METHOD_CACHE.computeIfAbsent(subscriberClass, key -> {
+            List<Method> methods = new ArrayList<>();
+            Set<String> signatures = new HashSet<>();
+
+            for(Class<?> type = key; type != null && type != Object.class; type = type.getSuperclass())
+            {
+                for(Method method: type.getDeclaredMethods())
+                {
+                    if(method.isAnnotationPresent(Subscribe.class) && !method.isSynthetic() &&
+                        !Modifier.isStatic(method.getModifiers()))
+                    {
+                        if(method.getParameterCount() != 1)
+                        {
+                            throw new IllegalArgumentException("Subscribe annotated method [" + method +
+                                "] must have exactly one parameter");
+                        }
+
+                        if(signatures.add(method.getName() + method.getParameterTypes()[0].getName()))
+                        {
+                            methods.add(method);
+                        }
+                    }
+                }
+            }
+
+            return Collections.unmodifiableList(methods);
+        });
+    }
+
+    /**
+     * Dispatch table entry for an event class.
+     */
+    private static class Dispatch
+    {
+        private final EventTopic mTopic;
+        private final Subscriber[] mSubscribers;
+        private final EventBusMetrics mTopicMetrics;
+        private final EventBusMetrics mEventMetrics;
+
+        private Dispatch(EventTopic topic, Subscriber[] subscribers, EventBusMetrics topicMetrics,
+                         EventBusMetrics eventMetrics)
+        {
+            mTopic = topic;
+            mSubscribers = subscribers;
+            mTopicMetrics = topicMetrics;
+            mEventMetrics = eventMetrics;
+        }
+    }
+
+    /**
+     * Base event subscriber
+     */
+    private abstract static class Subscriber
+    {
+        private final Class<?> mEventClass;
+        private final DeliveryThread mDeliveryThread;
+        private volatile boolean mActive = true;
+
+        protected Subscriber(Class<?> eventClass, DeliveryThread deliveryThread)
+        {
+            mEventClass = eventClass;
+            mDeliveryThread = deliveryThread;
+        }
+
+        public Class<?> getEventClass()
+        {
+            return mEventClass;
+        }
+
+        public DeliveryThread getDeliveryThread()
+        {
+            return mDeliveryThread;
+        }
+
+        public boolean isActive()
+        {
+            return mActive;
+        }
+
+        public void deactivate()
+        {
+            mActive = false;
+        }
+
+        public abstract void receive(Object event) throws Throwable;
+    }
+
+    /**
+     * Subscriber for a Subscribe annotated handler method, invoked through a method handle bound to the target.
+     */
+    private static class MethodSubscriber extends Subscriber
+    {
+        private static final MethodType HANDLER_TYPE = MethodType.methodType(void.class, Object.class);
+        private final MethodHandle mMethodHandle;
+        private final String mDescription;
+
+        public MethodSubscriber(Object target, Method method, DeliveryThread deliveryThread)
+        {
+            super(wrap(method.getParameterTypes()[0]), deliveryThread);
+            mDescription = target.getClass().getName() + "." + method.getName();
+
+            try
+            {
+                method.setAccessible(true);
+                mMethodHandle = MethodHandles.lookup().unreflect(method).bindTo(target).asType(HANDLER_TYPE);
+            }
+            catch(IllegalAccessException iae)
+            {
+                throw new IllegalArgumentException("Unable to access subscriber method [" + mDescription + "]", iae);
+            }
+        }
+
+        @Override
+        public void receive(Object event) throws Throwable
+        {
+            mMethodHandle.invokeExact(event);
+        }
+
+        @Override
+        public String toString()
+        {
+            return mDescription;
+        }
+
+        /**
+         * Primitive parameter types receive their boxed event class.
+         */
+        private static Class<?> wrap(Class<?> type)
+        {
+            return type.isPrimitive() ? MethodType.methodType(type).wrap().returnType() : type;
+        }
+    }
+
+    /**
+     * Subscriber for a typed listener.
+     */
+    private static class ListenerSubscriber<T> extends Subscriber
+    {
+        private final Class<T> mType;
+        private final Listener<T> mListener;
+
+        public ListenerSubscriber(Class<T> type, Listener<T> listener, DeliveryThread deliveryThread)
+        {
+            super(type, deliveryThread);
+            mType = type;
+            mListener = listener;
+        }
+
+        @Override
+        public void receive(Object event)
+        {
+            mListener.receive(mType.cast(event));
+        }
+
+        @Override
+        public String toString()
+        {
+            return mListener.getClass().getName();
+        }
+    }
+}
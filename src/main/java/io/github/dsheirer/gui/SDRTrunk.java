@@ -25,6 +25,8 @@ import io.github.dsheirer.audio.DuplicateCallDetector;
 import io.github.dsheirer.audio.broadcast.AudioStreamingManager;
 import io.github.dsheirer.audio.broadcast.BroadcastFormat;
 import io.github.dsheirer.audio.broadcast.BroadcastStatusPanel;
+import io.github.dsheirer.audio.codec.mbe.MBECallArchiveWriter;
+import io.github.dsheirer.audio.codec.mbe.VocoderExecutor;
 import io.github.dsheirer.audio.playback.AudioPlaybackManager;
 import io.github.dsheirer.controller.ControllerPanel;
 import io.github.dsheirer.controller.channel.Channel;
@@ -42,7 +44,9 @@ import io.github.dsheirer.gui.viewer.ViewRecordingViewerRequest;
 import io.github.dsheirer.icon.IconModel;
 import io.github.dsheirer.log.ApplicationLog;
 import io.github.dsheirer.map.MapService;
+import io.github.dsheirer.module.decode.event.store.DecodeEventStore;
 import io.github.dsheirer.module.log.EventLogManager;
+import io.github.dsheirer.monitor.LatencyTracer;
 import io.github.dsheirer.monitor.ResourceMonitor;
 import io.github.dsheirer.playlist.PlaylistManager;
 import io.github.dsheirer.preference.UserPreferences;
@@ -125,6 +129,7 @@ public class SDRTrunk implements Listener<TunerEvent>
     private AudioStreamingManager mAudioStreamingManager;
     private BroadcastStatusPanel mBroadcastStatusPanel;
     private ControllerPanel mControllerPanel;
+    private DecodeEventStore mDecodeEventStore;
     private IconModel mIconModel = new IconModel();
     private PlaylistManager mPlaylistManager;
     private SettingsManager mSettingsManager;
@@ -187,6 +192,9 @@ public class SDRTrunk implements Listener<TunerEvent>
         EventLogManager eventLogManager = new EventLogManager(aliasModel, mUserPreferences);
         mPlaylistManager = new PlaylistManager(mUserPreferences, mTunerManager, aliasModel, eventLogManager, mIconModel);
 
+        //Parse the playlist in the background while the remaining startup components are created
+        mPlaylistManager.preload();
+
         if(!GraphicsEnvironment.isHeadless())
         {
             mJavaFxWindowManager = new JavaFxWindowManager(mUserPreferences, mTunerManager, mPlaylistManager);
@@ -217,6 +225,10 @@ public class SDRTrunk implements Listener<TunerEvent>
         MapService mapService = new MapService(mIconModel);
         mPlaylistManager.getChannelProcessingManager().addDecodeEventListener(mapService);
 
+        mDecodeEventStore = new DecodeEventStore(mUserPreferences);
+        mDecodeEventStore.start();
+        mPlaylistManager.getChannelProcessingManager().addDecodeEventListener(mDecodeEventStore);
+
         mNowPlayingDetailsVisible = mPreferences.getBoolean(PREFERENCE_NOW_PLAYING_DETAILS_VISIBLE, true);
 
         if(!GraphicsEnvironment.isHeadless())
@@ -585,15 +597,21 @@ public class SDRTrunk implements Listener<TunerEvent>
         mUserPreferences.getSwingPreference().setDimension(SPECTRAL_PANEL_IDENTIFIER, mSpectralPanel.getSize());
         mUserPreferences.getSwingPreference().setDimension(CONTROLLER_PANEL_IDENTIFIER, mControllerPanel.getSize());
         mJavaFxWindowManager.shutdown();
+        LatencyTracer.getInstance().logSummary();
         mLog.info("Stopping channels ...");
         mPlaylistManager.getChannelProcessingManager().shutdown();
+        mPlaylistManager.shutdown();
         mAudioRecordingManager.stop();
+        mDecodeEventStore.stop();
         mResourceMonitor.stop();
 
         mLog.info("Stopping spectral display ...");
         mSpectralPanel.clearTuner();
         mLog.info("Stopping tuners ...");
         mTunerManager.stop();
+        MyEventBus.getGlobalEventBus().logMetrics();
+        VocoderExecutor.getInstance().logMetrics();
+        MBECallArchiveWriter.getInstance().close();
         mLog.info("Shutdown complete.");
         mApplicationLog.stop();
     }
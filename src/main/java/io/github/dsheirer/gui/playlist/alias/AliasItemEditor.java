@@ -47,7 +47,9 @@ import io.github.dsheirer.alias.id.talkgroup.TalkgroupFormatter;
 import io.github.dsheirer.alias.id.talkgroup.TalkgroupRange;
 import io.github.dsheirer.alias.id.tone.TonesID;
 import io.github.dsheirer.audio.broadcast.ConfiguredBroadcast;
+import io.github.dsheirer.eventbus.DeliveryThread;
 import io.github.dsheirer.eventbus.MyEventBus;
+import io.github.dsheirer.eventbus.SubscribeOn;
 import io.github.dsheirer.gui.playlist.Editor;
 import io.github.dsheirer.gui.playlist.alias.action.ActionEditor;
 import io.github.dsheirer.gui.playlist.alias.action.ActionEditorFactory;
@@ -192,6 +194,7 @@ public class AliasItemEditor extends Editor<Alias>
 
 
     @Subscribe
+    @SubscribeOn(DeliveryThread.JAVAFX)
     public void preferenceUpdated(PreferenceType preferenceType)
     {
         if(preferenceType == PreferenceType.TALKGROUP_FORMAT)
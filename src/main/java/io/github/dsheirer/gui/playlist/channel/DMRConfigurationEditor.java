@@ -19,6 +19,7 @@
 
 package io.github.dsheirer.gui.playlist.channel;
 
+import io.github.dsheirer.dsp.symbol.SoftDecisionMode;
 import io.github.dsheirer.gui.control.IntegerTextField;
 import io.github.dsheirer.gui.playlist.eventlog.EventLogConfigurationEditor;
 import io.github.dsheirer.gui.playlist.record.RecordConfigurationEditor;
@@ -51,6 +52,7 @@ import javafx.geometry.HPos;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.control.Button;
+import javafx.scene.control.ComboBox;
 import javafx.scene.control.Label;
 import javafx.scene.control.Spinner;
 import javafx.scene.control.SpinnerValueFactory;
@@ -83,6 +85,7 @@ public class DMRConfigurationEditor extends ChannelConfigurationEditor
     private ToggleSwitch mIgnoreDataCallsButton;
     private ToggleSwitch mIgnoreCRCChecksumsButton;
     private ToggleSwitch mUseCompressedTalkgroupsToggle;
+    private ComboBox<SoftDecisionMode> mSoftDecisionModeComboBox;
     private Spinner<Integer> mTrafficChannelPoolSizeSpinner;
     private TableView<TimeslotFrequency> mTimeslotFrequencyTable;
     private IntegerTextField mLogicalChannelNumberField;
@@ -172,6 +175,14 @@ public class DMRConfigurationEditor extends ChannelConfigurationEditor
             GridPane.setConstraints(useCompressedTalkgroupsLabel, 7, row);
             gridPane.getChildren().add(useCompressedTalkgroupsLabel);
 
+            Label softDecisionLabel = new Label("Symbol Decisions");
+            GridPane.setHalignment(softDecisionLabel, HPos.RIGHT);
+            GridPane.setConstraints(softDecisionLabel, 0, ++row);
+            gridPane.getChildren().add(softDecisionLabel);
+
+            GridPane.setConstraints(getSoftDecisionModeComboBox(), 1, row, 3, 1);
+            gridPane.getChildren().add(getSoftDecisionModeComboBox());
+
             Label timeslotTableLabel = new Label("Logical Channel Number (LCN) to Frequency Map. Required for: Connect Plus and Tier-III systems that don't use absolute frequencies.  LSN = Logical Slot Number");
             GridPane.setHalignment(timeslotTableLabel, HPos.LEFT);
             GridPane.setConstraints(timeslotTableLabel, 0, ++row, 6, 1);
@@ -267,6 +278,8 @@ public class DMRConfigurationEditor extends ChannelConfigurationEditor
             types.add(EventLogType.DECODED_MESSAGE);
             types.add(EventLogType.TRAFFIC_CALL_EVENT);
             types.add(EventLogType.TRAFFIC_DECODED_MESSAGE);
+            types.add(EventLogType.PACKET_CAPTURE);
+            types.add(EventLogType.TRAFFIC_PACKET_CAPTURE);
 
             mEventLogConfigurationEditor = new EventLogConfigurationEditor(types);
             mEventLogConfigurationEditor.setPadding(new Insets(5,5,5,5));
@@ -536,6 +549,26 @@ public class DMRConfigurationEditor extends ChannelConfigurationEditor
         return mUseCompressedTalkgroupsToggle;
     }
 
+    /**
+     * Soft decision mode selection.
+     * @return combo box.
+     */
+    private ComboBox<SoftDecisionMode> getSoftDecisionModeComboBox()
+    {
+        if(mSoftDecisionModeComboBox == null)
+        {
+            mSoftDecisionModeComboBox = new ComboBox<>();
+            mSoftDecisionModeComboBox.setDisable(true);
+            mSoftDecisionModeComboBox.getItems().addAll(SoftDecisionMode.values());
+            mSoftDecisionModeComboBox.setTooltip(new Tooltip("Soft decision error correction decodes more " +
+                "messages from weak signals.  Compare logs hard versus soft decision error rates when the channel stops."));
+            mSoftDecisionModeComboBox.getSelectionModel().selectedItemProperty()
+                .addListener((observable, oldValue, newValue) -> modifiedProperty().set(true));
+        }
+
+        return mSoftDecisionModeComboBox;
+    }
+
     private Spinner<Integer> getTrafficChannelPoolSizeSpinner()
     {
         if(mTrafficChannelPoolSizeSpinner == null)
@@ -603,6 +636,7 @@ public class DMRConfigurationEditor extends ChannelConfigurationEditor
         getIgnoreCRCChecksumsButton().setDisable(config == null);
         getIgnoreDataCallsButton().setDisable(config == null);
         getUseCompressedTalkgroupsToggle().setDisable(config == null);
+        getSoftDecisionModeComboBox().setDisable(config == null);
         getTrafficChannelPoolSizeSpinner().setDisable(config == null);
         getTimeslotTable().getItems().clear();
         getTimeslotTable().setDisable(config == null);
@@ -623,6 +657,7 @@ public class DMRConfigurationEditor extends ChannelConfigurationEditor
             getIgnoreDataCallsButton().setSelected(decodeConfig.getIgnoreDataCalls());
             getIgnoreCRCChecksumsButton().setSelected(decodeConfig.getIgnoreCRCChecksums());
             getUseCompressedTalkgroupsToggle().setSelected(decodeConfig.isUseCompressedTalkgroups());
+            getSoftDecisionModeComboBox().getSelectionModel().select(decodeConfig.getSoftDecisionMode());
             getTrafficChannelPoolSizeSpinner().getValueFactory().setValue(decodeConfig.getTrafficChannelPoolSize());
 
             for(TimeslotFrequency timeslotFrequency: decodeConfig.getTimeslotMap())
@@ -635,6 +670,7 @@ public class DMRConfigurationEditor extends ChannelConfigurationEditor
             getIgnoreCRCChecksumsButton().setSelected(false);
             getIgnoreDataCallsButton().setSelected(false);
             getUseCompressedTalkgroupsToggle().setSelected(false);
+            getSoftDecisionModeComboBox().getSelectionModel().select(SoftDecisionMode.HARD);
             getTrafficChannelPoolSizeSpinner().getValueFactory().setValue(0);
             getChannelRotationDelaySpinner().getValueFactory().setValue(200);
         }
@@ -658,6 +694,7 @@ public class DMRConfigurationEditor extends ChannelConfigurationEditor
         config.setIgnoreDataCalls(getIgnoreDataCallsButton().isSelected());
         config.setTrafficChannelPoolSize(getTrafficChannelPoolSizeSpinner().getValue());
         config.setUseCompressedTalkgroups(getUseCompressedTalkgroupsToggle().isSelected());
+        config.setSoftDecisionMode(getSoftDecisionModeComboBox().getValue());
         config.setTimeslotMap(new ArrayList<>(getTimeslotTable().getItems()));
         getItem().setDecodeConfiguration(config);
     }
@@ -19,6 +19,7 @@
 
 package io.github.dsheirer.gui.playlist.channel;
 
+import io.github.dsheirer.dsp.symbol.SoftDecisionMode;
 import io.github.dsheirer.gui.playlist.eventlog.EventLogConfigurationEditor;
 import io.github.dsheirer.gui.playlist.record.RecordConfigurationEditor;
 import io.github.dsheirer.gui.playlist.source.FrequencyEditor;
@@ -42,6 +43,7 @@ import javafx.beans.value.ChangeListener;
 import javafx.beans.value.ObservableValue;
 import javafx.geometry.HPos;
 import javafx.geometry.Insets;
+import javafx.scene.control.ComboBox;
 import javafx.scene.control.Label;
 import javafx.scene.control.Spinner;
 import javafx.scene.control.SpinnerValueFactory;
@@ -74,6 +76,8 @@ public class P25P1ConfigurationEditor extends ChannelConfigurationEditor
     private SegmentedButton mModulationSegmentedButton;
     private ToggleButton mC4FMToggleButton;
     private ToggleButton mLSMToggleButton;
+    private ComboBox<SoftDecisionMode> mSoftDecisionModeComboBox;
+    private ToggleSwitch mShareTrafficChannelsButton;
 
     /**
      * Constructs an instance
@@ -149,6 +153,22 @@ public class P25P1ConfigurationEditor extends ChannelConfigurationEditor
             GridPane.setConstraints(modulationHelpLabel, 0, 1, 6, 1);
             gridPane.getChildren().add(modulationHelpLabel);
 
+            Label softDecisionLabel = new Label("Symbol Decisions");
+            GridPane.setHalignment(softDecisionLabel, HPos.RIGHT);
+            GridPane.setConstraints(softDecisionLabel, 0, 2);
+            gridPane.getChildren().add(softDecisionLabel);
+
+            GridPane.setConstraints(getSoftDecisionModeComboBox(), 1, 2, 3, 1);
+            gridPane.getChildren().add(getSoftDecisionModeComboBox());
+
+            GridPane.setConstraints(getShareTrafficChannelsButton(), 4, 2);
+            gridPane.getChildren().add(getShareTrafficChannelsButton());
+
+            Label shareLabel = new Label("Share Traffic Channels With Other Sites");
+            GridPane.setHalignment(shareLabel, HPos.LEFT);
+            GridPane.setConstraints(shareLabel, 5, 2);
+            gridPane.getChildren().add(shareLabel);
+
             mDecoderPane.setContent(gridPane);
         }
 
@@ -212,6 +232,8 @@ public class P25P1ConfigurationEditor extends ChannelConfigurationEditor
             types.add(EventLogType.DECODED_MESSAGE);
             types.add(EventLogType.TRAFFIC_CALL_EVENT);
             types.add(EventLogType.TRAFFIC_DECODED_MESSAGE);
+            types.add(EventLogType.PACKET_CAPTURE);
+            types.add(EventLogType.TRAFFIC_PACKET_CAPTURE);
 
             mEventLogConfigurationEditor = new EventLogConfigurationEditor(types);
             mEventLogConfigurationEditor.setPadding(new Insets(5,5,5,5));
@@ -283,6 +305,37 @@ public class P25P1ConfigurationEditor extends ChannelConfigurationEditor
         return mIgnoreDataCallsButton;
     }
 
+    private ToggleSwitch getShareTrafficChannelsButton()
+    {
+        if(mShareTrafficChannelsButton == null)
+        {
+            mShareTrafficChannelsButton = new ToggleSwitch();
+            mShareTrafficChannelsButton.setDisable(true);
+            mShareTrafficChannelsButton.setTooltip(new Tooltip("Allocate each granted traffic channel only once " +
+                "across all control channels that are monitoring the same system (WACN/System/NAC)"));
+            mShareTrafficChannelsButton.selectedProperty()
+                .addListener((observable, oldValue, newValue) -> modifiedProperty().set(true));
+        }
+
+        return mShareTrafficChannelsButton;
+    }
+
+    private ComboBox<SoftDecisionMode> getSoftDecisionModeComboBox()
+    {
+        if(mSoftDecisionModeComboBox == null)
+        {
+            mSoftDecisionModeComboBox = new ComboBox<>();
+            mSoftDecisionModeComboBox.setDisable(true);
+            mSoftDecisionModeComboBox.getItems().addAll(SoftDecisionMode.values());
+            mSoftDecisionModeComboBox.setTooltip(new Tooltip("Soft decision error correction decodes more " +
+                "messages from weak signals.  Compare logs hard versus soft decision error rates when the channel stops."));
+            mSoftDecisionModeComboBox.getSelectionModel().selectedItemProperty()
+                .addListener((observable, oldValue, newValue) -> modifiedProperty().set(true));
+        }
+
+        return mSoftDecisionModeComboBox;
+    }
+
     private Spinner<Integer> getTrafficChannelPoolSizeSpinner()
     {
         if(mTrafficChannelPoolSizeSpinner == null)
@@ -326,11 +379,15 @@ public class P25P1ConfigurationEditor extends ChannelConfigurationEditor
     {
         getIgnoreDataCallsButton().setDisable(config == null);
         getTrafficChannelPoolSizeSpinner().setDisable(config == null);
+        getSoftDecisionModeComboBox().setDisable(config == null);
+        getShareTrafficChannelsButton().setDisable(config == null);
 
         if(config instanceof DecodeConfigP25Phase1)
         {
             DecodeConfigP25Phase1 decodeConfig = (DecodeConfigP25Phase1)config;
             getIgnoreDataCallsButton().setSelected(decodeConfig.getIgnoreDataCalls());
+            getSoftDecisionModeComboBox().getSelectionModel().select(decodeConfig.getSoftDecisionMode());
+            getShareTrafficChannelsButton().setSelected(decodeConfig.isShareTrafficChannels());
             getTrafficChannelPoolSizeSpinner().getValueFactory().setValue(decodeConfig.getTrafficChannelPoolSize());
             if(decodeConfig.getModulation() == P25P1Decoder.Modulation.C4FM)
             {
@@ -347,6 +404,8 @@ public class P25P1ConfigurationEditor extends ChannelConfigurationEditor
         {
             getIgnoreDataCallsButton().setSelected(false);
             getTrafficChannelPoolSizeSpinner().getValueFactory().setValue(0);
+            getSoftDecisionModeComboBox().getSelectionModel().select(SoftDecisionMode.HARD);
+            getShareTrafficChannelsButton().setSelected(false);
         }
     }
 
@@ -367,6 +426,8 @@ public class P25P1ConfigurationEditor extends ChannelConfigurationEditor
         config.setIgnoreDataCalls(getIgnoreDataCallsButton().isSelected());
         config.setTrafficChannelPoolSize(getTrafficChannelPoolSizeSpinner().getValue());
         config.setModulation(getC4FMToggleButton().isSelected() ? P25P1Decoder.Modulation.C4FM : P25P1Decoder.Modulation.CQPSK);
+        config.setSoftDecisionMode(getSoftDecisionModeComboBox().getValue());
+        config.setShareTrafficChannels(getShareTrafficChannelsButton().isSelected());
         getItem().setDecodeConfiguration(config);
     }
 
@@ -394,6 +394,12 @@ public class PlaylistManagerEditor extends HBox
 
                         try
                         {
+                            //Ensure the current playlist file contains any journaled changes before copying it
+                            if(selected.equals(mUserPreferences.getPlaylistPreference().getPlaylist()))
+                            {
+                                mPlaylistManager.compact();
+                            }
+
                             Files.copy(selected.toFile(), copyFile);
                             getPlaylistTableView().getItems().add(copyFile.toPath());
                             savePlaylistsPreference();
@@ -25,7 +25,9 @@ import io.github.dsheirer.alias.AliasList;
 import io.github.dsheirer.alias.AliasModel;
 import io.github.dsheirer.alias.id.AliasID;
 import io.github.dsheirer.alias.id.talkgroup.TalkgroupRange;
+import io.github.dsheirer.eventbus.DeliveryThread;
 import io.github.dsheirer.eventbus.MyEventBus;
+import io.github.dsheirer.eventbus.SubscribeOn;
 import io.github.dsheirer.gui.control.MaxLengthUnaryOperator;
 import io.github.dsheirer.identifier.talkgroup.TalkgroupIdentifier;
 import io.github.dsheirer.playlist.PlaylistManager;
@@ -285,6 +287,7 @@ public class SystemTalkgroupSelectionEditor extends GridPane
     }
 
     @Subscribe
+    @SubscribeOn(DeliveryThread.JAVAFX)
     public void process(FlashAliasListComboBoxRequest request)
     {
         flashAliasListComboBox();
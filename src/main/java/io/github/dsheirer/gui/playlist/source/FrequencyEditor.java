@@ -35,6 +35,7 @@ import javafx.scene.Node;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Button;
 import javafx.scene.control.ButtonType;
+import javafx.scene.control.CheckBox;
 import javafx.scene.control.ComboBox;
 import javafx.scene.control.Label;
 import javafx.scene.control.Spinner;
@@ -62,6 +63,7 @@ public class FrequencyEditor extends SourceConfigurationEditor<SourceConfigurati
     private ComboBox<String> mPreferredTunerComboBox;
     private VBox mFrequencyBoxContainer;
     private Spinner<Integer> mChannelRotationDelaySpinner;
+    private CheckBox mParallelHuntCheckBox;
     private boolean mAllowMultipleFrequencies = false;
     private int mFrequencyRotationDefault = ChannelRotationMonitor.CHANNEL_ROTATION_DELAY_DEFAULT;
     private int mFrequencyRotationMinimum = ChannelRotationMonitor.CHANNEL_ROTATION_DELAY_MINIMUM;
@@ -125,8 +127,9 @@ public class FrequencyEditor extends SourceConfigurationEditor<SourceConfigurati
             frequencyBox.setSpacing(10);
             frequencyBox.getChildren().addAll(frequencyRotationLabel, getFrequencyRotationDelaySpinner());
             getFrequencyRotationDelaySpinner().disableProperty().bind(Bindings.greaterThan(2, Bindings.size(mFrequencyBoxes)));
+            getParallelHuntCheckBox().disableProperty().bind(Bindings.greaterThan(2, Bindings.size(mFrequencyBoxes)));
 
-            vbox.getChildren().addAll(tunerBox, frequencyBox);
+            vbox.getChildren().addAll(tunerBox, frequencyBox, getParallelHuntCheckBox());
         }
         else
         {
@@ -216,6 +219,7 @@ public class FrequencyEditor extends SourceConfigurationEditor<SourceConfigurati
             sourceConfigMulti.setFrequencies(frequencies);
             sourceConfigMulti.setPreferredTuner(preferredTuner);
             sourceConfigMulti.setFrequencyRotationDelay(getFrequencyRotationDelaySpinner().getValue());
+            sourceConfigMulti.setParallelHunt(getParallelHuntCheckBox().isSelected());
             setSourceConfiguration(sourceConfigMulti);
         }
     }
@@ -235,6 +239,7 @@ public class FrequencyEditor extends SourceConfigurationEditor<SourceConfigurati
 
         getFrequencyRotationDelaySpinner().getValueFactory()
             .setValue(ChannelRotationMonitor.CHANNEL_ROTATION_DELAY_MINIMUM);
+        getParallelHuntCheckBox().setSelected(false);
 
         if(sourceConfiguration == null)
         {
@@ -272,6 +277,7 @@ public class FrequencyEditor extends SourceConfigurationEditor<SourceConfigurati
             }
 
             getFrequencyRotationDelaySpinner().getValueFactory().setValue(rotationDelay);
+            getParallelHuntCheckBox().setSelected(sourceMulti.isParallelHunt());
         }
         else
         {
@@ -322,6 +328,25 @@ public class FrequencyEditor extends SourceConfigurationEditor<SourceConfigurati
         return mChannelRotationDelaySpinner;
     }
 
+    /**
+     * Parallel control channel hunt option.  When enabled, a lost control channel is hunted across all frequencies at
+     * the same time instead of rotating through the frequencies one at a time.
+     * @return check box
+     */
+    private CheckBox getParallelHuntCheckBox()
+    {
+        if(mParallelHuntCheckBox == null)
+        {
+            mParallelHuntCheckBox = new CheckBox("Hunt All Frequencies in Parallel");
+            mParallelHuntCheckBox.setTooltip(new Tooltip("Search all frequencies within the tuner bandwidth at the " +
+                "same time when the control channel is lost (P25 Phase 1 C4FM and DMR only)"));
+            mParallelHuntCheckBox.selectedProperty()
+                .addListener((observable, oldValue, newValue) -> modifiedProperty().set(true));
+        }
+
+        return mParallelHuntCheckBox;
+    }
+
     /**
      * Updates the preferred tuner's combo box to reflect the current set of tuners.
      */
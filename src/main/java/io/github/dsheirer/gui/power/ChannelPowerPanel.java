@@ -352,7 +352,7 @@ public class ChannelPowerPanel extends JPanel implements Listener<ProcessingChai
             {
                 ISquelchConfiguration configuration = (ISquelchConfiguration)channel.getDecodeConfiguration();
                 configuration.setSquelchThreshold(threshold);
-                mPlaylistManager.schedulePlaylistSave();
+                mPlaylistManager.schedulePlaylistSave(channel);
             }
         }
     }
@@ -369,7 +369,7 @@ public class ChannelPowerPanel extends JPanel implements Listener<ProcessingChai
         {
             ISquelchConfiguration configuration = (ISquelchConfiguration)channel.getDecodeConfiguration();
             configuration.setSquelchAutoTrack(autoTrack);
-            mPlaylistManager.schedulePlaylistSave();
+            mPlaylistManager.schedulePlaylistSave(channel);
         }
     }
 
@@ -23,6 +23,7 @@ import io.github.dsheirer.preference.UserPreferences;
 import io.github.dsheirer.preference.application.ApplicationPreference;
 import javafx.geometry.HPos;
 import javafx.geometry.Insets;
+import javafx.scene.control.CheckBox;
 import javafx.scene.control.Label;
 import javafx.scene.control.Spinner;
 import javafx.scene.layout.GridPane;
@@ -38,6 +39,7 @@ public class ApplicationPreferenceEditor extends HBox
     private GridPane mEditorPane;
     private Label mAutoStartTimeoutLabel;
     private Spinner<Integer> mTimeoutSpinner;
+    private CheckBox mParallelTimeslotCheckBox;
 
     /**
      * Constructs an instance
@@ -61,7 +63,8 @@ public class ApplicationPreferenceEditor extends HBox
             GridPane.setHalignment(getAutoStartTimeoutLabel(), HPos.RIGHT);
             mEditorPane.add(getAutoStartTimeoutLabel(), 0, row);
             mEditorPane.add(getTimeoutSpinner(), 1, row);
-            mEditorPane.add(new Label("seconds"), 2, row);
+            mEditorPane.add(new Label("seconds"), 2, row++);
+            mEditorPane.add(getParallelTimeslotCheckBox(), 1, row, 2, 1);
         }
 
         return mEditorPane;
@@ -91,4 +94,21 @@ public class ApplicationPreferenceEditor extends HBox
 
         return mTimeoutSpinner;
     }
+
+    /**
+     * Check box to enable parallel processing of DMR and P25 Phase 2 timeslots.
+     * @return check box
+     */
+    private CheckBox getParallelTimeslotCheckBox()
+    {
+        if(mParallelTimeslotCheckBox == null)
+        {
+            mParallelTimeslotCheckBox = new CheckBox("Decode DMR and P25 Phase 2 Timeslots in Parallel");
+            mParallelTimeslotCheckBox.setSelected(mApplicationPreference.isParallelTimeslotProcessing());
+            mParallelTimeslotCheckBox.selectedProperty().addListener((observable, oldValue, newValue) ->
+                mApplicationPreference.setParallelTimeslotProcessing(newValue));
+        }
+
+        return mParallelTimeslotCheckBox;
+    }
 }
@@ -22,7 +22,9 @@ package io.github.dsheirer.gui.preference.calibration;
 import ch.qos.logback.classic.Level;
 import ch.qos.logback.classic.LoggerContext;
 import com.google.common.eventbus.Subscribe;
+import io.github.dsheirer.eventbus.DeliveryThread;
 import io.github.dsheirer.eventbus.MyEventBus;
+import io.github.dsheirer.eventbus.SubscribeOn;
 import io.github.dsheirer.gui.preference.CalibrateRequest;
 import io.github.dsheirer.log.TextAreaLogAppender;
 import io.github.dsheirer.preference.UserPreferences;
@@ -96,6 +98,7 @@ public class VectorCalibrationPreferenceEditor extends HBox
     }
 
     @Subscribe
+    @SubscribeOn(DeliveryThread.JAVAFX)
     public void process(CalibrateRequest request)
     {
         getCalibrateButton().fire();
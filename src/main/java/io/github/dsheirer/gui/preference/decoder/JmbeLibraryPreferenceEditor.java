@@ -20,7 +20,9 @@
 package io.github.dsheirer.gui.preference.decoder;
 
 import com.google.common.eventbus.Subscribe;
+import io.github.dsheirer.eventbus.DeliveryThread;
 import io.github.dsheirer.eventbus.MyEventBus;
+import io.github.dsheirer.eventbus.SubscribeOn;
 import io.github.dsheirer.jmbe.JmbeCreator;
 import io.github.dsheirer.jmbe.JmbeEditorRequest;
 import io.github.dsheirer.jmbe.github.GitHub;
@@ -75,6 +77,7 @@ public class JmbeLibraryPreferenceEditor extends VBox
     private Button mCreateButton;
     private HBox mButtonsBox;
     private CheckBox mAlertUserWhenMissingCheckBox;
+    private CheckBox mDeferredDecodingCheckBox;
 
     public JmbeLibraryPreferenceEditor(UserPreferences userPreferences)
     {
@@ -85,7 +88,8 @@ public class JmbeLibraryPreferenceEditor extends VBox
 
         setPadding(new Insets(10,10,10,10));
         setSpacing(10);
-        getChildren().addAll(getEditorPane(), getButtonsBox(), getAlertUserWhenMissingCheckBox());
+        getChildren().addAll(getEditorPane(), getButtonsBox(), getAlertUserWhenMissingCheckBox(),
+            getDeferredDecodingCheckBox());
     }
 
     public void dispose()
@@ -109,6 +113,21 @@ public class JmbeLibraryPreferenceEditor extends VBox
         return mAlertUserWhenMissingCheckBox;
     }
 
+    private CheckBox getDeferredDecodingCheckBox()
+    {
+        if(mDeferredDecodingCheckBox == null)
+        {
+            mDeferredDecodingCheckBox = new CheckBox("Only decode audio that is monitored, recorded or streamed");
+            mDeferredDecodingCheckBox.setSelected(mUserPreferences.getJmbeLibraryPreference().isDeferredDecoding());
+            mDeferredDecodingCheckBox.setOnAction(event -> {
+                boolean deferred = mDeferredDecodingCheckBox.isSelected();
+                mUserPreferences.getJmbeLibraryPreference().setDeferredDecoding(deferred);
+            });
+        }
+
+        return mDeferredDecodingCheckBox;
+    }
+
     private HBox getButtonsBox()
     {
         if(mButtonsBox == null)
@@ -340,6 +359,7 @@ public class JmbeLibraryPreferenceEditor extends VBox
     }
 
     @Subscribe
+    @SubscribeOn(DeliveryThread.JAVAFX)
     public void preferenceUpdated(PreferenceType preferenceType)
     {
         if(preferenceType != null && preferenceType == PreferenceType.JMBE_LIBRARY)
@@ -352,6 +372,8 @@ public class JmbeLibraryPreferenceEditor extends VBox
                 .getPathJmbeLibrary() != null ? CHECK_FOR_UPDATE : CREATE_LIBRARY);
             getAlertUserWhenMissingCheckBox().setSelected(mUserPreferences.getJmbeLibraryPreference()
                 .getAlertIfMissingLibraryRequired());
+            getDeferredDecodingCheckBox().setSelected(mUserPreferences.getJmbeLibraryPreference()
+                .isDeferredDecoding());
         }
     }
 }
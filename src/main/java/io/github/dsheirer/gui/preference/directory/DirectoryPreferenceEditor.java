@@ -20,7 +20,9 @@
 package io.github.dsheirer.gui.preference.directory;
 
 import com.google.common.eventbus.Subscribe;
+import io.github.dsheirer.eventbus.DeliveryThread;
 import io.github.dsheirer.eventbus.MyEventBus;
+import io.github.dsheirer.eventbus.SubscribeOn;
 import io.github.dsheirer.preference.PreferenceType;
 import io.github.dsheirer.preference.UserPreferences;
 import io.github.dsheirer.preference.directory.DirectoryPreference;
@@ -887,6 +889,7 @@ public class DirectoryPreferenceEditor extends HBox
     }
 
     @Subscribe
+    @SubscribeOn(DeliveryThread.JAVAFX)
     public void preferenceUpdated(PreferenceType preferenceType)
     {
         if(preferenceType != null && preferenceType == PreferenceType.DIRECTORY)
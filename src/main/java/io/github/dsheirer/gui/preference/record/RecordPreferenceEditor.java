@@ -25,6 +25,7 @@ import io.github.dsheirer.record.RecordFormat;
 import javafx.beans.value.ChangeListener;
 import javafx.beans.value.ObservableValue;
 import javafx.geometry.Insets;
+import javafx.scene.control.CheckBox;
 import javafx.scene.control.ComboBox;
 import javafx.scene.control.Label;
 import javafx.scene.layout.GridPane;
@@ -43,6 +44,7 @@ public class RecordPreferenceEditor extends HBox
     private RecordPreference mRecordPreference;
     private GridPane mEditorPane;
     private ComboBox<RecordFormat> mRecordFormatComboBox;
+    private CheckBox mMbeCallArchiveCheckBox;
 
     public RecordPreferenceEditor(UserPreferences userPreferences)
     {
@@ -64,6 +66,8 @@ public class RecordPreferenceEditor extends HBox
             mEditorPane.add(label, 0, 0);
 
             mEditorPane.add(getRecordFormatComboBox(), 1, 0);
+
+            mEditorPane.add(getMbeCallArchiveCheckBox(), 0, 1, 2, 1);
         }
 
         return mEditorPane;
@@ -88,4 +92,17 @@ public class RecordPreferenceEditor extends HBox
 
         return mRecordFormatComboBox;
     }
+
+    private CheckBox getMbeCallArchiveCheckBox()
+    {
+        if(mMbeCallArchiveCheckBox == null)
+        {
+            mMbeCallArchiveCheckBox = new CheckBox("Write MBE audio CODEC frame recordings to a compact daily archive (.mbea)");
+            mMbeCallArchiveCheckBox.setSelected(mRecordPreference.isMbeCallArchive());
+            mMbeCallArchiveCheckBox.setOnAction(event -> mRecordPreference
+                .setMbeCallArchive(mMbeCallArchiveCheckBox.isSelected()));
+        }
+
+        return mMbeCallArchiveCheckBox;
+    }
 }
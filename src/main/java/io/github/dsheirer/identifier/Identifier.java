@@ -32,6 +32,7 @@ public abstract class Identifier<T>
     private IdentifierClass mIdentifierClass;
     private Form mForm;
     private Role mRole;
+    private volatile Object mLookupCache;
 
     public Identifier(T value, IdentifierClass identifierClass, Form form, Role role)
     {
@@ -76,6 +77,27 @@ public abstract class Identifier<T>
     protected void setValue(T value)
     {
         mValue = value;
+        mLookupCache = null;
+    }
+
+    /**
+     * Cached lookup result for this identifier, owned by the lookup service that produced it (e.g. an alias list).
+     * Useful for identifiers that are shared via an IdentifierCache, where the same instance is looked up repeatedly.
+     * The cached value is discarded when the identifier value changes.
+     * @return cached lookup result or null
+     */
+    public Object getLookupCache()
+    {
+        return mLookupCache;
+    }
+
+    /**
+     * Sets the cached lookup result for this identifier.
+     * @param lookupCache to cache, or null to clear
+     */
+    public void setLookupCache(Object lookupCache)
+    {
+        mLookupCache = lookupCache;
     }
 
     /**
@@ -0,0 +1,102 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2023 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+package io.github.dsheirer.identifier;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded interning (flyweight) cache for integer-valued identifiers such as talkgroups and radio IDs.
+ *
+ * Decoders create identifiers for the same small working set of talkgroup and radio values over and over.  This
+ * cache returns a shared identifier instance for a (value, role) combination so that repeated identifiers don't
+ * allocate, equality checks between shared instances resolve on reference equality, and lookup results (e.g.
+ * aliases) can be cached on the shared instance.
+ *
+ * The cache is direct-mapped and keyed on the primitive value and role, so a lookup never allocates.  When two
+ * values map to the same cache entry, the most recent value replaces the older value.  Identifiers served from this
+ * cache are shared across threads and must not be modified after creation.
+ */
+public class IdentifierCache<T extends Identifier<Integer>>
+{
+    public static final int DEFAULT_SIZE = 4096;
+
+    private final AtomicReferenceArray<T> mEntries;
+    private final int mMask;
+    private final Factory<T> mFactory;
+
+    /**
+     * Constructs an instance
+     * @param size of the cache, rounded up to a power of two
+     * @param factory to create identifiers on a cache miss
+     */
+    public IdentifierCache(int size, Factory<T> factory)
+    {
+        int capacity = Integer.highestOneBit(Math.max(size, 2) - 1) << 1;
+        mEntries = new AtomicReferenceArray<>(capacity);
+        mMask = capacity - 1;
+        mFactory = factory;
+    }
+
+    /**
+     * Constructs an instance with the default cache size
+     * @param factory to create identifiers on a cache miss
+     */
+    public IdentifierCache(Factory<T> factory)
+    {
+        this(DEFAULT_SIZE, factory);
+    }
+
+    /**
+     * Access the shared identifier for the value and role, creating it if it doesn't exist in the cache.
+     * @param value of the identifier
+     * @param role of the identifier
+     * @return shared identifier instance
+     */
+    public T get(int value, Role role)
+    {
+        int index = getIndex(value, role);
+        T cached = mEntries.get(index);
+
+        if(cached != null && cached.getValue() == value && cached.getRole() == role)
+        {
+            return cached;
+        }
+
+        T created = mFactory.create(value, role);
+        mEntries.lazySet(index, created);
+        return created;
+    }
+
+    /**
+     * Cache index for the value and role
+     */
+    private int getIndex(int value, Role role)
+    {
+        int hash = (value * 0x9E3779B9) ^ (role.ordinal() * 0x85EBCA6B);
+        return (hash ^ (hash >>> 16)) & mMask;
+    }
+
+    /**
+     * Creates identifier instances for the cache.
+     */
+    public interface Factory<T>
+    {
+        T create(int value, Role role);
+    }
+}
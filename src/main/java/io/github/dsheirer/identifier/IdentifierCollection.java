@@ -27,18 +27,27 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.Objects;
 
 /**
  * (Immutable) Collection of identifiers with convenient accessor methods
  *
+ * Identifiers are accessed through an immutable snapshot that indexes each identifier by its (IdentifierClass, Form,
+ * Role) slot.  The lists returned by the accessor methods are immutable and are cached in the snapshot, so repeated
+ * lookups against an unchanged collection don't allocate.  Copies of a collection share the same snapshot.
+ *
  * @see MutableIdentifierCollection for the mutable version of this class
  */
 public class IdentifierCollection
 {
     private final static Logger mLog = LoggerFactory.getLogger(IdentifierCollection.class);
-    protected List<Identifier> mIdentifiers = new CopyOnWriteArrayList<>();
+    /**
+     * Working list of identifiers.  Access to this list must be synchronized on this collection and any changes must
+     * be followed by a call to invalidate() so that the next access creates an updated snapshot.
+     */
+    protected final List<Identifier> mIdentifiers;
     protected AliasListConfigurationIdentifier mAliasListConfigurationIdentifier;
+    private volatile Snapshot mSnapshot;
     private int mTimeslot = 0;
 
     /**
@@ -47,6 +56,7 @@ public class IdentifierCollection
      */
     public IdentifierCollection(int timeslot)
     {
+        mIdentifiers = new ArrayList<>();
         mTimeslot = timeslot;
     }
 
@@ -65,6 +75,8 @@ public class IdentifierCollection
 
     public IdentifierCollection(Collection<Identifier> identifiers, int timeslot)
     {
+        this(timeslot);
+
         for(Identifier identifier: identifiers)
         {
             if(identifier == null)
@@ -81,6 +93,21 @@ public class IdentifierCollection
         }
     }
 
+    /**
+     * Constructs an identifier collection that shares the immutable snapshot of another collection.
+     * @param snapshot of identifiers
+     * @param aliasListConfigurationIdentifier from the source collection, or null
+     * @param timeslot for the collection
+     */
+    protected IdentifierCollection(Snapshot snapshot, AliasListConfigurationIdentifier aliasListConfigurationIdentifier,
+                                   int timeslot)
+    {
+        mIdentifiers = snapshot.mIdentifiers;
+        mSnapshot = snapshot;
+        mAliasListConfigurationIdentifier = aliasListConfigurationIdentifier;
+        mTimeslot = timeslot;
+    }
+
     public int getTimeslot()
     {
         return mTimeslot;
@@ -91,6 +118,40 @@ public class IdentifierCollection
         mTimeslot = timeslot;
     }
 
+    /**
+     * Current immutable snapshot of the identifiers in this collection.  Creates a new snapshot from the working list
+     * when the collection has changed since the last snapshot was created.
+     */
+    protected Snapshot getSnapshot()
+    {
+        Snapshot snapshot = mSnapshot;
+
+        if(snapshot == null)
+        {
+            synchronized(this)
+            {
+                snapshot = mSnapshot;
+
+                if(snapshot == null)
+                {
+                    snapshot = new Snapshot(mIdentifiers);
+                    mSnapshot = snapshot;
+                }
+            }
+        }
+
+        return snapshot;
+    }
+
+    /**
+     * Discards the current snapshot after a change to the working list of identifiers.  Note: invoke while
+     * synchronized on this collection.
+     */
+    protected void invalidate()
+    {
+        mSnapshot = null;
+    }
+
     /**
      * Alias List configuration identifier containing the name of the alias list for this collection.
      * @return alias list or null
@@ -113,7 +174,7 @@ public class IdentifierCollection
      */
     public List<Identifier> getIdentifiers()
     {
-        return Collections.unmodifiableList(mIdentifiers);
+        return getSnapshot().mIdentifiers;
     }
 
     /**
@@ -121,93 +182,47 @@ public class IdentifierCollection
      */
     public boolean isEmpty()
     {
-        return mIdentifiers.isEmpty();
+        return getSnapshot().mIdentifiers.isEmpty();
     }
 
     /**
-     * Get a list of identifiers by identifier class from this collection.
+     * Get an immutable list of identifiers by identifier class from this collection.
      *
      * @param identifierClass to match
      * @return list of zero or more identifiers
      */
     public List<Identifier> getIdentifiers(IdentifierClass identifierClass)
     {
-        List<Identifier> identifiers = new ArrayList<>();
-
-        for(Identifier identifier : mIdentifiers)
-        {
-            if(identifier.getIdentifierClass() == identifierClass)
-            {
-                identifiers.add(identifier);
-            }
-        }
-
-        return identifiers;
+        return identifierClass != null ? getSnapshot().getIdentifiers(Snapshot.BY_CLASS, identifierClass.ordinal(),
+            identifierClass, null, null) : Collections.emptyList();
     }
 
     /**
-     * Get a list of identifiers by form from this collection.
+     * Get an immutable list of identifiers by form from this collection.
      *
      * @param form to match
      * @return list of zero or more identifiers
      */
     public List<Identifier> getIdentifiers(Form form)
     {
-        List<Identifier> identifiers = new ArrayList<>();
-
-        for(Identifier identifier : mIdentifiers)
-        {
-            if(identifier.getForm() == form)
-            {
-                identifiers.add(identifier);
-            }
-        }
-
-        return identifiers;
+        return form != null ? getSnapshot().getIdentifiers(Snapshot.BY_FORM, form.ordinal(), null, form, null) :
+            Collections.emptyList();
     }
 
     /**
-     * Get a list of identifiers by role from this collection.
+     * Get an immutable list of identifiers by role from this collection.
      *
      * @param role to match
      * @return list of zero or more identifiers
      */
     public List<Identifier> getIdentifiers(Role role)
     {
-        List<Identifier> identifiers = new ArrayList<>();
-
-        for(Identifier identifier : mIdentifiers)
-        {
-            try
-            {
-                if(identifier.getRole() == role)
-                {
-                    identifiers.add(identifier);
-                }
-            }
-            catch(NullPointerException npe)
-            {
-                StringBuilder sb = new StringBuilder();
-                for(Identifier i : mIdentifiers)
-                {
-                    if(i == null)
-                    {
-                        sb.append("Identifier: (null)").append("\n");
-                    }
-                    else
-                    {
-                        sb.append("Identifier: ").append(i).append(" Class:").append(i.getClass()).append("\n");
-                    }
-                }
-                mLog.warn("An identifier in a collection is somehow null ...\n" + sb);
-            }
-        }
-
-        return identifiers;
+        return role != null ? getSnapshot().getIdentifiers(Snapshot.BY_ROLE, role.ordinal(), null, null, role) :
+            Collections.emptyList();
     }
 
     /**
-     * Get a list of identifiers by identifier class and role from this collection.
+     * Get an immutable list of identifiers by identifier class and role from this collection.
      *
      * @param identifierClass to match
      * @param role to match
@@ -215,21 +230,17 @@ public class IdentifierCollection
      */
     public List<Identifier> getIdentifiers(IdentifierClass identifierClass, Role role)
     {
-        List<Identifier> identifiers = new ArrayList<>();
-
-        for(Identifier identifier : mIdentifiers)
+        if(identifierClass == null || role == null)
         {
-            if(identifier.getIdentifierClass() == identifierClass && identifier.getRole() == role)
-            {
-                identifiers.add(identifier);
-            }
+            return Collections.emptyList();
         }
 
-        return identifiers;
+        return getSnapshot().getIdentifiers(Snapshot.BY_CLASS_ROLE, identifierClass.ordinal() * Snapshot.ROLES +
+            role.ordinal(), identifierClass, null, role);
     }
 
     /**
-     * Get a list of identifiers by identifier class and form from this collection.
+     * Get an immutable list of identifiers by identifier class and form from this collection.
      *
      * @param identifierClass to match
      * @param form to match
@@ -237,17 +248,13 @@ public class IdentifierCollection
      */
     public List<Identifier> getIdentifiers(IdentifierClass identifierClass, Form form)
     {
-        List<Identifier> identifiers = new ArrayList<>();
-
-        for(Identifier identifier : mIdentifiers)
+        if(identifierClass == null || form == null)
         {
-            if(identifier.getIdentifierClass() == identifierClass && identifier.getForm() == form)
-            {
-                identifiers.add(identifier);
-            }
+            return Collections.emptyList();
         }
 
-        return identifiers;
+        return getSnapshot().getIdentifiers(Snapshot.BY_CLASS_FORM, identifierClass.ordinal() * Snapshot.FORMS +
+            form.ordinal(), identifierClass, form, null);
     }
 
     /**
@@ -260,17 +267,7 @@ public class IdentifierCollection
      */
     public Identifier getIdentifier(IdentifierClass identifierClass, Form form, Role role)
     {
-        for(Identifier identifier : mIdentifiers)
-        {
-            if(identifier.getIdentifierClass() == identifierClass &&
-                identifier.getForm() == form &&
-                identifier.getRole() == role)
-            {
-                return identifier;
-            }
-        }
-
-        return null;
+        return getSnapshot().getIdentifier(identifierClass, form, role);
     }
 
     /**
@@ -332,4 +329,151 @@ public class IdentifierCollection
         }
         return sb.toString();
     }
+
+    /**
+     * Identifies the (IdentifierClass, Form, Role) slot for the identifier.
+     * @return slot index or -1 if the identifier doesn't specify a class, form or role
+     */
+    private static int getSlot(Identifier<?> identifier)
+    {
+        return getSlot(identifier.getIdentifierClass(), identifier.getForm(), identifier.getRole());
+    }
+
+    /**
+     * Identifies the slot index for the (IdentifierClass, Form, Role) combination.
+     * @return slot index or -1 if any of the arguments are null
+     */
+    private static int getSlot(IdentifierClass identifierClass, Form form, Role role)
+    {
+        if(identifierClass == null || form == null || role == null)
+        {
+            return -1;
+        }
+
+        return (identifierClass.ordinal() * Snapshot.FORMS + form.ordinal()) * Snapshot.ROLES + role.ordinal();
+    }
+
+    /**
+     * Immutable snapshot of a list of identifiers, indexed by (IdentifierClass, Form, Role) slot.  Lists of matching
+     * identifiers are created on first request and cached for the life of the snapshot, in cache arrays that are
+     * only created for the types of lookups that are used.
+     */
+    protected static final class Snapshot
+    {
+        private static final int CLASSES = IdentifierClass.values().length;
+        private static final int FORMS = Form.values().length;
+        private static final int ROLES = Role.values().length;
+        private static final int BY_CLASS = 0;
+        private static final int BY_FORM = 1;
+        private static final int BY_ROLE = 2;
+        private static final int BY_CLASS_ROLE = 3;
+        private static final int BY_CLASS_FORM = 4;
+        private static final int[] CACHE_SIZES = {CLASSES, FORMS, ROLES, CLASSES * ROLES, CLASSES * FORMS};
+
+        private final List<Identifier> mIdentifiers;
+        private final Identifier<?>[] mIdentifierArray;
+        private final int[] mSlots;
+        private final List<Identifier>[][] mCaches = createCaches();
+
+        /**
+         * Constructs an instance
+         * @param identifiers to include in the snapshot.
+         */
+        private Snapshot(List<Identifier> identifiers)
+        {
+            var copy = new ArrayList<>(identifiers);
+
+            if(copy.removeIf(Objects::isNull))
+            {
+                mLog.warn("An identifier in a collection is somehow null - ignoring");
+            }
+
+            mIdentifiers = Collections.unmodifiableList(copy);
+            mIdentifierArray = copy.toArray(new Identifier<?>[0]);
+            mSlots = new int[mIdentifierArray.length];
+
+            for(int x = 0; x < mIdentifierArray.length; x++)
+            {
+                mSlots[x] = getSlot(mIdentifierArray[x]);
+            }
+        }
+
+        /**
+         * First identifier that matches the slot, or null.
+         */
+        private Identifier<?> getIdentifier(IdentifierClass identifierClass, Form form, Role role)
+        {
+            int slot = getSlot(identifierClass, form, role);
+
+            if(slot < 0)
+            {
+                return null;
+            }
+
+            for(int x = 0; x < mSlots.length; x++)
+            {
+                if(mSlots[x] == slot)
+                {
+                    return mIdentifierArray[x];
+                }
+            }
+
+            return null;
+        }
+
+        /**
+         * Access the cached list of matching identifiers, creating the cache array and the list on first access.
+         * Cache arrays and lists may be created concurrently by more than one thread, which is benign since the
+         * resulting lists are equal and immutable.
+         *
+         * @param type of lookup (cache array)
+         * @param index into the cache array
+         * @param identifierClass to match or null to match any
+         * @param form to match or null to match any
+         * @param role to match or null to match any
+         * @return immutable list of matching identifiers
+         */
+        private List<Identifier> getIdentifiers(int type, int index, IdentifierClass identifierClass, Form form,
+                                                Role role)
+        {
+            if(mIdentifierArray.length == 0)
+            {
+                return Collections.emptyList();
+            }
+
+            var cache = mCaches[type];
+
+            if(cache == null)
+            {
+                cache = createCache(CACHE_SIZES[type]);
+                mCaches[type] = cache;
+            }
+
+            var matches = cache[index];
+
+            if(matches == null)
+            {
+                matches = mIdentifiers.stream()
+                    .filter(identifier -> (identifierClass == null || identifier.getIdentifierClass() == identifierClass) &&
+                        (form == null || identifier.getForm() == form) &&
+                        (role == null || identifier.getRole() == role))
+                    .toList();
+                cache[index] = matches;
+            }
+
+            return matches;
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private static List<Identifier>[][] createCaches()
+        {
+            return new List[CACHE_SIZES.length][];
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private static List<Identifier>[] createCache(int size)
+        {
+            return new List[size];
+        }
+    }
 }
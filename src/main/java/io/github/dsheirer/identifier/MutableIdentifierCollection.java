@@ -124,17 +124,10 @@ public class MutableIdentifierCollection extends IdentifierCollection implements
      */
     private void add(Identifier identifier)
     {
-        if(identifier.isValid() && !mIdentifiers.contains(identifier))
+        if(silentAdd(identifier))
         {
-            mIdentifiers.add(identifier);
             notifyAdd(identifier);
         }
-
-        //Retain a reference to the alias list identifier separately so that it can be accessed quickly.
-        if(identifier instanceof AliasListConfigurationIdentifier)
-        {
-            mAliasListConfigurationIdentifier = (AliasListConfigurationIdentifier)identifier;
-        }
     }
 
     /**
@@ -142,12 +135,20 @@ public class MutableIdentifierCollection extends IdentifierCollection implements
      * update notification.
      *
      * @param identifier to add
+     * @return true if the identifier was added
      */
-    private void silentAdd(Identifier identifier)
+    private boolean silentAdd(Identifier identifier)
     {
-        if(identifier.isValid() && !mIdentifiers.contains(identifier))
+        boolean added = false;
+
+        synchronized(this)
         {
-            mIdentifiers.add(identifier);
+            if(identifier.isValid() && !mIdentifiers.contains(identifier))
+            {
+                mIdentifiers.add(identifier);
+                invalidate();
+                added = true;
+            }
         }
 
         //Retain a reference to the alias list identifier separately so that it can be accessed quickly.
@@ -155,6 +156,8 @@ public class MutableIdentifierCollection extends IdentifierCollection implements
         {
             mAliasListConfigurationIdentifier = (AliasListConfigurationIdentifier)identifier;
         }
+
+        return added;
     }
 
     /**
@@ -162,16 +165,10 @@ public class MutableIdentifierCollection extends IdentifierCollection implements
      */
     public void remove(Identifier identifier)
     {
-        if(mIdentifiers.remove(identifier))
+        if(removeIdentifier(identifier))
         {
             notifyRemove(identifier);
         }
-
-        //Remove the reference to the alias list identifier.
-        if(identifier instanceof AliasListConfigurationIdentifier)
-        {
-            mAliasListConfigurationIdentifier = null;
-        }
     }
 
     /**
@@ -179,13 +176,54 @@ public class MutableIdentifierCollection extends IdentifierCollection implements
      */
     public void silentRemove(Identifier identifier)
     {
-        mIdentifiers.remove(identifier);
+        removeIdentifier(identifier);
+    }
+
+    /**
+     * Removes the identifier from the working list of identifiers.
+     * @param identifier to remove
+     * @return true if the identifier was removed
+     */
+    private boolean removeIdentifier(Identifier<?> identifier)
+    {
+        boolean removed;
+
+        synchronized(this)
+        {
+            removed = mIdentifiers.remove(identifier);
+
+            if(removed)
+            {
+                invalidate();
+            }
+        }
 
         //Remove the reference to the alias list identifier.
         if(identifier instanceof AliasListConfigurationIdentifier)
         {
             mAliasListConfigurationIdentifier = null;
         }
+
+        return removed;
+    }
+
+    /**
+     * Finds the first identifier in the working list that matches the identifier class, form and role of the
+     * identifier argument, without creating a new snapshot.
+     */
+    private synchronized Identifier<?> getExisting(Identifier<?> identifier)
+    {
+        for(var existing: mIdentifiers)
+        {
+            if(existing.getIdentifierClass() == identifier.getIdentifierClass() &&
+                existing.getForm() == identifier.getForm() &&
+                existing.getRole() == identifier.getRole())
+            {
+                return existing;
+            }
+        }
+
+        return null;
     }
 
     /**
@@ -199,8 +237,7 @@ public class MutableIdentifierCollection extends IdentifierCollection implements
     {
         if(identifier != null)
         {
-            Identifier existing = getIdentifier(identifier.getIdentifierClass(),
-                identifier.getForm(), identifier.getRole());
+            Identifier existing = getExisting(identifier);
 
             if(existing != null)
             {
@@ -228,7 +265,7 @@ public class MutableIdentifierCollection extends IdentifierCollection implements
     {
         if(identifier != null)
         {
-            Identifier existing = getIdentifier(identifier.getIdentifierClass(), identifier.getForm(), identifier.getRole());
+            Identifier existing = getExisting(identifier);
 
             if(existing != null)
             {
@@ -274,7 +311,7 @@ public class MutableIdentifierCollection extends IdentifierCollection implements
      */
     public void remove(IdentifierClass identifierClass)
     {
-        List<Identifier> identifiers = new ArrayList<>(mIdentifiers);
+        List<Identifier> identifiers = getIdentifiers();
 
         for(Identifier identifier: identifiers)
         {
@@ -290,7 +327,7 @@ public class MutableIdentifierCollection extends IdentifierCollection implements
      */
     public void remove(Form form)
     {
-        List<Identifier> identifiers = new ArrayList<>(mIdentifiers);
+        List<Identifier> identifiers = getIdentifiers();
 
         for(Identifier identifier: identifiers)
         {
@@ -306,7 +343,7 @@ public class MutableIdentifierCollection extends IdentifierCollection implements
      */
     public void remove(Role role)
     {
-        List<Identifier> identifiers = new ArrayList<>(mIdentifiers);
+        List<Identifier> identifiers = getIdentifiers();
 
         for(Identifier identifier: identifiers)
         {
@@ -322,7 +359,7 @@ public class MutableIdentifierCollection extends IdentifierCollection implements
      */
     public void remove(IdentifierClass identifierClass, Form form, Role role)
     {
-        List<Identifier> identifiers = new ArrayList<>(mIdentifiers);
+        List<Identifier> identifiers = getIdentifiers();
 
         for(Identifier identifier: identifiers)
         {
@@ -340,7 +377,7 @@ public class MutableIdentifierCollection extends IdentifierCollection implements
      */
     public void remove(IdentifierClass identifierClass, Role role)
     {
-        List<Identifier> identifiers = new ArrayList<>(mIdentifiers);
+        List<Identifier> identifiers = getIdentifiers();
 
         for(Identifier identifier: identifiers)
         {
@@ -378,12 +415,11 @@ public class MutableIdentifierCollection extends IdentifierCollection implements
     }
 
     /**
-     * Creates a copy of this collection and resets the updated flag so that future invocations of this
-     * method will return a copy with the updated flag set to false.
+     * Creates an immutable copy of this collection.  The copy shares the current immutable snapshot of identifiers
+     * with this collection, so no identifiers are copied.
      */
     public IdentifierCollection copyOf()
     {
-        IdentifierCollection copy = new IdentifierCollection(getIdentifiers(), getTimeslot());
-        return copy;
+        return new IdentifierCollection(getSnapshot(), getAliasListConfiguration(), getTimeslot());
     }
 }
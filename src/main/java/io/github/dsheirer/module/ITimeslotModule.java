@@ -0,0 +1,32 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2023 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+package io.github.dsheirer.module;
+
+/**
+ * Module that processes the messages and events for a single timeslot of a multi-timeslot (TDMA) channel.  When
+ * parallel timeslot processing is enabled, the processing chain delivers the messages and events for each timeslot
+ * to these modules on a separate serial execution lane.
+ */
+public interface ITimeslotModule
+{
+    /**
+     * Timeslot processed by this module
+     */
+    int getTimeslot();
+}
@@ -55,10 +55,16 @@ import io.github.dsheirer.module.decode.traffic.TrafficChannelManager;
 import io.github.dsheirer.module.log.EventLogger;
 import io.github.dsheirer.record.binary.BinaryRecorder;
 import io.github.dsheirer.record.wave.ComplexSamplesWaveRecorder;
+import io.github.dsheirer.monitor.ILatencyTraced;
+import io.github.dsheirer.monitor.LatencyStage;
+import io.github.dsheirer.monitor.LatencyTrace;
+import io.github.dsheirer.monitor.LatencyTracer;
 import io.github.dsheirer.sample.Broadcaster;
 import io.github.dsheirer.sample.Listener;
 import io.github.dsheirer.sample.buffer.IByteBufferListener;
 import io.github.dsheirer.sample.buffer.IByteBufferProvider;
+import io.github.dsheirer.sample.buffer.IScratchBuffersUser;
+import io.github.dsheirer.sample.buffer.ScratchBuffers;
 import io.github.dsheirer.sample.complex.ComplexSamples;
 import io.github.dsheirer.sample.complex.IComplexSamplesListener;
 import io.github.dsheirer.sample.real.IRealBufferListener;
@@ -77,6 +83,8 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.ReentrantLock;
 import org.slf4j.Logger;
@@ -99,6 +107,11 @@ import org.slf4j.LoggerFactory;
  *
  * Optional: if you want to reuse the processing chain with a new sample source,
  * invoke the following method sequence:  stop(), setSource(), start()
+ *
+ * Parallel timeslot processing: for multi-timeslot (TDMA) channels, the timeslot modules (ITimeslotModule) can
+ * optionally receive their messages, decoder state events, identifier updates and squelch events on a serial
+ * execution lane per timeslot, so that the decoder state and audio processing for each timeslot runs concurrently
+ * with the other timeslot and with the demodulator and message framer on the channel thread.
  */
 public class ProcessingChain implements Listener<ChannelEvent>
 {
@@ -119,12 +132,18 @@ public class ProcessingChain implements Listener<ChannelEvent>
     private AtomicBoolean mRunning = new AtomicBoolean();
     private DecodeEventHistory mDecodeEventHistory = new DecodeEventHistory(200);
     private MessageHistory mMessageHistory = new MessageHistory(200);
+    private ScratchBuffers mScratchBuffers = new ScratchBuffers();
+    private LatencyTrace mLatencyTrace;
+    private Listener<ComplexSamples> mTracingComplexSamplesListener = this::receiveComplexSamples;
     private AbstractChannelState mChannelState;
     private EventBus mEventBus;
     protected Source mSource;
     //Lock to protect access to the modules list.
     private ReentrantLock mModuleLock = new ReentrantLock();
     private List<Module> mModules = new ArrayList<>();
+    private final boolean mParallelTimeslots;
+    private final Map<Integer,TimeslotExecutor.Lane> mTimeslotLanes = new ConcurrentHashMap<>();
+    private final Map<Listener<?>,Listener<?>> mLaneListeners = new ConcurrentHashMap<>();
 
 
     /**
@@ -135,7 +154,21 @@ public class ProcessingChain implements Listener<ChannelEvent>
      */
     public ProcessingChain(Channel channel, AliasModel aliasModel)
     {
+        this(channel, aliasModel, false);
+    }
+
+    /**
+     * Creates a processing chain for managing a set of modules
+     *
+     * @param channel with configuration details for this processing chain
+     * @param aliasModel for looking up aliases
+     * @param parallelTimeslots to process each timeslot of a multi-timeslot channel on a separate execution lane
+     */
+    public ProcessingChain(Channel channel, AliasModel aliasModel, boolean parallelTimeslots)
+    {
+        mParallelTimeslots = parallelTimeslots && channel.getDecodeConfiguration().getTimeslotCount() > 1;
         mEventBus = new EventBus("Processing Chain Event Bus - Channel: " + channel.getName());
+        mLatencyTrace = LatencyTracer.getInstance().createTrace(channel.getName());
 
         if(channel.getDecodeConfiguration().getTimeslotCount() == 1)
         {
@@ -248,6 +281,32 @@ public class ProcessingChain implements Listener<ChannelEvent>
         mDemodulatedBitstreamBufferBroadcaster.dispose();
         mMessageBroadcaster.dispose();
         mSquelchStateEventBroadcaster.dispose();
+        mTimeslotLanes.values().forEach(TimeslotExecutor.Lane::clear);
+        mTimeslotLanes.clear();
+        mLaneListeners.clear();
+        mScratchBuffers.clear();
+        LatencyTracer.getInstance().removeTrace(mLatencyTrace);
+    }
+
+    /**
+     * Latency trace for this channel
+     */
+    public LatencyTrace getLatencyTrace()
+    {
+        return mLatencyTrace;
+    }
+
+    /**
+     * Dispatches baseband sample buffers from the source to the decoder modules and records the latency from the
+     * tuner to the channel output and the latency through the (synchronous) decoders.
+     */
+    private void receiveComplexSamples(ComplexSamples samples)
+    {
+        long origin = samples.origin();
+        mLatencyTrace.record(LatencyStage.CHANNEL, origin);
+        mLatencyTrace.setCurrentOrigin(origin);
+        mBasebandComplexSamplesBroadcaster.broadcast(samples);
+        mLatencyTrace.record(LatencyStage.DECODE, origin);
     }
 
     /**
@@ -414,7 +473,8 @@ public class ProcessingChain implements Listener<ChannelEvent>
     {
         if(module instanceof IdentifierUpdateListener)
         {
-            mIdentifierUpdateNotificationBroadcaster.addListener(((IdentifierUpdateListener)module).getIdentifierUpdateListener());
+            mIdentifierUpdateNotificationBroadcaster.addListener(getLaneListener(module,
+                ((IdentifierUpdateListener)module).getIdentifierUpdateListener()));
         }
 
         if(module instanceof IAudioSegmentListener)
@@ -434,7 +494,8 @@ public class ProcessingChain implements Listener<ChannelEvent>
 
         if(module instanceof IDecoderStateEventListener)
         {
-            mDecoderStateEventBroadcaster.addListener(((IDecoderStateEventListener)module).getDecoderStateListener());
+            mDecoderStateEventBroadcaster.addListener(getLaneListener(module,
+                ((IDecoderStateEventListener)module).getDecoderStateListener()));
         }
 
         if(module instanceof IHeartbeatListener)
@@ -444,7 +505,7 @@ public class ProcessingChain implements Listener<ChannelEvent>
 
         if(module instanceof IMessageListener)
         {
-            mMessageBroadcaster.addListener(((IMessageListener)module).getMessageListener());
+            mMessageBroadcaster.addListener(getLaneListener(module, ((IMessageListener)module).getMessageListener()));
         }
 
         if(module instanceof IRealBufferListener)
@@ -474,7 +535,18 @@ public class ProcessingChain implements Listener<ChannelEvent>
 
         if(module instanceof ISquelchStateListener)
         {
-            mSquelchStateEventBroadcaster.addListener(((ISquelchStateListener)module).getSquelchStateListener());
+            mSquelchStateEventBroadcaster.addListener(getLaneListener(module,
+                ((ISquelchStateListener)module).getSquelchStateListener()));
+        }
+
+        if(module instanceof IScratchBuffersUser)
+        {
+            ((IScratchBuffersUser)module).setScratchBuffers(mScratchBuffers);
+        }
+
+        if(module instanceof ILatencyTraced)
+        {
+            ((ILatencyTraced)module).setLatencyTrace(mLatencyTrace);
         }
     }
 
@@ -486,7 +558,8 @@ public class ProcessingChain implements Listener<ChannelEvent>
     {
         if(module instanceof IdentifierUpdateListener)
         {
-            mIdentifierUpdateNotificationBroadcaster.removeListener(((IdentifierUpdateListener)module).getIdentifierUpdateListener());
+            mIdentifierUpdateNotificationBroadcaster.removeListener(removeLaneListener(
+                ((IdentifierUpdateListener)module).getIdentifierUpdateListener()));
         }
 
         if(module instanceof IAudioSegmentListener)
@@ -506,7 +579,8 @@ public class ProcessingChain implements Listener<ChannelEvent>
 
         if(module instanceof IDecoderStateEventListener)
         {
-            mDecoderStateEventBroadcaster.removeListener(((IDecoderStateEventListener)module).getDecoderStateListener());
+            mDecoderStateEventBroadcaster.removeListener(removeLaneListener(
+                ((IDecoderStateEventListener)module).getDecoderStateListener()));
         }
 
         if(module instanceof IHeartbeatListener)
@@ -536,13 +610,71 @@ public class ProcessingChain implements Listener<ChannelEvent>
 
         if(module instanceof IMessageListener)
         {
-            mMessageBroadcaster.removeListener(((IMessageListener)module).getMessageListener());
+            mMessageBroadcaster.removeListener(removeLaneListener(((IMessageListener)module).getMessageListener()));
         }
 
         if(module instanceof ISquelchStateListener)
         {
-            mSquelchStateEventBroadcaster.removeListener(((ISquelchStateListener)module).getSquelchStateListener());
+            mSquelchStateEventBroadcaster.removeListener(removeLaneListener(
+                ((ISquelchStateListener)module).getSquelchStateListener()));
+        }
+
+        if(module instanceof IScratchBuffersUser)
+        {
+            ((IScratchBuffersUser)module).setScratchBuffers(null);
         }
+
+        if(module instanceof ILatencyTraced)
+        {
+            ((ILatencyTraced)module).setLatencyTrace(null);
+        }
+    }
+
+    /**
+     * Indicates if the module should process each timeslot on a separate execution lane.
+     */
+    private boolean isLaneModule(Module module)
+    {
+        return mParallelTimeslots && module instanceof ITimeslotModule;
+    }
+
+    /**
+     * Creates a listener that delivers elements to the module's listener on the execution lane for the module's
+     * timeslot, when parallel timeslot processing is enabled and the module is a timeslot module.  Otherwise, returns
+     * the module's listener unchanged.
+     *
+     * Each lane receives all elements, including messages for the other timeslot, since the timeslot modules already
+     * select the elements for their timeslot and some (e.g. the DMR network configuration monitor in the timeslot 1
+     * decoder state) consume messages from both timeslots.
+     * @param module that owns the listener
+     * @param listener to receive elements
+     * @return lane listener or the original listener
+     */
+    private <T> Listener<T> getLaneListener(Module module, Listener<T> listener)
+    {
+        if(listener != null && isLaneModule(module))
+        {
+            TimeslotExecutor.Lane lane = mTimeslotLanes.computeIfAbsent(((ITimeslotModule)module).getTimeslot(),
+                timeslot -> TimeslotExecutor.getInstance().createLane());
+            Listener<T> laneListener = new LaneListener<>(lane, listener);
+            mLaneListeners.put(listener, laneListener);
+            return laneListener;
+        }
+
+        return listener;
+    }
+
+    /**
+     * Removes the lane listener that was created for the module's listener.
+     * @param listener of the module
+     * @return lane listener that was registered for the module's listener, or the original listener.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> Listener<T> removeLaneListener(Listener<T> listener)
+    {
+        //The lane listener registered for a Listener<T> is always a Listener<T>
+        Listener<?> laneListener = listener != null ? mLaneListeners.remove(listener) : null;
+        return laneListener != null ? (Listener<T>)laneListener : listener;
     }
 
     /**
@@ -704,7 +836,7 @@ public class ProcessingChain implements Listener<ChannelEvent>
                 switch(mSource.getSampleType())
                 {
                     case COMPLEX:
-                        ((ComplexSource)mSource).setListener(mBasebandComplexSamplesBroadcaster);
+                        ((ComplexSource)mSource).setListener(mTracingComplexSamplesListener);
                         break;
                     case REAL:
                         ((RealSource)mSource).setListener(mDemodulatedAudioBufferBroadcaster);
@@ -1009,4 +1141,18 @@ public class ProcessingChain implements Listener<ChannelEvent>
     {
         mIdentifierUpdateNotificationBroadcaster.broadcast(updateNotification);
     }
+
+    /**
+     * Listener that delivers each element to the wrapped listener on a timeslot execution lane.
+     * @param lane for executing the delivery
+     * @param listener to receive the element
+     */
+    private record LaneListener<T>(TimeslotExecutor.Lane lane, Listener<T> listener) implements Listener<T>
+    {
+        @Override
+        public void receive(T t)
+        {
+            lane.execute(() -> listener.receive(t));
+        }
+    }
 }
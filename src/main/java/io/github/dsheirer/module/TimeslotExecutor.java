@@ -0,0 +1,56 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2023 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+package io.github.dsheirer.module;
+
+import io.github.dsheirer.util.SerialLaneExecutor;
+
+/**
+ * Shared worker pool for processing the timeslots of multi-timeslot (TDMA) channels in parallel.
+ *
+ * Each timeslot of a processing chain obtains a lane from this executor.  Tasks submitted to a lane execute serially
+ * and in submission order, so the timeslot modules observe the same message and event ordering as they would on the
+ * channel thread, while separate lanes (ie the other timeslot) execute concurrently across the worker threads.
+ */
+public class TimeslotExecutor extends SerialLaneExecutor
+{
+    private static final int MAX_TASKS_PER_RUN = 64;
+    private static TimeslotExecutor sInstance;
+
+    /**
+     * Constructs an instance
+     * @param threadCount number of worker threads
+     */
+    private TimeslotExecutor(int threadCount)
+    {
+        super("timeslot", threadCount, MAX_TASKS_PER_RUN, 0);
+    }
+
+    /**
+     * Shared timeslot executor instance, sized to the available processors.
+     */
+    public static synchronized TimeslotExecutor getInstance()
+    {
+        if(sInstance == null)
+        {
+            sInstance = new TimeslotExecutor(Math.max(2, Runtime.getRuntime().availableProcessors()));
+        }
+
+        return sInstance;
+    }
+}
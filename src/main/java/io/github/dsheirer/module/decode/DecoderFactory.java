@@ -44,6 +44,7 @@ import io.github.dsheirer.module.decode.dcs.DCSDecoderState;
 import io.github.dsheirer.module.decode.dcs.DCSMessageFilter;
 import io.github.dsheirer.module.decode.dmr.DMRDecoder;
 import io.github.dsheirer.module.decode.dmr.DMRDecoderState;
+import io.github.dsheirer.module.decode.dmr.DMRHuntSyncDetector;
 import io.github.dsheirer.module.decode.dmr.DMRTrafficChannelManager;
 import io.github.dsheirer.module.decode.dmr.DecodeConfigDMR;
 import io.github.dsheirer.module.decode.dmr.audio.DMRAudioModule;
@@ -78,9 +79,11 @@ import io.github.dsheirer.module.decode.p25.P25TrafficChannelManager;
 import io.github.dsheirer.module.decode.p25.audio.P25P1AudioModule;
 import io.github.dsheirer.module.decode.p25.audio.P25P2AudioModule;
 import io.github.dsheirer.module.decode.p25.phase1.DecodeConfigP25Phase1;
+import io.github.dsheirer.module.decode.p25.phase1.P25P1Decoder;
 import io.github.dsheirer.module.decode.p25.phase1.P25P1DecoderC4FM;
 import io.github.dsheirer.module.decode.p25.phase1.P25P1DecoderLSM;
 import io.github.dsheirer.module.decode.p25.phase1.P25P1DecoderState;
+import io.github.dsheirer.module.decode.p25.phase1.P25P1HuntSyncDetector;
 import io.github.dsheirer.module.decode.p25.phase1.message.filter.P25P1MessageFilterSet;
 import io.github.dsheirer.module.decode.p25.phase2.DecodeConfigP25Phase2;
 import io.github.dsheirer.module.decode.p25.phase2.P25P2DecoderHDQPSK;
@@ -213,19 +216,24 @@ public class DecoderFactory
     private static void processP25Phase1(Channel channel, UserPreferences userPreferences, List<Module> modules, AliasList aliasList, ChannelType channelType, DecodeConfigP25Phase1 decodeConfig) {
         DecodeConfigP25Phase1 p25Config = decodeConfig;
 
+        P25P1Decoder decoder;
+
         switch(p25Config.getModulation())
         {
             case C4FM:
-                modules.add(new P25P1DecoderC4FM());
+                decoder = new P25P1DecoderC4FM();
                 break;
             case CQPSK:
-                modules.add(new P25P1DecoderLSM());
+                decoder = new P25P1DecoderLSM();
                 break;
             default:
                 throw new IllegalArgumentException("Unrecognized P25 Phase 1 Modulation [" +
                     p25Config.getModulation() + "]");
         }
 
+        decoder.setSoftDecisionMode(p25Config.getSoftDecisionMode());
+        modules.add(decoder);
+
         if(channelType == ChannelType.STANDARD)
         {
             P25TrafficChannelManager trafficChannelManager = new P25TrafficChannelManager(channel);
@@ -243,10 +251,20 @@ public class DecoderFactory
         if(channel.getSourceConfiguration() instanceof SourceConfigTunerMultipleFrequency &&
             ((SourceConfigTunerMultipleFrequency)channel.getSourceConfiguration()).hasMultipleFrequencies())
         {
+            SourceConfigTunerMultipleFrequency sourceConfig = (SourceConfigTunerMultipleFrequency)channel.getSourceConfiguration();
             List<State> activeStates = new ArrayList<>();
             activeStates.add(State.CONTROL);
-            modules.add(new ChannelRotationMonitor(activeStates,
-                ((SourceConfigTunerMultipleFrequency)channel.getSourceConfiguration()).getFrequencyRotationDelay()));
+
+            //The control channel hunt sync detector is only supported for C4FM modulation
+            if(sourceConfig.isParallelHunt() && p25Config.getModulation() == P25P1Decoder.Modulation.C4FM)
+            {
+                modules.add(new ChannelRotationMonitor(activeStates, sourceConfig.getFrequencyRotationDelay(),
+                    P25P1HuntSyncDetector::new));
+            }
+            else
+            {
+                modules.add(new ChannelRotationMonitor(activeStates, sourceConfig.getFrequencyRotationDelay()));
+            }
         }
     }
 
@@ -439,10 +457,19 @@ public class DecoderFactory
         if(channel.getSourceConfiguration() instanceof SourceConfigTunerMultipleFrequency &&
             ((SourceConfigTunerMultipleFrequency)channel.getSourceConfiguration()).hasMultipleFrequencies())
         {
+            SourceConfigTunerMultipleFrequency sourceConfig = (SourceConfigTunerMultipleFrequency)channel.getSourceConfiguration();
             List<State> activeStates = new ArrayList<>();
             activeStates.add(State.CONTROL);
-            modules.add(new ChannelRotationMonitor(activeStates,
-                ((SourceConfigTunerMultipleFrequency)channel.getSourceConfiguration()).getFrequencyRotationDelay()));
+
+            if(sourceConfig.isParallelHunt())
+            {
+                modules.add(new ChannelRotationMonitor(activeStates, sourceConfig.getFrequencyRotationDelay(),
+                    DMRHuntSyncDetector::new));
+            }
+            else
+            {
+                modules.add(new ChannelRotationMonitor(activeStates, sourceConfig.getFrequencyRotationDelay()));
+            }
         }
     }
 
@@ -648,6 +675,8 @@ public class DecoderFactory
                     DecodeConfigP25Phase1 copyP25 = new DecodeConfigP25Phase1();
                     copyP25.setIgnoreDataCalls(originalP25.getIgnoreDataCalls());
                     copyP25.setModulation(originalP25.getModulation());
+                    copyP25.setSoftDecisionMode(originalP25.getSoftDecisionMode());
+                    copyP25.setShareTrafficChannels(originalP25.isShareTrafficChannels());
                     copyP25.setTrafficChannelPoolSize(originalP25.getTrafficChannelPoolSize());
                     return copyP25;
                 case P25_PHASE2:
@@ -23,16 +23,22 @@
 package io.github.dsheirer.module.decode;
 
 import io.github.dsheirer.sample.Listener;
+import io.github.dsheirer.sample.buffer.IScratchBuffersUser;
+import io.github.dsheirer.sample.buffer.ScratchBuffers;
 import io.github.dsheirer.source.ISourceEventProvider;
 import io.github.dsheirer.source.SourceEvent;
 
 /**
  * Decoder that provides feedback to signal source(s) via SourceEvent broadcasts and supports registering source
  * event listeners.
+ *
+ * Intermediate baseband sample buffers are stored in scratch buffers that are shared across the processing chain
+ * when the decoder is part of a processing chain, or that are owned by the decoder otherwise.
  */
-public abstract class FeedbackDecoder extends Decoder implements ISourceEventProvider
+public abstract class FeedbackDecoder extends Decoder implements ISourceEventProvider, IScratchBuffersUser
 {
     private Listener<SourceEvent> mSourceEventListener;
+    private ScratchBuffers mScratchBuffers = new ScratchBuffers();
 
     /**
      * Registers the listener to receive source events from this decoder
@@ -62,4 +68,18 @@ public abstract class FeedbackDecoder extends Decoder implements ISourceEventPro
             mSourceEventListener.receive(sourceEvent);
         }
     }
+
+    @Override
+    public void setScratchBuffers(ScratchBuffers scratchBuffers)
+    {
+        mScratchBuffers = scratchBuffers != null ? scratchBuffers : new ScratchBuffers();
+    }
+
+    /**
+     * Scratch buffers for storing intermediate sample buffers that are consumed before the next sample buffer arrives.
+     */
+    protected ScratchBuffers getScratchBuffers()
+    {
+        return mScratchBuffers;
+    }
 }
@@ -132,10 +132,30 @@ public class DMRBurstFramer implements Listener<Dibit>
     @Override
     public void receive(Dibit dibit)
     {
-        mDibitCounter++;
-
         //Feed the message buffer first to ensure buffer contains two full bursts when a sync is detected
         mMessageBuffer.put(dibit);
+        process(dibit);
+    }
+
+    /**
+     * Dibit symbol input method with soft decision values.  Soft decision values are stored in the message buffer
+     * and carried by each framed burst message.
+     * @param dibit to process
+     * @param softBit1 soft decision value for bit 1
+     * @param softBit2 soft decision value for bit 2
+     */
+    public void receive(Dibit dibit, float softBit1, float softBit2)
+    {
+        mMessageBuffer.put(dibit, softBit1, softBit2);
+        process(dibit);
+    }
+
+    /**
+     * Processes the dibit for sync detection and burst dispatch after it has been placed in the message buffer.
+     */
+    private void process(Dibit dibit)
+    {
+        mDibitCounter++;
 
         //Feed the sync delay buffer and reassign the delayed dibit to feed the sync detector if we're not synchronized
         dibit = mSyncDelayBuffer.getAndPut(dibit);
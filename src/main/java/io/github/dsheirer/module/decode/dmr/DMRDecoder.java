@@ -21,7 +21,7 @@ package io.github.dsheirer.module.decode.dmr;
 
 import io.github.dsheirer.dsp.filter.FilterFactory;
 import io.github.dsheirer.dsp.filter.fir.FIRFilterSpecification;
-import io.github.dsheirer.dsp.filter.fir.real.IRealFilter;
+import io.github.dsheirer.dsp.filter.fir.complex.IComplexDecimationFilter;
 import io.github.dsheirer.dsp.gain.complex.ComplexGainFactory;
 import io.github.dsheirer.dsp.gain.complex.IComplexGainControl;
 import io.github.dsheirer.dsp.psk.DQPSKDecisionDirectedDemodulator;
@@ -32,6 +32,7 @@ import io.github.dsheirer.dsp.psk.pll.PLLBandwidth;
 import io.github.dsheirer.dsp.squelch.PowerMonitor;
 import io.github.dsheirer.dsp.symbol.Dibit;
 import io.github.dsheirer.dsp.symbol.DibitToByteBufferAssembler;
+import io.github.dsheirer.dsp.symbol.SoftDecisionMode;
 import io.github.dsheirer.module.decode.DecoderType;
 import io.github.dsheirer.module.decode.FeedbackDecoder;
 import io.github.dsheirer.sample.Broadcaster;
@@ -56,6 +57,9 @@ public class DMRDecoder extends FeedbackDecoder implements ISourceEventListener,
 {
     private final static Logger mLog = LoggerFactory.getLogger(DMRDecoder.class);
     protected static final float SAMPLE_COUNTER_GAIN = 0.4f;
+    private static final double MINIMUM_SAMPLES_PER_SYMBOL = 4.0;
+    private static final String SCRATCH_I = "dmr.baseband.i";
+    private static final String SCRATCH_Q = "dmr.baseband.q";
     private static final double SYMBOL_RATE = 4800.0;
     private double mSampleRate;
     private Broadcaster<Dibit> mDibitBroadcaster = new Broadcaster<>();
@@ -63,8 +67,7 @@ public class DMRDecoder extends FeedbackDecoder implements ISourceEventListener,
     private DMRMessageProcessor mMessageProcessor;
     protected IComplexGainControl mAGC = ComplexGainFactory.getComplexGainControl();
     private Map<Double,float[]> mBasebandFilters = new HashMap<>();
-    protected IRealFilter mIBasebandFilter;
-    protected IRealFilter mQBasebandFilter;
+    protected IComplexDecimationFilter mBasebandFilter;
 
     protected InterpolatingSampleBuffer mInterpolatingSampleBuffer;
     protected DQPSKDecisionDirectedDemodulator mQPSKDemodulator;
@@ -72,12 +75,14 @@ public class DMRDecoder extends FeedbackDecoder implements ISourceEventListener,
     protected FrequencyCorrectionSyncMonitor mFrequencyCorrectionSyncMonitor;
     protected DMRMessageFramer mMessageFramer;
     protected PowerMonitor mPowerMonitor = new PowerMonitor();
+    private SoftDecisionMode mSoftDecisionMode;
 
     /**
      * Constructs an instance
      */
     public DMRDecoder(DecodeConfigDMR config)
     {
+        mSoftDecisionMode = config.getSoftDecisionMode();
         mMessageProcessor = new DMRMessageProcessor(config);
         mMessageProcessor.setMessageListener(getMessageListener());
         getDibitBroadcaster().addListener(mByteBufferAssembler);
@@ -96,6 +101,11 @@ public class DMRDecoder extends FeedbackDecoder implements ISourceEventListener,
     {
         super.stop();
         mQPSKDemodulator.stop();
+
+        if(mSoftDecisionMode == SoftDecisionMode.COMPARE)
+        {
+            mMessageFramer.getSoftDecisionMetrics().log();
+        }
     }
 
     /**
@@ -127,10 +137,11 @@ public class DMRDecoder extends FeedbackDecoder implements ISourceEventListener,
                 getSymbolRate() + " symbol rate)");
         }
 
-        mPowerMonitor.setSampleRate((int)sampleRate);
-        mSampleRate = sampleRate;
-        mIBasebandFilter = FilterFactory.getRealFilter(getBasebandFilter());
-        mQBasebandFilter = FilterFactory.getRealFilter(getBasebandFilter());
+        //Decimate the channel in the baseband filter when the sample rate is higher than the demodulator needs
+        int decimation = FilterFactory.getDecimation(sampleRate, getSymbolRate(), MINIMUM_SAMPLES_PER_SYMBOL);
+        mBasebandFilter = FilterFactory.getComplexDecimationFilter(getBasebandFilter(sampleRate), decimation);
+        mSampleRate = sampleRate / decimation;
+        mPowerMonitor.setSampleRate((int)mSampleRate);
         mCostasLoop = new CostasLoop(getSampleRate(), getSymbolRate());
         mCostasLoop.setPLLBandwidth(PLLBandwidth.BW_300);
         mFrequencyCorrectionSyncMonitor = new FrequencyCorrectionSyncMonitor(mCostasLoop, this);
@@ -150,7 +161,17 @@ public class DMRDecoder extends FeedbackDecoder implements ISourceEventListener,
         mMessageFramer.setListener(getMessageProcessor());
 
         mQPSKDemodulator.setSymbolListener(getDibitBroadcaster());
-        getDibitBroadcaster().addListener(mMessageFramer);
+        mMessageFramer.setSoftDecisionMode(mSoftDecisionMode);
+
+        //The dibit broadcaster receives hard decisions in all modes, but the framer receives soft decisions when enabled
+        if(mSoftDecisionMode.isSoft())
+        {
+            mQPSKDemodulator.setSoftSymbolListener(mMessageFramer);
+        }
+        else
+        {
+            getDibitBroadcaster().addListener(mMessageFramer);
+        }
     }
 
     /**
@@ -162,28 +183,33 @@ public class DMRDecoder extends FeedbackDecoder implements ISourceEventListener,
     {
         mMessageFramer.setCurrentTime(samples.timestamp());
 
-        float[] i = mIBasebandFilter.filter(samples.i());
-        float[] q = mQBasebandFilter.filter(samples.q());
+        //Filter into the scratch buffers, leaving the broadcast sample buffer unmodified for other listeners
+        int length = mBasebandFilter.getOutputLength(samples.i().length);
+        ComplexSamples filtered = mBasebandFilter.filter(samples, getScratchBuffers().get(SCRATCH_I, length),
+                getScratchBuffers().get(SCRATCH_Q, length));
 
         //Process buffer for power measurements
-        mPowerMonitor.process(i, q);
+        mPowerMonitor.process(filtered.i(), filtered.q());
 
-        ComplexSamples amplified = mAGC.process(i, q, samples.timestamp());
+        //Amplify in place - the demodulator consumes the amplified samples before the next buffer arrives
+        ComplexSamples amplified = mAGC.process(filtered.i(), filtered.q(), filtered.timestamp(), filtered.i(),
+                filtered.q());
         mQPSKDemodulator.receive(amplified);
     }
 
     /**
-     * Constructs a baseband filter for this decoder using the current sample rate
+     * Constructs a baseband filter for this decoder for the channel sample rate
+     * @param sampleRate of the channel, prior to any decimation
      */
-    private float[] getBasebandFilter()
+    private float[] getBasebandFilter(double sampleRate)
     {
         //Attempt to reuse a cached (ie already-designed) filter if available
-        float[] filter = mBasebandFilters.get(getSampleRate());
+        float[] filter = mBasebandFilters.get(sampleRate);
 
         if(filter == null)
         {
             FIRFilterSpecification specification = FIRFilterSpecification.lowPassBuilder()
-                .sampleRate((int)getSampleRate())
+                .sampleRate((int)sampleRate)
                 .passBandCutoff(5100)
                 .passBandAmplitude(1.0)
                 .passBandRipple(0.01)
@@ -198,16 +224,16 @@ public class DMRDecoder extends FeedbackDecoder implements ISourceEventListener,
             }
             catch(Exception fde) //FilterDesignException
             {
-                mLog.error("Couldn't design low pass baseband filter for sample rate: " + getSampleRate());
+                mLog.error("Couldn't design low pass baseband filter for sample rate: " + sampleRate);
             }
 
             if(filter != null)
             {
-                mBasebandFilters.put(getSampleRate(), filter);
+                mBasebandFilters.put(sampleRate, filter);
             }
             else
             {
-                throw new IllegalStateException("Couldn't design a DMR baseband filter for sample rate: " + getSampleRate());
+                throw new IllegalStateException("Couldn't design a DMR baseband filter for sample rate: " + sampleRate);
             }
         }
 
@@ -55,18 +55,17 @@ public class DMRDecoderInstrumented extends DMRDecoder
     {
         mMessageFramer.setCurrentTime(samples.timestamp());
 
-        float[] i = mIBasebandFilter.filter(samples.i());
-        float[] q = mQBasebandFilter.filter(samples.q());
+        ComplexSamples filtered = mBasebandFilter.filter(samples);
 
         if(mFilteredSymbolListener != null)
         {
-            mFilteredSymbolListener.receive(new ComplexSamples(i, q, samples.timestamp()));
+            mFilteredSymbolListener.receive(filtered);
         }
 
         //Process buffer for power measurements
-        mPowerMonitor.process(i, q);
+        mPowerMonitor.process(filtered.i(), filtered.q());
 
-        ComplexSamples amplified = mAGC.process(i, q, samples.timestamp());
+        ComplexSamples amplified = mAGC.process(filtered.i(), filtered.q(), filtered.timestamp());
         mQPSKDemodulator.receive(amplified);
     }
 
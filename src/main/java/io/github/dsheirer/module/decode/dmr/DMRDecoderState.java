@@ -22,6 +22,8 @@ import com.google.common.eventbus.Subscribe;
 import io.github.dsheirer.channel.state.ChangeChannelTimeoutEvent;
 import io.github.dsheirer.channel.state.DecoderStateEvent;
 import io.github.dsheirer.channel.state.DecoderStateEvent.Event;
+import io.github.dsheirer.channel.state.MessageDispatchTable;
+import io.github.dsheirer.channel.state.OpcodeMetrics;
 import io.github.dsheirer.channel.state.State;
 import io.github.dsheirer.channel.state.TimeslotDecoderState;
 import io.github.dsheirer.controller.channel.Channel;
@@ -42,6 +44,7 @@ import io.github.dsheirer.module.decode.dmr.identifier.DMRTalkgroup;
 import io.github.dsheirer.module.decode.dmr.message.DMRMessage;
 import io.github.dsheirer.module.decode.dmr.message.data.DataMessage;
 import io.github.dsheirer.module.decode.dmr.message.data.csbk.CSBKMessage;
+import io.github.dsheirer.module.decode.dmr.message.data.csbk.Opcode;
 import io.github.dsheirer.module.decode.dmr.message.data.csbk.motorola.CapacityMaxAloha;
 import io.github.dsheirer.module.decode.dmr.message.data.csbk.motorola.CapacityPlusNeighbors;
 import io.github.dsheirer.module.decode.dmr.message.data.csbk.motorola.CapacityPlusSiteStatus;
@@ -59,6 +62,7 @@ import io.github.dsheirer.module.decode.dmr.message.data.csbk.standard.grant.Cha
 import io.github.dsheirer.module.decode.dmr.message.data.header.HeaderMessage;
 import io.github.dsheirer.module.decode.dmr.message.data.header.hytera.HyteraDataEncryptionHeader;
 import io.github.dsheirer.module.decode.dmr.message.data.lc.LCMessage;
+import io.github.dsheirer.module.decode.dmr.message.data.lc.LCOpcode;
 import io.github.dsheirer.module.decode.dmr.message.data.lc.full.GPSInformation;
 import io.github.dsheirer.module.decode.dmr.message.data.lc.full.GroupVoiceChannelUser;
 import io.github.dsheirer.module.decode.dmr.message.data.lc.full.TalkerAliasComplete;
@@ -112,6 +116,9 @@ public class DMRDecoderState extends TimeslotDecoderState
     private long mCurrentFrequency;
     private boolean mIgnoreCRCChecksums;
     private Map<DMRChannel,DecodeEvent> mDetectedCallEventsMap = new HashMap<>();
+    private final MessageDispatchTable<IMessage> mMessageDispatchTable = new MessageDispatchTable<>();
+    private final OpcodeMetrics<Opcode> mCSBKMetrics = new OpcodeMetrics<>("CSBK", Opcode.class);
+    private final OpcodeMetrics<LCOpcode> mLinkControlMetrics = new OpcodeMetrics<>("LINK CONTROL", LCOpcode.class);
     private static final AddChannelRotationActiveStateRequest CAPACITY_PLUS_ACTIVE_STATE_REQUEST =
                             new AddChannelRotationActiveStateRequest(State.ACTIVE);
 
@@ -139,6 +146,57 @@ public class DMRDecoderState extends TimeslotDecoderState
         {
             mIgnoreCRCChecksums = ((DecodeConfigDMR)channel.getDecodeConfiguration()).getIgnoreCRCChecksums();
         }
+
+        //Message routes for messages received on this decoder state's timeslot
+        mMessageDispatchTable
+            .register(VoiceMessage.class, this::processVoice)
+            .register(DataMessage.class, this::processData)
+            .register(LCMessage.class, lc -> {
+                if(lc.isValid() || mIgnoreCRCChecksums)
+                {
+                    processLinkControl(lc, false);
+                }
+                else
+                {
+                    broadcastContinuation();
+                }
+            })
+            .register(DMRPacketMessage.class, packet -> {
+                if(packet.isValid())
+                {
+                    processPacket(packet);
+                }
+                else
+                {
+                    broadcastContinuation();
+                }
+            })
+            .register(UDTShortMessageService.class, this::processSMS)
+            .register(DMRMessage.class, message -> broadcastContinuation());
+    }
+
+    /**
+     * Per-opcode message counts and handler times for CSBK messages processed by this decoder state.
+     */
+    public OpcodeMetrics<Opcode> getCSBKMetrics()
+    {
+        return mCSBKMetrics;
+    }
+
+    /**
+     * Per-opcode message counts and handler times for link control messages processed by this decoder state.
+     */
+    public OpcodeMetrics<LCOpcode> getLinkControlMetrics()
+    {
+        return mLinkControlMetrics;
+    }
+
+    /**
+     * Broadcasts a continuation of the active state for this timeslot.
+     */
+    private void broadcastContinuation()
+    {
+        broadcast(new DecoderStateEvent(this, Event.CONTINUATION, State.ACTIVE, getTimeslot()));
     }
 
     /**
@@ -205,30 +263,7 @@ public class DMRDecoderState extends TimeslotDecoderState
     {
         if(message.getTimeslot() == getTimeslot())
         {
-            if(message instanceof VoiceMessage)
-            {
-                processVoice((VoiceMessage)message);
-            }
-            else if(message instanceof DataMessage)
-            {
-                processData((DataMessage)message);
-            }
-            else if((message.isValid() || mIgnoreCRCChecksums) && message instanceof LCMessage)
-            {
-                processLinkControl((LCMessage)message, false);
-            }
-            else if(message.isValid() && message instanceof DMRPacketMessage)
-            {
-                processPacket((DMRPacketMessage)message);
-            }
-            else if(message instanceof UDTShortMessageService sms)
-            {
-                processSMS(sms);
-            }
-            else if(message instanceof DMRMessage)
-            {
-                broadcast(new DecoderStateEvent(this, Event.CONTINUATION, State.ACTIVE, getTimeslot()));
-            }
+            mMessageDispatchTable.dispatch(message);
         }
         //SLCO messages on timeslot 0 to catch capacity plus rest channel events
         else if((message.isValid() || mIgnoreCRCChecksums) && message.getTimeslot() == 0 && message instanceof LCMessage)
@@ -590,7 +625,17 @@ public class DMRDecoderState extends TimeslotDecoderState
         }
     }
 
+    /**
+     * Processes a CSBK message and records the opcode metrics for the message.
+     */
     private void processCSBK(CSBKMessage csbk)
+    {
+        long start = System.nanoTime();
+        processCSBKOpcode(csbk);
+        mCSBKMetrics.record(csbk.getOpcode(), System.nanoTime() - start);
+    }
+
+    private void processCSBKOpcode(CSBKMessage csbk)
     {
         switch(csbk.getOpcode())
         {
@@ -1054,10 +1099,21 @@ public class DMRDecoderState extends TimeslotDecoderState
     }
 
     /**
-     * Processes Link Control Messages
+     * Processes Link Control Messages and records the opcode metrics for the message.
      * @param isTerminator set to true when the link control is carried by a terminator
      */
     private void processLinkControl(LCMessage message, boolean isTerminator)
+    {
+        long start = System.nanoTime();
+        processLinkControlOpcode(message, isTerminator);
+        mLinkControlMetrics.record(message.getOpcode(), System.nanoTime() - start);
+    }
+
+    /**
+     * Processes Link Control Messages by opcode
+     * @param isTerminator set to true when the link control is carried by a terminator
+     */
+    private void processLinkControlOpcode(LCMessage message, boolean isTerminator)
     {
         switch(message.getOpcode())
         {
@@ -1329,12 +1385,24 @@ public class DMRDecoderState extends TimeslotDecoderState
     @Override
     public String getActivitySummary()
     {
+        StringBuilder sb = new StringBuilder();
+
         if(mNetworkConfigurationMonitor != null)
         {
-            return mNetworkConfigurationMonitor.getActivitySummary();
+            sb.append(mNetworkConfigurationMonitor.getActivitySummary());
+        }
+
+        if(mCSBKMetrics.getTotalCount() > 0)
+        {
+            sb.append("\nTimeslot ").append(getTimeslot()).append(" ").append(mCSBKMetrics.getSummary());
+        }
+
+        if(mLinkControlMetrics.getTotalCount() > 0)
+        {
+            sb.append("\nTimeslot ").append(getTimeslot()).append(" ").append(mLinkControlMetrics.getSummary());
         }
 
-        return "";
+        return sb.toString();
     }
 
     @Override
@@ -0,0 +1,73 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2023 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.module.decode.dmr;
+
+import io.github.dsheirer.dsp.psk.DQPSKHuntSyncDetector;
+import io.github.dsheirer.dsp.psk.pll.CostasLoop;
+import io.github.dsheirer.dsp.symbol.Dibit;
+import org.apache.commons.math3.util.FastMath;
+
+/**
+ * DMR control channel hunt sync detector.  Counts base station data sync patterns, which are carried by control and
+ * rest channel bursts, and ignores base station voice sync patterns so that a hunt doesn't lock onto an active
+ * voice channel.  Sync patterns detected with a misaligned carrier lock are counted and a phase correction is applied
+ * to the Costas loop, the same as the burst framer.
+ */
+public class DMRHuntSyncDetector extends DQPSKHuntSyncDetector
+{
+    private static final int MAX_STREAMING_SYNC_DETECT_BIT_ERRORS = 4;
+    private static final double SYMBOL_RATE = 4800.0;
+    private DMRSyncDetector mSyncDetector = new DMRSyncDetector(MAX_STREAMING_SYNC_DETECT_BIT_ERRORS, 0);
+    private CostasLoop mCostasLoop;
+    private double mCorrection90Degrees;
+    private double mCorrection180Degrees;
+
+    @Override
+    protected void sampleRateChanged(CostasLoop costasLoop, double sampleRate)
+    {
+        mCostasLoop = costasLoop;
+        mCorrection90Degrees = 2.0 * FastMath.PI * (SYMBOL_RATE / 4.0) / sampleRate;
+        mCorrection180Degrees = 2.0 * FastMath.PI * (SYMBOL_RATE / 2.0) / sampleRate;
+    }
+
+    @Override
+    protected void process(Dibit dibit)
+    {
+        mSyncDetector.add(dibit);
+
+        if(mSyncDetector.getSyncPattern() == DMRSyncPattern.BASE_STATION_DATA)
+        {
+            switch(mSyncDetector.getCarrierLock())
+            {
+                case PLUS_90:
+                    mCostasLoop.correctInversion(mCorrection90Degrees);
+                    break;
+                case MINUS_90:
+                    mCostasLoop.correctInversion(-mCorrection90Degrees);
+                    break;
+                case INVERTED:
+                    mCostasLoop.correctInversion(mCorrection180Degrees);
+                    break;
+            }
+
+            controlSyncDetected();
+        }
+    }
+}
@@ -21,7 +21,10 @@ package io.github.dsheirer.module.decode.dmr;
 import io.github.dsheirer.bits.CorrectedBinaryMessage;
 import io.github.dsheirer.dsp.psk.pll.IPhaseLockedLoop;
 import io.github.dsheirer.dsp.symbol.Dibit;
+import io.github.dsheirer.dsp.symbol.ISoftDibitListener;
 import io.github.dsheirer.dsp.symbol.ISyncDetectListener;
+import io.github.dsheirer.dsp.symbol.SoftDecisionMetrics;
+import io.github.dsheirer.dsp.symbol.SoftDecisionMode;
 import io.github.dsheirer.message.IMessage;
 import io.github.dsheirer.message.SyncLossMessage;
 import io.github.dsheirer.module.decode.dmr.audio.DMRCallSequenceRecorder;
@@ -57,7 +60,7 @@ import org.slf4j.LoggerFactory;
  * DMR Sync Detector and Message Framer.  Includes capability to detect PLL out-of-phase lock errors
  * and issue phase corrections.
  */
-public class DMRMessageFramer implements Listener<Dibit>, IDMRBurstDetectListener
+public class DMRMessageFramer implements Listener<Dibit>, ISoftDibitListener, IDMRBurstDetectListener
 {
     private final static Logger mLog = LoggerFactory.getLogger(DMRMessageFramer.class);
 
@@ -84,6 +87,12 @@ public class DMRMessageFramer implements Listener<Dibit>, IDMRBurstDetectListene
      */
     private long mCurrentTime = System.currentTimeMillis();
 
+    /**
+     * Soft decision mode and metrics for comparing hard versus soft decision decoding
+     */
+    private SoftDecisionMode mSoftDecisionMode = SoftDecisionMode.HARD;
+    private SoftDecisionMetrics mSoftDecisionMetrics = new SoftDecisionMetrics("DMR");
+
     /**
      * Constructs an instance
      *
@@ -167,6 +176,36 @@ public class DMRMessageFramer implements Listener<Dibit>, IDMRBurstDetectListene
         mBurstFramer.receive(dibit);
     }
 
+    /**
+     * Primary method for streaming decoded symbol dibits with soft decision values for message framing.
+     *
+     * @param dibit to process
+     * @param softBit1 soft decision value for bit 1
+     * @param softBit2 soft decision value for bit 2
+     */
+    @Override
+    public void receive(Dibit dibit, float softBit1, float softBit2)
+    {
+        mBurstFramer.receive(dibit, softBit1, softBit2);
+    }
+
+    /**
+     * Sets the soft decision mode.
+     * @param mode to use
+     */
+    public void setSoftDecisionMode(SoftDecisionMode mode)
+    {
+        mSoftDecisionMode = mode;
+    }
+
+    /**
+     * Metrics comparing hard versus soft decision decoding, updated when the mode is compare.
+     */
+    public SoftDecisionMetrics getSoftDecisionMetrics()
+    {
+        return mSoftDecisionMetrics;
+    }
+
     /**
      * Primary method for streaming decoded symbol byte arrays.
      *
@@ -210,6 +249,24 @@ public class DMRMessageFramer implements Listener<Dibit>, IDMRBurstDetectListene
 
         if(mMessageListener != null)
         {
+            if(mSoftDecisionMode == SoftDecisionMode.COMPARE && message.hasSoftBits())
+            {
+                //Decode a hard decision copy of the burst for comparison
+                CorrectedBinaryMessage hardCopy = new CorrectedBinaryMessage(message);
+                hardCopy.setCorrectedBitCount(message.getCorrectedBitCount());
+                DMRMessage hardMessage = DMRMessageFactory.create(syncPattern, hardCopy, cach, getTimestamp(), timeslot);
+                DMRMessage softMessage = DMRMessageFactory.create(syncPattern, message, cach, getTimestamp(), timeslot);
+                mSoftDecisionMetrics.update(hardMessage != null && hardMessage.isValid(),
+                    softMessage != null && softMessage.isValid());
+
+                if(softMessage != null)
+                {
+                    mMessageListener.receive(softMessage);
+                }
+
+                return;
+            }
+
             DMRMessage dmrMessage = DMRMessageFactory.create(syncPattern, message, cach, getTimestamp(), timeslot);
 
             if(dmrMessage != null)
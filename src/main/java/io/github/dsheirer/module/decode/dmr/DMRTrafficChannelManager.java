@@ -188,7 +188,7 @@ public class DMRTrafficChannelManager extends TrafficChannelManager implements I
      * @param currentFrequency of the standard channel
      * @param restChannel to identify the new channel frequency to start
      */
-    public void convertToTrafficChannel(Channel channel, long currentFrequency, IChannelDescriptor restChannel,
+    public synchronized void convertToTrafficChannel(Channel channel, long currentFrequency, IChannelDescriptor restChannel,
                                         DMRNetworkConfigurationMonitor networkConfigurationMonitor)
     {
         //Only do the conversion of the original channel has multiple frequencies defined and the rest channel is
@@ -319,7 +319,7 @@ public class DMRTrafficChannelManager extends TrafficChannelManager implements I
      * decode events for each new channel that is allocated.
      *
      */
-    public void processChannelGrant(DMRChannel channel, IdentifierCollection identifierCollection,
+    public synchronized void processChannelGrant(DMRChannel channel, IdentifierCollection identifierCollection,
                                     Opcode opcode, long timestamp, boolean encrypted)
     {
         DMRChannelGrantEvent event = mChannelGrantEventMap.get(channel);
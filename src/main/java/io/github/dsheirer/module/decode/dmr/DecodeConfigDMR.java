@@ -20,6 +20,7 @@ package io.github.dsheirer.module.decode.dmr;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlProperty;
+import io.github.dsheirer.dsp.symbol.SoftDecisionMode;
 import io.github.dsheirer.module.decode.DecoderType;
 import io.github.dsheirer.module.decode.config.DecodeConfiguration;
 import io.github.dsheirer.module.decode.dmr.channel.TimeslotFrequency;
@@ -39,6 +40,7 @@ public class DecodeConfigDMR extends DecodeConfiguration
     private boolean mIgnoreDataCalls = true;
     private boolean mIgnoreCRCChecksums = false;
     private boolean mUseCompressedTalkgroups = false;
+    private SoftDecisionMode mSoftDecisionMode = SoftDecisionMode.HARD;
     private List<TimeslotFrequency> mTimeslotMap = new ArrayList<>();
 
     public DecodeConfigDMR()
@@ -130,6 +132,25 @@ public class DecodeConfigDMR extends DecodeConfiguration
         mUseCompressedTalkgroups = useCompressedTalkgroups;
     }
 
+    /**
+     * Symbol decision mode for error correction.  Compare mode logs hard versus soft decision decode metrics when
+     * the decoder is stopped.
+     */
+    @JacksonXmlProperty(isAttribute = true, localName = "soft_decision")
+    public SoftDecisionMode getSoftDecisionMode()
+    {
+        return mSoftDecisionMode;
+    }
+
+    /**
+     * Sets the symbol decision mode
+     * @param mode to use
+     */
+    public void setSoftDecisionMode(SoftDecisionMode mode)
+    {
+        mSoftDecisionMode = mode != null ? mode : SoftDecisionMode.HARD;
+    }
+
     /**
      * Traffic channel pool size.
      * @return
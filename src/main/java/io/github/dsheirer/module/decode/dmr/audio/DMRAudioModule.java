@@ -19,6 +19,7 @@
 package io.github.dsheirer.module.decode.dmr.audio;
 
 import io.github.dsheirer.alias.AliasList;
+import io.github.dsheirer.audio.AudioSegment;
 import io.github.dsheirer.audio.codec.mbe.AmbeAudioModule;
 import io.github.dsheirer.audio.squelch.SquelchState;
 import io.github.dsheirer.audio.squelch.SquelchStateEvent;
@@ -32,6 +33,7 @@ import io.github.dsheirer.identifier.tone.ToneIdentifierMessage;
 import io.github.dsheirer.identifier.tone.ToneSequence;
 import io.github.dsheirer.message.IMessage;
 import io.github.dsheirer.message.IMessageProvider;
+import io.github.dsheirer.module.ITimeslotModule;
 import io.github.dsheirer.module.decode.dmr.identifier.DMRToneIdentifier;
 import io.github.dsheirer.module.decode.dmr.message.data.header.VoiceHeader;
 import io.github.dsheirer.module.decode.dmr.message.data.lc.LCMessage;
@@ -53,7 +55,8 @@ import org.slf4j.LoggerFactory;
 /**
  * DMR Audio Module for converting transmitted AMBE audio frames to 8 kHz PCM audio
  */
-public class DMRAudioModule extends AmbeAudioModule implements IdentifierUpdateProvider, IMessageProvider
+public class DMRAudioModule extends AmbeAudioModule implements IdentifierUpdateProvider, IMessageProvider,
+    ITimeslotModule
 {
     private final static Logger mLog = LoggerFactory.getLogger(DMRAudioModule.class);
     private SquelchStateListener mSquelchStateListener = new SquelchStateListener();
@@ -75,6 +78,12 @@ public class DMRAudioModule extends AmbeAudioModule implements IdentifierUpdateP
         super(userPreferences, aliasList, timeslot);
     }
 
+    @Override
+    public int getTimeslot()
+    {
+        return super.getTimeslot();
+    }
+
     @Override
     public Listener<SquelchStateEvent> getSquelchStateListener()
     {
@@ -147,11 +156,7 @@ public class DMRAudioModule extends AmbeAudioModule implements IdentifierUpdateP
             //before any audio is generated for the audio segment.
             if(message instanceof VoiceMessage voiceMessage)
             {
-                List<byte[]> frames = voiceMessage.getAMBEFrames();
-                for(byte[] frame: frames)
-                {
-                    processAudio(frame, message.getTimestamp());
-                }
+                processAudio(voiceMessage.getAMBEFrames(), message.getTimestamp());
             }
             else if(message instanceof Terminator)
             {
@@ -161,10 +166,10 @@ public class DMRAudioModule extends AmbeAudioModule implements IdentifierUpdateP
     }
 
     /**
-     * Processes the audio frame.  Queues the frame until encryption state is determined.  Once determined, the audio
-     * frames are dequeued and audio is generated.
+     * Processes the audio frames.  Queues the frames until encryption state is determined.  Once determined, the audio
+     * frames are dequeued and submitted, in order, with the current frames for audio generation.
      */
-    private void processAudio(byte[] frame, long timestamp)
+    private void processAudio(List<byte[]> frames, long timestamp)
     {
         if(mEncryptedCallStateEstablished)
         {
@@ -173,32 +178,31 @@ public class DMRAudioModule extends AmbeAudioModule implements IdentifierUpdateP
             {
                 if(!mEncryptedCall)
                 {
-                    for(byte[] queuedFrame: mQueuedAmbeFrames)
-                    {
-                        produceAudio(queuedFrame, timestamp);
-                    }
-
-                    mQueuedAmbeFrames.clear();
+                    processFrames(mQueuedAmbeFrames, timestamp);
                 }
 
                 mQueuedAmbeFrames.clear();
             }
 
-            produceAudio(frame, timestamp);
+            processFrames(frames, timestamp);
         }
         else
         {
-            mQueuedAmbeFrames.add(frame);
+            mQueuedAmbeFrames.addAll(frames);
         }
     }
 
-    private void produceAudio(byte[] frame, long timestamp)
+    /**
+     * Decodes the AMBE audio frame, adds the PCM audio to the current audio segment and processes any metadata.
+     */
+    @Override
+    protected void decodeFrame(AudioSegment audioSegment, byte[] frame, long timestamp)
     {
         try
         {
             IAudioWithMetadata audioWithMetadata = getAudioCodec().getAudioWithMetadata(frame);
-            addAudio(audioWithMetadata.getAudio());
-            processMetadata(audioWithMetadata, timestamp);
+            addAudio(audioSegment, audioWithMetadata.getAudio());
+            processMetadata(audioSegment, audioWithMetadata, timestamp);
         }
         catch(Exception e)
         {
@@ -208,9 +212,10 @@ public class DMRAudioModule extends AmbeAudioModule implements IdentifierUpdateP
 
     /**
      * Processes optional metadata that can be included with decoded audio (ie dtmf, tones, knox, etc.) so that the
-     * tone metadata can be converted into a FROM identifier and included with any call segment.
+     * tone metadata can be converted into a FROM identifier and included with any call segment.  This is invoked on
+     * the vocoder executor, so tone identifiers are broadcast from the channel DSP thread.
      */
-    private void processMetadata(IAudioWithMetadata audioWithMetadata, long timestamp)
+    private void processMetadata(AudioSegment audioSegment, IAudioWithMetadata audioWithMetadata, long timestamp)
     {
         if(audioWithMetadata.hasMetadata())
         {
@@ -222,7 +227,8 @@ public class DMRAudioModule extends AmbeAudioModule implements IdentifierUpdateP
 
                 if(metadataIdentifier != null)
                 {
-                    broadcast(metadataIdentifier, timestamp);
+                    runOnDecoderThread(() -> broadcast(metadataIdentifier, timestamp,
+                        isCurrentAudioSegment(audioSegment)));
                 }
             }
         }
@@ -234,10 +240,14 @@ public class DMRAudioModule extends AmbeAudioModule implements IdentifierUpdateP
 
     /**
      * Broadcasts the identifier to a registered listener
+     * @param identifier to broadcast
+     * @param timestamp of the audio that carried the tone
+     * @param updateIdentifiers true to send an identifier update, or false when the audio segment that carried the
+     * tone has already closed and the identifier should not carry over to the next call.
      */
-    private void broadcast(ToneIdentifier identifier, long timestamp)
+    private void broadcast(ToneIdentifier identifier, long timestamp, boolean updateIdentifiers)
     {
-        if(mIdentifierUpdateNotificationListener != null)
+        if(updateIdentifiers && mIdentifierUpdateNotificationListener != null)
         {
             mIdentifierUpdateNotificationListener.receive(new IdentifierUpdateNotification(identifier,
                 IdentifierUpdateNotification.Operation.ADD, getTimeslot()));
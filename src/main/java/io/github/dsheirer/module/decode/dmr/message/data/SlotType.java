@@ -22,6 +22,7 @@ import io.github.dsheirer.bits.BinaryMessage;
 import io.github.dsheirer.bits.CorrectedBinaryMessage;
 import io.github.dsheirer.edac.Golay24;
 import io.github.dsheirer.module.decode.dmr.message.type.DataType;
+import java.util.Arrays;
 
 public class SlotType
 {
@@ -94,6 +95,21 @@ public class SlotType
             }
         }
 
+        //Transfer soft decision values, treating the 4 leading padding bits as fully reliable zeros
+        if(message instanceof CorrectedBinaryMessage && ((CorrectedBinaryMessage)message).hasSoftBits())
+        {
+            float[] softBits = ((CorrectedBinaryMessage)message).getSoftBits();
+            float[] decodedSoftBits = new float[24];
+            Arrays.fill(decodedSoftBits, 0, 4, Float.NEGATIVE_INFINITY);
+
+            for(int x = 0; x < MESSAGE_INDEXES.length; x++)
+            {
+                decodedSoftBits[x + 4] = softBits[MESSAGE_INDEXES[x]];
+            }
+
+            decodedMessage.setSoftBits(decodedSoftBits);
+        }
+
         int errorCount = Golay24.checkAndCorrect(decodedMessage, 0);
         decodedMessage.setCorrectedBitCount(errorCount);
         SlotType slotType = new SlotType(decodedMessage);
@@ -20,8 +20,11 @@
 package io.github.dsheirer.module.decode.event;
 
 import java.awt.EventQueue;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Set;
 
 import javax.swing.table.AbstractTableModel;
 
@@ -74,6 +77,60 @@ public abstract class ClearableHistoryModel<T> extends AbstractTableModel
         }
     }
 
+    /**
+     * Adds a batch of items to the top of the item list in arrival order, as a single coalesced model update.  Items
+     * that are already in the list are updated in place.  Tail items are removed while the item list size exceeds the
+     * maximum history size for this model.  Note: invoke on the Swing event dispatch thread.
+     * @param items to add
+     */
+    public void add(List<T> items)
+    {
+        //Remove duplicate entries for the same item within the batch, preserving arrival order
+        Set<T> batch = new LinkedHashSet<>(items);
+        Set<T> updated = new HashSet<>();
+        int inserted = 0;
+
+        for(T item: batch)
+        {
+            if(mItems.contains(item))
+            {
+                updated.add(item);
+            }
+            else
+            {
+                mItems.addFirst(item);
+                inserted++;
+            }
+        }
+
+        if(inserted > 0)
+        {
+            fireTableRowsInserted(0, inserted - 1);
+        }
+
+        int sizeBeforeTrim = mItems.size();
+
+        while(mItems.size() > mHistorySize)
+        {
+            mItems.removeLast();
+        }
+
+        if(mItems.size() < sizeBeforeTrim)
+        {
+            fireTableRowsDeleted(mItems.size(), sizeBeforeTrim - 1);
+        }
+
+        for(T item: updated)
+        {
+            int itemRow = mItems.indexOf(item);
+
+            if(itemRow >= 0)
+            {
+                fireTableRowsUpdated(itemRow, itemRow);
+            }
+        }
+    }
+
     /**
      * Clears all messages from history
      */
@@ -93,10 +150,7 @@ public abstract class ClearableHistoryModel<T> extends AbstractTableModel
         EventQueue.invokeLater(() -> {
             mItems.clear();
             fireTableDataChanged();
-            for(T item: items)
-            {
-                add(item);
-            }
+            add(items);
         });
     }
 
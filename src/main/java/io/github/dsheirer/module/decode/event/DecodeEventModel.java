@@ -20,11 +20,13 @@ package io.github.dsheirer.module.decode.event;
 
 import com.google.common.eventbus.Subscribe;
 import io.github.dsheirer.channel.IChannelDescriptor;
+import io.github.dsheirer.eventbus.DeliveryThread;
 import io.github.dsheirer.eventbus.MyEventBus;
+import io.github.dsheirer.eventbus.SubscribeOn;
 import io.github.dsheirer.identifier.IdentifierCollection;
 import io.github.dsheirer.preference.PreferenceType;
 import io.github.dsheirer.sample.Listener;
-import java.awt.EventQueue;
+import io.github.dsheirer.util.SwingBatchDispatcher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -46,6 +48,7 @@ public class DecodeEventModel extends ClearableHistoryModel<IDecodeEvent> implem
     public static final int COLUMN_FREQUENCY = 8;
     public static final int COLUMN_DETAILS = 9;
     protected String[] mHeaders = new String[]{"Time", "Duration", "Event", "From", "Alias", "To", "Alias", "Channel", "Frequency", "Details"};
+    private SwingBatchDispatcher<IDecodeEvent> mDispatcher = new SwingBatchDispatcher<>("Decode Event Model", this::add);
 
     public DecodeEventModel()
     {
@@ -57,6 +60,7 @@ public class DecodeEventModel extends ClearableHistoryModel<IDecodeEvent> implem
      * @param preferenceType that was updated
      */
     @Subscribe
+    @SubscribeOn(DeliveryThread.SWING)
     public void preferenceUpdated(PreferenceType preferenceType)
     {
         if(preferenceType == PreferenceType.DECODE_EVENT || preferenceType == PreferenceType.TALKGROUP_FORMAT)
@@ -70,10 +74,12 @@ public class DecodeEventModel extends ClearableHistoryModel<IDecodeEvent> implem
      * the same call event multiple times to indicate that information in the
      * event is updated.  Producers can also mark the event as invalid and the
      * event will be removed from the model.
+     *
+     * Events are coalesced and applied to the model in rate-limited batches on the Swing event thread.
      */
     public void receive(final IDecodeEvent event)
     {
-        EventQueue.invokeLater(() -> add(event));
+        mDispatcher.receive(event);
     }
 
     @Override
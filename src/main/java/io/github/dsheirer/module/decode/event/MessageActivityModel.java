@@ -21,7 +21,7 @@ package io.github.dsheirer.module.decode.event;
 import io.github.dsheirer.message.IMessage;
 import io.github.dsheirer.message.StuffBitsMessage;
 import io.github.dsheirer.sample.Listener;
-import java.awt.EventQueue;
+import io.github.dsheirer.util.SwingBatchDispatcher;
 import java.text.SimpleDateFormat;
 
 /**
@@ -37,6 +37,7 @@ public class MessageActivityModel extends ClearableHistoryModel<MessageItem> imp
 
     private String[] mHeaders = new String[]{"Time", "Protocol", "Timeslot", "Message"};
     private SimpleDateFormat mSDFTime = new SimpleDateFormat("yyyy:MM:dd HH:mm:ss");
+    private SwingBatchDispatcher<MessageItem> mDispatcher = new SwingBatchDispatcher<>("Message Activity Model", this::add);
 
     /**
      * Constructor
@@ -46,7 +47,8 @@ public class MessageActivityModel extends ClearableHistoryModel<MessageItem> imp
     }
 
     /**
-     * Implements the listener interface and wraps the IMessage in table-compatible message item wrapper.
+     * Implements the listener interface and wraps the IMessage in table-compatible message item wrapper.  Messages
+     * are coalesced and applied to the model in rate-limited batches on the Swing event thread.
      * @param message to add to the model
      */
     public void receive(final IMessage message)
@@ -57,7 +59,7 @@ public class MessageActivityModel extends ClearableHistoryModel<MessageItem> imp
             return;
         }
 
-        EventQueue.invokeLater(() -> add(new MessageItem(message)));
+        mDispatcher.receive(new MessageItem(message));
     }
 
     @Override
@@ -0,0 +1,59 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2023 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.module.decode.event.store;
+
+import io.github.dsheirer.module.decode.event.DecodeEventType;
+import io.github.dsheirer.protocol.Protocol;
+
+/**
+ * Immutable decode event row as stored in the decode event store.
+ *
+ * @param timeStart of the event in milliseconds
+ * @param duration of the event in milliseconds, or 0 if the event has no duration
+ * @param protocol of the decoder that produced the event, or null
+ * @param eventType of the event, or null
+ * @param from identifier value (typically the radio), or null
+ * @param to identifier value (typically the talkgroup), or null
+ * @param channel descriptor value, or null
+ * @param frequency of the channel in Hertz, or 0 if unknown
+ * @param timeslot for the event or 0
+ * @param details for the event, or null
+ */
+public record DecodeEventRecord(long timeStart, long duration, Protocol protocol, DecodeEventType eventType,
+                                String from, String to, String channel, long frequency, int timeslot, String details)
+{
+    /**
+     * Event end time
+     * @return timestamp in milliseconds
+     */
+    public long timeEnd()
+    {
+        return timeStart + duration;
+    }
+
+    /**
+     * Indicates if either the from or the to identifier value matches the argument.
+     * @param identifier value to match
+     */
+    public boolean hasIdentifier(String identifier)
+    {
+        return identifier != null && (identifier.equals(from) || identifier.equals(to));
+    }
+}
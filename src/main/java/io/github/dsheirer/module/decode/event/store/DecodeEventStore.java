@@ -0,0 +1,411 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2023 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.module.decode.event.store;
+
+import io.github.dsheirer.channel.IChannelDescriptor;
+import io.github.dsheirer.identifier.Form;
+import io.github.dsheirer.identifier.IdentifierClass;
+import io.github.dsheirer.identifier.IdentifierCollection;
+import io.github.dsheirer.identifier.Role;
+import io.github.dsheirer.identifier.configuration.FrequencyConfigurationIdentifier;
+import io.github.dsheirer.module.decode.event.IDecodeEvent;
+import io.github.dsheirer.preference.UserPreferences;
+import io.github.dsheirer.sample.Listener;
+import io.github.dsheirer.util.ThreadPool;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Embedded, append-only columnar store for decode events from all channels.  Events are persisted to memory-mapped
+ * segment files (see {@link DecodeEventStoreSegment}) in the event logs directory and can be queried by time range
+ * and by from/to identifier value, for example all calls for a talkgroup in the last 24 hours.
+ *
+ * Decode events are updated by the decoders while they are in progress (e.g. call duration), so each event is held
+ * in a pending map until no further updates have been received for a settling period and is then appended to the
+ * store in its final state.  Pending events are included in query results.
+ *
+ * Segments that only contain events older than the retention period are closed, removed from the store and deleted.
+ * A segment file that can't be deleted is retried at the next retention check.
+ */
+public class DecodeEventStore implements Listener<IDecodeEvent>
+{
+    private final static Logger mLog = LoggerFactory.getLogger(DecodeEventStore.class);
+    public static final String STORE_DIRECTORY = "event_store";
+    public static final int DEFAULT_RETENTION_DAYS = 30;
+    private static final long FLUSH_INTERVAL_MS = 5000;
+    private static final long EVENT_SETTLING_PERIOD_MS = 10000;
+    private static final long RETENTION_CHECK_INTERVAL_MS = 60 * 60 * 1000;
+
+    private final Path mDirectory;
+    private final int mCapacity;
+    private final ReentrantLock mLock = new ReentrantLock();
+    private final List<DecodeEventStoreSegment> mSegments = new ArrayList<>();
+    private final List<DecodeEventStoreSegment> mExpiredSegments = new ArrayList<>();
+    private final Map<IDecodeEvent,Long> mPendingEvents = new LinkedHashMap<>();
+    private DecodeEventStoreSegment mActiveSegment;
+    private ScheduledFuture<?> mFlushFuture;
+    private int mRetentionDays = DEFAULT_RETENTION_DAYS;
+    private long mLastRetentionCheck;
+
+    /**
+     * Constructs an instance that stores events in the event store directory under the event logs directory.
+     * @param userPreferences for the event logs directory
+     */
+    public DecodeEventStore(UserPreferences userPreferences)
+    {
+        this(userPreferences.getDirectoryPreference().getDirectoryEventLog().resolve(STORE_DIRECTORY),
+                DecodeEventStoreSegment.DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs an instance
+     * @param directory for the segment files
+     * @param capacity maximum number of events per segment
+     */
+    public DecodeEventStore(Path directory, int capacity)
+    {
+        mDirectory = directory;
+        mCapacity = capacity;
+    }
+
+    /**
+     * Retention period for stored events
+     * @param days to retain events
+     */
+    public void setRetentionDays(int days)
+    {
+        mRetentionDays = days;
+    }
+
+    /**
+     * Opens the existing segments and starts periodic flushing of settled events to the store.
+     */
+    public void start()
+    {
+        mLock.lock();
+
+        try
+        {
+            Files.createDirectories(mDirectory);
+
+            try(DirectoryStream<Path> stream = Files.newDirectoryStream(mDirectory,
+                    "*" + DecodeEventStoreSegment.SEGMENT_EXTENSION))
+            {
+                for(Path path: stream)
+                {
+                    try
+                    {
+                        mSegments.add(DecodeEventStoreSegment.open(path, false));
+                    }
+                    catch(IOException ioe)
+                    {
+                        mLog.error("Unable to open decode event store segment [" + path + "] - ignoring", ioe);
+                    }
+                }
+            }
+
+            mSegments.sort(Comparator.comparingLong(DecodeEventStoreSegment::getBaseTime));
+            applyRetention();
+        }
+        catch(IOException ioe)
+        {
+            mLog.error("Unable to open decode event store directory [" + mDirectory + "]", ioe);
+        }
+        finally
+        {
+            mLock.unlock();
+        }
+
+        if(mFlushFuture == null)
+        {
+            mFlushFuture = ThreadPool.SCHEDULED.scheduleAtFixedRate(() -> flush(false), FLUSH_INTERVAL_MS,
+                    FLUSH_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Stops periodic flushing, appends all pending events and closes the store.
+     */
+    public void stop()
+    {
+        if(mFlushFuture != null)
+        {
+            mFlushFuture.cancel(false);
+            mFlushFuture = null;
+        }
+
+        flush(true);
+
+        mLock.lock();
+
+        try
+        {
+            for(DecodeEventStoreSegment segment: mSegments)
+            {
+                try
+                {
+                    segment.close();
+                }
+                catch(IOException ioe)
+                {
+                    mLog.error("Error closing decode event store segment [" + segment.getPath() + "]", ioe);
+                }
+            }
+
+            mSegments.clear();
+            mActiveSegment = null;
+        }
+        finally
+        {
+            mLock.unlock();
+        }
+    }
+
+    /**
+     * Receives new and updated decode events from all channels.
+     */
+    @Override
+    public void receive(IDecodeEvent decodeEvent)
+    {
+        synchronized(mPendingEvents)
+        {
+            mPendingEvents.put(decodeEvent, System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * Finds all stored and pending events that overlap the time range.
+     * @param startTime of the range in milliseconds
+     * @param endTime of the range in milliseconds
+     * @return matching events ordered by start time
+     */
+    public List<DecodeEventRecord> getEvents(long startTime, long endTime)
+    {
+        return getEvents(startTime, endTime, null);
+    }
+
+    /**
+     * Finds all stored and pending events that overlap the time range where either the from or the to identifier
+     * matches the identifier value.
+     * @param startTime of the range in milliseconds
+     * @param endTime of the range in milliseconds
+     * @param identifier value to match, for example a talkgroup or radio value as shown in the event logs, or null
+     * to match all events.
+     * @return matching events ordered by start time
+     */
+    public List<DecodeEventRecord> getEvents(long startTime, long endTime, String identifier)
+    {
+        List<DecodeEventRecord> results = new ArrayList<>();
+
+        mLock.lock();
+
+        try
+        {
+            for(DecodeEventStoreSegment segment: mSegments)
+            {
+                segment.query(startTime, endTime, identifier, results);
+            }
+        }
+        finally
+        {
+            mLock.unlock();
+        }
+
+        List<IDecodeEvent> pending;
+
+        synchronized(mPendingEvents)
+        {
+            pending = new ArrayList<>(mPendingEvents.keySet());
+        }
+
+        for(IDecodeEvent decodeEvent: pending)
+        {
+            DecodeEventRecord record = toRecord(decodeEvent);
+
+            if(record.timeStart() <= endTime && record.timeEnd() >= startTime &&
+                    (identifier == null || record.hasIdentifier(identifier)))
+            {
+                results.add(record);
+            }
+        }
+
+        results.sort(Comparator.comparingLong(DecodeEventRecord::timeStart));
+        return results;
+    }
+
+    /**
+     * Appends pending events that are settled (or all pending events) to the store.
+     * @param all to append all pending events regardless of settling time
+     */
+    private void flush(boolean all)
+    {
+        List<IDecodeEvent> settled = new ArrayList<>();
+        long threshold = System.currentTimeMillis() - EVENT_SETTLING_PERIOD_MS;
+
+        synchronized(mPendingEvents)
+        {
+            Iterator<Map.Entry<IDecodeEvent,Long>> it = mPendingEvents.entrySet().iterator();
+
+            while(it.hasNext())
+            {
+                Map.Entry<IDecodeEvent,Long> entry = it.next();
+
+                if(all || entry.getValue() < threshold)
+                {
+                    settled.add(entry.getKey());
+                    it.remove();
+                }
+            }
+        }
+
+        mLock.lock();
+
+        try
+        {
+            for(IDecodeEvent decodeEvent: settled)
+            {
+                append(toRecord(decodeEvent));
+            }
+
+            if(System.currentTimeMillis() - mLastRetentionCheck > RETENTION_CHECK_INTERVAL_MS)
+            {
+                applyRetention();
+            }
+        }
+        catch(Throwable t)
+        {
+            mLog.error("Error while appending decode events to the decode event store", t);
+        }
+        finally
+        {
+            mLock.unlock();
+        }
+    }
+
+    /**
+     * Appends the record to the active segment, creating a new active segment as needed.
+     * Note: invoke while holding the lock.
+     */
+    private void append(DecodeEventRecord record) throws IOException
+    {
+        if(mActiveSegment == null || !mActiveSegment.accepts(record))
+        {
+            mActiveSegment = DecodeEventStoreSegment.create(mDirectory, record.timeStart(), mCapacity);
+            mSegments.add(mActiveSegment);
+        }
+
+        mActiveSegment.append(record);
+    }
+
+    /**
+     * Removes segments that only contain events that are older than the retention period from the store and deletes
+     * the segment files, including any expired segment files that couldn't be deleted previously.
+     * Note: invoke while holding the lock.
+     */
+    private void applyRetention()
+    {
+        mLastRetentionCheck = System.currentTimeMillis();
+        long threshold = mLastRetentionCheck - TimeUnit.DAYS.toMillis(mRetentionDays);
+        Iterator<DecodeEventStoreSegment> it = mSegments.iterator();
+
+        while(it.hasNext())
+        {
+            DecodeEventStoreSegment segment = it.next();
+
+            if(segment != mActiveSegment && segment.getMaximumTime() < threshold)
+            {
+                it.remove();
+                mExpiredSegments.add(segment);
+            }
+        }
+
+        Iterator<DecodeEventStoreSegment> expired = mExpiredSegments.iterator();
+
+        while(expired.hasNext())
+        {
+            DecodeEventStoreSegment segment = expired.next();
+
+            try
+            {
+                segment.delete();
+                expired.remove();
+            }
+            catch(IOException ioe)
+            {
+                mLog.warn("Unable to delete expired decode event store segment [" + segment.getPath() +
+                        "] - will retry");
+            }
+        }
+    }
+
+    /**
+     * Converts the decode event to a store record.
+     */
+    private static DecodeEventRecord toRecord(IDecodeEvent decodeEvent)
+    {
+        IdentifierCollection identifiers = decodeEvent.getIdentifierCollection();
+        String from = null;
+        String to = null;
+        long frequency = 0;
+
+        if(identifiers != null)
+        {
+            var fromIdentifiers = identifiers.getIdentifiers(Role.FROM);
+
+            if(fromIdentifiers != null && !fromIdentifiers.isEmpty())
+            {
+                from = fromIdentifiers.get(0).toString();
+            }
+
+            var toIdentifiers = identifiers.getIdentifiers(Role.TO);
+
+            if(toIdentifiers != null && !toIdentifiers.isEmpty())
+            {
+                to = toIdentifiers.get(0).toString();
+            }
+
+            if(identifiers.getIdentifier(IdentifierClass.CONFIGURATION, Form.CHANNEL_FREQUENCY,
+                    Role.ANY) instanceof FrequencyConfigurationIdentifier frequencyIdentifier)
+            {
+                frequency = frequencyIdentifier.getValue();
+            }
+        }
+
+        IChannelDescriptor descriptor = decodeEvent.getChannelDescriptor();
+
+        return new DecodeEventRecord(decodeEvent.getTimeStart(), decodeEvent.getDuration(),
+                decodeEvent.getProtocol(), decodeEvent.getEventType(), from, to,
+                descriptor != null ? descriptor.toString() : null, frequency,
+                decodeEvent.hasTimeslot() ? decodeEvent.getTimeslot() : 0, decodeEvent.getDetails());
+    }
+}
@@ -0,0 +1,700 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2023 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.module.decode.event.store;
+
+import io.github.dsheirer.module.decode.event.DecodeEventType;
+import io.github.dsheirer.protocol.Protocol;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Append-only, memory-mapped, columnar segment of the decode event store.
+ *
+ * Each segment covers a bounded time span starting at a base time and holds a fixed maximum number of rows.  The
+ * segment file has a small header followed by one fixed-width region per column, so that a time range scan only
+ * touches the time column pages.  Column encodings:
+ *
+ * - Start time: 32-bit millisecond offset from the segment base time
+ * - Duration: 32-bit milliseconds
+ * - Protocol, event type, from, to, channel: 32-bit dictionary codes
+ * - Frequency: 64-bit Hertz
+ * - Timeslot: 8-bit
+ * - Details: 64-bit offset of the length-prefixed UTF-8 details text in the companion details file
+ *
+ * Repeating string values are stored in a companion dictionary file (see {@link SegmentDictionary}), while the event
+ * details, which are nearly unique per event, are appended to a companion details file so that they don't grow the
+ * dictionary.  The row count in the header is updated after each row's column values, details and dictionary entries
+ * are written, so a row is either completely visible or not visible at all after an unclean shutdown.
+ *
+ * The dictionary for a read-only segment is loaded the first time that a query needs it.
+ *
+ * Indexes are held in memory and rebuilt when the segment is opened:
+ * - Time: minimum/maximum start time per block of rows (zone map), so range queries skip non-overlapping blocks.
+ * - Identifier: list of rows per from/to identifier dictionary code.
+ *
+ * Note: this class is not thread safe.  Access is serialized by the {@link DecodeEventStore}.
+ */
+public class DecodeEventStoreSegment implements AutoCloseable
+{
+    private final static Logger mLog = LoggerFactory.getLogger(DecodeEventStoreSegment.class);
+    public static final String SEGMENT_EXTENSION = ".events";
+    public static final String DICTIONARY_EXTENSION = ".dictionary";
+    public static final String DETAILS_EXTENSION = ".details";
+    public static final int DEFAULT_CAPACITY = 65536;
+    public static final long MAXIMUM_SPAN_MS = 24 * 60 * 60 * 1000;
+    private static final int MAGIC = 0x53444553;
+    private static final int VERSION = 3;
+    private static final long NULL_OFFSET = -1;
+    private static final int HEADER_LENGTH = 32;
+    private static final int HEADER_OFFSET_ROW_COUNT = 20;
+    private static final int BLOCK_SIZE = 1024;
+
+    /**
+     * Column layout, in file order
+     */
+    private enum Column
+    {
+        TIME(Integer.BYTES),
+        DURATION(Integer.BYTES),
+        PROTOCOL(Integer.BYTES),
+        EVENT_TYPE(Integer.BYTES),
+        FROM(Integer.BYTES),
+        TO(Integer.BYTES),
+        CHANNEL(Integer.BYTES),
+        FREQUENCY(Long.BYTES),
+        TIMESLOT(Byte.BYTES),
+        DETAILS(Long.BYTES);
+
+        private int mWidth;
+
+        Column(int width)
+        {
+            mWidth = width;
+        }
+
+        /**
+         * Byte offset of the column region in a segment file with the specified capacity
+         */
+        private int getOffset(int capacity)
+        {
+            int offset = HEADER_LENGTH;
+
+            for(Column column: values())
+            {
+                if(column == this)
+                {
+                    return offset;
+                }
+
+                offset += column.mWidth * capacity;
+            }
+
+            return offset;
+        }
+
+        /**
+         * Total bytes per row across all columns
+         */
+        private static int getRowWidth()
+        {
+            int width = 0;
+
+            for(Column column: values())
+            {
+                width += column.mWidth;
+            }
+
+            return width;
+        }
+    }
+
+    private Path mPath;
+    private MappedByteBuffer mBuffer;
+    private SegmentDictionary mDictionary;
+    private FileChannel mDetailsChannel;
+    private long mDetailsLength;
+    private long mBaseTime;
+    private int mCapacity;
+    private int mRowCount;
+    private int[] mColumnOffsets = new int[Column.values().length];
+    private long mMinimumTime = Long.MAX_VALUE;
+    private long mMaximumTime = Long.MIN_VALUE;
+    private long[] mBlockMinimumTimes;
+    private long[] mBlockMaximumTimes;
+    private Map<Integer,RowList> mIdentifierIndex = new HashMap<>();
+    private boolean mWritable;
+
+    /**
+     * Opens an existing segment or creates a new segment.  Use the static create() and open() methods.
+     */
+    private DecodeEventStoreSegment(Path path, long baseTime, int capacity, boolean writable) throws IOException
+    {
+        mPath = path;
+        mWritable = writable;
+        boolean exists = Files.exists(path);
+
+        if(!exists && !writable)
+        {
+            throw new IOException("Segment file does not exist: " + path);
+        }
+
+        if(exists)
+        {
+            try(FileChannel channel = FileChannel.open(path, StandardOpenOption.READ))
+            {
+                MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_LENGTH);
+
+                if(header.getInt(0) != MAGIC || header.getInt(4) != VERSION)
+                {
+                    throw new IOException("Unrecognized decode event store segment format: " + path);
+                }
+
+                baseTime = header.getLong(8);
+                capacity = header.getInt(16);
+            }
+        }
+
+        mBaseTime = baseTime;
+        mCapacity = capacity;
+
+        for(Column column: Column.values())
+        {
+            mColumnOffsets[column.ordinal()] = column.getOffset(capacity);
+        }
+
+        long fileLength = HEADER_LENGTH + ((long)Column.getRowWidth() * capacity);
+
+        if(writable)
+        {
+            try(FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE))
+            {
+                mBuffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, fileLength);
+            }
+
+            if(!exists)
+            {
+                mBuffer.putInt(0, MAGIC);
+                mBuffer.putInt(4, VERSION);
+                mBuffer.putLong(8, baseTime);
+                mBuffer.putInt(16, capacity);
+                mBuffer.putInt(HEADER_OFFSET_ROW_COUNT, 0);
+            }
+        }
+        else
+        {
+            try(FileChannel channel = FileChannel.open(path, StandardOpenOption.READ))
+            {
+                mBuffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileLength);
+            }
+        }
+
+        if(writable)
+        {
+            mDictionary = new SegmentDictionary(getCompanionPath(path, DICTIONARY_EXTENSION), true);
+            mDetailsChannel = FileChannel.open(getCompanionPath(path, DETAILS_EXTENSION), StandardOpenOption.CREATE,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+            mDetailsLength = mDetailsChannel.size();
+        }
+
+        int blockCount = (capacity + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        mBlockMinimumTimes = new long[blockCount];
+        mBlockMaximumTimes = new long[blockCount];
+        Arrays.fill(mBlockMinimumTimes, Long.MAX_VALUE);
+        Arrays.fill(mBlockMaximumTimes, Long.MIN_VALUE);
+
+        //Rebuild the in-memory indexes from the persisted rows
+        int rowCount = Math.min(mBuffer.getInt(HEADER_OFFSET_ROW_COUNT), capacity);
+
+        for(int row = 0; row < rowCount; row++)
+        {
+            index(row);
+        }
+
+        mRowCount = rowCount;
+    }
+
+    /**
+     * Creates a new writable segment in the directory.
+     * @param directory for the segment files
+     * @param baseTime for the segment, typically the start time of the first event
+     * @param capacity maximum number of rows
+     * @return segment
+     * @throws IOException if the segment cannot be created
+     */
+    public static DecodeEventStoreSegment create(Path directory, long baseTime, int capacity) throws IOException
+    {
+        Path path = directory.resolve("events_" + baseTime + SEGMENT_EXTENSION);
+        return new DecodeEventStoreSegment(path, baseTime, capacity, true);
+    }
+
+    /**
+     * Opens an existing segment
+     * @param path to the segment file
+     * @param writable to open the segment for appending additional rows
+     * @return segment
+     * @throws IOException if the segment cannot be opened
+     */
+    public static DecodeEventStoreSegment open(Path path, boolean writable) throws IOException
+    {
+        return new DecodeEventStoreSegment(path, 0, 0, writable);
+    }
+
+    /**
+     * Path to a companion (dictionary or details) file for the segment file
+     */
+    private static Path getCompanionPath(Path segmentPath, String extension)
+    {
+        String name = segmentPath.getFileName().toString();
+        name = name.substring(0, name.length() - SEGMENT_EXTENSION.length()) + extension;
+        return segmentPath.resolveSibling(name);
+    }
+
+    /**
+     * Dictionary for this segment, loading the dictionary file on first use.
+     * @throws IOException if the dictionary file can't be read
+     */
+    private SegmentDictionary getDictionary() throws IOException
+    {
+        if(mDictionary == null)
+        {
+            mDictionary = new SegmentDictionary(getCompanionPath(mPath, DICTIONARY_EXTENSION), mWritable);
+        }
+
+        return mDictionary;
+    }
+
+    /**
+     * Details file channel for this segment, opening the details file on first use.
+     * @throws IOException if the details file can't be opened
+     */
+    private FileChannel getDetailsChannel() throws IOException
+    {
+        if(mDetailsChannel == null)
+        {
+            mDetailsChannel = FileChannel.open(getCompanionPath(mPath, DETAILS_EXTENSION), StandardOpenOption.READ);
+        }
+
+        return mDetailsChannel;
+    }
+
+    /**
+     * Appends the details text to the details file.
+     * @return offset of the details entry or NULL_OFFSET if the details are null
+     */
+    private long appendDetails(String details) throws IOException
+    {
+        if(details == null)
+        {
+            return NULL_OFFSET;
+        }
+
+        byte[] bytes = details.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer entry = ByteBuffer.allocate(Integer.BYTES + bytes.length);
+        entry.putInt(bytes.length).put(bytes).flip();
+
+        long offset = mDetailsLength;
+
+        while(entry.hasRemaining())
+        {
+            mDetailsChannel.write(entry, offset + entry.position());
+        }
+
+        mDetailsLength += entry.limit();
+        return offset;
+    }
+
+    /**
+     * Reads the details text from the details file.
+     * @param offset of the details entry
+     * @return details or null
+     */
+    private String readDetails(long offset) throws IOException
+    {
+        if(offset == NULL_OFFSET)
+        {
+            return null;
+        }
+
+        FileChannel channel = getDetailsChannel();
+        ByteBuffer length = ByteBuffer.allocate(Integer.BYTES);
+        readFully(channel, length, offset);
+
+        ByteBuffer bytes = ByteBuffer.allocate(length.getInt(0));
+        readFully(channel, bytes, offset + Integer.BYTES);
+        return new String(bytes.array(), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Fills the buffer from the channel starting at the position.
+     */
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException
+    {
+        while(buffer.hasRemaining())
+        {
+            if(channel.read(buffer, position + buffer.position()) < 0)
+            {
+                throw new IOException("Unexpected end of decode event store details file");
+            }
+        }
+    }
+
+    /**
+     * Segment file path
+     */
+    public Path getPath()
+    {
+        return mPath;
+    }
+
+    /**
+     * Base time for the segment
+     */
+    public long getBaseTime()
+    {
+        return mBaseTime;
+    }
+
+    /**
+     * Number of rows in this segment
+     */
+    public int getRowCount()
+    {
+        return mRowCount;
+    }
+
+    /**
+     * Earliest event start time in this segment, or Long.MAX_VALUE if the segment is empty
+     */
+    public long getMinimumTime()
+    {
+        return mMinimumTime;
+    }
+
+    /**
+     * Latest event end time in this segment, or Long.MIN_VALUE if the segment is empty
+     */
+    public long getMaximumTime()
+    {
+        return mMaximumTime;
+    }
+
+    /**
+     * Indicates if this segment can accept the event record.  Segments are limited to a maximum time span after the
+     * base time, so that retention can delete whole segments.
+     */
+    public boolean accepts(DecodeEventRecord record)
+    {
+        long offset = record.timeStart() - mBaseTime;
+        return mWritable && mRowCount < mCapacity && offset > -MAXIMUM_SPAN_MS && offset < MAXIMUM_SPAN_MS;
+    }
+
+    /**
+     * Appends the event record to this segment.
+     * @param record to append
+     * @throws IOException if the dictionary can't be updated or the segment is read-only or full
+     */
+    public void append(DecodeEventRecord record) throws IOException
+    {
+        if(!accepts(record))
+        {
+            throw new IOException("Segment can't accept the event record");
+        }
+
+        int row = mRowCount;
+
+        //Encode dictionary values first so that new dictionary entries are persisted before the row is visible
+        int protocol = mDictionary.encode(record.protocol() != null ? record.protocol().name() : null);
+        int eventType = mDictionary.encode(record.eventType() != null ? record.eventType().name() : null);
+        int from = mDictionary.encode(record.from());
+        int to = mDictionary.encode(record.to());
+        int channel = mDictionary.encode(record.channel());
+        long details = appendDetails(record.details());
+
+        mBuffer.putInt(offset(Column.TIME, row), (int)(record.timeStart() - mBaseTime));
+        mBuffer.putInt(offset(Column.DURATION, row), (int)Math.min(Integer.MAX_VALUE, Math.max(0, record.duration())));
+        mBuffer.putInt(offset(Column.PROTOCOL, row), protocol);
+        mBuffer.putInt(offset(Column.EVENT_TYPE, row), eventType);
+        mBuffer.putInt(offset(Column.FROM, row), from);
+        mBuffer.putInt(offset(Column.TO, row), to);
+        mBuffer.putInt(offset(Column.CHANNEL, row), channel);
+        mBuffer.putLong(offset(Column.FREQUENCY, row), record.frequency());
+        mBuffer.put(offset(Column.TIMESLOT, row), (byte)record.timeslot());
+        mBuffer.putLong(offset(Column.DETAILS, row), details);
+
+        mBuffer.putInt(HEADER_OFFSET_ROW_COUNT, row + 1);
+        index(row);
+        mRowCount++;
+    }
+
+    /**
+     * Finds the event records that overlap the time range, optionally constrained to a from/to identifier value.
+     * @param startTime of the range in milliseconds
+     * @param endTime of the range in milliseconds
+     * @param identifier value to match against the from or to identifier, or null to match all events
+     * @param results to receive matching event records
+     */
+    public void query(long startTime, long endTime, String identifier, List<DecodeEventRecord> results)
+    {
+        if(mBuffer == null || mRowCount == 0 || endTime < mMinimumTime || startTime > mMaximumTime)
+        {
+            return;
+        }
+
+        try
+        {
+            queryRows(startTime, endTime, identifier, results);
+        }
+        catch(IOException ioe)
+        {
+            mLog.error("Unable to read decode event store segment [" + mPath + "]", ioe);
+        }
+    }
+
+    /**
+     * Finds the event records that overlap the time range, optionally constrained to a from/to identifier value.
+     * @throws IOException if the dictionary or details can't be read
+     */
+    private void queryRows(long startTime, long endTime, String identifier, List<DecodeEventRecord> results)
+            throws IOException
+    {
+        if(identifier != null)
+        {
+            RowList rows = mIdentifierIndex.get(getDictionary().getCode(identifier));
+
+            if(rows != null)
+            {
+                for(int x = 0; x < rows.size(); x++)
+                {
+                    int row = rows.get(x);
+
+                    if(overlaps(row, startTime, endTime))
+                    {
+                        results.add(read(row));
+                    }
+                }
+            }
+
+            return;
+        }
+
+        for(int block = 0; block < mBlockMinimumTimes.length; block++)
+        {
+            if(mBlockMinimumTimes[block] <= endTime && mBlockMaximumTimes[block] >= startTime)
+            {
+                int end = Math.min(mRowCount, (block + 1) * BLOCK_SIZE);
+
+                for(int row = block * BLOCK_SIZE; row < end; row++)
+                {
+                    if(overlaps(row, startTime, endTime))
+                    {
+                        results.add(read(row));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Indicates if the event in the row overlaps the time range
+     */
+    private boolean overlaps(int row, long startTime, long endTime)
+    {
+        long start = getTimeStart(row);
+        return start <= endTime && (start + getDuration(row)) >= startTime;
+    }
+
+    /**
+     * Event start time for the row
+     */
+    private long getTimeStart(int row)
+    {
+        return mBaseTime + mBuffer.getInt(offset(Column.TIME, row));
+    }
+
+    /**
+     * Event duration for the row
+     */
+    private long getDuration(int row)
+    {
+        return mBuffer.getInt(offset(Column.DURATION, row));
+    }
+
+    /**
+     * Reads the event record from the row
+     * @throws IOException if the dictionary or details can't be read
+     */
+    private DecodeEventRecord read(int row) throws IOException
+    {
+        SegmentDictionary dictionary = getDictionary();
+
+        return new DecodeEventRecord(getTimeStart(row), getDuration(row),
+                decodeEnum(dictionary, Protocol.class, mBuffer.getInt(offset(Column.PROTOCOL, row))),
+                decodeEnum(dictionary, DecodeEventType.class, mBuffer.getInt(offset(Column.EVENT_TYPE, row))),
+                dictionary.decode(mBuffer.getInt(offset(Column.FROM, row))),
+                dictionary.decode(mBuffer.getInt(offset(Column.TO, row))),
+                dictionary.decode(mBuffer.getInt(offset(Column.CHANNEL, row))),
+                mBuffer.getLong(offset(Column.FREQUENCY, row)),
+                mBuffer.get(offset(Column.TIMESLOT, row)),
+                readDetails(mBuffer.getLong(offset(Column.DETAILS, row))));
+    }
+
+    /**
+     * Decodes a dictionary encoded enumeration entry name.
+     * @return entry or null if the code is null or the entry no longer exists
+     */
+    private static <E extends Enum<E>> E decodeEnum(SegmentDictionary dictionary, Class<E> enumClass, int code)
+    {
+        String name = dictionary.decode(code);
+
+        if(name != null)
+        {
+            try
+            {
+                return Enum.valueOf(enumClass, name);
+            }
+            catch(IllegalArgumentException iae)
+            {
+                //Entry was renamed or removed in this version of the application
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Updates the time and identifier indexes for the row
+     */
+    private void index(int row)
+    {
+        long start = getTimeStart(row);
+        long end = start + getDuration(row);
+        int block = row / BLOCK_SIZE;
+        mBlockMinimumTimes[block] = Math.min(mBlockMinimumTimes[block], start);
+        mBlockMaximumTimes[block] = Math.max(mBlockMaximumTimes[block], end);
+        mMinimumTime = Math.min(mMinimumTime, start);
+        mMaximumTime = Math.max(mMaximumTime, end);
+
+        int from = mBuffer.getInt(offset(Column.FROM, row));
+        int to = mBuffer.getInt(offset(Column.TO, row));
+
+        if(from != SegmentDictionary.NULL_CODE)
+        {
+            mIdentifierIndex.computeIfAbsent(from, code -> new RowList()).add(row);
+        }
+
+        if(to != SegmentDictionary.NULL_CODE && to != from)
+        {
+            mIdentifierIndex.computeIfAbsent(to, code -> new RowList()).add(row);
+        }
+    }
+
+    /**
+     * Byte offset of the column value for the row
+     */
+    private int offset(Column column, int row)
+    {
+        return mColumnOffsets[column.ordinal()] + (row * column.mWidth);
+    }
+
+    /**
+     * Flushes pending changes to the storage device and closes the segment.
+     */
+    @Override
+    public void close() throws IOException
+    {
+        if(mBuffer != null && mWritable)
+        {
+            mBuffer.force();
+        }
+
+        mBuffer = null;
+        mIdentifierIndex.clear();
+
+        try
+        {
+            if(mDictionary != null)
+            {
+                mDictionary.close();
+            }
+        }
+        finally
+        {
+            if(mDetailsChannel != null)
+            {
+                mDetailsChannel.close();
+                mDetailsChannel = null;
+            }
+        }
+    }
+
+    /**
+     * Closes and deletes the segment, dictionary and details files.  Closing is repeatable, so a failed delete can be
+     * retried.
+     */
+    public void delete() throws IOException
+    {
+        close();
+        Files.deleteIfExists(mPath);
+        Files.deleteIfExists(getCompanionPath(mPath, DICTIONARY_EXTENSION));
+        Files.deleteIfExists(getCompanionPath(mPath, DETAILS_EXTENSION));
+    }
+
+    /**
+     * Growable list of row numbers in ascending order
+     */
+    private static class RowList
+    {
+        private int[] mRows = new int[4];
+        private int mSize;
+
+        private void add(int row)
+        {
+            if(mSize == mRows.length)
+            {
+                mRows = Arrays.copyOf(mRows, mRows.length * 2);
+            }
+
+            mRows[mSize++] = row;
+        }
+
+        private int get(int index)
+        {
+            return mRows[index];
+        }
+
+        private int size()
+        {
+            return mSize;
+        }
+    }
+}
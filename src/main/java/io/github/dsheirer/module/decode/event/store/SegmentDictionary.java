@@ -0,0 +1,190 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2023 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.module.decode.event.store;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Append-only string dictionary for dictionary encoding the string valued columns of an event store segment.  Each
+ * distinct string value is assigned the next integer code and persisted as a length-prefixed UTF-8 entry, so that a
+ * column only needs to store the integer code for each row.
+ *
+ * Null values are encoded as -1 and are not persisted.
+ */
+public class SegmentDictionary implements AutoCloseable
+{
+    public static final int NULL_CODE = -1;
+    private List<String> mValues = new ArrayList<>();
+    private Map<String,Integer> mCodes = new HashMap<>();
+    private FileChannel mFileChannel;
+
+    /**
+     * Opens or creates the dictionary file and loads any existing entries.  A partially written trailing entry from
+     * an unclean shutdown is discarded.
+     * @param path to the dictionary file
+     * @param writable to open the dictionary for appending new values
+     * @throws IOException if there is an error reading the file
+     */
+    public SegmentDictionary(Path path, boolean writable) throws IOException
+    {
+        if(writable)
+        {
+            mFileChannel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+        }
+        else
+        {
+            mFileChannel = FileChannel.open(path, StandardOpenOption.READ);
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate((int)mFileChannel.size());
+
+        while(buffer.hasRemaining() && mFileChannel.read(buffer) > 0)
+        {
+            //Read the entire file
+        }
+
+        buffer.flip();
+
+        int validLength = 0;
+
+        while(buffer.remaining() >= Integer.BYTES)
+        {
+            int length = buffer.getInt();
+
+            if(length < 0 || length > buffer.remaining())
+            {
+                break;
+            }
+
+            byte[] bytes = new byte[length];
+            buffer.get(bytes);
+            add(new String(bytes, StandardCharsets.UTF_8));
+            validLength = buffer.position();
+        }
+
+        if(writable)
+        {
+            mFileChannel.truncate(validLength);
+            mFileChannel.position(validLength);
+        }
+        else
+        {
+            mFileChannel.close();
+            mFileChannel = null;
+        }
+    }
+
+    /**
+     * Code for the value, or NULL_CODE when the value is null or is not contained in this dictionary.
+     */
+    public int getCode(String value)
+    {
+        if(value == null)
+        {
+            return NULL_CODE;
+        }
+
+        Integer code = mCodes.get(value);
+        return code != null ? code : NULL_CODE;
+    }
+
+    /**
+     * Code for the value, adding and persisting the value when it is not yet contained in this dictionary.
+     * @param value to encode
+     * @return code for the value
+     * @throws IOException if the new value can't be persisted
+     */
+    public int encode(String value) throws IOException
+    {
+        if(value == null)
+        {
+            return NULL_CODE;
+        }
+
+        Integer code = mCodes.get(value);
+
+        if(code == null)
+        {
+            if(mFileChannel == null)
+            {
+                throw new IOException("Dictionary is read-only");
+            }
+
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            ByteBuffer entry = ByteBuffer.allocate(Integer.BYTES + bytes.length);
+            entry.putInt(bytes.length).put(bytes).flip();
+
+            while(entry.hasRemaining())
+            {
+                mFileChannel.write(entry);
+            }
+
+            code = add(value);
+        }
+
+        return code;
+    }
+
+    /**
+     * Decodes the code to the string value
+     * @param code to decode
+     * @return value or null
+     */
+    public String decode(int code)
+    {
+        if(code < 0 || code >= mValues.size())
+        {
+            return null;
+        }
+
+        return mValues.get(code);
+    }
+
+    /**
+     * Adds the value to the in-memory lookup tables
+     */
+    private int add(String value)
+    {
+        int code = mValues.size();
+        mValues.add(value);
+        mCodes.put(value, code);
+        return code;
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        if(mFileChannel != null)
+        {
+            mFileChannel.close();
+            mFileChannel = null;
+        }
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2023 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.module.decode.p25;
+
+import io.github.dsheirer.module.decode.p25.phase2.enumeration.ScrambleParameters;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * System-level P25 channel grant registry that deduplicates channel grants across multiple control channels that are
+ * monitoring the same P25 system, for example several simulcast or neighboring sites that are each decoded on a
+ * separate channel or tuner.  Control channels are grouped by the WACN, System and NAC values that are broadcast in
+ * the network status broadcast message.
+ *
+ * Each traffic channel manager claims the downlink frequency for a channel grant before allocating a traffic channel.
+ * Only the first manager to claim the frequency allocates the traffic channel and the grant is ignored by all other
+ * managers for the same system until the owning manager releases the frequency when the traffic channel is torn down.
+ * Traffic channel sources don't specify a preferred tuner, so the tuner manager's placement policy selects the best
+ * placed tuner for the single allocation.
+ *
+ * Managers that have not yet registered a system identity are not deduplicated.
+ */
+public class P25SystemGrantRegistry
+{
+    private final static Logger mLog = LoggerFactory.getLogger(P25SystemGrantRegistry.class);
+    private static P25SystemGrantRegistry sInstance;
+
+    private Map<P25TrafficChannelManager,SystemKey> mSystemMap = new HashMap<>();
+    private Map<SystemKey,Map<Long,P25TrafficChannelManager>> mFrequencyOwnerMap = new HashMap<>();
+
+    /**
+     * Use the getInstance() method to access the shared registry.
+     */
+    private P25SystemGrantRegistry()
+    {
+    }
+
+    /**
+     * Shared grant registry instance.
+     */
+    public static synchronized P25SystemGrantRegistry getInstance()
+    {
+        if(sInstance == null)
+        {
+            sInstance = new P25SystemGrantRegistry();
+        }
+
+        return sInstance;
+    }
+
+    /**
+     * Registers the traffic channel manager as a member of the P25 system identified by the parameters.
+     * @param manager to register
+     * @param system containing the WACN, System and NAC values for the manager's control channel
+     * @param allocatedFrequencies that the manager currently has allocated to traffic channels
+     */
+    public synchronized void register(P25TrafficChannelManager manager, ScrambleParameters system,
+                                      Collection<Long> allocatedFrequencies)
+    {
+        SystemKey key = new SystemKey(system.getWACN(), system.getSystem(), system.getNAC());
+
+        if(!key.equals(mSystemMap.get(manager)))
+        {
+            unregister(manager);
+            mSystemMap.put(manager, key);
+            Map<Long,P25TrafficChannelManager> owners = mFrequencyOwnerMap.computeIfAbsent(key, k -> new HashMap<>());
+
+            for(Long frequency: allocatedFrequencies)
+            {
+                owners.putIfAbsent(frequency, manager);
+            }
+
+            mLog.info("Registered P25 control channel for system " + key + " - [" + getMemberCount(key) +
+                "] control channel(s) sharing traffic channels");
+        }
+    }
+
+    /**
+     * Unregisters the traffic channel manager and releases any frequencies that it owns.
+     * @param manager to unregister
+     */
+    public synchronized void unregister(P25TrafficChannelManager manager)
+    {
+        SystemKey key = mSystemMap.remove(manager);
+
+        if(key != null)
+        {
+            Map<Long,P25TrafficChannelManager> owners = mFrequencyOwnerMap.get(key);
+
+            if(owners != null)
+            {
+                owners.values().removeIf(owner -> owner == manager);
+
+                if(getMemberCount(key) == 0)
+                {
+                    mFrequencyOwnerMap.remove(key);
+                }
+            }
+        }
+    }
+
+    /**
+     * Claims the traffic channel frequency for the manager.
+     * @param manager requesting the claim
+     * @param frequency of the granted traffic channel
+     * @return true if the manager may process the grant, either because it is not registered with a system, it
+     * already owns the frequency, or no other manager for the same system owns the frequency.  False if another
+     * manager for the same system owns the frequency and the grant should be ignored as a duplicate.
+     */
+    public synchronized boolean claim(P25TrafficChannelManager manager, long frequency)
+    {
+        SystemKey key = mSystemMap.get(manager);
+
+        if(key == null)
+        {
+            return true;
+        }
+
+        P25TrafficChannelManager owner = mFrequencyOwnerMap.get(key).putIfAbsent(frequency, manager);
+
+        if(owner == null || owner == manager)
+        {
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Releases the manager's claim on the traffic channel frequency, if it owns the frequency.
+     * @param manager that owns the frequency
+     * @param frequency to release
+     */
+    public synchronized void release(P25TrafficChannelManager manager, long frequency)
+    {
+        SystemKey key = mSystemMap.get(manager);
+
+        if(key != null)
+        {
+            mFrequencyOwnerMap.get(key).remove(frequency, manager);
+        }
+    }
+
+    /**
+     * Number of managers registered for the system
+     */
+    private int getMemberCount(SystemKey key)
+    {
+        int count = 0;
+
+        for(SystemKey systemKey: mSystemMap.values())
+        {
+            if(systemKey.equals(key))
+            {
+                count++;
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * P25 system identity
+     */
+    private record SystemKey(int wacn, int system, int nac)
+    {
+        @Override
+        public String toString()
+        {
+            return "WACN:" + Integer.toHexString(wacn).toUpperCase() + " SYSTEM:" +
+                Integer.toHexString(system).toUpperCase() + " NAC:" + Integer.toHexString(nac).toUpperCase();
+        }
+    }
+}
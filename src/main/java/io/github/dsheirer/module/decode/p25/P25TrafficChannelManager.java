@@ -107,6 +107,7 @@ public class P25TrafficChannelManager extends TrafficChannelManager implements I
     private Listener<IMessage> mMessageListener;
 
     private boolean mIgnoreDataCalls;
+    private boolean mShareTrafficChannels;
 
     /**
      * Constructs an instance.
@@ -119,6 +120,7 @@ public class P25TrafficChannelManager extends TrafficChannelManager implements I
         if(parentChannel.getDecodeConfiguration() instanceof DecodeConfigP25Phase1)
         {
             mIgnoreDataCalls = ((DecodeConfigP25Phase1)parentChannel.getDecodeConfiguration()).getIgnoreDataCalls();
+            mShareTrafficChannels = ((DecodeConfigP25Phase1)parentChannel.getDecodeConfiguration()).isShareTrafficChannels();
         }
 
         createPhase1TrafficChannels();
@@ -218,6 +220,9 @@ public class P25TrafficChannelManager extends TrafficChannelManager implements I
      * Processes channel grants to allocate traffic channels and track overall channel usage.  Generates
      * decode events for each new channel that is allocated.
      *
+     * When traffic channel sharing is enabled, grants are ignored for traffic channels that another control channel
+     * for the same P25 system has already allocated (see P25SystemGrantRegistry).
+     *
      * @param apco25Channel for the traffic channel
      * @param serviceOptions for the traffic channel - optional can be null
      * @param identifierCollection associated with the channel grant
@@ -225,6 +230,39 @@ public class P25TrafficChannelManager extends TrafficChannelManager implements I
      */
     public void processChannelGrant(APCO25Channel apco25Channel, ServiceOptions serviceOptions,
                                     IdentifierCollection identifierCollection, Opcode opcode, long timestamp)
+    {
+        long frequency = apco25Channel.getDownlinkFrequency();
+
+        //Ignore grants for traffic channels that another control channel for the same system has already allocated
+        if(mShareTrafficChannels && !P25SystemGrantRegistry.getInstance().claim(this, frequency))
+        {
+            return;
+        }
+
+        try
+        {
+            dispatchChannelGrant(apco25Channel, serviceOptions, identifierCollection, opcode, timestamp);
+        }
+        finally
+        {
+            //Release the claim when a traffic channel was not allocated for the grant
+            if(mShareTrafficChannels && !mAllocatedTrafficChannelMap.containsKey(frequency))
+            {
+                P25SystemGrantRegistry.getInstance().release(this, frequency);
+            }
+        }
+    }
+
+    /**
+     * Dispatches the channel grant to the phase 1 or phase 2 channel grant processor.
+     *
+     * @param apco25Channel for the traffic channel
+     * @param serviceOptions for the traffic channel - optional can be null
+     * @param identifierCollection associated with the channel grant
+     * @param opcode to identify the call type for the event description
+     */
+    private void dispatchChannelGrant(APCO25Channel apco25Channel, ServiceOptions serviceOptions,
+                                      IdentifierCollection identifierCollection, Opcode opcode, long timestamp)
     {
         if(apco25Channel.isTDMAChannel())
         {
@@ -681,6 +719,11 @@ public class P25TrafficChannelManager extends TrafficChannelManager implements I
     @Override
     public void stop()
     {
+        if(mShareTrafficChannels)
+        {
+            P25SystemGrantRegistry.getInstance().unregister(this);
+        }
+
         mAvailablePhase1TrafficChannelQueue.clear();
         mAvailablePhase2TrafficChannelQueue.clear();
 
@@ -720,6 +763,13 @@ public class P25TrafficChannelManager extends TrafficChannelManager implements I
                     {
                         mPhase2ScrambleParameters = ((AMBTCNetworkStatusBroadcast)message).getScrambleParameters();
                     }
+
+                    //Join the system-level grant registry once we know the WACN, System and NAC for this control channel
+                    if(mShareTrafficChannels && mPhase2ScrambleParameters != null)
+                    {
+                        P25SystemGrantRegistry.getInstance().register(P25TrafficChannelManager.this,
+                            mPhase2ScrambleParameters, mAllocatedTrafficChannelMap.keySet());
+                    }
                 }
             };
         }
@@ -768,6 +818,11 @@ public class P25TrafficChannelManager extends TrafficChannelManager implements I
         {
             mAllocatedTrafficChannelMap.remove(frequency);
 
+            if(mShareTrafficChannels)
+            {
+                P25SystemGrantRegistry.getInstance().release(P25TrafficChannelManager.this, frequency);
+            }
+
             if(isPhase1)
             {
                 mAvailablePhase1TrafficChannelQueue.add(channel);
@@ -19,6 +19,7 @@
 package io.github.dsheirer.module.decode.p25.audio;
 
 import io.github.dsheirer.alias.AliasList;
+import io.github.dsheirer.audio.AudioSegment;
 import io.github.dsheirer.audio.codec.mbe.ImbeAudioModule;
 import io.github.dsheirer.audio.squelch.SquelchState;
 import io.github.dsheirer.audio.squelch.SquelchStateEvent;
@@ -124,12 +125,7 @@ public class P25P1AudioModule extends ImbeAudioModule
     {
         if(!mEncryptedCall)
         {
-            for(byte[] frame : ldu.getIMBEFrames())
-            {
-                float[] audio = getAudioCodec().getAudio(frame);
-                audio = mGain.apply(audio);
-                addAudio(audio);
-            }
+            processFrames(ldu.getIMBEFrames(), ldu.getTimestamp());
         }
         else
         {
@@ -137,6 +133,17 @@ public class P25P1AudioModule extends ImbeAudioModule
         }
     }
 
+    /**
+     * Decodes the IMBE audio frame and adds the PCM audio to the current audio segment.
+     */
+    @Override
+    protected void decodeFrame(AudioSegment audioSegment, byte[] frame, long timestamp)
+    {
+        float[] audio = getAudioCodec().getAudio(frame);
+        audio = mGain.apply(audio);
+        addAudio(audioSegment, audio);
+    }
+
     /**
      * Wrapper for squelch state to process end of call actions.  At call end the encrypted call state established
      * flag is reset so that the encrypted audio state for the next call can be properly detected and we send an
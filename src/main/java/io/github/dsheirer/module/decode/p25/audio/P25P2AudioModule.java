@@ -20,6 +20,7 @@
 package io.github.dsheirer.module.decode.p25.audio;
 
 import io.github.dsheirer.alias.AliasList;
+import io.github.dsheirer.audio.AudioSegment;
 import io.github.dsheirer.audio.codec.mbe.AmbeAudioModule;
 import io.github.dsheirer.audio.squelch.SquelchState;
 import io.github.dsheirer.audio.squelch.SquelchStateEvent;
@@ -35,6 +36,7 @@ import io.github.dsheirer.identifier.tone.ToneIdentifierMessage;
 import io.github.dsheirer.identifier.tone.ToneSequence;
 import io.github.dsheirer.message.IMessage;
 import io.github.dsheirer.message.IMessageProvider;
+import io.github.dsheirer.module.ITimeslotModule;
 import io.github.dsheirer.module.decode.p25.phase2.message.EncryptionSynchronizationSequence;
 import io.github.dsheirer.module.decode.p25.phase2.message.mac.structure.PushToTalk;
 import io.github.dsheirer.module.decode.p25.phase2.timeslot.AbstractVoiceTimeslot;
@@ -50,7 +52,8 @@ import jmbe.iface.IAudioWithMetadata;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-public class P25P2AudioModule extends AmbeAudioModule implements IdentifierUpdateProvider, IMessageProvider
+public class P25P2AudioModule extends AmbeAudioModule implements IdentifierUpdateProvider, IMessageProvider,
+    ITimeslotModule
 {
     private final static Logger mLog = LoggerFactory.getLogger(P25P2AudioModule.class);
 
@@ -67,6 +70,12 @@ public class P25P2AudioModule extends AmbeAudioModule implements IdentifierUpdat
         super(userPreferences, aliasList, timeslot);
     }
 
+    @Override
+    public int getTimeslot()
+    {
+        return super.getTimeslot();
+    }
+
     @Override
     public Listener<SquelchStateEvent> getSquelchStateListener()
     {
@@ -83,7 +92,7 @@ public class P25P2AudioModule extends AmbeAudioModule implements IdentifierUpdat
         //Explicitly clear FROM identifiers to ensure previous call TONE identifiers are cleared.
         mIdentifierCollection.remove(Role.FROM);
 
-        mToneMetadataProcessor.reset();
+        executeOnVocoder(mToneMetadataProcessor::reset);
         mQueuedAudioTimeslots.clear();
 
         //Reset encrypted call handling flags
@@ -168,29 +177,41 @@ public class P25P2AudioModule extends AmbeAudioModule implements IdentifierUpdat
     {
         if(hasAudioCodec())
         {
+            List<byte[]> frames = new ArrayList<>(voiceFrames.size());
+
             for(BinaryMessage voiceFrame: voiceFrames)
             {
-                byte[] voiceFrameBytes = voiceFrame.getBytes();
-
-                try
-                {
-                    IAudioWithMetadata audioWithMetadata = getAudioCodec().getAudioWithMetadata(voiceFrameBytes);
-                    addAudio(audioWithMetadata.getAudio());
-                    processMetadata(audioWithMetadata, timestamp);
-                }
-                catch(Exception e)
-                {
-                    mLog.error("Error synthesizing AMBE audio - continuing [" + e.getLocalizedMessage() + "]");
-                }
+                frames.add(voiceFrame.getBytes());
             }
+
+            processFrames(frames, timestamp);
+        }
+    }
+
+    /**
+     * Decodes the AMBE audio frame, adds the PCM audio to the current audio segment and processes any metadata.
+     */
+    @Override
+    protected void decodeFrame(AudioSegment audioSegment, byte[] frame, long timestamp)
+    {
+        try
+        {
+            IAudioWithMetadata audioWithMetadata = getAudioCodec().getAudioWithMetadata(frame);
+            addAudio(audioSegment, audioWithMetadata.getAudio());
+            processMetadata(audioSegment, audioWithMetadata, timestamp);
+        }
+        catch(Exception e)
+        {
+            mLog.error("Error synthesizing AMBE audio - continuing [" + e.getLocalizedMessage() + "]");
         }
     }
 
     /**
      * Processes optional metadata that can be included with decoded audio (ie dtmf, tones, knox, etc.) so that the
-     * tone metadata can be converted into a FROM identifier and included with any call segment.
+     * tone metadata can be converted into a FROM identifier and included with any call segment.  This is invoked on
+     * the vocoder executor, so tone identifiers are broadcast from the channel DSP thread.
      */
-    private void processMetadata(IAudioWithMetadata audioWithMetadata, long timestamp)
+    private void processMetadata(AudioSegment audioSegment, IAudioWithMetadata audioWithMetadata, long timestamp)
     {
         if(audioWithMetadata.hasMetadata())
         {
@@ -202,7 +223,8 @@ public class P25P2AudioModule extends AmbeAudioModule implements IdentifierUpdat
 
                 if(toneIdentifier != null)
                 {
-                    broadcast(toneIdentifier, timestamp);
+                    runOnDecoderThread(() -> broadcast(toneIdentifier, timestamp,
+                        isCurrentAudioSegment(audioSegment)));
                 }
             }
         }
@@ -215,10 +237,14 @@ public class P25P2AudioModule extends AmbeAudioModule implements IdentifierUpdat
     /**
      * Broadcasts the identifier to a registered listener and creates a new AMBE tone identifier message when tones are
      * present to send to the alias action manager
+     * @param identifier to broadcast
+     * @param timestamp of the audio that carried the tone
+     * @param updateIdentifiers true to send an identifier update, or false when the audio segment that carried the
+     * tone has already closed and the identifier should not carry over to the next call.
      */
-    private void broadcast(ToneIdentifier identifier, long timestamp)
+    private void broadcast(ToneIdentifier identifier, long timestamp, boolean updateIdentifiers)
     {
-        if(mIdentifierUpdateNotificationListener != null)
+        if(updateIdentifiers && mIdentifierUpdateNotificationListener != null)
         {
             mIdentifierUpdateNotificationListener.receive(new IdentifierUpdateNotification(identifier,
                 IdentifierUpdateNotification.Operation.ADD, getTimeslot()));
@@ -52,7 +52,7 @@ public class P25P2CallSequenceRecorder extends MBECallSequenceRecorder
 {
     private final static Logger mLog = LoggerFactory.getLogger(P25P2CallSequenceRecorder.class);
 
-    private static final String PROTOCOL = "APCO25-PHASE2";
+    public static final String PROTOCOL = "APCO25-PHASE2";
 
     private TimeslotCallSequenceProcessor mTimeslot0Processor = new TimeslotCallSequenceProcessor(0);
     private TimeslotCallSequenceProcessor mTimeslot1Processor = new TimeslotCallSequenceProcessor(1);
@@ -22,6 +22,7 @@
 
 package io.github.dsheirer.module.decode.p25.identifier.radio;
 
+import io.github.dsheirer.identifier.IdentifierCache;
 import io.github.dsheirer.identifier.Role;
 import io.github.dsheirer.identifier.radio.RadioIdentifier;
 import io.github.dsheirer.protocol.Protocol;
@@ -31,6 +32,9 @@ import io.github.dsheirer.protocol.Protocol;
  */
 public class APCO25RadioIdentifier extends RadioIdentifier
 {
+    private static final IdentifierCache<APCO25RadioIdentifier> CACHE =
+        new IdentifierCache<>(APCO25RadioIdentifier::new);
+
     public APCO25RadioIdentifier(Integer value, Role role)
     {
         super(value, role);
@@ -43,26 +47,26 @@ public class APCO25RadioIdentifier extends RadioIdentifier
     }
 
     /**
-     * Creates an APCO-25 TO radio identifier
+     * Creates (or reuses a shared instance of) an APCO-25 TO radio identifier
      */
     public static RadioIdentifier createTo(int radioId)
     {
-        return new APCO25RadioIdentifier(radioId, Role.TO);
+        return CACHE.get(radioId, Role.TO);
     }
 
     /**
-     * Creates an APCO-25 FROM radio identifier
+     * Creates (or reuses a shared instance of) an APCO-25 FROM radio identifier
      */
     public static RadioIdentifier createFrom(int radioId)
     {
-        return new APCO25RadioIdentifier(radioId, Role.FROM);
+        return CACHE.get(radioId, Role.FROM);
     }
 
     /**
-     * Creates an APCO-25 ANY radio identifier
+     * Creates (or reuses a shared instance of) an APCO-25 ANY radio identifier
      */
     public static RadioIdentifier createAny(int radioId)
     {
-        return new APCO25RadioIdentifier(radioId, Role.ANY);
+        return CACHE.get(radioId, Role.ANY);
     }
 }
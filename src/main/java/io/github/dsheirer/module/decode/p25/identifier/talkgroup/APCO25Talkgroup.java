@@ -22,12 +22,15 @@
 
 package io.github.dsheirer.module.decode.p25.identifier.talkgroup;
 
+import io.github.dsheirer.identifier.IdentifierCache;
 import io.github.dsheirer.identifier.Role;
 import io.github.dsheirer.identifier.talkgroup.TalkgroupIdentifier;
 import io.github.dsheirer.protocol.Protocol;
 
 public class APCO25Talkgroup extends TalkgroupIdentifier
 {
+    private static final IdentifierCache<APCO25Talkgroup> CACHE = new IdentifierCache<>(APCO25Talkgroup::new);
+
     public APCO25Talkgroup(Integer value)
     {
         super(value, Role.TO);
@@ -45,18 +48,18 @@ public class APCO25Talkgroup extends TalkgroupIdentifier
     }
 
     /**
-     * Creates an APCO-25 TO talkgroup identifier
+     * Creates (or reuses a shared instance of) an APCO-25 TO talkgroup identifier
      */
     public static TalkgroupIdentifier create(int talkgroup)
     {
-        return new APCO25Talkgroup(talkgroup);
+        return CACHE.get(talkgroup, Role.TO);
     }
 
     /**
-     * Creates an APCO-25 talkgroup identifier with ANY role
+     * Creates (or reuses a shared instance of) an APCO-25 talkgroup identifier with ANY role
      */
     public static TalkgroupIdentifier createAny(int talkgroup)
     {
-        return new APCO25Talkgroup(talkgroup, Role.ANY);
+        return CACHE.get(talkgroup, Role.ANY);
     }
 }
@@ -24,6 +24,7 @@ package io.github.dsheirer.module.decode.p25.phase1;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlProperty;
+import io.github.dsheirer.dsp.symbol.SoftDecisionMode;
 import io.github.dsheirer.module.decode.DecoderType;
 import io.github.dsheirer.module.decode.config.DecodeConfiguration;
 import io.github.dsheirer.source.tuner.channel.ChannelSpecification;
@@ -38,6 +39,8 @@ public class DecodeConfigP25Phase1 extends DecodeConfiguration
 
     private int mTrafficChannelPoolSize = TRAFFIC_CHANNEL_LIMIT_DEFAULT;
     private boolean mIgnoreDataCalls = false;
+    private SoftDecisionMode mSoftDecisionMode = SoftDecisionMode.HARD;
+    private boolean mShareTrafficChannels = false;
 
     public DecodeConfigP25Phase1()
     {
@@ -71,6 +74,36 @@ public class DecodeConfigP25Phase1 extends DecodeConfiguration
         mIgnoreDataCalls = ignore;
     }
 
+    /**
+     * Symbol decision mode for error correction.  Compare mode logs hard versus soft decision decode metrics when
+     * the decoder is stopped.
+     */
+    @JacksonXmlProperty(isAttribute = true, localName = "soft_decision")
+    public SoftDecisionMode getSoftDecisionMode()
+    {
+        return mSoftDecisionMode;
+    }
+
+    public void setSoftDecisionMode(SoftDecisionMode mode)
+    {
+        mSoftDecisionMode = mode != null ? mode : SoftDecisionMode.HARD;
+    }
+
+    /**
+     * Indicates if channel grants should be deduplicated with any other control channels that are monitoring the
+     * same P25 system (WACN/System/NAC), so that each granted traffic channel is only allocated once.
+     */
+    @JacksonXmlProperty(isAttribute = true, localName = "share_traffic_channels")
+    public boolean isShareTrafficChannels()
+    {
+        return mShareTrafficChannels;
+    }
+
+    public void setShareTrafficChannels(boolean share)
+    {
+        mShareTrafficChannels = share;
+    }
+
 
     @JacksonXmlProperty(isAttribute = true, localName = "traffic_channel_pool_size")
     public int getTrafficChannelPoolSize()
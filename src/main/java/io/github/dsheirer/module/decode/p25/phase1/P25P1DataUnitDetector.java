@@ -36,6 +36,8 @@ public class P25P1DataUnitDetector implements Listener<Dibit>, ISyncDetectListen
     private P25P1SyncDetector mSyncDetector;
     private NIDDelayBuffer mDataUnitBuffer = new NIDDelayBuffer();
     private DibitDelayBuffer mSyncDelayBuffer = new DibitDelayBuffer(DATA_UNIT_DIBIT_LENGTH - SYNC_DIBIT_LENGTH);
+    private float[] mSoftSyncDelayBuffer = new float[(DATA_UNIT_DIBIT_LENGTH - SYNC_DIBIT_LENGTH) * 2];
+    private int mSoftSyncDelayPointer;
     private IP25P1DataUnitDetectListener mDataUnitDetectListener;
     private boolean mInitialSyncTestProcessed = false;
     private int mDibitsProcessed = 0;
@@ -86,6 +88,20 @@ public class P25P1DataUnitDetector implements Listener<Dibit>, ISyncDetectListen
 
     @Override
     public void receive(Dibit dibit)
+    {
+        receive(dibit, false, 0.0f, 0.0f);
+    }
+
+    /**
+     * Processes a dibit with soft decision values.  The soft values are delayed in step with the sync delay buffer
+     * and used by the sync detector for soft sync pattern matching.
+     */
+    public void receive(Dibit dibit, float softBit1, float softBit2)
+    {
+        receive(dibit, true, softBit1, softBit2);
+    }
+
+    private void receive(Dibit dibit, boolean hasSoftBits, float softBit1, float softBit2)
     {
         mDibitsProcessed++;
 
@@ -101,7 +117,24 @@ public class P25P1DataUnitDetector implements Listener<Dibit>, ISyncDetectListen
         //Feed the sync detect with a 32 dibit delay from the data unit buffer so that if/when
         //a sync detect occurs, the data unit buffer is already filled with both the sync dibits
         //and the NID dibits and we can test for a valid NID
-        mSyncDetector.receive(mSyncDelayBuffer.getAndPut(dibit));
+        if(hasSoftBits)
+        {
+            float delayedSoftBit1 = mSoftSyncDelayBuffer[mSoftSyncDelayPointer];
+            float delayedSoftBit2 = mSoftSyncDelayBuffer[mSoftSyncDelayPointer + 1];
+            mSoftSyncDelayBuffer[mSoftSyncDelayPointer++] = softBit1;
+            mSoftSyncDelayBuffer[mSoftSyncDelayPointer++] = softBit2;
+
+            if(mSoftSyncDelayPointer >= mSoftSyncDelayBuffer.length)
+            {
+                mSoftSyncDelayPointer = 0;
+            }
+
+            mSyncDetector.receive(mSyncDelayBuffer.getAndPut(dibit), delayedSoftBit1, delayedSoftBit2);
+        }
+        else
+        {
+            mSyncDetector.receive(mSyncDelayBuffer.getAndPut(dibit));
+        }
 
         //If the sync detector doesn't fire and we've processed enough dibits for a sync/nid sequence
         //immediately following a valid message, then test for a NID anyway ... maybe the sync was corrupted
@@ -21,6 +21,7 @@ package io.github.dsheirer.module.decode.p25.phase1;
 import io.github.dsheirer.dsp.squelch.PowerMonitor;
 import io.github.dsheirer.dsp.symbol.Dibit;
 import io.github.dsheirer.dsp.symbol.DibitToByteBufferAssembler;
+import io.github.dsheirer.dsp.symbol.SoftDecisionMode;
 import io.github.dsheirer.module.decode.DecoderType;
 import io.github.dsheirer.module.decode.FeedbackDecoder;
 import io.github.dsheirer.sample.Broadcaster;
@@ -43,6 +44,7 @@ public abstract class P25P1Decoder extends FeedbackDecoder implements ISourceEve
     private Listener<SourceEvent> mSourceEventListener;
     private double mSymbolRate;
     protected PowerMonitor mPowerMonitor = new PowerMonitor();
+    private SoftDecisionMode mSoftDecisionMode = SoftDecisionMode.HARD;
 
     public P25P1Decoder(double symbolRate)
     {
@@ -101,6 +103,30 @@ public abstract class P25P1Decoder extends FeedbackDecoder implements ISourceEve
         return mByteBufferAssembler.hasBufferListeners();
     }
 
+    /**
+     * Soft decision mode for this decoder
+     */
+    protected SoftDecisionMode getSoftDecisionMode()
+    {
+        return mSoftDecisionMode;
+    }
+
+    /**
+     * Sets the soft decision mode for this decoder.
+     * @param mode to use for symbol decisions
+     */
+    public void setSoftDecisionMode(SoftDecisionMode mode)
+    {
+        mSoftDecisionMode = mode != null ? mode : SoftDecisionMode.HARD;
+        connectMessageFramer();
+    }
+
+    /**
+     * Connects the message framer to the hard or soft symbol output of the demodulator according to the current
+     * soft decision mode.  The dibit broadcaster continues to receive hard symbol decisions in all modes.
+     */
+    protected abstract void connectMessageFramer();
+
     protected double getSymbolRate()
     {
         return mSymbolRate;
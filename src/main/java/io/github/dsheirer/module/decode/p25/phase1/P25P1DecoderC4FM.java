@@ -21,7 +21,7 @@ package io.github.dsheirer.module.decode.p25.phase1;
 import io.github.dsheirer.dsp.filter.FilterFactory;
 import io.github.dsheirer.dsp.filter.design.FilterDesignException;
 import io.github.dsheirer.dsp.filter.fir.FIRFilterSpecification;
-import io.github.dsheirer.dsp.filter.fir.real.IRealFilter;
+import io.github.dsheirer.dsp.filter.fir.complex.IComplexDecimationFilter;
 import io.github.dsheirer.dsp.gain.complex.ComplexGainFactory;
 import io.github.dsheirer.dsp.gain.complex.IComplexGainControl;
 import io.github.dsheirer.dsp.psk.DQPSKDecisionDirectedDemodulator;
@@ -29,6 +29,7 @@ import io.github.dsheirer.dsp.psk.InterpolatingSampleBuffer;
 import io.github.dsheirer.dsp.psk.pll.CostasLoop;
 import io.github.dsheirer.dsp.psk.pll.FrequencyCorrectionSyncMonitor;
 import io.github.dsheirer.dsp.psk.pll.PLLBandwidth;
+import io.github.dsheirer.dsp.symbol.SoftDecisionMode;
 import io.github.dsheirer.module.decode.DecoderType;
 import io.github.dsheirer.sample.complex.ComplexSamples;
 import io.github.dsheirer.source.SourceEvent;
@@ -42,6 +43,9 @@ public class P25P1DecoderC4FM extends P25P1Decoder
     private final static Logger mLog = LoggerFactory.getLogger(P25P1DecoderC4FM.class);
 
     protected static final float SAMPLE_COUNTER_GAIN = 0.3f;
+    private static final double MINIMUM_SAMPLES_PER_SYMBOL = 4.0;
+    private static final String SCRATCH_I = "p25p1.c4fm.baseband.i";
+    private static final String SCRATCH_Q = "p25p1.c4fm.baseband.q";
     protected InterpolatingSampleBuffer mInterpolatingSampleBuffer;
     protected DQPSKDecisionDirectedDemodulator mQPSKDemodulator;
     protected CostasLoop mCostasLoop;
@@ -49,8 +53,7 @@ public class P25P1DecoderC4FM extends P25P1Decoder
     protected P25P1MessageFramer mMessageFramer;
     protected IComplexGainControl mAGC = ComplexGainFactory.getComplexGainControl();
     private Map<Double,float[]> mBasebandFilters = new HashMap<>();
-    protected IRealFilter mIBasebandFilter;
-    protected IRealFilter mQBasebandFilter;
+    protected IComplexDecimationFilter mBasebandFilter;
 
     /**
      * P25 Phase 1 - standard C4FM modulation decoder.  Uses Differential QPSK decoding with a Costas PLL and a
@@ -74,13 +77,19 @@ public class P25P1DecoderC4FM extends P25P1Decoder
     {
         super.stop();
         mQPSKDemodulator.stop();
+
+        if(getSoftDecisionMode() == SoftDecisionMode.COMPARE)
+        {
+            mMessageFramer.getSoftDecisionMetrics().log();
+        }
     }
 
     public void setSampleRate(double sampleRate)
     {
-        super.setSampleRate(sampleRate);
-        mIBasebandFilter = FilterFactory.getRealFilter(getBasebandFilter());
-        mQBasebandFilter = FilterFactory.getRealFilter(getBasebandFilter());
+        //Decimate the channel in the baseband filter when the sample rate is higher than the demodulator needs
+        int decimation = FilterFactory.getDecimation(sampleRate, getSymbolRate(), MINIMUM_SAMPLES_PER_SYMBOL);
+        mBasebandFilter = FilterFactory.getComplexDecimationFilter(getBasebandFilter(sampleRate), decimation);
+        super.setSampleRate(sampleRate / decimation);
 
         mCostasLoop = new CostasLoop(getSampleRate(), getSymbolRate());
         mCostasLoop.setPLLBandwidth(PLLBandwidth.BW_300);
@@ -99,10 +108,27 @@ public class P25P1DecoderC4FM extends P25P1Decoder
         mMessageFramer = new P25P1MessageFramer(mCostasLoop, DecoderType.P25_PHASE1.getProtocol().getBitRate());
         mMessageFramer.setSyncDetectListener(mFrequencyCorrectionSyncMonitor);
         mMessageFramer.setListener(getMessageProcessor());
-        mMessageFramer.setSampleRate(sampleRate);
+        mMessageFramer.setSampleRate(getSampleRate());
 
         mQPSKDemodulator.setSymbolListener(getDibitBroadcaster());
-        getDibitBroadcaster().addListener(mMessageFramer);
+        connectMessageFramer();
+    }
+
+    @Override
+    protected void connectMessageFramer()
+    {
+        getDibitBroadcaster().removeListener(mMessageFramer);
+        mMessageFramer.setSoftDecisionMode(getSoftDecisionMode());
+
+        if(getSoftDecisionMode().isSoft())
+        {
+            mQPSKDemodulator.setSoftSymbolListener(mMessageFramer);
+        }
+        else
+        {
+            mQPSKDemodulator.setSoftSymbolListener(null);
+            getDibitBroadcaster().addListener(mMessageFramer);
+        }
     }
 
     /**
@@ -114,28 +140,33 @@ public class P25P1DecoderC4FM extends P25P1Decoder
     {
         mMessageFramer.setCurrentTime(System.currentTimeMillis());
 
-        float[] i = mIBasebandFilter.filter(samples.i());
-        float[] q = mQBasebandFilter.filter(samples.q());
+        //Filter into the scratch buffers, leaving the broadcast sample buffer unmodified for other listeners
+        int length = mBasebandFilter.getOutputLength(samples.i().length);
+        ComplexSamples filtered = mBasebandFilter.filter(samples, getScratchBuffers().get(SCRATCH_I, length),
+                getScratchBuffers().get(SCRATCH_Q, length));
 
         //Process the buffer for power meter measurements (before gain is applied)
-        mPowerMonitor.process(i, q);
+        mPowerMonitor.process(filtered.i(), filtered.q());
 
-        ComplexSamples amplified = mAGC.process(i, q, samples.timestamp());
+        //Amplify in place - the demodulator consumes the amplified samples before the next buffer arrives
+        ComplexSamples amplified = mAGC.process(filtered.i(), filtered.q(), filtered.timestamp(), filtered.i(),
+                filtered.q());
         mQPSKDemodulator.receive(amplified);
     }
 
     /**
-     * Constructs a baseband filter for this decoder using the current sample rate
+     * Constructs a baseband filter for this decoder for the channel sample rate
+     * @param sampleRate of the channel, prior to any decimation
      */
-    private float[] getBasebandFilter()
+    private float[] getBasebandFilter(double sampleRate)
     {
         //Attempt to reuse a cached (ie already-designed) filter if available
-        float[] filter = mBasebandFilters.get(getSampleRate());
+        float[] filter = mBasebandFilters.get(sampleRate);
 
         if(filter == null)
         {
             FIRFilterSpecification specification = FIRFilterSpecification.lowPassBuilder()
-                .sampleRate((int)getSampleRate())
+                .sampleRate((int)sampleRate)
                 .passBandCutoff(5100)
                 .passBandAmplitude(1.0)
                 .passBandRipple(0.01)
@@ -150,16 +181,16 @@ public class P25P1DecoderC4FM extends P25P1Decoder
             }
             catch(FilterDesignException fde)
             {
-                mLog.error("Couldn't design low pass baseband filter for sample rate: " + getSampleRate());
+                mLog.error("Couldn't design low pass baseband filter for sample rate: " + sampleRate);
             }
 
             if(filter != null)
             {
-                mBasebandFilters.put(getSampleRate(), filter);
+                mBasebandFilters.put(sampleRate, filter);
             }
             else
             {
-                throw new IllegalStateException("Couldn't design a C4FM baseband filter for sample rate: " + getSampleRate());
+                throw new IllegalStateException("Couldn't design a C4FM baseband filter for sample rate: " + sampleRate);
             }
         }
 
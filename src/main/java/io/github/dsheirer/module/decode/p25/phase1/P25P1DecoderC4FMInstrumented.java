@@ -51,18 +51,17 @@ public class P25P1DecoderC4FMInstrumented extends P25P1DecoderC4FM
     {
         mMessageFramer.setCurrentTime(samples.timestamp());
 
-        float[] i = mIBasebandFilter.filter(samples.i());
-        float[] q = mQBasebandFilter.filter(samples.q());
+        ComplexSamples filtered = mBasebandFilter.filter(samples);
 
         if(mFilteredSymbolListener != null)
         {
-            mFilteredSymbolListener.receive(new ComplexSamples(i, q, samples.timestamp()));
+            mFilteredSymbolListener.receive(filtered);
         }
 
         //Process the buffer for power meter measurements (before gain is applied)
-        mPowerMonitor.process(i, q);
+        mPowerMonitor.process(filtered.i(), filtered.q());
 
-        ComplexSamples amplified = mAGC.process(i, q, samples.timestamp());
+        ComplexSamples amplified = mAGC.process(filtered.i(), filtered.q(), filtered.timestamp());
         mQPSKDemodulator.receive(amplified);
     }
 
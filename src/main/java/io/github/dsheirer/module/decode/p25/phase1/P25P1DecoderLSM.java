@@ -19,7 +19,7 @@
 package io.github.dsheirer.module.decode.p25.phase1;
 
 import io.github.dsheirer.dsp.filter.FilterFactory;
-import io.github.dsheirer.dsp.filter.fir.real.IRealFilter;
+import io.github.dsheirer.dsp.filter.fir.complex.IComplexDecimationFilter;
 import io.github.dsheirer.dsp.gain.complex.ComplexGainFactory;
 import io.github.dsheirer.dsp.gain.complex.IComplexGainControl;
 import io.github.dsheirer.dsp.psk.DQPSKGardnerDemodulator;
@@ -27,6 +27,7 @@ import io.github.dsheirer.dsp.psk.InterpolatingSampleBuffer;
 import io.github.dsheirer.dsp.psk.pll.CostasLoop;
 import io.github.dsheirer.dsp.psk.pll.FrequencyCorrectionSyncMonitor;
 import io.github.dsheirer.dsp.psk.pll.PLLBandwidth;
+import io.github.dsheirer.dsp.symbol.SoftDecisionMode;
 import io.github.dsheirer.dsp.window.WindowType;
 import io.github.dsheirer.module.decode.DecoderType;
 import io.github.dsheirer.sample.complex.ComplexSamples;
@@ -41,10 +42,12 @@ public class P25P1DecoderLSM extends P25P1Decoder
     private final static Logger mLog = LoggerFactory.getLogger(P25P1DecoderLSM.class);
 
     protected static final float SAMPLE_COUNTER_GAIN = 0.3f;
+    private static final double MINIMUM_SAMPLES_PER_SYMBOL = 4.0;
+    private static final String SCRATCH_I = "p25p1.lsm.baseband.i";
+    private static final String SCRATCH_Q = "p25p1.lsm.baseband.q";
 
     private Map<Double,float[]> mBasebandFilters = new HashMap<>();
-    protected IRealFilter mIBasebandFilter;
-    protected IRealFilter mQBasebandFilter;
+    protected IComplexDecimationFilter mBasebandFilter;
     protected IComplexGainControl mAGC = ComplexGainFactory.getComplexGainControl();
     protected DQPSKGardnerDemodulator mQPSKDemodulator;
     protected P25P1MessageFramer mMessageFramer;
@@ -74,6 +77,11 @@ public class P25P1DecoderLSM extends P25P1Decoder
     {
         super.stop();
         mQPSKDemodulator.stop();
+
+        if(getSoftDecisionMode() == SoftDecisionMode.COMPARE)
+        {
+            mMessageFramer.getSoftDecisionMetrics().log();
+        }
     }
 
     /**
@@ -83,10 +91,11 @@ public class P25P1DecoderLSM extends P25P1Decoder
      */
     public void setSampleRate(double sampleRate)
     {
-        super.setSampleRate(sampleRate);
+        //Decimate the channel in the baseband filter when the sample rate is higher than the demodulator needs
+        int decimation = FilterFactory.getDecimation(sampleRate, getSymbolRate(), MINIMUM_SAMPLES_PER_SYMBOL);
+        mBasebandFilter = FilterFactory.getComplexDecimationFilter(getBasebandFilter(sampleRate), decimation);
+        super.setSampleRate(sampleRate / decimation);
 
-        mIBasebandFilter = FilterFactory.getRealFilter(getBasebandFilter());
-        mQBasebandFilter = FilterFactory.getRealFilter(getBasebandFilter());
 
         mCostasLoop = new CostasLoop(getSampleRate(), getSymbolRate());
         mCostasLoop.setPLLBandwidth(PLLBandwidth.BW_200);
@@ -106,9 +115,26 @@ public class P25P1DecoderLSM extends P25P1Decoder
         mMessageFramer = new P25P1MessageFramer(mCostasLoop, DecoderType.P25_PHASE1.getProtocol().getBitRate());
         mMessageFramer.setSyncDetectListener(mFrequencyCorrectionSyncMonitor);
         mMessageFramer.setListener(getMessageProcessor());
-        mMessageFramer.setSampleRate(sampleRate);
+        mMessageFramer.setSampleRate(getSampleRate());
         mQPSKDemodulator.setSymbolListener(getDibitBroadcaster());
-        getDibitBroadcaster().addListener(mMessageFramer);
+        connectMessageFramer();
+    }
+
+    @Override
+    protected void connectMessageFramer()
+    {
+        getDibitBroadcaster().removeListener(mMessageFramer);
+        mMessageFramer.setSoftDecisionMode(getSoftDecisionMode());
+
+        if(getSoftDecisionMode().isSoft())
+        {
+            mQPSKDemodulator.setSoftSymbolListener(mMessageFramer);
+        }
+        else
+        {
+            mQPSKDemodulator.setSoftSymbolListener(null);
+            getDibitBroadcaster().addListener(mMessageFramer);
+        }
     }
 
     /**
@@ -119,14 +145,17 @@ public class P25P1DecoderLSM extends P25P1Decoder
     {
         mMessageFramer.setCurrentTime(samples.timestamp());
 
-        //The filter will decrement the user count when finished
-        float[] i = mIBasebandFilter.filter(samples.i());
-        float[] q = mQBasebandFilter.filter(samples.q());
+        //Filter into the scratch buffers, leaving the broadcast sample buffer unmodified for other listeners
+        int length = mBasebandFilter.getOutputLength(samples.i().length);
+        ComplexSamples filtered = mBasebandFilter.filter(samples, getScratchBuffers().get(SCRATCH_I, length),
+                getScratchBuffers().get(SCRATCH_Q, length));
 
         //Process the buffer for power measurements
-        mPowerMonitor.process(i, q);
+        mPowerMonitor.process(filtered.i(), filtered.q());
 
-        ComplexSamples amplified = mAGC.process(i, q, samples.timestamp());
+        //Amplify in place - the demodulator consumes the amplified samples before the next buffer arrives
+        ComplexSamples amplified = mAGC.process(filtered.i(), filtered.q(), filtered.timestamp(), filtered.i(),
+                filtered.q());
         mQPSKDemodulator.receive(amplified);
     }
 
@@ -166,19 +195,20 @@ public class P25P1DecoderLSM extends P25P1Decoder
     }
 
     /**
-     * Constructs a baseband filter for this decoder using the current sample rate
+     * Constructs a baseband filter for this decoder for the channel sample rate
+     * @param sampleRate of the channel, prior to any decimation
      */
-    private float[] getBasebandFilter()
+    private float[] getBasebandFilter(double sampleRate)
     {
         //Attempt to reuse a cached (ie already-designed) filter if available
-        float[] filter = mBasebandFilters.get(getSampleRate());
+        float[] filter = mBasebandFilters.get(sampleRate);
 
         if(filter == null)
         {
-            filter = FilterFactory.getLowPass(getSampleRate(), 7250, 8000, 60,
+            filter = FilterFactory.getLowPass(sampleRate, 7250, 8000, 60,
                 WindowType.HANN, true);
 
-            mBasebandFilters.put(getSampleRate(), filter);
+            mBasebandFilters.put(sampleRate, filter);
         }
 
         return filter;
@@ -52,19 +52,17 @@ public class P25P1DecoderLSMInstrumented extends P25P1DecoderLSM
     {
         mMessageFramer.setCurrentTime(samples.timestamp());
 
-        //The filter will decrement the user count when finished
-        float[] i = mIBasebandFilter.filter(samples.i());
-        float[] q = mQBasebandFilter.filter(samples.q());
+        ComplexSamples filtered = mBasebandFilter.filter(samples);
 
         if(mFilteredSymbolListener != null)
         {
-            mFilteredSymbolListener.receive(new ComplexSamples(i, q, samples.timestamp()));
+            mFilteredSymbolListener.receive(filtered);
         }
 
         //Process the buffer for power measurements
-        mPowerMonitor.process(i, q);
+        mPowerMonitor.process(filtered.i(), filtered.q());
 
-        ComplexSamples amplified = mAGC.process(i, q, samples.timestamp());
+        ComplexSamples amplified = mAGC.process(filtered.i(), filtered.q(), filtered.timestamp());
         mQPSKDemodulator.receive(amplified);
     }
 
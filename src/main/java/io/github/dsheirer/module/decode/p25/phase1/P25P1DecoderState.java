@@ -23,6 +23,7 @@ import io.github.dsheirer.channel.state.ChangeChannelTimeoutEvent;
 import io.github.dsheirer.channel.state.DecoderState;
 import io.github.dsheirer.channel.state.DecoderStateEvent;
 import io.github.dsheirer.channel.state.DecoderStateEvent.Event;
+import io.github.dsheirer.channel.state.OpcodeMetrics;
 import io.github.dsheirer.channel.state.State;
 import io.github.dsheirer.controller.channel.Channel;
 import io.github.dsheirer.controller.channel.Channel.ChannelType;
@@ -163,6 +164,8 @@ public class P25P1DecoderState extends DecoderState implements IChannelEventList
     private P25TrafficChannelManager mTrafficChannelManager;
     private Listener<ChannelEvent> mChannelEventListener;
     private DecodeEvent mCurrentCallEvent;
+    private final OpcodeMetrics<Opcode> mTSBKMetrics = new OpcodeMetrics<>("TSBK", Opcode.class);
+    private final OpcodeMetrics<Opcode> mAMBTCMetrics = new OpcodeMetrics<>("AMBTC", Opcode.class);
 
     /**
      * Constructs an APCO-25 decoder state with an optional traffic channel manager.
@@ -338,11 +341,43 @@ public class P25P1DecoderState extends DecoderState implements IChannelEventList
     }
 
     /**
-     * Alternate Multi-Block Trunking Control (AMBTC)
+     * Per-opcode message counts and handler times for TSBK messages processed by this decoder state.
+     */
+    public OpcodeMetrics<Opcode> getTSBKMetrics()
+    {
+        return mTSBKMetrics;
+    }
+
+    /**
+     * Per-opcode message counts and handler times for AMBTC messages processed by this decoder state.
+     */
+    public OpcodeMetrics<Opcode> getAMBTCMetrics()
+    {
+        return mAMBTCMetrics;
+    }
+
+    /**
+     * Alternate Multi-Block Trunking Control (AMBTC) and records the opcode metrics for the message.
      *
      * @param message
      */
     private void processAMBTC(P25Message message)
+    {
+        long start = System.nanoTime();
+        processAMBTCOpcode(message);
+
+        if(message instanceof AMBTCMessage ambtc && message.isValid())
+        {
+            mAMBTCMetrics.record(ambtc.getHeader().getOpcode(), System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Alternate Multi-Block Trunking Control (AMBTC)
+     *
+     * @param message
+     */
+    private void processAMBTCOpcode(P25Message message)
     {
         if(message instanceof AMBTCMessage && message.isValid())
         {
@@ -1074,11 +1109,27 @@ public class P25P1DecoderState extends DecoderState implements IChannelEventList
     }
 
     /**
-     * Trunking Signalling Block (TSBK)
+     * Trunking Signalling Block (TSBK) and records the opcode metrics for the message.
      *
      * @param message
      */
     private void processTSBK(P25Message message)
+    {
+        long start = System.nanoTime();
+        processTSBKOpcode(message);
+
+        if(message instanceof TSBKMessage tsbk && message.isValid())
+        {
+            mTSBKMetrics.record(tsbk.getOpcode(), System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Trunking Signalling Block (TSBK)
+     *
+     * @param message
+     */
+    private void processTSBKOpcode(P25Message message)
     {
         broadcast(new DecoderStateEvent(this, Event.DECODE, State.CONTROL));
 
@@ -1928,7 +1979,20 @@ public class P25P1DecoderState extends DecoderState implements IChannelEventList
     @Override
     public String getActivitySummary()
     {
-        return mNetworkConfigurationMonitor.getActivitySummary();
+        StringBuilder sb = new StringBuilder();
+        sb.append(mNetworkConfigurationMonitor.getActivitySummary());
+
+        if(mTSBKMetrics.getTotalCount() > 0)
+        {
+            sb.append("\n").append(mTSBKMetrics.getSummary());
+        }
+
+        if(mAMBTCMetrics.getTotalCount() > 0)
+        {
+            sb.append("\n").append(mAMBTCMetrics.getSummary());
+        }
+
+        return sb.toString();
     }
 
     @Override
@@ -0,0 +1,89 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2023 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.module.decode.p25.phase1;
+
+import io.github.dsheirer.dsp.psk.DQPSKHuntSyncDetector;
+import io.github.dsheirer.dsp.psk.pll.CostasLoop;
+import io.github.dsheirer.dsp.symbol.Dibit;
+import io.github.dsheirer.dsp.symbol.ISyncDetectListener;
+
+/**
+ * P25 Phase 1 C4FM control channel hunt sync detector.  Detects the P25 Phase 1 frame sync pattern and then inspects
+ * the data unit ID (DUID) in the network identifier (NID) that follows the sync pattern.  Only trunking signaling
+ * (TSDU) and packet data (PDU) data units are counted as control channel sync detections, so that a hunt doesn't lock
+ * onto an active traffic channel.
+ *
+ * Note: the DUID is not error corrected.  The NID BCH code is not checked since the hunt only needs a confirmation
+ * that the candidate is carrying control channel traffic and any misclassification is corrected by the full decoder
+ * and the channel rotation monitor.
+ */
+public class P25P1HuntSyncDetector extends DQPSKHuntSyncDetector implements ISyncDetectListener
+{
+    /* NAC (12 bits) and DUID (4 bits) dibit count that follows the sync pattern */
+    private static final int NID_DIBIT_COUNT = 8;
+    private P25P1SyncDetector mSyncDetector;
+    private int mNIDDibitCount = -1;
+    private int mNID;
+
+    @Override
+    protected void sampleRateChanged(CostasLoop costasLoop, double sampleRate)
+    {
+        mSyncDetector = new P25P1SyncDetector(this, costasLoop);
+        mSyncDetector.setSampleRate(sampleRate);
+        mNIDDibitCount = -1;
+    }
+
+    @Override
+    protected void process(Dibit dibit)
+    {
+        if(mNIDDibitCount >= 0)
+        {
+            mNID = (mNID << 2) + dibit.getValue();
+            mNIDDibitCount++;
+
+            if(mNIDDibitCount == NID_DIBIT_COUNT)
+            {
+                mNIDDibitCount = -1;
+                int duid = mNID & 0xF;
+
+                if(duid == P25P1DataUnitID.TRUNKING_SIGNALING_BLOCK_1.getValue() ||
+                   duid == P25P1DataUnitID.PACKET_HEADER_DATA_UNIT.getValue())
+                {
+                    controlSyncDetected();
+                }
+            }
+        }
+
+        mSyncDetector.receive(dibit);
+    }
+
+    @Override
+    public void syncDetected(int bitErrors)
+    {
+        mNID = 0;
+        mNIDDibitCount = 0;
+    }
+
+    @Override
+    public void syncLost(int bitsProcessed)
+    {
+        //no-op
+    }
+}
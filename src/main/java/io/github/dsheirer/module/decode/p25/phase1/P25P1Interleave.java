@@ -119,7 +119,8 @@ public class P25P1Interleave
     }
 
     /**
-     * Deinterleaves the message bits between start and end and returns them in a new message
+     * Deinterleaves the message bits between start and end and returns them in a new message.  Soft decision values
+     * are deinterleaved along with the bits when the original message carries soft decision values.
      * @param pattern to use for deinterleaving
      * @param interleaved bitset from the original message
      * @return binary message with length equal to the pattern size
@@ -137,6 +138,19 @@ public class P25P1Interleave
             deinterleaved.set(pattern[i]);
         }
 
+        if(interleaved instanceof CorrectedBinaryMessage && ((CorrectedBinaryMessage)interleaved).hasSoftBits())
+        {
+            float[] softBits = ((CorrectedBinaryMessage)interleaved).getSoftBits();
+            float[] deinterleavedSoftBits = new float[pattern.length];
+
+            for(int i = 0; i < pattern.length && i < softBits.length; i++)
+            {
+                deinterleavedSoftBits[pattern[i]] = softBits[i];
+            }
+
+            deinterleaved.setSoftBits(deinterleavedSoftBits);
+        }
+
         return deinterleaved;
     }
 
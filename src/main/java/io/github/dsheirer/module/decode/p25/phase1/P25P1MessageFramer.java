@@ -28,7 +28,10 @@ import io.github.dsheirer.bits.CorrectedBinaryMessage;
 import io.github.dsheirer.controller.channel.Channel;
 import io.github.dsheirer.dsp.psk.pll.IPhaseLockedLoop;
 import io.github.dsheirer.dsp.symbol.Dibit;
+import io.github.dsheirer.dsp.symbol.ISoftDibitListener;
 import io.github.dsheirer.dsp.symbol.ISyncDetectListener;
+import io.github.dsheirer.dsp.symbol.SoftDecisionMetrics;
+import io.github.dsheirer.dsp.symbol.SoftDecisionMode;
 import io.github.dsheirer.message.IMessage;
 import io.github.dsheirer.message.Message;
 import io.github.dsheirer.message.MessageProviderModule;
@@ -42,9 +45,13 @@ import io.github.dsheirer.module.decode.ip.udp.UDPPacket;
 import io.github.dsheirer.module.decode.p25.audio.P25P1AudioModule;
 import io.github.dsheirer.module.decode.p25.phase1.message.P25Message;
 import io.github.dsheirer.module.decode.p25.phase1.message.P25MessageFactory;
+import io.github.dsheirer.module.decode.p25.phase1.message.hdu.HDUMessage;
+import io.github.dsheirer.module.decode.p25.phase1.message.ldu.LDU1Message;
+import io.github.dsheirer.module.decode.p25.phase1.message.ldu.LDU2Message;
 import io.github.dsheirer.module.decode.p25.phase1.message.pdu.PDUMessageFactory;
 import io.github.dsheirer.module.decode.p25.phase1.message.pdu.PDUSequence;
 import io.github.dsheirer.module.decode.p25.phase1.message.pdu.packet.PacketMessage;
+import io.github.dsheirer.module.decode.p25.phase1.message.tdu.TDULinkControlMessage;
 import io.github.dsheirer.module.decode.p25.phase1.message.tsbk.TSBKMessage;
 import io.github.dsheirer.module.decode.p25.phase1.message.tsbk.TSBKMessageFactory;
 import io.github.dsheirer.preference.UserPreferences;
@@ -66,8 +73,11 @@ import org.slf4j.LoggerFactory;
 /**
  * P25 Sync Detector and Message Framer.  Includes capability to detect PLL out-of-phase lock errors
  * and issue phase corrections.
+ *
+ * When a soft decision mode is configured, soft decision values received with each dibit are captured alongside
+ * the message bits for TSBK, HDU, LDU and TDU messages so that the trellis, Golay and Hamming decoders can use them.
  */
-public class P25P1MessageFramer implements Listener<Dibit>, IP25P1DataUnitDetectListener
+public class P25P1MessageFramer implements Listener<Dibit>, ISoftDibitListener, IP25P1DataUnitDetectListener
 {
     private final static Logger mLog = LoggerFactory.getLogger(P25P1MessageFramer.class);
 
@@ -85,6 +95,13 @@ public class P25P1MessageFramer implements Listener<Dibit>, IP25P1DataUnitDetect
     private double mBitRate;
     private long mCurrentTime = System.currentTimeMillis();
     private ISyncDetectListener mSyncDetectListener;
+    private SoftDecisionMode mSoftDecisionMode = SoftDecisionMode.HARD;
+    private SoftDecisionMetrics mSoftDecisionMetrics = new SoftDecisionMetrics("P25 Phase 1");
+    private float[] mSoftBits;
+    private int mSoftBitPointer;
+    private boolean mHasSoftSymbol;
+    private float mSoftBit1;
+    private float mSoftBit2;
 
     public P25P1MessageFramer(IPhaseLockedLoop phaseLockedLoop, int bitRate)
     {
@@ -163,6 +180,41 @@ public class P25P1MessageFramer implements Listener<Dibit>, IP25P1DataUnitDetect
         return mDataUnitDetector;
     }
 
+    /**
+     * Sets the soft decision mode.  When the mode is soft or compare, soft decision values are captured with each
+     * message when provided via the soft dibit receive method.
+     * @param mode to use
+     */
+    public void setSoftDecisionMode(SoftDecisionMode mode)
+    {
+        mSoftDecisionMode = mode;
+    }
+
+    /**
+     * Metrics comparing hard versus soft decision decoding, updated when the mode is compare.
+     */
+    public SoftDecisionMetrics getSoftDecisionMetrics()
+    {
+        return mSoftDecisionMetrics;
+    }
+
+    /**
+     * Primary method for streaming decoded symbol dibits with soft decision values for message framing.
+     *
+     * @param dibit to process
+     * @param softBit1 soft decision value for bit 1
+     * @param softBit2 soft decision value for bit 2
+     */
+    @Override
+    public void receive(Dibit dibit, float softBit1, float softBit2)
+    {
+        mSoftBit1 = softBit1;
+        mSoftBit2 = softBit2;
+        mHasSoftSymbol = true;
+        receive(dibit);
+        mHasSoftSymbol = false;
+    }
+
     /**
      * Primary method for streaming decoded symbol dibits for message framing.
      *
@@ -192,6 +244,12 @@ public class P25P1MessageFramer implements Listener<Dibit>, IP25P1DataUnitDetect
             {
                 mBinaryMessage.add(dibit.getBit1());
                 mBinaryMessage.add(dibit.getBit2());
+
+                if(mSoftBits != null)
+                {
+                    mSoftBits[mSoftBitPointer++] = mHasSoftSymbol ? mSoftBit1 : (dibit.getBit1() ? 1.0f : -1.0f);
+                    mSoftBits[mSoftBitPointer++] = mHasSoftSymbol ? mSoftBit2 : (dibit.getBit2() ? 1.0f : -1.0f);
+                }
                 
                 if(mBinaryMessage.isFull())
                 {
@@ -222,10 +280,130 @@ public class P25P1MessageFramer implements Listener<Dibit>, IP25P1DataUnitDetect
                 return;
             }
 
-            mDataUnitDetector.receive(dibit);
+            if(mHasSoftSymbol)
+            {
+                mDataUnitDetector.receive(dibit, mSoftBit1, mSoftBit2);
+            }
+            else
+            {
+                mDataUnitDetector.receive(dibit);
+            }
         }
     }
 
+    /**
+     * Creates a new binary message to assemble and, when using soft decisions, a soft decision value array for the
+     * message.  Soft decision values are only captured for message types that use soft decision error correction.
+     * @param dataUnitID for the message
+     * @param length of the message
+     */
+    private void createBinaryMessage(P25P1DataUnitID dataUnitID, int length)
+    {
+        mBinaryMessage = new CorrectedBinaryMessage(length);
+
+        if(mSoftDecisionMode.isSoft() && dataUnitID != P25P1DataUnitID.PACKET_HEADER_DATA_UNIT &&
+            dataUnitID != P25P1DataUnitID.PACKET_DATA_UNIT)
+        {
+            mSoftBits = new float[length];
+        }
+        else
+        {
+            mSoftBits = null;
+        }
+
+        mSoftBitPointer = 0;
+    }
+
+    /**
+     * Creates a TSBK message from the assembled binary message.  In compare mode, the message is decoded from both
+     * the hard and the soft decisions and the outcome is recorded in the soft decision metrics.
+     */
+    private TSBKMessage createTSBKMessage()
+    {
+        if(mSoftBits == null)
+        {
+            return TSBKMessageFactory.create(mChannelStatusProcessor.getDirection(), mDataUnitID, mBinaryMessage, mNAC,
+                getTimestamp());
+        }
+
+        TSBKMessage hardMessage = null;
+
+        if(mSoftDecisionMode == SoftDecisionMode.COMPARE)
+        {
+            hardMessage = TSBKMessageFactory.create(mChannelStatusProcessor.getDirection(), mDataUnitID,
+                mBinaryMessage, mNAC, getTimestamp());
+        }
+
+        mBinaryMessage.setSoftBits(mSoftBits);
+        TSBKMessage softMessage = TSBKMessageFactory.create(mChannelStatusProcessor.getDirection(), mDataUnitID,
+            mBinaryMessage, mNAC, getTimestamp());
+
+        if(mSoftDecisionMode == SoftDecisionMode.COMPARE)
+        {
+            mSoftDecisionMetrics.update(hardMessage != null && hardMessage.isValid(),
+                softMessage != null && softMessage.isValid());
+        }
+
+        return softMessage;
+    }
+
+    /**
+     * Creates a HDU, LDU, TDU or other message from the assembled binary message.  In compare mode, the message is
+     * decoded from both the hard and the soft decisions and the outcome is recorded in the soft decision metrics.
+     */
+    private P25Message createMessage()
+    {
+        if(mSoftBits == null)
+        {
+            return P25MessageFactory.create(mDataUnitID, mNAC, getTimestamp(), mBinaryMessage);
+        }
+
+        P25Message hardMessage = null;
+
+        if(mSoftDecisionMode == SoftDecisionMode.COMPARE)
+        {
+            //Error correction is applied in-place, so the hard decision message is decoded from a copy
+            CorrectedBinaryMessage copy = new CorrectedBinaryMessage(mBinaryMessage);
+            copy.setCorrectedBitCount(mBinaryMessage.getCorrectedBitCount());
+            hardMessage = P25MessageFactory.create(mDataUnitID, mNAC, getTimestamp(), copy);
+        }
+
+        mBinaryMessage.setSoftBits(mSoftBits);
+        P25Message softMessage = P25MessageFactory.create(mDataUnitID, mNAC, getTimestamp(), mBinaryMessage);
+
+        if(mSoftDecisionMode == SoftDecisionMode.COMPARE)
+        {
+            mSoftDecisionMetrics.update(isErrorCorrected(hardMessage), isErrorCorrected(softMessage));
+        }
+
+        return softMessage;
+    }
+
+    /**
+     * Indicates if the error corrected content of the message is valid.
+     */
+    private static boolean isErrorCorrected(P25Message message)
+    {
+        if(message instanceof HDUMessage)
+        {
+            return ((HDUMessage)message).getHeaderData().isValid();
+        }
+        else if(message instanceof LDU1Message)
+        {
+            return ((LDU1Message)message).getLinkControlWord().isValid();
+        }
+        else if(message instanceof LDU2Message)
+        {
+            return ((LDU2Message)message).getEncryptionSyncParameters().isValid();
+        }
+        else if(message instanceof TDULinkControlMessage)
+        {
+            return ((TDULinkControlMessage)message).getLinkControlWord().isValid();
+        }
+
+        return message != null && message.isValid();
+    }
+
     private void dispatchMessage()
     {
         if(mMessageListener != null)
@@ -242,7 +420,7 @@ public class P25P1MessageFramer implements Listener<Dibit>, IP25P1DataUnitDetect
                         {
                             //Setup to catch the sequence of data blocks that follow the header
                             mDataUnitID = P25P1DataUnitID.PACKET_DATA_UNIT;
-                            mBinaryMessage = new CorrectedBinaryMessage(P25P1DataUnitID.PACKET_DATA_UNIT.getMessageLength());
+                            createBinaryMessage(mDataUnitID, P25P1DataUnitID.PACKET_DATA_UNIT.getMessageLength());
                             mAssemblingMessage = true;
                         }
                         else
@@ -306,7 +484,7 @@ public class P25P1MessageFramer implements Listener<Dibit>, IP25P1DataUnitDetect
                         {
                             //Setup to catch the next data block
                             mDataUnitID = P25P1DataUnitID.PACKET_DATA_UNIT;
-                            mBinaryMessage = new CorrectedBinaryMessage(P25P1DataUnitID.PACKET_DATA_UNIT.getMessageLength());
+                            createBinaryMessage(mDataUnitID, P25P1DataUnitID.PACKET_DATA_UNIT.getMessageLength());
                             mAssemblingMessage = true;
                         }
                     }
@@ -319,8 +497,7 @@ public class P25P1MessageFramer implements Listener<Dibit>, IP25P1DataUnitDetect
                 case TRUNKING_SIGNALING_BLOCK_1:
                 case TRUNKING_SIGNALING_BLOCK_2:
                 case TRUNKING_SIGNALING_BLOCK_3:
-                    TSBKMessage tsbkMessage = TSBKMessageFactory.create(mChannelStatusProcessor.getDirection(),
-                        mDataUnitID, mBinaryMessage, mNAC, getTimestamp());
+                    TSBKMessage tsbkMessage = createTSBKMessage();
 
                     int messageLength = mDataUnitID.getMessageLength();
 
@@ -334,7 +511,7 @@ public class P25P1MessageFramer implements Listener<Dibit>, IP25P1DataUnitDetect
                     else
                     {
                         updateBitsProcessed(messageLength);
-                        mBinaryMessage = new CorrectedBinaryMessage(messageLength);
+                        createBinaryMessage(mDataUnitID, messageLength);
                         if(mDataUnitID == P25P1DataUnitID.TRUNKING_SIGNALING_BLOCK_1)
                         {
                             mDataUnitID = P25P1DataUnitID.TRUNKING_SIGNALING_BLOCK_2;
@@ -346,7 +523,7 @@ public class P25P1MessageFramer implements Listener<Dibit>, IP25P1DataUnitDetect
                     }
                     break;
                 default:
-                    P25Message message = P25MessageFactory.create(mDataUnitID, mNAC, getTimestamp(), mBinaryMessage);
+                    P25Message message = createMessage();
                     mMessageListener.receive(message);
                     reset(mDataUnitID.getMessageLength());
                     break;
@@ -363,6 +540,7 @@ public class P25P1MessageFramer implements Listener<Dibit>, IP25P1DataUnitDetect
         updateBitsProcessed(bitsProcessed);
         mPDUSequence = null;
         mBinaryMessage = null;
+        mSoftBits = null;
         mAssemblingMessage = false;
         mDataUnitID = null;
         mNAC = 0;
@@ -408,7 +586,7 @@ public class P25P1MessageFramer implements Listener<Dibit>, IP25P1DataUnitDetect
         mDataUnitID = dataUnitID;
         mNAC = nac;
         mCorrectedNID = correctedNid;
-        mBinaryMessage = new CorrectedBinaryMessage(dataUnitID.getMessageLength());
+        createBinaryMessage(dataUnitID, dataUnitID.getMessageLength());
         mBinaryMessage.incrementCorrectedBitCount(bitErrors);
 
         mAssemblingMessage = true;
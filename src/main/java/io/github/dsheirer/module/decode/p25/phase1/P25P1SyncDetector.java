@@ -36,6 +36,9 @@ public class P25P1SyncDetector implements Listener<Dibit>
     /* Determines the threshold for sync pattern soft matching */
     private static final int SYNC_MATCH_THRESHOLD = 4;
 
+    /* Soft decision magnitude below which a bit is treated as a low confidence bit for sync pattern matching */
+    private static final float LOW_CONFIDENCE_THRESHOLD = 0.25f;
+
     /* Costas Loop phase lock error correction values.  A phase lock error of
      * 90 degrees requires a correction of 1/4 of the symbol rate (1200Hz).  An
      * error of 180 degrees requires a correction of 1/2 of the symbol rate */
@@ -95,6 +98,16 @@ public class P25P1SyncDetector implements Listener<Dibit>
         mMatcher.receive(dibit.getBit1(), dibit.getBit2());
     }
 
+    /**
+     * Processes a dibit with soft decision values, where bit errors in low confidence bit positions are weighted
+     * less than bit errors in high confidence bit positions when matching the sync pattern.
+     */
+    public void receive(Dibit dibit, float softBit1, float softBit2)
+    {
+        mMatcher.receive(dibit.getBit1(), dibit.getBit2(), Math.abs(softBit1) < LOW_CONFIDENCE_THRESHOLD,
+            Math.abs(softBit2) < LOW_CONFIDENCE_THRESHOLD);
+    }
+
     /**
      * Updates the incoming sample stream sample rate to allow the PLL phase inversion detectors to
      * recalculate their internal phase correction values.
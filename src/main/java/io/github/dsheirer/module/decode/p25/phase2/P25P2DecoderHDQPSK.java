@@ -49,6 +49,8 @@ public class P25P2DecoderHDQPSK extends P25P2Decoder implements IdentifierUpdate
 {
     private final static Logger mLog = LoggerFactory.getLogger(P25P2DecoderHDQPSK.class);
     protected static final float SYMBOL_TIMING_GAIN = 0.1f;
+    private static final String SCRATCH_I = "p25p2.baseband.i";
+    private static final String SCRATCH_Q = "p25p2.baseband.q";
     protected InterpolatingSampleBuffer mInterpolatingSampleBuffer;
     protected DQPSKGardnerDemodulator mQPSKDemodulator;
     protected CostasLoop mCostasLoop;
@@ -132,13 +134,15 @@ public class P25P2DecoderHDQPSK extends P25P2Decoder implements IdentifierUpdate
     {
         mMessageFramer.setCurrentTime(System.currentTimeMillis());
 
-        float[] i = mIBasebandFilter.filter(samples.i());
-        float[] q = mQBasebandFilter.filter(samples.q());
+        //Filter into the scratch buffers, leaving the broadcast sample buffer unmodified for other listeners
+        float[] i = mIBasebandFilter.filter(samples.i(), getScratchBuffers().get(SCRATCH_I, samples.i().length));
+        float[] q = mQBasebandFilter.filter(samples.q(), getScratchBuffers().get(SCRATCH_Q, samples.q().length));
 
         //Process the buffer for power measurements
         mPowerMonitor.process(i, q);
 
-        ComplexSamples amplified = mAGC.process(i, q, samples.timestamp());
+        //Amplify in place - the demodulator consumes the amplified samples before the next buffer arrives
+        ComplexSamples amplified = mAGC.process(i, q, samples.timestamp(), i, q);
         mQPSKDemodulator.receive(amplified);
     }
 
@@ -23,6 +23,8 @@ import io.github.dsheirer.channel.IChannelDescriptor;
 import io.github.dsheirer.channel.state.ChangeChannelTimeoutEvent;
 import io.github.dsheirer.channel.state.DecoderStateEvent;
 import io.github.dsheirer.channel.state.DecoderStateEvent.Event;
+import io.github.dsheirer.channel.state.MessageDispatchTable;
+import io.github.dsheirer.channel.state.OpcodeMetrics;
 import io.github.dsheirer.channel.state.State;
 import io.github.dsheirer.channel.state.TimeslotDecoderState;
 import io.github.dsheirer.controller.channel.Channel;
@@ -47,6 +49,7 @@ import io.github.dsheirer.module.decode.p25.identifier.radio.APCO25RadioIdentifi
 import io.github.dsheirer.module.decode.p25.identifier.talkgroup.APCO25Talkgroup;
 import io.github.dsheirer.module.decode.p25.phase2.message.EncryptionSynchronizationSequence;
 import io.github.dsheirer.module.decode.p25.phase2.message.mac.MacMessage;
+import io.github.dsheirer.module.decode.p25.phase2.message.mac.MacOpcode;
 import io.github.dsheirer.module.decode.p25.phase2.message.mac.MacPduType;
 import io.github.dsheirer.module.decode.p25.phase2.message.mac.MacStructure;
 import io.github.dsheirer.module.decode.p25.phase2.message.mac.structure.AcknowledgeResponse;
@@ -106,6 +109,8 @@ public class P25P2DecoderState extends TimeslotDecoderState implements Identifie
     private P25P2NetworkConfigurationMonitor mNetworkConfigurationMonitor = new P25P2NetworkConfigurationMonitor();
     private DecodeEvent mCurrentCallEvent;
     private int mEndPttOnFacchCounter = 0;
+    private final MessageDispatchTable<IMessage> mMessageDispatchTable = new MessageDispatchTable<>();
+    private final OpcodeMetrics<MacOpcode> mMacMetrics = new OpcodeMetrics<>("MAC", MacOpcode.class);
 
     /**
      * Constructs an APCO-25 decoder state for a traffic channel.
@@ -115,6 +120,24 @@ public class P25P2DecoderState extends TimeslotDecoderState implements Identifie
     {
         super(timeslot);
         mChannelType = channel.getChannelType();
+
+        //Message routes for valid messages received on this decoder state's timeslot
+        mMessageDispatchTable
+            .register(MacMessage.class, this::processMac)
+            .register(AbstractVoiceTimeslot.class, this::processVoiceTimeslot)
+            .register(EncryptionSynchronizationSequence.class, ess -> {
+                //We don't send any state events for this message since it can only occur in conjunction with
+                //an audio frame that already sends the call state event
+                getIdentifierCollection().update(ess.getIdentifiers());
+            });
+    }
+
+    /**
+     * Per-opcode message counts and handler times for MAC messages processed by this decoder state.
+     */
+    public OpcodeMetrics<MacOpcode> getMacMetrics()
+    {
+        return mMacMetrics;
     }
 
     /**
@@ -170,47 +193,50 @@ public class P25P2DecoderState extends TimeslotDecoderState implements Identifie
     {
         if(message.isValid() && message.getTimeslot() == getTimeslot())
         {
-            if(message instanceof MacMessage macMessage)
-            {
-                processMacMessage(macMessage);
+            mMessageDispatchTable.dispatch(message);
+        }
+    }
 
-                MacPduType macPduType = macMessage.getMacPduType();
+    /**
+     * Processes a MAC message and updates the channel state according to the MAC PDU type.
+     */
+    private void processMac(MacMessage macMessage)
+    {
+        processMacMessage(macMessage);
 
-                //Ignore End PTT - this is handled in the processMacMessage() method
-                if(macPduType != MacPduType.MAC_2_END_PTT)
-                {
-                    mEndPttOnFacchCounter = 0;
-                    continueState(getStateFromPduType(macPduType));
-                }
+        MacPduType macPduType = macMessage.getMacPduType();
 
-                if(macPduType == MacPduType.MAC_3_IDLE)
-                {
-                    closeCurrentCallEvent(message.getTimestamp(), true, macPduType);
-                }
-            }
-            else if(message instanceof AbstractVoiceTimeslot)
-            {
-                if(mCurrentCallEvent != null)
-                {
-                    if(isEncrypted())
-                    {
-                        broadcast(new DecoderStateEvent(this, Event.CONTINUATION, State.ENCRYPTED, getTimeslot()));
-                    }
-                    else
-                    {
-                        broadcast(new DecoderStateEvent(this, Event.CONTINUATION, State.CALL, getTimeslot()));
-                    }
-                }
+        //Ignore End PTT - this is handled in the processMacMessage() method
+        if(macPduType != MacPduType.MAC_2_END_PTT)
+        {
+            mEndPttOnFacchCounter = 0;
+            continueState(getStateFromPduType(macPduType));
+        }
 
-                updateCurrentCall(null, null, message.getTimestamp());
+        if(macPduType == MacPduType.MAC_3_IDLE)
+        {
+            closeCurrentCallEvent(macMessage.getTimestamp(), true, macPduType);
+        }
+    }
+
+    /**
+     * Processes a voice timeslot and continues the current call state.
+     */
+    private void processVoiceTimeslot(AbstractVoiceTimeslot voiceTimeslot)
+    {
+        if(mCurrentCallEvent != null)
+        {
+            if(isEncrypted())
+            {
+                broadcast(new DecoderStateEvent(this, Event.CONTINUATION, State.ENCRYPTED, getTimeslot()));
             }
-            else if(message instanceof EncryptionSynchronizationSequence)
+            else
             {
-                //We don't send any state events for this message since it can only occur in conjunction with
-                //an audio frame that already sends the call state event
-                getIdentifierCollection().update(message.getIdentifiers());
+                broadcast(new DecoderStateEvent(this, Event.CONTINUATION, State.CALL, getTimeslot()));
             }
         }
+
+        updateCurrentCall(null, null, voiceTimeslot.getTimestamp());
     }
 
     /**
@@ -244,7 +270,17 @@ public class P25P2DecoderState extends TimeslotDecoderState implements Identifie
         getIdentifierCollection().update(channel);
     }
 
+    /**
+     * Processes the MAC structure carried by the message and records the opcode metrics for the message.
+     */
     private void processMacMessage(MacMessage message)
+    {
+        long start = System.nanoTime();
+        processMacOpcode(message);
+        mMacMetrics.record(message.getMacStructure().getOpcode(), System.nanoTime() - start);
+    }
+
+    private void processMacOpcode(MacMessage message)
     {
         mNetworkConfigurationMonitor.processMacMessage(message);
 
@@ -1105,7 +1141,15 @@ public class P25P2DecoderState extends TimeslotDecoderState implements Identifie
     @Override
     public String getActivitySummary()
     {
-        return mNetworkConfigurationMonitor.getActivitySummary();
+        StringBuilder sb = new StringBuilder();
+        sb.append(mNetworkConfigurationMonitor.getActivitySummary());
+
+        if(mMacMetrics.getTotalCount() > 0)
+        {
+            sb.append("\nTimeslot ").append(getTimeslot()).append(" ").append(mMacMetrics.getSummary());
+        }
+
+        return sb.toString();
     }
 
     @Override
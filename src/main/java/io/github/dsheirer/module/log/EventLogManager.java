@@ -65,6 +65,7 @@ public class EventLogManager
             {
                 case CALL_EVENT:
                 case DECODED_MESSAGE:
+                case PACKET_CAPTURE:
                     if(channel.getChannelType() == Channel.ChannelType.STANDARD)
                     {
                         loggers.add(getLogger(type, prefix, frequency));
@@ -72,6 +73,7 @@ public class EventLogManager
                     break;
                 case TRAFFIC_CALL_EVENT:
                 case TRAFFIC_DECODED_MESSAGE:
+                case TRAFFIC_PACKET_CAPTURE:
                     if(channel.getChannelType() == Channel.ChannelType.TRAFFIC)
                     {
                         loggers.add(getLogger(type, prefix, frequency));
@@ -83,13 +85,22 @@ public class EventLogManager
         return loggers;
     }
 
-    public EventLogger getLogger(EventLogType eventLogType, String prefix, long frequency)
+    public Module getLogger(EventLogType eventLogType, String prefix, long frequency)
     {
         StringBuilder sb = new StringBuilder();
 
         sb.append(prefix);
         sb.append(eventLogType.getFileSuffix());
-        sb.append(".log");
+
+        switch(eventLogType)
+        {
+            case PACKET_CAPTURE:
+            case TRAFFIC_PACKET_CAPTURE:
+                sb.append(".pcap");
+                break;
+            default:
+                sb.append(".log");
+        }
 
         Path eventLogDirectory = mUserPreferences.getDirectoryPreference().getDirectoryEventLog();
 
@@ -103,6 +114,9 @@ public class EventLogManager
                 return new DecodeEventLogger(mAliasModel, eventLogDirectory, sb.toString(), frequency);
             case TRAFFIC_DECODED_MESSAGE:
                 return new MessageEventLogger(eventLogDirectory, sb.toString(), MessageEventLogger.Type.DECODED, frequency);
+            case PACKET_CAPTURE:
+            case TRAFFIC_PACKET_CAPTURE:
+                return new PacketCaptureLogger(eventLogDirectory, sb.toString(), frequency);
             default:
                 return null;
         }
@@ -29,7 +29,9 @@ public enum EventLogType
     DECODED_MESSAGE( "Decoded Messages", "_decoded_messages" ),
     TRAFFIC_DECODED_MESSAGE( "Traffic Channel Decoded Messages", "_decoded_messages" ),
     CALL_EVENT( "Call Events", "_call_events" ),
-    TRAFFIC_CALL_EVENT( "Traffic Channel Call Events", "_call_events" );
+    TRAFFIC_CALL_EVENT( "Traffic Channel Call Events", "_call_events" ),
+    PACKET_CAPTURE( "Packet Capture (PCAP)", "_packets" ),
+    TRAFFIC_PACKET_CAPTURE( "Traffic Channel Packet Capture (PCAP)", "_packets" );
 
     private String mDisplayString;
     private String mFileSuffix;
@@ -0,0 +1,335 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2023 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+package io.github.dsheirer.module.log;
+
+import io.github.dsheirer.message.IMessage;
+import io.github.dsheirer.message.IMessageListener;
+import io.github.dsheirer.module.Module;
+import io.github.dsheirer.module.decode.dmr.message.data.packet.DMRPacketMessage;
+import io.github.dsheirer.module.decode.ip.IPacket;
+import io.github.dsheirer.module.decode.ip.ipv4.IPV4Header;
+import io.github.dsheirer.module.decode.ip.ipv4.IPV4Packet;
+import io.github.dsheirer.module.decode.p25.phase1.message.pdu.packet.PacketMessage;
+import io.github.dsheirer.sample.Listener;
+import io.github.dsheirer.util.ThreadPool;
+import io.github.dsheirer.util.TimeStamp;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.LinkedTransferQueue;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Packet capture logger that exports the IP packets decoded from P25 SNDCP packet data and DMR packet data messages
+ * to rolling PCAP files that can be analyzed offline with standard tools (e.g. Wireshark, tcpdump).
+ *
+ * Packets are reconstructed from the decoded messages on the decoder thread and queued.  A background task writes
+ * each batch of queued packets through a buffered stream, with a single flush per batch.  A new capture file is
+ * started when the current file exceeds the maximum file size.  When the writer can't keep up, the pending packet
+ * queue is bounded and new packets are dropped.
+ *
+ * Capture files use the libpcap format with a raw IP link type, so each record is a complete IPv4 packet.  Packets
+ * that don't contain a full IPv4 header (e.g. compressed or proprietary DMR short data) are not exported.
+ */
+public class PacketCaptureLogger extends Module implements IMessageListener, Listener<IMessage>
+{
+    private final static Logger mLog = LoggerFactory.getLogger(PacketCaptureLogger.class);
+    public static final long DEFAULT_MAX_FILE_SIZE = 64 * 1024 * 1024;
+    private static final long WRITE_INTERVAL_MS = 1000;
+    private static final int MAX_PENDING_PACKETS = 10000;
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+    private static final int PCAP_MAGIC_NUMBER = 0xA1B2C3D4;
+    private static final int PCAP_SNAP_LENGTH = 65535;
+    private static final int PCAP_LINK_TYPE_RAW = 101;
+
+    private final LinkedTransferQueue<CapturedPacket> mQueue = new LinkedTransferQueue<>();
+    private final AtomicInteger mPendingCount = new AtomicInteger();
+    private final AtomicLong mDroppedCount = new AtomicLong();
+    private final ByteBuffer mRecordHeader = ByteBuffer.allocate(16).order(ByteOrder.LITTLE_ENDIAN);
+    private final Path mLogDirectory;
+    private final String mFileNameSuffix;
+    private final long mFrequency;
+    private final long mMaxFileSize;
+    private ScheduledFuture<?> mWriterFuture;
+    private OutputStream mOutputStream;
+    private String mFileName;
+    private long mFileSize;
+
+    /**
+     * Constructs an instance
+     * @param logDirectory for the capture files
+     * @param fileNameSuffix for each capture file name
+     * @param frequency of the channel, for the capture file name
+     * @param maxFileSize in bytes before rolling to a new capture file
+     */
+    public PacketCaptureLogger(Path logDirectory, String fileNameSuffix, long frequency, long maxFileSize)
+    {
+        mLogDirectory = logDirectory;
+        mFileNameSuffix = fileNameSuffix;
+        mFrequency = frequency;
+        mMaxFileSize = maxFileSize;
+    }
+
+    /**
+     * Constructs an instance with the default maximum capture file size
+     * @param logDirectory for the capture files
+     * @param fileNameSuffix for each capture file name
+     * @param frequency of the channel, for the capture file name
+     */
+    public PacketCaptureLogger(Path logDirectory, String fileNameSuffix, long frequency)
+    {
+        this(logDirectory, fileNameSuffix, frequency, DEFAULT_MAX_FILE_SIZE);
+    }
+
+    @Override
+    public Listener<IMessage> getMessageListener()
+    {
+        return this;
+    }
+
+    @Override
+    public void reset()
+    {
+    }
+
+    @Override
+    public void start()
+    {
+        if(mWriterFuture == null)
+        {
+            mWriterFuture = ThreadPool.SCHEDULED.scheduleAtFixedRate(this::write, WRITE_INTERVAL_MS,
+                WRITE_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public void stop()
+    {
+        if(mWriterFuture != null)
+        {
+            mWriterFuture.cancel(false);
+            mWriterFuture = null;
+        }
+
+        //Write any remaining packets and close the capture file
+        write();
+
+        synchronized(this)
+        {
+            closeFile();
+        }
+    }
+
+    /**
+     * Extracts the IP packet from packet data messages and queues it for writing.
+     */
+    @Override
+    public void receive(IMessage message)
+    {
+        IPacket packet = null;
+
+        if(message instanceof PacketMessage packetMessage)
+        {
+            packet = packetMessage.getPacket();
+        }
+        else if(message instanceof DMRPacketMessage dmrPacketMessage)
+        {
+            packet = dmrPacketMessage.getPacket();
+        }
+
+        if(packet instanceof IPV4Packet ipv4Packet)
+        {
+            byte[] bytes = getBytes(ipv4Packet);
+
+            if(bytes != null)
+            {
+                if(mPendingCount.incrementAndGet() > MAX_PENDING_PACKETS)
+                {
+                    mPendingCount.decrementAndGet();
+                    mDroppedCount.incrementAndGet();
+                    return;
+                }
+
+                mQueue.add(new CapturedPacket(message.getTimestamp(), bytes));
+            }
+        }
+    }
+
+    /**
+     * Reconstructs the bytes of the IPv4 packet from the underlying binary message.
+     * @param packet to reconstruct
+     * @return packet bytes or null if the packet header is invalid or the packet is truncated
+     */
+    static byte[] getBytes(IPV4Packet packet)
+    {
+        IPV4Header header = packet.getHeader();
+
+        if(!header.isValid())
+        {
+            return null;
+        }
+
+        int length = header.getTotalLength() / 8;
+        int offset = packet.getOffset();
+
+        if(length <= 0 || offset + (length * 8) > packet.getMessage().size())
+        {
+            return null;
+        }
+
+        byte[] bytes = new byte[length];
+
+        for(int x = 0; x < length; x++)
+        {
+            bytes[x] = packet.getMessage().getByte(offset + (x * 8));
+        }
+
+        return bytes;
+    }
+
+    /**
+     * Writes all queued packets to the capture file with a single flush.  Invoked on the scheduled executor.
+     */
+    private synchronized void write()
+    {
+        if(mQueue.isEmpty())
+        {
+            return;
+        }
+
+        List<CapturedPacket> packets = new ArrayList<>(mPendingCount.get());
+        int drained = mQueue.drainTo(packets);
+        mPendingCount.addAndGet(-drained);
+
+        try
+        {
+            for(CapturedPacket packet: packets)
+            {
+                if(mOutputStream == null || mFileSize >= mMaxFileSize)
+                {
+                    closeFile();
+                    openFile();
+                }
+
+                mRecordHeader.clear();
+                mRecordHeader.putInt((int)(packet.timestamp() / 1000));
+                mRecordHeader.putInt((int)(packet.timestamp() % 1000) * 1000);
+                mRecordHeader.putInt(packet.bytes().length);
+                mRecordHeader.putInt(packet.bytes().length);
+                mOutputStream.write(mRecordHeader.array());
+                mOutputStream.write(packet.bytes());
+                mFileSize += mRecordHeader.capacity() + packet.bytes().length;
+            }
+
+            mOutputStream.flush();
+        }
+        catch(IOException ioe)
+        {
+            mLog.error("Error writing [" + packets.size() + "] packets to capture file [" + mFileName + "]", ioe);
+            closeFile();
+        }
+
+        long dropped = mDroppedCount.getAndSet(0);
+
+        if(dropped > 0)
+        {
+            mLog.warn("Packet capture [" + mFileNameSuffix + "] dropped [" + dropped +
+                "] packets - capture file writer is not keeping up");
+        }
+    }
+
+    /**
+     * Opens a new capture file and writes the PCAP global header.
+     */
+    private void openFile() throws IOException
+    {
+        StringBuilder sb = new StringBuilder();
+        sb.append(mLogDirectory);
+        sb.append(File.separator);
+        sb.append(TimeStamp.getLongTimeStamp("_"));
+        sb.append("_");
+        sb.append(mFrequency);
+        sb.append("_Hz_");
+
+        String prefix = sb.toString();
+        mFileName = prefix + mFileNameSuffix;
+
+        //Rolling to a new file can occur within the same timestamp millisecond - don't overwrite the previous file
+        for(int x = 2; new File(mFileName).exists(); x++)
+        {
+            mFileName = prefix + x + "_" + mFileNameSuffix;
+        }
+
+        mOutputStream = new BufferedOutputStream(new FileOutputStream(mFileName), WRITE_BUFFER_SIZE);
+
+        ByteBuffer header = ByteBuffer.allocate(24).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(PCAP_MAGIC_NUMBER);
+        header.putShort((short)2); //Version major
+        header.putShort((short)4); //Version minor
+        header.putInt(0); //Time zone offset - GMT
+        header.putInt(0); //Timestamp accuracy
+        header.putInt(PCAP_SNAP_LENGTH);
+        header.putInt(PCAP_LINK_TYPE_RAW);
+        mOutputStream.write(header.array());
+        mFileSize = header.capacity();
+    }
+
+    /**
+     * Closes the current capture file, if open
+     */
+    private void closeFile()
+    {
+        if(mOutputStream != null)
+        {
+            try
+            {
+                mOutputStream.close();
+            }
+            catch(IOException ioe)
+            {
+                mLog.error("Error closing packet capture file [" + mFileName + "]", ioe);
+            }
+
+            mOutputStream = null;
+        }
+    }
+
+    @Override
+    public String toString()
+    {
+        return mFileName != null ? mFileName : "Unknown";
+    }
+
+    /**
+     * Reconstructed packet bytes and the message timestamp in milliseconds
+     */
+    private record CapturedPacket(long timestamp, byte[] bytes) {}
+}
@@ -0,0 +1,136 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2023 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.monitor;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe latency histogram with logarithmic (power of 2) microsecond buckets.  Recording is lock-free and
+ * allocation-free so that it can be used on the sample processing threads.  Percentiles are reported as the upper
+ * bound of the bucket containing the percentile.
+ */
+public class LatencyHistogram
+{
+    private static final int BUCKET_COUNT = 40;
+    private final AtomicLongArray mBuckets = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong mCount = new AtomicLong();
+    private final AtomicLong mTotal = new AtomicLong();
+    private final AtomicLong mMax = new AtomicLong();
+
+    /**
+     * Records a latency measurement
+     * @param nanoseconds of latency
+     */
+    public void record(long nanoseconds)
+    {
+        long micros = Math.max(0, nanoseconds / 1000);
+        int bucket = Math.min(BUCKET_COUNT - 1, 64 - Long.numberOfLeadingZeros(micros));
+        mBuckets.incrementAndGet(bucket);
+        mCount.incrementAndGet();
+        mTotal.addAndGet(micros);
+        mMax.accumulateAndGet(micros, Math::max);
+    }
+
+    /**
+     * Number of recorded measurements
+     */
+    public long getCount()
+    {
+        return mCount.get();
+    }
+
+    /**
+     * Average latency in microseconds
+     */
+    public long getMean()
+    {
+        long count = mCount.get();
+        return count > 0 ? mTotal.get() / count : 0;
+    }
+
+    /**
+     * Maximum latency in microseconds
+     */
+    public long getMax()
+    {
+        return mMax.get();
+    }
+
+    /**
+     * Latency percentile in microseconds
+     * @param percentile in the range 0.0 to 1.0
+     * @return upper bound of the bucket that contains the percentile
+     */
+    public long getPercentile(double percentile)
+    {
+        long count = mCount.get();
+
+        if(count == 0)
+        {
+            return 0;
+        }
+
+        long threshold = (long)Math.ceil(count * percentile);
+        long cumulative = 0;
+
+        for(int x = 0; x < BUCKET_COUNT; x++)
+        {
+            cumulative += mBuckets.get(x);
+
+            if(cumulative >= threshold)
+            {
+                return Math.min(x == 0 ? 0 : (1L << x) - 1, getMax());
+            }
+        }
+
+        return getMax();
+    }
+
+    /**
+     * Resets the histogram
+     */
+    public void reset()
+    {
+        for(int x = 0; x < BUCKET_COUNT; x++)
+        {
+            mBuckets.set(x, 0);
+        }
+
+        mCount.set(0);
+        mTotal.set(0);
+        mMax.set(0);
+    }
+
+    @Override
+    public String toString()
+    {
+        return "count:" + getCount() + " mean:" + format(getMean()) + " p50:" + format(getPercentile(0.5)) +
+            " p99:" + format(getPercentile(0.99)) + " max:" + format(getMax());
+    }
+
+    /**
+     * Formats the microseconds value as milliseconds
+     */
+    private static String format(long micros)
+    {
+        return String.format("%.1fms", micros / 1000.0);
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2023 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.monitor;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Per-channel latency trace.  Aggregates a latency histogram for each processing stage, measured from the monotonic
+ * (System.nanoTime) origin stamp applied to the sample buffers when they arrived from the tuner.
+ *
+ * The trace also tracks the origin of the sample buffer currently being processed by the channel's decoder so that
+ * downstream consumers that only see decoded messages or audio (e.g. audio modules) can attribute their output to
+ * the sample buffer that produced it.
+ */
+public class LatencyTrace
+{
+    private final String mName;
+    private final Map<LatencyStage,LatencyHistogram> mHistograms = new EnumMap<>(LatencyStage.class);
+    private volatile long mCurrentOrigin;
+
+    /**
+     * Constructs an instance
+     * @param name of the channel
+     */
+    public LatencyTrace(String name)
+    {
+        mName = name;
+
+        for(LatencyStage stage: LatencyStage.values())
+        {
+            mHistograms.put(stage, new LatencyHistogram());
+        }
+    }
+
+    /**
+     * Channel name for this trace
+     */
+    public String getName()
+    {
+        return mName;
+    }
+
+    /**
+     * Origin stamp of the sample buffer currently being processed by the channel decoder.
+     * @return origin in nanoseconds or zero if no traced buffer has been processed
+     */
+    public long getCurrentOrigin()
+    {
+        return mCurrentOrigin;
+    }
+
+    /**
+     * Sets the origin stamp of the sample buffer currently being processed by the channel decoder.
+     */
+    public void setCurrentOrigin(long origin)
+    {
+        mCurrentOrigin = origin;
+    }
+
+    /**
+     * Records the latency for the stage, measured from the origin stamp to now.  Untraced (zero) origins are ignored.
+     * @param stage that completed processing
+     * @param origin stamp from System.nanoTime() when the samples arrived from the tuner
+     */
+    public void record(LatencyStage stage, long origin)
+    {
+        if(origin != 0)
+        {
+            mHistograms.get(stage).record(System.nanoTime() - origin);
+        }
+    }
+
+    /**
+     * Latency histogram for the stage
+     */
+    public LatencyHistogram getHistogram(LatencyStage stage)
+    {
+        return mHistograms.get(stage);
+    }
+
+    /**
+     * Summary of the stage latencies for this channel
+     */
+    public String getSummary()
+    {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Channel [").append(mName).append("]");
+
+        for(LatencyStage stage: LatencyStage.values())
+        {
+            LatencyHistogram histogram = mHistograms.get(stage);
+
+            if(histogram.getCount() > 0)
+            {
+                sb.append("\n\t").append(stage).append(" - ").append(histogram);
+            }
+        }
+
+        return sb.toString();
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2023 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.monitor;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Registry of per-channel latency traces.  Tracks how long sample buffers take to travel from the tuner (USB transfer)
+ * through the channelizer, the decoder, the audio segment and on to the recorder or audio streaming.
+ */
+public class LatencyTracer
+{
+    private static final Logger mLog = LoggerFactory.getLogger(LatencyTracer.class);
+    private static final LatencyTracer INSTANCE = new LatencyTracer();
+    private final List<LatencyTrace> mTraces = new CopyOnWriteArrayList<>();
+
+    /**
+     * Singleton constructor.  Use getInstance().
+     */
+    private LatencyTracer()
+    {
+    }
+
+    /**
+     * Singleton instance
+     */
+    public static LatencyTracer getInstance()
+    {
+        return INSTANCE;
+    }
+
+    /**
+     * Creates and registers a latency trace for a channel
+     * @param name of the channel
+     * @return trace
+     */
+    public LatencyTrace createTrace(String name)
+    {
+        LatencyTrace trace = new LatencyTrace(name);
+        mTraces.add(trace);
+        return trace;
+    }
+
+    /**
+     * Unregisters the latency trace, logging its summary if it recorded any latencies.
+     * @param trace to remove
+     */
+    public void removeTrace(LatencyTrace trace)
+    {
+        if(trace != null && mTraces.remove(trace) && trace.getHistogram(LatencyStage.CHANNEL).getCount() > 0)
+        {
+            mLog.debug("Latency " + trace.getSummary());
+        }
+    }
+
+    /**
+     * Currently registered traces
+     */
+    public List<LatencyTrace> getTraces()
+    {
+        return mTraces;
+    }
+
+    /**
+     * Stage latency summary for all registered channel traces
+     */
+    public String getSummary()
+    {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Latency Trace - channels [").append(mTraces.size()).append("]");
+
+        for(LatencyTrace trace: mTraces)
+        {
+            sb.append("\n").append(trace.getSummary());
+        }
+
+        return sb.toString();
+    }
+
+    /**
+     * Logs the stage latency summary for all registered channel traces
+     */
+    public void logSummary()
+    {
+        if(!mTraces.isEmpty())
+        {
+            mLog.info(getSummary());
+        }
+    }
+}
@@ -0,0 +1,481 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2023 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.playlist;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.github.dsheirer.alias.Alias;
+import io.github.dsheirer.audio.broadcast.BroadcastConfiguration;
+import io.github.dsheirer.controller.channel.Channel;
+import io.github.dsheirer.controller.channel.map.ChannelMap;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Append-only change journal for a playlist file.
+ *
+ * The playlist XML file is the snapshot and remains the authoritative, user-visible playlist format.  Changes to
+ * individual aliases, channels, channel maps and stream configurations that occur after the snapshot was written are
+ * appended to the journal as individually serialized records, so that the cost of persisting a change is proportional
+ * to the size of the change rather than the size of the playlist.  The journal is compacted by writing a new snapshot
+ * and resetting the journal.
+ *
+ * Each item in the playlist is tracked by a journal key.  Keys are assigned in snapshot document order when the
+ * snapshot is loaded or written, and new items are assigned the next available key.  Records reference items by key.
+ *
+ * The journal header contains the size and CRC-32 checksum of the snapshot file that the journal applies to, so that
+ * a journal is never replayed against a different snapshot (e.g. a playlist that was edited or replaced externally).
+ * Each record carries its own length and checksum so that a partially written trailing record is discarded.
+ *
+ * File layout:
+ * header: magic (int), version (int), snapshot size (long), snapshot CRC-32 (long)
+ * record: payload length (int), payload CRC-32 (int), payload: operation (byte), section (byte), key (int), XML bytes
+ */
+public class PlaylistJournal implements AutoCloseable
+{
+    private final static Logger mLog = LoggerFactory.getLogger(PlaylistJournal.class);
+    private static final int MAGIC = 0x53445250; //SDRP
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 24;
+    private static final int RECORD_HEADER_SIZE = 8;
+    private static final int PAYLOAD_HEADER_SIZE = 6;
+    private static final byte OPERATION_PUT = 1;
+    private static final byte OPERATION_REMOVE = 2;
+    public static final long MINIMUM_COMPACTION_SIZE = 256 * 1024;
+
+    private final Path mPath;
+    private final ObjectMapper mObjectMapper;
+    private final Map<Section,IdentityHashMap<Object,Integer>> mKeys = new EnumMap<>(Section.class);
+    private final Map<Section,Integer> mNextKeys = new EnumMap<>(Section.class);
+    private FileChannel mFileChannel;
+    private long mSnapshotSize;
+    private int mRecordCount;
+
+    /**
+     * Playlist sections that are tracked by the journal.
+     */
+    public enum Section
+    {
+        ALIAS(Alias.class),
+        CHANNEL(Channel.class),
+        CHANNEL_MAP(ChannelMap.class),
+        STREAM(BroadcastConfiguration.class);
+
+        private Class<?> mType;
+
+        Section(Class<?> type)
+        {
+            mType = type;
+        }
+
+        /**
+         * Base class of the items in this section
+         */
+        public Class<?> getType()
+        {
+            return mType;
+        }
+
+        /**
+         * Section for the playlist item
+         * @param item to lookup
+         * @return section or null if the item is not a tracked playlist item type
+         */
+        public static Section fromItem(Object item)
+        {
+            for(Section section: values())
+            {
+                if(section.getType().isInstance(item))
+                {
+                    return section;
+                }
+            }
+
+            return null;
+        }
+
+        /**
+         * Items list for this section from the playlist.
+         */
+        @SuppressWarnings("unchecked")
+        private List<Object> getItems(PlaylistV2 playlist)
+        {
+            return (List<Object>)switch(this)
+            {
+                case ALIAS -> playlist.getAliases();
+                case CHANNEL -> playlist.getChannels();
+                case CHANNEL_MAP -> playlist.getChannelMaps();
+                case STREAM -> playlist.getBroadcastConfigurations();
+            };
+        }
+
+        /**
+         * Replaces the items list for this section in the playlist.
+         */
+        @SuppressWarnings("unchecked")
+        private void setItems(PlaylistV2 playlist, List<Object> items)
+        {
+            switch(this)
+            {
+                case ALIAS -> playlist.setAliases((List<Alias>)(List<?>)items);
+                case CHANNEL -> playlist.setChannels((List<Channel>)(List<?>)items);
+                case CHANNEL_MAP -> playlist.setChannelMaps((List<ChannelMap>)(List<?>)items);
+                case STREAM -> playlist.setBroadcastConfigurations((List<BroadcastConfiguration>)(List<?>)items);
+            }
+        }
+    }
+
+    /**
+     * Constructs an instance
+     * @param path to the journal file
+     * @param objectMapper for serializing and deserializing playlist items
+     */
+    public PlaylistJournal(Path path, ObjectMapper objectMapper)
+    {
+        mPath = path;
+        mObjectMapper = objectMapper;
+    }
+
+    /**
+     * Path to the journal file
+     */
+    public Path getPath()
+    {
+        return mPath;
+    }
+
+    /**
+     * Opens the journal for the loaded snapshot and replays any journal records onto the playlist.  When the journal
+     * does not exist, or does not apply to the snapshot, a new empty journal is started.
+     *
+     * @param playlist that was loaded from the snapshot file and that is updated with the journaled changes
+     * @param snapshotSize size of the snapshot file in bytes
+     * @param snapshotChecksum CRC-32 checksum of the snapshot file
+     * @return number of journal records that were replayed
+     * @throws IOException if there is an error creating or opening the journal file
+     */
+    public int open(PlaylistV2 playlist, long snapshotSize, long snapshotChecksum) throws IOException
+    {
+        close();
+        mSnapshotSize = snapshotSize;
+        int replayed = 0;
+
+        if(Files.exists(mPath))
+        {
+            try
+            {
+                replayed = replay(playlist, snapshotSize, snapshotChecksum);
+            }
+            catch(IOException ioe)
+            {
+                mLog.error("Error reading playlist journal [" + mPath + "] - ignoring journal", ioe);
+                replayed = -1;
+            }
+        }
+
+        if(replayed < 0)
+        {
+            replayed = 0;
+            reset(playlist, snapshotSize, snapshotChecksum);
+        }
+        else if(!Files.exists(mPath))
+        {
+            reset(playlist, snapshotSize, snapshotChecksum);
+        }
+        else
+        {
+            mFileChannel = FileChannel.open(mPath, StandardOpenOption.WRITE);
+            mFileChannel.position(mFileChannel.size());
+        }
+
+        return replayed;
+    }
+
+    /**
+     * Starts a new empty journal for the snapshot and assigns journal keys to the playlist items in document order.
+     * Invoke after writing a new snapshot (i.e. compaction).
+     *
+     * @param playlist that was written to the snapshot file
+     * @param snapshotSize size of the snapshot file in bytes
+     * @param snapshotChecksum CRC-32 checksum of the snapshot file
+     * @throws IOException if there is an error writing the journal file
+     */
+    public void reset(PlaylistV2 playlist, long snapshotSize, long snapshotChecksum) throws IOException
+    {
+        close();
+        mSnapshotSize = snapshotSize;
+        mRecordCount = 0;
+
+        for(Section section: Section.values())
+        {
+            IdentityHashMap<Object,Integer> keys = new IdentityHashMap<>();
+            List<Object> items = section.getItems(playlist);
+
+            for(int x = 0; x < items.size(); x++)
+            {
+                keys.put(items.get(x), x);
+            }
+
+            mKeys.put(section, keys);
+            mNextKeys.put(section, items.size());
+        }
+
+        mFileChannel = FileChannel.open(mPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING);
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC).putInt(VERSION).putLong(snapshotSize).putLong(snapshotChecksum).flip();
+        write(header);
+        mFileChannel.force(false);
+    }
+
+    /**
+     * Appends a record for each changed item to the journal and forces the journal to disk.
+     *
+     * @param changes map of changed playlist items to a flag indicating if the item was removed (true) or was added
+     * or updated (false).
+     * @throws IOException if there is an error writing to the journal
+     */
+    public void append(Map<Object,Boolean> changes) throws IOException
+    {
+        if(mFileChannel == null)
+        {
+            throw new IOException("Playlist journal is not open");
+        }
+
+        for(Map.Entry<Object,Boolean> entry: changes.entrySet())
+        {
+            Object item = entry.getKey();
+            Section section = Section.fromItem(item);
+
+            if(section == null)
+            {
+                continue;
+            }
+
+            IdentityHashMap<Object,Integer> keys = mKeys.get(section);
+
+            if(entry.getValue())
+            {
+                Integer key = keys.remove(item);
+
+                if(key != null)
+                {
+                    write(OPERATION_REMOVE, section, key, new byte[0]);
+                }
+            }
+            else
+            {
+                Integer key = keys.get(item);
+
+                if(key == null)
+                {
+                    key = mNextKeys.get(section);
+                    mNextKeys.put(section, key + 1);
+                    keys.put(item, key);
+                }
+
+                write(OPERATION_PUT, section, key, mObjectMapper.writerFor(section.getType())
+                    .without(SerializationFeature.INDENT_OUTPUT).writeValueAsBytes(item));
+            }
+        }
+
+        mFileChannel.force(false);
+    }
+
+    /**
+     * Number of records appended to the journal since the last snapshot.
+     */
+    public int getRecordCount()
+    {
+        return mRecordCount;
+    }
+
+    /**
+     * Indicates if the journal is large enough, relative to the snapshot, that it should be compacted.
+     */
+    public boolean isCompactionRequired() throws IOException
+    {
+        return mFileChannel != null && mFileChannel.size() > Math.max(MINIMUM_COMPACTION_SIZE, mSnapshotSize / 2);
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        if(mFileChannel != null)
+        {
+            mFileChannel.close();
+            mFileChannel = null;
+        }
+    }
+
+    /**
+     * Replays the journal records onto the playlist.
+     * @return number of records replayed, or -1 if the journal does not apply to the snapshot.
+     */
+    private int replay(PlaylistV2 playlist, long snapshotSize, long snapshotChecksum) throws IOException
+    {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(mPath));
+
+        if(buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC || buffer.getInt() != VERSION)
+        {
+            mLog.warn("Playlist journal [" + mPath + "] has an unrecognized format - ignoring journal");
+            return -1;
+        }
+
+        if(buffer.getLong() != snapshotSize || buffer.getLong() != snapshotChecksum)
+        {
+            mLog.warn("Playlist journal [" + mPath + "] does not match the current playlist file - ignoring journal");
+            return -1;
+        }
+
+        Map<Section,TreeMap<Integer,Object>> sections = new EnumMap<>(Section.class);
+
+        for(Section section: Section.values())
+        {
+            TreeMap<Integer,Object> items = new TreeMap<>();
+            List<Object> snapshotItems = section.getItems(playlist);
+
+            for(int x = 0; x < snapshotItems.size(); x++)
+            {
+                items.put(x, snapshotItems.get(x));
+            }
+
+            sections.put(section, items);
+        }
+
+        int replayed = 0;
+        long validLength = buffer.position();
+        CRC32 crc = new CRC32();
+
+        while(buffer.remaining() >= RECORD_HEADER_SIZE)
+        {
+            int length = buffer.getInt();
+            int checksum = buffer.getInt();
+
+            if(length < PAYLOAD_HEADER_SIZE || length > buffer.remaining())
+            {
+                break;
+            }
+
+            crc.reset();
+            crc.update(buffer.array(), buffer.position(), length);
+
+            if((int)crc.getValue() != checksum)
+            {
+                break;
+            }
+
+            byte operation = buffer.get();
+            byte sectionIndex = buffer.get();
+            int key = buffer.getInt();
+            int xmlLength = length - PAYLOAD_HEADER_SIZE;
+
+            if(sectionIndex < 0 || sectionIndex >= Section.values().length)
+            {
+                break;
+            }
+
+            Section section = Section.values()[sectionIndex];
+
+            if(operation == OPERATION_REMOVE)
+            {
+                sections.get(section).remove(key);
+            }
+            else
+            {
+                Object item = mObjectMapper.readerFor(section.getType())
+                    .readValue(buffer.array(), buffer.position(), xmlLength);
+                sections.get(section).put(key, item);
+            }
+
+            buffer.position(buffer.position() + xmlLength);
+            validLength = buffer.position();
+            replayed++;
+        }
+
+        if(buffer.position() != validLength || buffer.hasRemaining())
+        {
+            mLog.warn("Playlist journal [" + mPath + "] has an incomplete trailing record - discarding");
+
+            try(FileChannel channel = FileChannel.open(mPath, StandardOpenOption.WRITE))
+            {
+                channel.truncate(validLength);
+            }
+        }
+
+        for(Section section: Section.values())
+        {
+            TreeMap<Integer,Object> items = sections.get(section);
+            IdentityHashMap<Object,Integer> keys = new IdentityHashMap<>();
+
+            for(Map.Entry<Integer,Object> entry: items.entrySet())
+            {
+                keys.put(entry.getValue(), entry.getKey());
+            }
+
+            section.setItems(playlist, new ArrayList<>(items.values()));
+            mKeys.put(section, keys);
+            mNextKeys.put(section, items.isEmpty() ? 0 : items.lastKey() + 1);
+        }
+
+        mRecordCount = replayed;
+        return replayed;
+    }
+
+    /**
+     * Writes a checksummed record to the journal.
+     */
+    private void write(byte operation, Section section, int key, byte[] xml) throws IOException
+    {
+        int length = PAYLOAD_HEADER_SIZE + xml.length;
+        ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_SIZE + length);
+        record.putInt(length).putInt(0).put(operation).put((byte)section.ordinal()).putInt(key).put(xml);
+        CRC32 crc = new CRC32();
+        crc.update(record.array(), RECORD_HEADER_SIZE, length);
+        record.putInt(4, (int)crc.getValue());
+        record.flip();
+        write(record);
+        mRecordCount++;
+    }
+
+    /**
+     * Writes the full buffer contents to the journal file.
+     */
+    private void write(ByteBuffer buffer) throws IOException
+    {
+        while(buffer.hasRemaining())
+        {
+            mFileChannel.write(buffer);
+        }
+    }
+}
@@ -26,6 +26,7 @@ import com.fasterxml.jackson.dataformat.xml.XmlMapper;
 import io.github.dsheirer.alias.Alias;
 import io.github.dsheirer.alias.AliasModel;
 import io.github.dsheirer.audio.broadcast.BroadcastModel;
+import io.github.dsheirer.controller.channel.Channel;
 import io.github.dsheirer.controller.channel.Channel.ChannelType;
 import io.github.dsheirer.controller.channel.ChannelEvent;
 import io.github.dsheirer.controller.channel.ChannelModel;
@@ -41,6 +42,7 @@ import io.github.dsheirer.sample.Listener;
 import io.github.dsheirer.service.radioreference.RadioReference;
 import io.github.dsheirer.source.tuner.manager.TunerManager;
 import io.github.dsheirer.util.ThreadPool;
+import java.io.BufferedOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -48,21 +50,34 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
 import javafx.collections.ListChangeListener;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * Manages all aspects of playlists and related models
+ *
+ * Playlist changes are persisted incrementally.  Changed aliases, channels, channel maps and stream configurations are
+ * appended to a change journal (see {@link PlaylistJournal}) alongside the playlist file, and the full playlist file
+ * is only rewritten (compacted) when the journal grows large relative to the playlist, when the playlist version is
+ * updated, or when the playlist is closed.
  */
 public class PlaylistManager implements Listener<ChannelEvent>
 {
     private final static Logger mLog = LoggerFactory.getLogger(PlaylistManager.class);
 
     public static final int PLAYLIST_CURRENT_VERSION = 4;
+    private static final ObjectMapper OBJECT_MAPPER = createObjectMapper();
 
     private AliasModel mAliasModel;
     private ChannelMapModel mChannelMapModel = new ChannelMapModel();
@@ -76,7 +91,12 @@ public class PlaylistManager implements Listener<ChannelEvent>
     private RadioReference mRadioReference;
     private AtomicBoolean mPlaylistSavePending = new AtomicBoolean();
     private ScheduledFuture<?> mPlaylistSaveFuture;
-    private boolean mPlaylistLoading = false;
+    private volatile boolean mPlaylistLoading = false;
+    private final Map<Object,Boolean> mPendingChanges = new IdentityHashMap<>();
+    private boolean mSnapshotRequired = false;
+    private PlaylistJournal mPlaylistJournal;
+    private final ReentrantLock mSaveLock = new ReentrantLock();
+    private Future<PlaylistV2> mPlaylistLoadFuture;
 
     /**
      * Playlist manager - manages all channel configurations, channel maps, and alias lists and handles loading or
@@ -116,17 +136,19 @@ public class PlaylistManager implements Listener<ChannelEvent>
         //save the playlist when there are any changes
         mChannelModel.addListener(this);
 
-        mAliasModel.aliasList().addListener((ListChangeListener<Alias>)c -> schedulePlaylistSave());
+        mAliasModel.aliasList().addListener((ListChangeListener<Alias>)this::processListChange);
 
-        mChannelMapModel.getChannelMaps().addListener((ListChangeListener<ChannelMap>)c -> schedulePlaylistSave());
+        mChannelMapModel.getChannelMaps().addListener((ListChangeListener<ChannelMap>)this::processListChange);
 
         mBroadcastModel.addListener(broadcastEvent -> {
             switch(broadcastEvent.getEvent())
             {
                 case CONFIGURATION_ADD:
                 case CONFIGURATION_CHANGE:
+                    schedulePlaylistSave(broadcastEvent.getBroadcastConfiguration(), false);
+                    break;
                 case CONFIGURATION_DELETE:
-                    schedulePlaylistSave();
+                    schedulePlaylistSave(broadcastEvent.getBroadcastConfiguration(), true);
                     break;
                 default:
                     //Do nothing
@@ -197,8 +219,47 @@ public class PlaylistManager implements Listener<ChannelEvent>
      */
     public void init()
     {
-        PlaylistV2 playlist = load();
+        long start = System.currentTimeMillis();
+        PlaylistV2 playlist = null;
+
+        if(mPlaylistLoadFuture != null)
+        {
+            try
+            {
+                playlist = mPlaylistLoadFuture.get();
+            }
+            catch(Exception e)
+            {
+                mLog.error("Error loading playlist in background - reloading", e);
+            }
+
+            mPlaylistLoadFuture = null;
+        }
+
+        if(playlist == null)
+        {
+            playlist = load();
+        }
+
+        long loaded = System.currentTimeMillis();
         transferPlaylistToModels(playlist);
+        mLog.info("Playlist startup timing - waiting for load [" + (loaded - start) + "ms] total [" +
+            (System.currentTimeMillis() - start) + "ms]");
+    }
+
+    /**
+     * Starts loading the current playlist file on a background thread so that parsing the playlist overlaps with
+     * the remainder of application startup.  A subsequent call to init() waits for the load to complete and transfers
+     * the loaded playlist into the models.
+     */
+    public void preload()
+    {
+        if(mPlaylistLoadFuture == null)
+        {
+            //Defer any save requested during loading until the playlist is transferred to the models
+            mPlaylistLoading = true;
+            mPlaylistLoadFuture = ThreadPool.CACHED.submit(this::load);
+        }
     }
 
     /**
@@ -238,14 +299,9 @@ public class PlaylistManager implements Listener<ChannelEvent>
             return false;
         }
 
-        JacksonXmlModule xmlModule = new JacksonXmlModule();
-        xmlModule.setDefaultUseWrapper(false);
-        ObjectMapper objectMapper = new XmlMapper(xmlModule)
-            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
-
         try(InputStream in = Files.newInputStream(path))
         {
-            PlaylistV2 playlist = objectMapper.readValue(in, PlaylistV2.class);
+            PlaylistV2 playlist = OBJECT_MAPPER.readValue(in, PlaylistV2.class);
 
             //If jackson can successfully deserialize the file, then it's a good V2 playlist
             return true;
@@ -269,11 +325,7 @@ public class PlaylistManager implements Listener<ChannelEvent>
 
         try(OutputStream out = Files.newOutputStream(path))
         {
-            JacksonXmlModule xmlModule = new JacksonXmlModule();
-            xmlModule.setDefaultUseWrapper(false);
-            ObjectMapper objectMapper = new XmlMapper(xmlModule);
-            objectMapper.enable(SerializationFeature.INDENT_OUTPUT);
-            objectMapper.writeValue(out, playlist);
+            OBJECT_MAPPER.writeValue(out, playlist);
             out.flush();
         }
         catch(IOException ioe)
@@ -301,6 +353,65 @@ public class PlaylistManager implements Listener<ChannelEvent>
         mPlaylistLoading = false;
     }
 
+    /**
+     * Shared XML object mapper for playlist files and journal records.  Reusing a single mapper instance retains the
+     * serializer and deserializer caches across saves and loads.
+     */
+    private static ObjectMapper createObjectMapper()
+    {
+        JacksonXmlModule xmlModule = new JacksonXmlModule();
+        xmlModule.setDefaultUseWrapper(false);
+        ObjectMapper objectMapper = new XmlMapper(xmlModule)
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        objectMapper.enable(SerializationFeature.INDENT_OUTPUT);
+        return objectMapper;
+    }
+
+    /**
+     * Completes any pending playlist save, compacts the playlist journal into the playlist file and closes the
+     * journal.  Invoke on application shutdown.
+     */
+    public void shutdown()
+    {
+        saveNow();
+        compact();
+
+        try
+        {
+            if(mPlaylistJournal != null)
+            {
+                mPlaylistJournal.close();
+            }
+        }
+        catch(IOException ioe)
+        {
+            mLog.error("Error closing playlist journal", ioe);
+        }
+    }
+
+    /**
+     * Completes any pending playlist save and rewrites the playlist file when there are journaled changes, so that
+     * the playlist file contains all changes.  Use before copying the current playlist file.
+     */
+    public void compact()
+    {
+        saveNow();
+
+        if(mPlaylistJournal != null && mPlaylistJournal.getRecordCount() > 0)
+        {
+            mSaveLock.lock();
+
+            try
+            {
+                saveSnapshot();
+            }
+            finally
+            {
+                mSaveLock.unlock();
+            }
+        }
+    }
+
     private void saveNow()
     {
         //Complete any pending playlist save
@@ -308,7 +419,7 @@ public class PlaylistManager implements Listener<ChannelEvent>
         {
             try
             {
-                mPlaylistSaveFuture.cancel(true);
+                mPlaylistSaveFuture.cancel(false);
             }
             catch(Exception e)
             {
@@ -331,21 +442,42 @@ public class PlaylistManager implements Listener<ChannelEvent>
     {
         if(playlist != null)
         {
+            long start = System.currentTimeMillis();
             clearModels();
 
             mPlaylistLoading = true;
 
+            long cleared = System.currentTimeMillis();
             mAliasModel.addAliases(playlist.getAliases());
-
+            long aliases = System.currentTimeMillis();
 
             mBroadcastModel.addBroadcastConfigurations(playlist.getBroadcastConfigurations());
+            long streams = System.currentTimeMillis();
 
             mChannelMapModel.addChannelMaps(playlist.getChannelMaps());
+            long channelMaps = System.currentTimeMillis();
 
             //Channel model has to be loaded last since it will auto-start channels that are enabled
             mChannelModel.addChannels(playlist.getChannels());
+            long channels = System.currentTimeMillis();
 
             mPlaylistLoading = false;
+
+            boolean saveRequired;
+
+            synchronized(mPendingChanges)
+            {
+                saveRequired = mSnapshotRequired;
+            }
+
+            if(saveRequired)
+            {
+                scheduleSave();
+            }
+
+            mLog.info("Playlist model timing - clear [" + (cleared - start) + "ms] aliases [" + (aliases - cleared) +
+                "ms] streams [" + (streams - aliases) + "ms] channel maps [" + (channelMaps - streams) +
+                "ms] channels [" + (channels - channelMaps) + "ms]");
         }
     }
 
@@ -363,17 +495,106 @@ public class PlaylistManager implements Listener<ChannelEvent>
             {
                 case NOTIFICATION_ADD:
                 case NOTIFICATION_CONFIGURATION_CHANGE:
+                    schedulePlaylistSave(event.getChannel(), false);
+                    break;
                 case NOTIFICATION_DELETE:
-                    schedulePlaylistSave();
+                    schedulePlaylistSave(event.getChannel(), true);
                     break;
             }
         }
     }
 
     /**
-     * Saves the current playlist
+     * Observable list change listener for aliases and channel maps.  Queues the added, removed and updated items
+     * for saving.
+     */
+    private void processListChange(ListChangeListener.Change<?> change)
+    {
+        while(change.next())
+        {
+            if(change.wasRemoved())
+            {
+                for(Object removed: change.getRemoved())
+                {
+                    schedulePlaylistSave(removed, true);
+                }
+            }
+
+            if(change.wasAdded())
+            {
+                for(Object added: change.getAddedSubList())
+                {
+                    schedulePlaylistSave(added, false);
+                }
+            }
+
+            if(change.wasUpdated())
+            {
+                for(int x = change.getFrom(); x < change.getTo(); x++)
+                {
+                    schedulePlaylistSave(change.getList().get(x), false);
+                }
+            }
+        }
+    }
+
+    /**
+     * Saves the pending playlist changes.  Changed items are appended to the playlist journal, unless a full playlist
+     * save is required or the journal has grown large enough to be compacted into the playlist file.
      */
     private void save()
+    {
+        mSaveLock.lock();
+
+        try
+        {
+            Map<Object,Boolean> changes;
+            boolean snapshotRequired;
+
+            synchronized(mPendingChanges)
+            {
+                changes = new IdentityHashMap<>(mPendingChanges);
+                mPendingChanges.clear();
+                snapshotRequired = mSnapshotRequired;
+                mSnapshotRequired = false;
+            }
+
+            if(!snapshotRequired && mPlaylistJournal != null)
+            {
+                if(changes.isEmpty())
+                {
+                    return;
+                }
+
+                try
+                {
+                    mPlaylistJournal.append(changes);
+
+                    if(!mPlaylistJournal.isCompactionRequired())
+                    {
+                        return;
+                    }
+                }
+                catch(IOException ioe)
+                {
+                    mLog.error("Error appending changes to playlist journal [" + mPlaylistJournal.getPath() +
+                        "] - saving full playlist", ioe);
+                }
+            }
+
+            saveSnapshot();
+        }
+        finally
+        {
+            mSaveLock.unlock();
+        }
+    }
+
+    /**
+     * Saves the full playlist to the playlist file and resets the playlist journal.  Note: the save lock must be held
+     * when invoking this method.
+     */
+    private void saveSnapshot()
     {
         PlaylistPreference playlistPreference = mUserPreferences.getPlaylistPreference();
 
@@ -414,28 +635,66 @@ public class PlaylistManager implements Listener<ChannelEvent>
             }
         }
 
-        try(OutputStream out = Files.newOutputStream(playlistPreference.getPlaylist()))
+        CRC32 checksum = new CRC32();
+
+        try(OutputStream out = new CheckedOutputStream(new BufferedOutputStream(
+            Files.newOutputStream(playlistPreference.getPlaylist())), checksum))
         {
-            JacksonXmlModule xmlModule = new JacksonXmlModule();
-            xmlModule.setDefaultUseWrapper(false);
-            ObjectMapper objectMapper = new XmlMapper(xmlModule);
-            objectMapper.enable(SerializationFeature.INDENT_OUTPUT);
-            objectMapper.writeValue(out, playlist);
+            OBJECT_MAPPER.writeValue(out, playlist);
             out.flush();
+        }
+        catch(IOException ioe)
+        {
+            mLog.error("IO error while writing the playlist to a file [" + playlistPreference.getPlaylist().toString() + "]", ioe);
+            return;
+        }
+        catch(Exception e)
+        {
+            mLog.error("Error while saving playlist [" + playlistPreference.getPlaylist().toString() + "]", e);
+            return;
+        }
 
+        try
+        {
             //Remove the playlist lock file to indicate that we successfully saved the file
             if(Files.exists(playlistPreference.getPlaylistLock()))
             {
                 Files.delete(playlistPreference.getPlaylistLock());
             }
+
+            //Start a new journal for the updated playlist file
+            if(mPlaylistJournal == null)
+            {
+                mPlaylistJournal = new PlaylistJournal(playlistPreference.getPlaylistJournal(), OBJECT_MAPPER);
+            }
+
+            mPlaylistJournal.reset(playlist, Files.size(playlistPreference.getPlaylist()), checksum.getValue());
         }
         catch(IOException ioe)
         {
-            mLog.error("IO error while writing the playlist to a file [" + playlistPreference.getPlaylist().toString() + "]", ioe);
+            mLog.error("Error resetting playlist journal after saving playlist [" +
+                playlistPreference.getPlaylist().toString() + "] - changes will be saved to the full playlist", ioe);
+            closeJournal();
         }
-        catch(Exception e)
+    }
+
+    /**
+     * Closes and discards the current playlist journal so that subsequent saves write the full playlist.
+     */
+    private void closeJournal()
+    {
+        if(mPlaylistJournal != null)
         {
-            mLog.error("Error while saving playlist [" + playlistPreference.getPlaylist().toString() + "]", e);
+            try
+            {
+                mPlaylistJournal.close();
+            }
+            catch(IOException ioe)
+            {
+                mLog.error("Error closing playlist journal", ioe);
+            }
+
+            mPlaylistJournal = null;
         }
     }
 
@@ -448,6 +707,14 @@ public class PlaylistManager implements Listener<ChannelEvent>
 
         PlaylistV2 playlist = null;
 
+        closeJournal();
+
+        synchronized(mPendingChanges)
+        {
+            mPendingChanges.clear();
+            mSnapshotRequired = false;
+        }
+
         //Check for a lock file that indicates the previous save attempt was incomplete or had an error
         if(Files.exists(files.getPlaylistLock()))
         {
@@ -478,43 +745,48 @@ public class PlaylistManager implements Listener<ChannelEvent>
         {
             mLog.info("Loading playlist [" + files.getPlaylist().toString() + "]");
 
-            JacksonXmlModule xmlModule = new JacksonXmlModule();
-            xmlModule.setDefaultUseWrapper(false);
-            ObjectMapper objectMapper = new XmlMapper(xmlModule)
-                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+            CRC32 checksum = new CRC32();
+            long start = System.currentTimeMillis();
 
-            try(InputStream in = Files.newInputStream(files.getPlaylist()))
+            try(InputStream in = new CheckedInputStream(Files.newInputStream(files.getPlaylist()), checksum))
             {
-                playlist = objectMapper.readValue(in, PlaylistV2.class);
+                playlist = OBJECT_MAPPER.readValue(in, PlaylistV2.class);
+
+                //Consume any trailing content so that the checksum covers the entire file
+                in.transferTo(OutputStream.nullOutputStream());
+                long parsed = System.currentTimeMillis();
+
+                mPlaylistJournal = new PlaylistJournal(files.getPlaylistJournal(), OBJECT_MAPPER);
+                int replayed = mPlaylistJournal.open(playlist, Files.size(files.getPlaylist()), checksum.getValue());
+
+                mLog.info("Loaded playlist with [" + playlist.getAliases().size() + "] aliases and [" +
+                    playlist.getChannels().size() + "] channels - parse [" + (parsed - start) +
+                    "ms] journal replay [" + replayed + " changes " + (System.currentTimeMillis() - parsed) + "ms]");
 
                 if(PlaylistUpdater.update(playlist))
                 {
-                    schedulePlaylistSave();
+                    scheduleSnapshotSave();
                 }
             }
             catch(IOException ioe)
             {
                 mLog.error("IO error while reading playlist file", ioe);
+                closeJournal();
             }
         }
         else if(Files.exists(files.getLegacyPlaylist()))
         {
             mLog.info("Loading legacy playlist [" + files.getLegacyPlaylist().toString() + "]");
 
-            JacksonXmlModule xmlModule = new JacksonXmlModule();
-            xmlModule.setDefaultUseWrapper(false);
-            ObjectMapper objectMapper = new XmlMapper(xmlModule)
-                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
-
             try(InputStream in = Files.newInputStream(files.getLegacyPlaylist()))
             {
-                playlist = objectMapper.readValue(in, PlaylistV2.class);
+                playlist = OBJECT_MAPPER.readValue(in, PlaylistV2.class);
 
                 //Perform any updates that may be needed for the playist.
                 if(PlaylistUpdater.update(playlist))
                 {
                     mLog.info("Legacy playlist was updated to version [" + PLAYLIST_CURRENT_VERSION + "] - saving");
-                    schedulePlaylistSave();
+                    scheduleSnapshotSave();
                 }
             }
             catch(IOException ioe)
@@ -530,17 +802,66 @@ public class PlaylistManager implements Listener<ChannelEvent>
         if(playlist == null)
         {
             playlist = new PlaylistV2();
-            schedulePlaylistSave();
+            scheduleSnapshotSave();
         }
 
         return playlist;
     }
 
+    /**
+     * Schedules a full playlist save.  Use this method when a playlist item was changed in a way that doesn't produce
+     * an item change notification.
+     */
+    public void schedulePlaylistSave()
+    {
+        scheduleSnapshotSave();
+    }
+
+    /**
+     * Schedules a playlist save for a channel that was changed without producing a channel change notification.
+     * @param channel that was changed.
+     */
+    public void schedulePlaylistSave(Channel channel)
+    {
+        schedulePlaylistSave(channel, false);
+    }
+
+    /**
+     * Queues the changed playlist item and schedules a playlist save task.
+     * @param item that was added, changed or removed
+     * @param removed true if the item was removed
+     */
+    private void schedulePlaylistSave(Object item, boolean removed)
+    {
+        if(!mPlaylistLoading && item != null)
+        {
+            synchronized(mPendingChanges)
+            {
+                mPendingChanges.put(item, removed);
+            }
+
+            scheduleSave();
+        }
+    }
+
+    /**
+     * Schedules a full playlist save.
+     */
+    private void scheduleSnapshotSave()
+    {
+        synchronized(mPendingChanges)
+        {
+            mSnapshotRequired = true;
+        }
+
+        scheduleSave();
+    }
+
     /**
      * Schedules a playlist save task.  Subsequent calls to this method will be ignored until the save event occurs,
      * thus limiting repetitive playlist saving to a minimum.
      */
-    public void schedulePlaylistSave()
+    private void scheduleSave()
     {
         if(!mPlaylistLoading)
         {
@@ -559,10 +880,9 @@ public class PlaylistManager implements Listener<ChannelEvent>
         @Override
         public void run()
         {
-            save();
-
-            mPlaylistSaveFuture = null;
             mPlaylistSavePending.set(false);
+            mPlaylistSaveFuture = null;
+            save();
         }
     }
 }
@@ -32,10 +32,12 @@ import org.slf4j.LoggerFactory;
 public class ApplicationPreference extends Preference
 {
     private static final String PREFERENCE_KEY_CHANNEL_AUTO_START_TIMEOUT = "channel.auto.start.timeout";
+    private static final String PREFERENCE_KEY_PARALLEL_TIMESLOT_PROCESSING = "parallel.timeslot.processing";
 
     private final static Logger mLog = LoggerFactory.getLogger(ApplicationPreference.class);
     private Preferences mPreferences = Preferences.userNodeForPackage(ApplicationPreference.class);
     private Integer mChannelAutoStartTimeout;
+    private Boolean mParallelTimeslotProcessing;
 
     /**
      * Constructs an instance
@@ -77,4 +79,29 @@ public class ApplicationPreference extends Preference
         mPreferences.putInt(PREFERENCE_KEY_CHANNEL_AUTO_START_TIMEOUT, timeout);
         notifyPreferenceUpdated();
     }
+
+    /**
+     * Indicates if each timeslot of a multi-timeslot channel (DMR, P25 Phase 2) should be processed on a separate
+     * execution lane so that both timeslots can be decoded concurrently.  Applies to channels started after the change.
+     */
+    public boolean isParallelTimeslotProcessing()
+    {
+        if(mParallelTimeslotProcessing == null)
+        {
+            mParallelTimeslotProcessing = mPreferences.getBoolean(PREFERENCE_KEY_PARALLEL_TIMESLOT_PROCESSING, false);
+        }
+
+        return mParallelTimeslotProcessing;
+    }
+
+    /**
+     * Sets parallel timeslot processing for multi-timeslot channels.
+     * @param parallel true to process each timeslot on a separate execution lane.
+     */
+    public void setParallelTimeslotProcessing(boolean parallel)
+    {
+        mParallelTimeslotProcessing = parallel;
+        mPreferences.putBoolean(PREFERENCE_KEY_PARALLEL_TIMESLOT_PROCESSING, parallel);
+        notifyPreferenceUpdated();
+    }
 }
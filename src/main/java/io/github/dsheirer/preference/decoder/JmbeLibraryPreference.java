@@ -46,9 +46,11 @@ public class JmbeLibraryPreference extends Preference
 
     private static final String PREFERENCE_KEY_PATH_JMBE_LIBRARY = "path.jmbe.library.1.0.0";
     private static final String PREFERENCE_KEY_PATH_ALERT_LIBRARY_REQUIRED = "alert.jmbe.required";
+    private static final String PREFERENCE_KEY_DEFERRED_DECODING = "jmbe.deferred.decoding";
     private final Pattern VERSION_PATTERN = Pattern.compile(".*jmbe-(\\d{1,5}.\\d{1,5}.\\d{1,5}\\w*)\\.jar");
     private Path mPathJmbeLibrary;
     private Boolean mAlertIfMissingLibraryRequired;
+    private Boolean mDeferredDecoding;
 
     /**
      * Constructs this preference with an update listener
@@ -148,6 +150,31 @@ public class JmbeLibraryPreference extends Preference
         notifyPreferenceUpdated();
     }
 
+    /**
+     * Indicates if voice frames should be retained as raw codec frames and only decoded to PCM audio once the audio
+     * segment requires audio (ie monitored, recorded or streamed), instead of decoding every voice frame.
+     */
+    public boolean isDeferredDecoding()
+    {
+        if(mDeferredDecoding == null)
+        {
+            mDeferredDecoding = mPreferences.getBoolean(PREFERENCE_KEY_DEFERRED_DECODING, false);
+        }
+
+        return mDeferredDecoding;
+    }
+
+    /**
+     * Sets the value for deferred (on demand) decoding of voice frames.
+     * @param deferred true to only decode voice frames when the audio is monitored, recorded or streamed.
+     */
+    public void setDeferredDecoding(boolean deferred)
+    {
+        mDeferredDecoding = deferred;
+        mPreferences.putBoolean(PREFERENCE_KEY_DEFERRED_DECODING, mDeferredDecoding);
+        notifyPreferenceUpdated();
+    }
+
     /**
      * Returns the path stored in preferences and referenced by the key argument if it exists, otherwise returns the
      * default path.
@@ -109,6 +109,15 @@ public class PlaylistPreference extends Preference
         return Paths.get(playlist + ".backup");
     }
 
+    /**
+     * Change journal for the playlist, containing changes that have not yet been compacted into the playlist file.
+     */
+    public Path getPlaylistJournal()
+    {
+        String playlist = getPlaylist().toAbsolutePath().toString();
+        return Paths.get(playlist + ".journal");
+    }
+
     /**
      * Sets the path to the playlist
      */
@@ -34,10 +34,12 @@ import java.util.prefs.Preferences;
 public class RecordPreference extends Preference
 {
     private static final String PREFERENCE_KEY_AUDIO_RECORD_FORMAT = "audio.record.format";
+    private static final String PREFERENCE_KEY_MBE_CALL_ARCHIVE = "mbe.call.archive";
     private static final RecordFormat DEFAULT_RECORD_FORMAT = RecordFormat.MP3;
     private final static Logger mLog = LoggerFactory.getLogger(RecordPreference.class);
     private Preferences mPreferences = Preferences.userNodeForPackage(RecordPreference.class);
     private RecordFormat mAudioRecordFormat;
+    private Boolean mMbeCallArchive;
 
     /**
      * Constructs this preference with an update listener
@@ -90,4 +92,29 @@ public class RecordPreference extends Preference
         mPreferences.put(PREFERENCE_KEY_AUDIO_RECORD_FORMAT, audioRecordFormat.name());
         notifyPreferenceUpdated();
     }
+
+    /**
+     * Indicates if MBE codec frame call sequences should be appended to the compact daily binary call archive
+     * instead of written as individual JSON (.mbe) call sequence files.
+     */
+    public boolean isMbeCallArchive()
+    {
+        if(mMbeCallArchive == null)
+        {
+            mMbeCallArchive = mPreferences.getBoolean(PREFERENCE_KEY_MBE_CALL_ARCHIVE, false);
+        }
+
+        return mMbeCallArchive;
+    }
+
+    /**
+     * Sets the MBE codec frame call archive preference
+     * @param archive true to write MBE call sequences to the daily call archive
+     */
+    public void setMbeCallArchive(boolean archive)
+    {
+        mMbeCallArchive = archive;
+        mPreferences.putBoolean(PREFERENCE_KEY_MBE_CALL_ARCHIVE, archive);
+        notifyPreferenceUpdated();
+    }
 }
@@ -30,6 +30,7 @@ import io.github.dsheirer.identifier.string.StringIdentifier;
 import io.github.dsheirer.identifier.tone.Tone;
 import io.github.dsheirer.identifier.tone.ToneIdentifier;
 import io.github.dsheirer.identifier.tone.ToneSequence;
+import io.github.dsheirer.monitor.LatencyStage;
 import io.github.dsheirer.preference.UserPreferences;
 import io.github.dsheirer.sample.Listener;
 import io.github.dsheirer.util.StringUtils;
@@ -153,6 +154,7 @@ public class AudioRecordingManager implements Listener<AudioSegment>
                 try
                 {
                     AudioSegmentRecorder.record(audioSegment, path, recordFormat, mUserPreferences);
+                    audioSegment.recordLatency(LatencyStage.RECORD);
                 }
                 catch(IOException ioe)
                 {
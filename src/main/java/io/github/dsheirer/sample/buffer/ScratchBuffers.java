@@ -0,0 +1,167 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2023 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+package io.github.dsheirer.sample.buffer;
+
+import com.sun.management.ThreadMXBean;
+import io.github.dsheirer.dsp.filter.FilterFactory;
+import io.github.dsheirer.dsp.filter.fir.complex.IComplexDecimationFilter;
+import io.github.dsheirer.dsp.gain.complex.ComplexGainFactory;
+import io.github.dsheirer.dsp.gain.complex.IComplexGainControl;
+import io.github.dsheirer.dsp.window.WindowType;
+import io.github.dsheirer.sample.complex.ComplexSamples;
+
+import java.lang.management.ManagementFactory;
+import java.text.DecimalFormat;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Reusable, keyed float array scratch buffers for sample processing stages that produce intermediate sample buffers
+ * which are consumed before the next sample buffer arrives.  A single instance is owned by each processing chain and
+ * shared by the chain's modules, so that the per-buffer intermediate results of filters, mixers and gain controls
+ * can be stored in reused arrays instead of newly allocated arrays.
+ *
+ * Buffers are identified by a key that should be unique to the consumer and the stage, for example
+ * "p25p1.c4fm.baseband.i".  A buffer is reallocated only when the requested length changes.
+ *
+ * Note: this class is not thread safe.  Scratch buffers should only be accessed from the processing chain's sample
+ * processing thread and the contents of a scratch buffer must not be retained or published to other threads beyond
+ * the processing of the current sample buffer.
+ */
+public class ScratchBuffers
+{
+    private Map<String,float[]> mBuffers = new HashMap<>();
+    private long mAllocationCount;
+    private long mAllocatedBytes;
+
+    /**
+     * Access the scratch buffer for the key, sized exactly to the requested length.
+     * @param key that uniquely identifies the consumer and processing stage
+     * @param length of the buffer
+     * @return reusable buffer
+     */
+    public float[] get(String key, int length)
+    {
+        float[] buffer = mBuffers.get(key);
+
+        if(buffer == null || buffer.length != length)
+        {
+            buffer = new float[length];
+            mBuffers.put(key, buffer);
+            mAllocationCount++;
+            mAllocatedBytes += (long)length * Float.BYTES;
+        }
+
+        return buffer;
+    }
+
+    /**
+     * Number of buffer allocations performed by this instance.  After the first sample buffer, this count should only
+     * increase when a sample rate or buffer size change causes a buffer to be resized.
+     */
+    public long getAllocationCount()
+    {
+        return mAllocationCount;
+    }
+
+    /**
+     * Total number of bytes allocated by this instance.
+     */
+    public long getAllocatedBytes()
+    {
+        return mAllocatedBytes;
+    }
+
+    /**
+     * Releases all scratch buffers.
+     */
+    public void clear()
+    {
+        mBuffers.clear();
+    }
+
+    /**
+     * Allocation rate benchmark that compares the decoder baseband filter and gain control stages using newly
+     * allocated output buffers against the same stages using scratch buffers.
+     */
+    public static void main(String[] args)
+    {
+        Random random = new Random();
+
+        int sampleSize = 2048;
+        int iterations = 200_000;
+
+        float[] i = new float[sampleSize];
+        float[] q = new float[sampleSize];
+
+        for(int x = 0; x < sampleSize; x++)
+        {
+            i[x] = random.nextFloat() * 2.0f - 1.0f;
+            q[x] = random.nextFloat() * 2.0f - 1.0f;
+        }
+
+        ComplexSamples samples = new ComplexSamples(i, q, System.currentTimeMillis());
+        float[] coefficients = FilterFactory.getLowPass(25000, 5100, 6500, 60, WindowType.HAMMING, true);
+        ThreadMXBean threadMXBean = (ThreadMXBean)ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        DecimalFormat df = new DecimalFormat("#,##0.0");
+
+        for(boolean useScratch: new boolean[]{false, true, false, true})
+        {
+            IComplexDecimationFilter filter = FilterFactory.getComplexDecimationFilter(coefficients, 1);
+            IComplexGainControl agc = ComplexGainFactory.getComplexGainControl();
+            ScratchBuffers scratchBuffers = new ScratchBuffers();
+            double accumulator = 0.0;
+
+            long startBytes = threadMXBean.getThreadAllocatedBytes(threadId);
+            long start = System.nanoTime();
+
+            for(int x = 0; x < iterations; x++)
+            {
+                ComplexSamples amplified;
+
+                if(useScratch)
+                {
+                    int length = filter.getOutputLength(sampleSize);
+                    ComplexSamples filtered = filter.filter(samples, scratchBuffers.get("i", length),
+                            scratchBuffers.get("q", length));
+                    amplified = agc.process(filtered.i(), filtered.q(), filtered.timestamp(), filtered.i(), filtered.q());
+                }
+                else
+                {
+                    ComplexSamples filtered = filter.filter(samples);
+                    amplified = agc.process(filtered.i(), filtered.q(), filtered.timestamp());
+                }
+
+                accumulator += amplified.i()[3];
+            }
+
+            double elapsedSeconds = (System.nanoTime() - start) / 1E9;
+            double allocatedMegabytes = (threadMXBean.getThreadAllocatedBytes(threadId) - startBytes) / 1E6;
+
+            System.out.println((useScratch ? "SCRATCH " : "ALLOCATE") +
+                    " Elapsed: " + df.format(elapsedSeconds) + " seconds" +
+                    " Allocated: " + df.format(allocatedMegabytes) + " MB" +
+                    " Allocation Rate: " + df.format(allocatedMegabytes / elapsedSeconds) + " MB/s" +
+                    " Per Buffer: " + df.format(allocatedMegabytes * 1E6 / iterations) + " bytes" +
+                    " Accumulator: " + accumulator);
+        }
+    }
+}
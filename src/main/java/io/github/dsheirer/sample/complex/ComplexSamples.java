@@ -20,10 +20,30 @@
 package io.github.dsheirer.sample.complex;
 
 /**
- * Wrapper for a complex sample array where I and Q samples are in separate arrays.
+ * Wrapper for a complex sample array where I and Q samples are in separate arrays.  The origin is the monotonic
+ * (System.nanoTime) latency tracing stamp of the tuner sample buffer that produced these samples, or zero when the
+ * samples are not traced.
  */
-public record ComplexSamples(float[] i, float[] q, long timestamp)
+public record ComplexSamples(float[] i, float[] q, long timestamp, long origin)
 {
+    /**
+     * Constructs an instance without a latency tracing origin.
+     */
+    public ComplexSamples(float[] i, float[] q, long timestamp)
+    {
+        this(i, q, timestamp, 0);
+    }
+
+    /**
+     * Creates a copy of this buffer, sharing the sample arrays, with the latency tracing origin stamp.
+     * @param origin stamp in nanoseconds
+     * @return stamped samples
+     */
+    public ComplexSamples withOrigin(long origin)
+    {
+        return new ComplexSamples(i, q, timestamp, origin);
+    }
+
     /**
      * Converts this non-interleaved complex samples to interleaved.
      * @return interleaved samples.
@@ -18,6 +18,7 @@
  */
 package io.github.dsheirer.source;
 
+import io.github.dsheirer.source.tuner.channel.rotation.ControlChannelHuntRequest;
 import java.util.EnumSet;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -52,6 +53,7 @@ public class SourceEvent
 
         REQUEST_FREQUENCY_CHANGE,
         REQUEST_FREQUENCY_ROTATION,
+        REQUEST_CONTROL_CHANNEL_HUNT,
         REQUEST_FREQUENCY_SELECTION,
         REQUEST_CHANGE_SQUELCH_THRESHOLD,
         REQUEST_CURRENT_SQUELCH_THRESHOLD,
@@ -70,6 +72,7 @@ public class SourceEvent
     private Number mValue;
     private Source mSource;
     private String mEventDescription;
+    private ControlChannelHuntRequest mControlChannelHuntRequest;
 
     /**
      * Private constructor.  Use the static constructor methods to create an event.
@@ -379,6 +382,28 @@ public class SourceEvent
         return new SourceEvent(Event.REQUEST_FREQUENCY_ROTATION);
     }
 
+    /**
+     * Creates a request to hunt for the control channel across all frequencies in parallel.  This is normally used
+     * by the channel rotation monitor in place of a frequency rotation request when a multiple-frequency source
+     * configuration enables parallel hunting.
+     * @param request containing the hunt sync detector factory and timeout
+     */
+    public static SourceEvent controlChannelHuntRequest(ControlChannelHuntRequest request)
+    {
+        SourceEvent sourceEvent = new SourceEvent(Event.REQUEST_CONTROL_CHANNEL_HUNT, request.getTimeout());
+        sourceEvent.mControlChannelHuntRequest = request;
+        return sourceEvent;
+    }
+
+    /**
+     * Control channel hunt request for a REQUEST_CONTROL_CHANNEL_HUNT event
+     * @return request or null
+     */
+    public ControlChannelHuntRequest getControlChannelHuntRequest()
+    {
+        return mControlChannelHuntRequest;
+    }
+
     /**
      * Creates a request to cycle to a specific frequency.  This is normally used for decoders to request the
      * next frequency in a list when a multiple-frequency source configuration is defined.
@@ -40,6 +40,7 @@ public class SourceConfigTunerMultipleFrequency extends SourceConfiguration
     private String mPreferredTuner;
     private Long mPreferredFrequency;
     private int mFrequencyRotationDelay = ChannelRotationMonitor.CHANNEL_ROTATION_DELAY_MINIMUM;
+    private boolean mParallelHunt;
 
     public SourceConfigTunerMultipleFrequency()
     {
@@ -186,4 +187,26 @@ public class SourceConfigTunerMultipleFrequency extends SourceConfiguration
             mFrequencyRotationDelay = frequencyRotationDelay;
         }
     }
+
+    /**
+     * Indicates if a lost control channel should be hunted across all frequencies in parallel, instead of rotating
+     * through the frequencies one at a time.  Candidate frequencies that can't be sourced by a tuner without retuning
+     * are not included in the hunt.
+     *
+     * Note: this value is only used by decoders that provide a control channel hunt sync detector (P25 Phase 1 C4FM
+     * and DMR) and is ignored when the source config contains a single frequency.
+     */
+    @JacksonXmlProperty(isAttribute = true, localName = "parallel_hunt")
+    public boolean isParallelHunt()
+    {
+        return mParallelHunt;
+    }
+
+    /**
+     * Enables or disables parallel control channel hunting.
+     */
+    public void setParallelHunt(boolean parallelHunt)
+    {
+        mParallelHunt = parallelHunt;
+    }
 }
@@ -103,6 +103,15 @@ public class AirspyTunerController extends USBTunerController
         return USB_TRANSFER_BUFFER_SIZE;
     }
 
+    /**
+     * Airspy delivers 16-bit samples - two real samples (4 bytes) per complex sample at the output sample rate
+     */
+    @Override
+    protected int getTransferBytesPerSample()
+    {
+        return 4;
+    }
+
     @Override
     public int getBufferSampleCount()
     {
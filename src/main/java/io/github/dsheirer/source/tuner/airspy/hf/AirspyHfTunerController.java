@@ -319,6 +319,15 @@ public class AirspyHfTunerController extends USBTunerController
         return BUFFER_BYTE_SIZE;
     }
 
+    /**
+     * Airspy HF delivers 2x 16-bit samples (4 bytes) per complex sample
+     */
+    @Override
+    protected int getTransferBytesPerSample()
+    {
+        return 4;
+    }
+
     /**
      * Implements additional device-specific start operations.
      * @throws SourceException if there is an issue
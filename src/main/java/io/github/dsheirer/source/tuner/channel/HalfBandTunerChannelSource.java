@@ -191,7 +191,8 @@ public class HalfBandTunerChannelSource<T extends INativeBuffer> extends TunerCh
 
                     try
                     {
-                        mSamplesListener.receive(new ComplexSamples(i, q, basebanded.timestamp()));
+                        mSamplesListener.receive(new ComplexSamples(i, q, basebanded.timestamp(),
+                            nativeBuffer.getOriginNanos()));
                     }
                     catch(Throwable t)
                     {
@@ -26,6 +26,8 @@ import io.github.dsheirer.source.Source;
 import io.github.dsheirer.source.SourceEvent;
 import io.github.dsheirer.source.SourceException;
 import io.github.dsheirer.source.heartbeat.Heartbeat;
+import io.github.dsheirer.source.tuner.channel.rotation.ControlChannelHuntRequest;
+import io.github.dsheirer.source.tuner.channel.rotation.ControlChannelHunter;
 import io.github.dsheirer.source.tuner.channel.rotation.FrequencyLockChangeRequest;
 import io.github.dsheirer.source.tuner.manager.TunerManager;
 import io.github.dsheirer.util.ThreadPool;
@@ -40,6 +42,11 @@ import org.slf4j.LoggerFactory;
  * Multiple-frequency tuner channel source.  Provides a wrapper around a tuner channel source and listens for external
  * source events requests to change frequency.  Maintains an ordered list of frequencies and automatically tears down
  * an existing tuner channel source and obtains a new one with the next frequency from the list, on request.
+ *
+ * Also supports a parallel control channel hunt, on request, where short-lived channel sources are obtained for each
+ * of the candidate frequencies that can be sourced without retuning and each candidate is monitored with a lightweight
+ * sync detector.  The source changes to the first candidate frequency that confirms sync, or falls back to a standard
+ * rotation to the next frequency when none of the candidates confirm sync before the hunt times out.
  */
 public class MultiFrequencyTunerChannelSource extends TunerChannelSource
 {
@@ -55,6 +62,7 @@ public class MultiFrequencyTunerChannelSource extends TunerChannelSource
     private Listener<Heartbeat> mHeartbeatListener;
     private String mPreferredTuner;
     private AtomicBoolean mChangingChannels = new AtomicBoolean();
+    private ControlChannelHunter mControlChannelHunter;
     private boolean mStarted;
     private ConsumerSourceEventAdapter mConsumerSourceEventAdapter = new ConsumerSourceEventAdapter();
 
@@ -87,19 +95,103 @@ public class MultiFrequencyTunerChannelSource extends TunerChannelSource
                 return;
             }
 
-            if(mTunerChannelSource != null)
+            changeFrequency(frequency);
+        }
+    }
+
+    /**
+     * Tears down the existing tuner channel source and obtains a new source for the frequency.  This method should
+     * only be invoked while holding the mChangingChannels flag.
+     * @param frequency for the new tuner channel source
+     */
+    private void changeFrequency(long frequency)
+    {
+        if(mTunerChannelSource != null)
+        {
+            //Shutdown the existing tuner channel source
+            mTunerChannelSource.stop();
+            mTunerChannelSource.setListener(null);
+            mTunerChannelSource.removeSourceEventListener();
+            mTunerChannelSource.removeHeartbeatListener(mHeartbeatListener);
+            mTunerChannelSource.dispose();
+            mTunerChannelSource = null;
+        }
+
+        //Request the next tuner channel source
+        getNextSource(getTunerChannel(frequency));
+    }
+
+    /**
+     * Hunts for the control channel across all candidate frequencies in parallel.  Candidate
+     * frequencies are each of the frequencies in the list that are not locked and not currently in use.  Any candidate
+     * that can't be sourced without retuning a tuner is skipped.  Falls back to a standard rotation when none of the
+     * candidates can be sourced.  The request is ignored when a frequency change or hunt is already in progress.
+     *
+     * @param request to hunt for the control channel
+     */
+    private void hunt(ControlChannelHuntRequest request)
+    {
+        if(mStarted && mChangingChannels.compareAndSet(false, true))
+        {
+            ControlChannelHunter hunter = new ControlChannelHunter(this::huntComplete);
+
+            for(Long frequency: mFrequencies)
             {
-                //Shutdown the existing tuner channel source
-                mTunerChannelSource.stop();
-                mTunerChannelSource.setListener(null);
-                mTunerChannelSource.removeSourceEventListener();
-                mTunerChannelSource.removeHeartbeatListener(mHeartbeatListener);
-                mTunerChannelSource.dispose();
-                mTunerChannelSource = null;
+                if(frequency != getFrequency() && !mLockedFrequencies.contains(frequency))
+                {
+                    TunerChannelSource source = mTunerManager.getHuntSource(getTunerChannel(frequency),
+                        mChannelSpecification);
+
+                    if(source != null)
+                    {
+                        hunter.add(source, request.createDetector());
+                    }
+                }
             }
 
-            //Request the next tuner channel source
-            getNextSource(getTunerChannel(frequency));
+            if(hunter.hasCandidates())
+            {
+                mControlChannelHunter = hunter;
+                hunter.start(request.getTimeout());
+            }
+            else
+            {
+                mChangingChannels.set(false);
+                rotate();
+            }
+        }
+    }
+
+    /**
+     * Processes the result of a parallel control channel hunt.  Changes to the winning frequency, or rotates to the
+     * next frequency when the hunt timed out without a winner.
+     * @param frequency that won the hunt or 0 if the hunt timed out
+     */
+    private void huntComplete(Long frequency)
+    {
+        mControlChannelHunter = null;
+
+        if(!mStarted)
+        {
+            mChangingChannels.set(false);
+            return;
+        }
+
+        if(frequency != null && frequency > 0)
+        {
+            int index = mFrequencies.indexOf(frequency);
+
+            if(index >= 0)
+            {
+                mFrequencyListPointer = index;
+            }
+
+            changeFrequency(frequency);
+        }
+        else
+        {
+            mChangingChannels.set(false);
+            rotate();
         }
     }
 
@@ -155,6 +247,15 @@ public class MultiFrequencyTunerChannelSource extends TunerChannelSource
     {
         mStarted = false;
 
+        ControlChannelHunter hunter = mControlChannelHunter;
+
+        if(hunter != null)
+        {
+            hunter.cancel();
+            mControlChannelHunter = null;
+            mChangingChannels.set(false);
+        }
+
         if(mTunerChannelSource != null)
         {
             mTunerChannelSource.stop();
@@ -296,7 +397,7 @@ public class MultiFrequencyTunerChannelSource extends TunerChannelSource
 
     /**
      * Overrides the parent method so that we can intercept external requests to change to the next frequency in the
-     * frequency list.
+     * frequency list or to hunt for the control channel.
      *
      * @param sourceEvent to process
      * @throws SourceException
@@ -308,6 +409,10 @@ public class MultiFrequencyTunerChannelSource extends TunerChannelSource
         {
             rotate();
         }
+        else if(sourceEvent.getEvent() == SourceEvent.Event.REQUEST_CONTROL_CHANNEL_HUNT)
+        {
+            hunt(sourceEvent.getControlChannelHuntRequest());
+        }
         else if(mTunerChannelSource != null)
         {
             mTunerChannelSource.process(sourceEvent);
@@ -116,7 +116,7 @@ public class PassThroughChannelSource extends TunerChannelSource implements ISou
                 {
                     try
                     {
-                        mBufferListener.receive(iterator.next());
+                        mBufferListener.receive(iterator.next().withOrigin(nativeBuffer.getOriginNanos()));
                     }
                     catch(Throwable t)
                     {
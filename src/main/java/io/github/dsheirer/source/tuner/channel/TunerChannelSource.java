@@ -162,6 +162,7 @@ public abstract class TunerChannelSource extends ComplexSource implements ISourc
                 break;
             case NOTIFICATION_FREQUENCY_ROTATION_FAILURE:
             case NOTIFICATION_FREQUENCY_ROTATION_SUCCESS:
+            case REQUEST_CONTROL_CHANNEL_HUNT:
             case NOTIFICATION_CHANNEL_POWER:
             case NOTIFICATION_SQUELCH_THRESHOLD:
             case NOTIFICATION_SQUELCH_AUTO_TRACK:
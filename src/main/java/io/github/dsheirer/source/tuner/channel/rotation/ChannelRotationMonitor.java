@@ -27,6 +27,7 @@ import io.github.dsheirer.module.Module;
 import io.github.dsheirer.preference.PreferenceType;
 import io.github.dsheirer.preference.UserPreferences;
 import io.github.dsheirer.sample.Listener;
+import io.github.dsheirer.source.ISourceEventListener;
 import io.github.dsheirer.source.ISourceEventProvider;
 import io.github.dsheirer.source.SourceEvent;
 import io.github.dsheirer.util.ThreadPool;
@@ -36,18 +37,25 @@ import org.slf4j.LoggerFactory;
 import java.util.Collection;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 /**
  * Monitors channel state to detect when a channel is not in an identified active state and issues a request to rotate
  * to the next channel frequency in the list.  This class depends on the ChannelState providing a continuous
  * stream of channel state notification events in the form of DecoderStateEvents.
+ *
+ * When constructed with a hunt sync detector factory, the monitor issues a parallel control channel hunt request
+ * instead of a rotation request, so that all candidate frequencies are checked for sync at the same time.  When a
+ * hunt request does not produce a frequency change notification from the source before the next check, the monitor
+ * falls back to a standard rotation request.
  */
-public class ChannelRotationMonitor extends Module implements ISourceEventProvider, IDecoderStateEventListener,
-        Listener<DecoderStateEvent>
+public class ChannelRotationMonitor extends Module implements ISourceEventProvider, ISourceEventListener,
+        IDecoderStateEventListener, Listener<DecoderStateEvent>
 {
     public static final int CHANNEL_ROTATION_DELAY_MINIMUM = 200;
     public static final int CHANNEL_ROTATION_DELAY_DEFAULT = 500;
     public static final int CHANNEL_ROTATION_DELAY_MAXIMUM = 2000;
+    public static final long CONTROL_CHANNEL_HUNT_TIMEOUT = 1000;
 
     private final static Logger mLog = LoggerFactory.getLogger(ChannelRotationMonitor.class);
     private UserPreferences mUserPreferences;
@@ -57,6 +65,14 @@ public class ChannelRotationMonitor extends Module implements ISourceEventProvid
     private long mRotationDelay;
     private long mLastActiveTimestamp = System.currentTimeMillis();
     private boolean mEnabled = true;
+    private Supplier<IHuntSyncDetector> mHuntDetectorFactory;
+    private boolean mHuntPending;
+    private Listener<SourceEvent> mSourceEventProcessor = sourceEvent -> {
+        if(sourceEvent.getEvent() == SourceEvent.Event.NOTIFICATION_FREQUENCY_CHANGE)
+        {
+            mHuntPending = false;
+        }
+    };
 
     /**
      * Constructs a channel rotation monitor that uses the specified rotation delay.
@@ -74,6 +90,19 @@ public class ChannelRotationMonitor extends Module implements ISourceEventProvid
         }
     }
 
+    /**
+     * Constructs a channel rotation monitor that hunts for the control channel across all frequencies in parallel.
+     * @param activeStates to monitor
+     * @param rotationDelay specifies how long to remain on each frequency before hunting (in milliseconds).
+     * @param huntDetectorFactory to create a lightweight sync detector for each candidate frequency.
+     */
+    public ChannelRotationMonitor(Collection<State> activeStates, long rotationDelay,
+                                  Supplier<IHuntSyncDetector> huntDetectorFactory)
+    {
+        this(activeStates, rotationDelay);
+        mHuntDetectorFactory = huntDetectorFactory;
+    }
+
     /**
      * Registers the external listener to receive frequency rotation requests from this module
      */
@@ -92,6 +121,15 @@ public class ChannelRotationMonitor extends Module implements ISourceEventProvid
         mSourceEventListener = null;
     }
 
+    /**
+     * Listener to receive source event notifications so that we can detect when a hunt request has been handled.
+     */
+    @Override
+    public Listener<SourceEvent> getSourceEventListener()
+    {
+        return mSourceEventProcessor;
+    }
+
     @Override
     public Listener<DecoderStateEvent> getDecoderStateListener()
     {
@@ -138,15 +176,29 @@ public class ChannelRotationMonitor extends Module implements ISourceEventProvid
 
     /**
      * Checks the current active state and when inactive for longer than the specified delay, issues a
-     * channel frequency rotation request
+     * channel frequency rotation request, or a control channel hunt request when hunting is enabled.  If the
+     * previous hunt request was not handled by the source, we fall back to a rotation request.
      */
     private void checkState()
     {
         if(mEnabled && mSourceEventListener != null &&
             ((mLastActiveTimestamp + mRotationDelay) < System.currentTimeMillis()))
         {
-            mSourceEventListener.receive(SourceEvent.frequencyRotationRequest());
-            mLastActiveTimestamp = System.currentTimeMillis();
+            if(mHuntDetectorFactory != null && !mHuntPending)
+            {
+                mHuntPending = true;
+                mSourceEventListener.receive(SourceEvent.controlChannelHuntRequest(
+                    new ControlChannelHuntRequest(mHuntDetectorFactory, CONTROL_CHANNEL_HUNT_TIMEOUT)));
+
+                //Allow the hunt to complete before we consider issuing another request
+                mLastActiveTimestamp = System.currentTimeMillis() + CONTROL_CHANNEL_HUNT_TIMEOUT;
+            }
+            else
+            {
+                mHuntPending = false;
+                mSourceEventListener.receive(SourceEvent.frequencyRotationRequest());
+                mLastActiveTimestamp = System.currentTimeMillis();
+            }
         }
     }
 
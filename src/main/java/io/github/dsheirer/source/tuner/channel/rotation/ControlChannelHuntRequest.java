@@ -0,0 +1,67 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2023 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.source.tuner.channel.rotation;
+
+import java.util.function.Supplier;
+
+/**
+ * Request to hunt for a lost control channel by monitoring all candidate frequencies in parallel, instead of rotating
+ * through the frequencies one at a time.  The request is delivered to the source in a control channel hunt
+ * request source event.
+ */
+public class ControlChannelHuntRequest
+{
+    private Supplier<IHuntSyncDetector> mDetectorFactory;
+    private long mTimeout;
+
+    /**
+     * Constructs an instance
+     * @param detectorFactory to create a sync detector for each candidate frequency
+     * @param timeout in milliseconds to wait for a candidate frequency to produce sync before giving up and falling
+     * back to a standard rotation to the next frequency.
+     */
+    public ControlChannelHuntRequest(Supplier<IHuntSyncDetector> detectorFactory, long timeout)
+    {
+        mDetectorFactory = detectorFactory;
+        mTimeout = timeout;
+    }
+
+    /**
+     * Creates a new sync detector for a candidate frequency
+     */
+    public IHuntSyncDetector createDetector()
+    {
+        return mDetectorFactory.get();
+    }
+
+    /**
+     * Hunt timeout in milliseconds
+     */
+    public long getTimeout()
+    {
+        return mTimeout;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "CONTROL CHANNEL HUNT REQUEST - TIMEOUT:" + mTimeout + "ms";
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2023 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.source.tuner.channel.rotation;
+
+import io.github.dsheirer.sample.Listener;
+import io.github.dsheirer.source.SourceEvent;
+import io.github.dsheirer.source.tuner.channel.TunerChannelSource;
+import io.github.dsheirer.util.ThreadPool;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Hunts for a control channel across a set of candidate frequencies in parallel.  Each candidate is a short-lived
+ * tuner channel source that feeds a lightweight sync detector.  The first candidate to confirm control channel sync
+ * wins the hunt.  All candidate sources are released when the hunt completes, either by a candidate winning the hunt,
+ * the hunt timing out, or the hunt being cancelled.
+ *
+ * The result listener receives the winning frequency, or 0 if the hunt timed out.  It is not notified when the hunt
+ * is cancelled.
+ */
+public class ControlChannelHunter
+{
+    private final static Logger mLog = LoggerFactory.getLogger(ControlChannelHunter.class);
+
+    /**
+     * Number of sync detections required to confirm a candidate, to avoid locking onto a spurious sync match
+     */
+    public static final int SYNC_CONFIRMATION_COUNT = 2;
+
+    private List<Candidate> mCandidates = new ArrayList<>();
+    private AtomicBoolean mComplete = new AtomicBoolean();
+    private Listener<Long> mResultListener;
+    private ScheduledFuture<?> mTimeoutFuture;
+
+    /**
+     * Constructs an instance
+     * @param resultListener to receive the winning frequency, or 0 if no candidate confirmed sync before timeout
+     */
+    public ControlChannelHunter(Listener<Long> resultListener)
+    {
+        mResultListener = resultListener;
+    }
+
+    /**
+     * Adds a candidate frequency to the hunt.
+     * @param source for the candidate frequency (not started)
+     * @param detector to process the samples from the source
+     */
+    public void add(TunerChannelSource source, IHuntSyncDetector detector)
+    {
+        mCandidates.add(new Candidate(source, detector));
+    }
+
+    /**
+     * Indicates if this hunter has at least one candidate frequency
+     */
+    public boolean hasCandidates()
+    {
+        return !mCandidates.isEmpty();
+    }
+
+    /**
+     * Starts all candidate sources and schedules the hunt timeout.
+     * @param timeout in milliseconds
+     */
+    public void start(long timeout)
+    {
+        mTimeoutFuture = ThreadPool.SCHEDULED.schedule(() -> complete(0), timeout, TimeUnit.MILLISECONDS);
+
+        for(Candidate candidate: mCandidates)
+        {
+            candidate.start();
+        }
+    }
+
+    /**
+     * Cancels the hunt and releases all candidate sources without notifying the result listener.
+     */
+    public void cancel()
+    {
+        if(mComplete.compareAndSet(false, true))
+        {
+            if(mTimeoutFuture != null)
+            {
+                mTimeoutFuture.cancel(false);
+            }
+
+            ThreadPool.CACHED.submit(this::dispose);
+        }
+    }
+
+    /**
+     * Completes the hunt with the winning frequency and releases the candidate sources.  Candidate sources are
+     * released on a separate thread since this method is normally invoked on a candidate source's sample delivery
+     * thread.
+     * @param frequency that won the hunt, or 0 if the hunt timed out
+     */
+    private void complete(long frequency)
+    {
+        if(mComplete.compareAndSet(false, true))
+        {
+            if(mTimeoutFuture != null)
+            {
+                mTimeoutFuture.cancel(false);
+            }
+
+            ThreadPool.CACHED.submit(() -> {
+                dispose();
+
+                try
+                {
+                    mResultListener.receive(frequency);
+                }
+                catch(Throwable t)
+                {
+                    mLog.error("Error while processing control channel hunt result", t);
+                }
+            });
+        }
+    }
+
+    /**
+     * Stops and disposes each of the candidate sources.
+     */
+    private void dispose()
+    {
+        for(Candidate candidate: mCandidates)
+        {
+            candidate.dispose();
+        }
+
+        mCandidates.clear();
+    }
+
+    /**
+     * Candidate frequency with a tuner channel source and a sync detector.
+     */
+    private class Candidate
+    {
+        private TunerChannelSource mSource;
+        private IHuntSyncDetector mDetector;
+
+        public Candidate(TunerChannelSource source, IHuntSyncDetector detector)
+        {
+            mSource = source;
+            mDetector = detector;
+        }
+
+        /**
+         * Connects the detector to the source and starts the source
+         */
+        public void start()
+        {
+            if(mSource.getSampleRate() > 0)
+            {
+                mDetector.setSampleRate(mSource.getSampleRate());
+            }
+
+            mSource.setSourceEventListener(sourceEvent -> {
+                if(sourceEvent.getEvent() == SourceEvent.Event.NOTIFICATION_SAMPLE_RATE_CHANGE)
+                {
+                    mDetector.setSampleRate(sourceEvent.getValue().doubleValue());
+                }
+            });
+            mSource.setListener(samples -> {
+                if(!mComplete.get())
+                {
+                    mDetector.receive(samples);
+
+                    if(mDetector.getSyncCount() >= SYNC_CONFIRMATION_COUNT)
+                    {
+                        complete(mSource.getFrequency());
+                    }
+                }
+            });
+            mSource.start();
+        }
+
+        /**
+         * Stops and disposes the source
+         */
+        public void dispose()
+        {
+            mSource.stop();
+            mSource.setListener(null);
+            mSource.removeSourceEventListener();
+            mSource.dispose();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2023 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.source.tuner.channel.rotation;
+
+import io.github.dsheirer.sample.Listener;
+import io.github.dsheirer.sample.complex.ComplexSamples;
+
+/**
+ * Lightweight sync detector used while hunting for a control channel.  Instances receive the raw complex sample
+ * stream from a short-lived candidate channel and count the control channel sync patterns that they detect, without
+ * performing any message decoding.
+ */
+public interface IHuntSyncDetector extends Listener<ComplexSamples>
+{
+    /**
+     * Sets the sample rate of the incoming complex sample stream.  This must be invoked before any samples are
+     * received and whenever the sample rate changes.
+     * @param sampleRate in hertz
+     */
+    void setSampleRate(double sampleRate);
+
+    /**
+     * Number of control channel sync patterns detected since this detector was created.
+     */
+    int getSyncCount();
+}
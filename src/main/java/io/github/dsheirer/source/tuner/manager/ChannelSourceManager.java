@@ -81,6 +81,41 @@ public abstract class ChannelSourceManager implements ISourceEventProcessor
      */
     public abstract TunerChannelSource getSource(TunerChannel tunerChannel, ChannelSpecification channelSpecification);
 
+    /**
+     * Indicates if this source manager can provide a source for the tuner channel, in addition to any channels that it
+     * is currently sourcing, without allocating the channel.  Sub-classes should override to provide an accurate
+     * check.  Used by the tuner manager to choose among tuners.
+     *
+     * @param tunerChannel to check
+     * @return true if the channel can (potentially) be sourced
+     */
+    public boolean canSource(TunerChannel tunerChannel)
+    {
+        return true;
+    }
+
+    /**
+     * Indicates if the tuner channel can be sourced at the tuner's current center frequency, without retuning the
+     * tuner and moving any channels that it is currently sourcing.
+     *
+     * @param tunerChannel to check
+     * @return true if the channel is within the tuner's currently usable bandwidth
+     */
+    public boolean isCovered(TunerChannel tunerChannel)
+    {
+        return false;
+    }
+
+    /**
+     * Measured processing load of this source manager's sample processing thread.
+     * @return load where 0.0 is idle (or not measured) and 1.0 or greater indicates that the thread can't keep up with
+     * the tuner's sample rate.
+     */
+    public double getProcessingLoad()
+    {
+        return 0.0;
+    }
+
     /**
      * Signals that the complex buffer provider has an error and can no long provider buffers.  The subclass should
      * implement procedures to gracefully shutdown any tuner channel sources that have been provisioned.
@@ -416,6 +416,40 @@ public class PolyphaseChannelSourceManager extends ChannelSourceManager
         return mPolyphaseChannelManager.getTunerChannelCount();
     }
 
+    @Override
+    public boolean canSource(TunerChannel tunerChannel)
+    {
+        try
+        {
+            mTunerController.getFrequencyControllerLock().lock();
+
+            if(isTunable(tunerChannel))
+            {
+                SortedSet<TunerChannel> tunerChannels = getTunerChannels();
+                tunerChannels.add(tunerChannel);
+                return canTune(tunerChannels);
+            }
+        }
+        finally
+        {
+            mTunerController.getFrequencyControllerLock().unlock();
+        }
+
+        return false;
+    }
+
+    @Override
+    public boolean isCovered(TunerChannel tunerChannel)
+    {
+        return getTunerChannelCount() > 0 && isValidCenterFrequency(tunerChannel, mTunerController.getFrequency());
+    }
+
+    @Override
+    public double getProcessingLoad()
+    {
+        return mPolyphaseChannelManager.getProcessingLoad();
+    }
+
     /**
      * Allocates a tuner channel source for the tuner channel.
      *
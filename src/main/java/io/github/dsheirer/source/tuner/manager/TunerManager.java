@@ -29,6 +29,7 @@ import io.github.dsheirer.source.config.SourceConfigTunerMultipleFrequency;
 import io.github.dsheirer.source.config.SourceConfiguration;
 import io.github.dsheirer.source.mixer.MixerManager;
 import io.github.dsheirer.source.tuner.TunerClass;
+import io.github.dsheirer.source.tuner.TunerController;
 import io.github.dsheirer.source.tuner.TunerFactory;
 import io.github.dsheirer.source.tuner.TunerType;
 import io.github.dsheirer.source.tuner.channel.ChannelSpecification;
@@ -77,6 +78,7 @@ public class TunerManager implements IDiscoveredTunerStatusListener
     private Context mLibUsbApplicationContext = new Context();
     private boolean mLibUsbInitialized = false;
     private SDRplay mSDRplay;
+    private TunerPlacementPolicy mTunerPlacementPolicy = new TunerPlacementPolicy();
 
     /**
      * Constructs an instance
@@ -557,7 +559,8 @@ public class TunerManager implements IDiscoveredTunerStatusListener
     }
 
     /**
-     * Iterates current available tuners to get a tuner channel source for the specified frequency and bandwidth
+     * Gets a tuner channel source for the specified frequency and bandwidth from the preferred tuner, when specified,
+     * or otherwise from the available tuner chosen by the load-aware tuner placement policy.
      *
      * Returns null if no tuner can source the channel
      */
@@ -594,27 +597,76 @@ public class TunerManager implements IDiscoveredTunerStatusListener
                         preferredTuner + "] - searching for another tuner");
             }
 
-            Iterator<DiscoveredTuner> it = mDiscoveredTunerModel.getAvailableTuners().iterator();
+            List<DiscoveredTuner> rankedTuners = mTunerPlacementPolicy.rank(mDiscoveredTunerModel.getAvailableTuners(),
+                    tunerChannel);
+            Iterator<DiscoveredTuner> it = rankedTuners.iterator();
 
             while(it.hasNext() && source == null)
             {
                 discoveredTuner = it.next();
 
-                if(discoveredTuner.hasTuner())
+                try
                 {
-                    try
+                    source = discoveredTuner.getTuner().getChannelSourceManager().getSource(tunerChannel, channelSpecification);
+
+                    if(source != null && rankedTuners.size() > 1)
                     {
-                        source = discoveredTuner.getTuner().getChannelSourceManager().getSource(tunerChannel, channelSpecification);
+                        ChannelSourceManager manager = discoveredTuner.getTuner().getChannelSourceManager();
+                        mLog.debug("Placed channel [" + tunerChannel.getFrequency() + "] on tuner [" +
+                                discoveredTuner.getTuner().getPreferredName() + "] of [" + rankedTuners.size() +
+                                "] candidate tuners - channels [" + manager.getTunerChannelCount() + "] load [" +
+                                String.format("%.2f", manager.getProcessingLoad()) + "]");
                     }
-                    catch(Exception e)
+                }
+                catch(Exception e)
+                {
+                    mLog.error("Error obtaining channel from tuner [" + discoveredTuner.getTuner().getPreferredName() + "]", e);
+                }
+            }
+        }
+
+        return source;
+    }
+
+    /**
+     * Gets a short-lived tuner channel source for hunting on the specified candidate frequency.  Only tuners that are
+     * currently tuned such that the channel falls within their usable bandwidth are considered, so that obtaining
+     * the candidate source does not disturb other channels or claim an idle tuner.
+     *
+     * Returns null if no tuner can source the channel without retuning.
+     */
+    public TunerChannelSource getHuntSource(TunerChannel tunerChannel, ChannelSpecification channelSpecification)
+    {
+        if(tunerChannel != null && channelSpecification != null)
+        {
+            for(DiscoveredTuner discoveredTuner: mDiscoveredTunerModel.getAvailableTuners())
+            {
+                try
+                {
+                    TunerController controller = discoveredTuner.getTuner().getTunerController();
+
+                    if(discoveredTuner.getTuner().getChannelSourceManager().getTunerChannelCount() > 0 &&
+                        controller.getMinTunedFrequency() <= tunerChannel.getMinFrequency() &&
+                        tunerChannel.getMaxFrequency() <= controller.getMaxTunedFrequency())
                     {
-                        mLog.error("Error obtaining channel from tuner [" + discoveredTuner.getTuner().getPreferredName() + "]", e);
+                        TunerChannelSource source = discoveredTuner.getTuner().getChannelSourceManager()
+                            .getSource(tunerChannel, channelSpecification);
+
+                        if(source != null)
+                        {
+                            return source;
+                        }
                     }
                 }
+                catch(Exception e)
+                {
+                    mLog.debug("Unable to obtain hunt channel [" + tunerChannel.getFrequency() + "] from tuner [" +
+                        discoveredTuner.getTuner().getPreferredName() + "]", e);
+                }
             }
         }
 
-        return source;
+        return null;
     }
 
     /**
@@ -0,0 +1,102 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2023 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.source.tuner.manager;
+
+import io.github.dsheirer.source.tuner.channel.TunerChannel;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Load-aware tuner placement policy for choosing which tuner should source a new tuner channel when more than one
+ * tuner can provide the channel.
+ *
+ * Each candidate tuner is scored from:
+ * - measured processing load of the tuner's channelizer thread (fraction of real time)
+ * - estimated load of the channels currently allocated to the tuner, so that a burst of allocations is spread
+ *   across tuners before the measured load catches up
+ * - a penalty when sourcing the channel requires retuning a tuner that is already sourcing other channels
+ * - a large penalty for tuners whose channelizer has no processing headroom left
+ *
+ * Tuners are ranked lowest score first.  Since the score is evaluated for each allocation request using the current
+ * measured load, new allocations are dynamically rebalanced toward tuners with headroom as load changes.
+ */
+public class TunerPlacementPolicy
+{
+    /**
+     * Processing load threshold above which a tuner is considered to have no headroom.
+     */
+    public static final double MAXIMUM_PROCESSING_LOAD = 0.85;
+    private static final double CHANNEL_LOAD = 0.02;
+    private static final double RETUNE_PENALTY = 0.25;
+    private static final double SATURATED_PENALTY = 10.0;
+
+    /**
+     * Ranks the candidate tuners for sourcing the tuner channel.
+     * @param tuners that are available
+     * @param tunerChannel to source
+     * @return tuners that can source the channel, ordered by preference (best first)
+     */
+    public List<DiscoveredTuner> rank(List<DiscoveredTuner> tuners, TunerChannel tunerChannel)
+    {
+        Map<DiscoveredTuner,Double> scores = new LinkedHashMap<>();
+
+        for(DiscoveredTuner discoveredTuner: tuners)
+        {
+            if(discoveredTuner.hasTuner())
+            {
+                ChannelSourceManager manager = discoveredTuner.getTuner().getChannelSourceManager();
+
+                if(manager != null && manager.canSource(tunerChannel))
+                {
+                    scores.put(discoveredTuner, getScore(manager, tunerChannel));
+                }
+            }
+        }
+
+        List<DiscoveredTuner> ranked = new ArrayList<>(scores.keySet());
+        ranked.sort(Comparator.comparingDouble(scores::get));
+        return ranked;
+    }
+
+    /**
+     * Calculates the placement score for the channel source manager.  Lower is better.
+     */
+    public double getScore(ChannelSourceManager manager, TunerChannel tunerChannel)
+    {
+        double load = manager.getProcessingLoad();
+        int channelCount = manager.getTunerChannelCount();
+        double score = load + channelCount * CHANNEL_LOAD;
+
+        if(channelCount > 0 && !manager.isCovered(tunerChannel))
+        {
+            score += RETUNE_PENALTY;
+        }
+
+        if(load > MAXIMUM_PROCESSING_LOAD)
+        {
+            score += SATURATED_PENALTY;
+        }
+
+        return score;
+    }
+}
@@ -0,0 +1,482 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2023 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.source.tuner.test;
+
+import io.github.dsheirer.buffer.FloatNativeBuffer;
+import io.github.dsheirer.buffer.INativeBuffer;
+import io.github.dsheirer.controller.NamingThreadFactory;
+import io.github.dsheirer.sample.Broadcaster;
+import io.github.dsheirer.sample.Listener;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.LockSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Synthetic trunked radio wideband sample generator for capacity testing.  Generates complex sample buffers containing
+ * any number of simulated radio systems, each with an optional always-keyed control channel and a set of traffic
+ * channels that are keyed and un-keyed by a random (Poisson) channel grant process.
+ *
+ * The generator runs on a dedicated thread, either paced to real time scaled by a speed factor, or unpaced (speed
+ * factor of zero) to generate samples as fast as the listeners can consume them.  Timestamps and the channel grant
+ * process use the simulated (sample) time, so that the generated load is identical regardless of the speed factor.
+ */
+public class LoadGenerator
+{
+    private final static Logger mLog = LoggerFactory.getLogger(LoadGenerator.class);
+    private static final int NOISE_TABLE_SIZE = 1 << 16;
+    private final Broadcaster<INativeBuffer> mNativeBufferBroadcaster = new Broadcaster<>();
+    private final List<SyntheticSystem> mSystems = new CopyOnWriteArrayList<>();
+    private final float[] mNoise = new float[NOISE_TABLE_SIZE];
+    private final Random mRandom = new Random();
+    private final int mSamplesPerBuffer;
+    private final double mSampleRate;
+    private volatile long mCenterFrequency;
+    private volatile double mSpeed = 1.0;
+    private long mSimulatedTimestamp = System.currentTimeMillis();
+    private long mGeneratedSampleCount;
+    private Thread mThread;
+    private volatile boolean mRunning;
+
+    /**
+     * Constructs an instance
+     * @param sampleRate of the wideband complex samples
+     * @param centerFrequency of the wideband signal
+     * @param samplesPerBuffer number of complex samples per generated buffer
+     * @param noiseLevel standard deviation of the additive white gaussian noise floor
+     */
+    public LoadGenerator(double sampleRate, long centerFrequency, int samplesPerBuffer, float noiseLevel)
+    {
+        mSampleRate = sampleRate;
+        mCenterFrequency = centerFrequency;
+        mSamplesPerBuffer = samplesPerBuffer;
+
+        for(int x = 0; x < NOISE_TABLE_SIZE; x++)
+        {
+            mNoise[x] = (float)(mRandom.nextGaussian() * noiseLevel);
+        }
+    }
+
+    /**
+     * Adds a simulated radio system
+     * @param system to add
+     */
+    public void addSystem(SyntheticSystem system)
+    {
+        mSystems.add(system);
+    }
+
+    /**
+     * Simulated radio systems
+     */
+    public List<SyntheticSystem> getSystems()
+    {
+        return mSystems;
+    }
+
+    /**
+     * Total number of synthesized channels across all systems
+     */
+    public int getChannelCount()
+    {
+        int count = 0;
+
+        for(SyntheticSystem system: mSystems)
+        {
+            count += system.getChannels().size();
+        }
+
+        return count;
+    }
+
+    public double getSampleRate()
+    {
+        return mSampleRate;
+    }
+
+    public long getCenterFrequency()
+    {
+        return mCenterFrequency;
+    }
+
+    public void setCenterFrequency(long centerFrequency)
+    {
+        mCenterFrequency = centerFrequency;
+    }
+
+    /**
+     * Sets the generation speed as a multiple of real time, or zero to generate samples as fast as possible.
+     */
+    public void setSpeed(double speed)
+    {
+        if(speed < 0)
+        {
+            throw new IllegalArgumentException("Speed must be zero (unpaced) or a positive multiple of real time");
+        }
+
+        mSpeed = speed;
+    }
+
+    /**
+     * Total number of complex samples generated
+     */
+    public long getGeneratedSampleCount()
+    {
+        return mGeneratedSampleCount;
+    }
+
+    /**
+     * Registers the listener to receive samples and auto-starts the generator if this is the first listener.
+     */
+    public void addListener(Listener<INativeBuffer> listener)
+    {
+        mNativeBufferBroadcaster.addListener(listener);
+
+        if(mNativeBufferBroadcaster.getListenerCount() == 1)
+        {
+            start();
+        }
+    }
+
+    /**
+     * Removes the listener and stops the generator if there are no more listeners.
+     */
+    public void removeListener(Listener<INativeBuffer> listener)
+    {
+        mNativeBufferBroadcaster.removeListener(listener);
+
+        if(mNativeBufferBroadcaster.getListenerCount() == 0)
+        {
+            stop();
+        }
+    }
+
+    /**
+     * Starts the generator thread
+     */
+    public synchronized void start()
+    {
+        if(mThread == null)
+        {
+            mRunning = true;
+            mThread = new NamingThreadFactory("sdrtrunk load generator").newThread(this::run);
+            mThread.setDaemon(true);
+            mThread.start();
+        }
+    }
+
+    /**
+     * Stops the generator thread
+     */
+    public synchronized void stop()
+    {
+        if(mThread != null)
+        {
+            mRunning = false;
+            mThread.interrupt();
+            mThread = null;
+        }
+    }
+
+    /**
+     * Generates the next buffer of wideband samples
+     */
+    public float[] generate()
+    {
+        float[] samples = new float[mSamplesPerBuffer * 2];
+
+        //Noise floor from a random offset into the pre-computed noise table
+        int noiseOffset = mRandom.nextInt(NOISE_TABLE_SIZE);
+
+        for(int x = 0; x < samples.length; x++)
+        {
+            samples[x] = mNoise[(noiseOffset + x) & (NOISE_TABLE_SIZE - 1)];
+        }
+
+        double bufferDuration = mSamplesPerBuffer / mSampleRate;
+        long centerFrequency = mCenterFrequency;
+
+        for(SyntheticSystem system: mSystems)
+        {
+            system.update(bufferDuration, mRandom);
+
+            for(SyntheticChannel channel: system.getChannels())
+            {
+                channel.generate(samples, centerFrequency, mSampleRate);
+            }
+        }
+
+        mGeneratedSampleCount += mSamplesPerBuffer;
+        return samples;
+    }
+
+    /**
+     * Generator thread loop
+     */
+    private void run()
+    {
+        long bufferNanos = (long)(mSamplesPerBuffer / mSampleRate * 1E9);
+        long bufferMillis = bufferNanos / 1000000;
+        float samplesPerMillisecond = (float)(mSampleRate / 1000.0);
+        long next = System.nanoTime();
+
+        while(mRunning)
+        {
+            try
+            {
+                float[] samples = generate();
+                mNativeBufferBroadcaster.broadcast(new FloatNativeBuffer(samples, mSimulatedTimestamp,
+                    samplesPerMillisecond));
+                mSimulatedTimestamp += bufferMillis;
+            }
+            catch(Throwable t)
+            {
+                mLog.error("Error while generating synthetic samples", t);
+            }
+
+            double speed = mSpeed;
+
+            if(speed > 0)
+            {
+                next += (long)(bufferNanos / speed);
+                long wait = next - System.nanoTime();
+
+                if(wait > 0)
+                {
+                    LockSupport.parkNanos(wait);
+                }
+                else if(wait < -bufferNanos * 10)
+                {
+                    //Falling behind - don't try to catch up with a burst of buffers
+                    next = System.nanoTime();
+                }
+            }
+        }
+    }
+
+    /**
+     * Signal types that can be synthesized
+     */
+    public enum SignalType
+    {
+        P25_PHASE1,
+        DMR,
+        NBFM;
+    }
+
+    /**
+     * Simulated radio system with an optional always-keyed control channel and a set of traffic channels that are
+     * keyed by a random channel grant process with exponentially distributed call durations.
+     */
+    public static class SyntheticSystem
+    {
+        private final SignalType mSignalType;
+        private final List<SyntheticChannel> mChannels = new ArrayList<>();
+        private final List<SyntheticChannel> mTrafficChannels = new ArrayList<>();
+        private final double[] mRemainingCallDuration;
+        private final double mGrantsPerSecond;
+        private final double mMeanCallDuration;
+        private long mGrantCount;
+        private long mBlockedGrantCount;
+
+        /**
+         * Constructs an instance
+         * @param signalType of the system channels
+         * @param firstFrequency of the first channel (the control channel when the system has one)
+         * @param channelSpacing between channel frequencies
+         * @param channelCount total number of channels, including the control channel
+         * @param controlChannel true if the first channel is an always-keyed control channel
+         * @param grantsPerMinute average channel grant (call) rate for the system
+         * @param meanCallDuration average call duration in seconds
+         * @param amplitude of each channel signal
+         */
+        public SyntheticSystem(SignalType signalType, long firstFrequency, long channelSpacing, int channelCount,
+                               boolean controlChannel, double grantsPerMinute, double meanCallDuration,
+                               float amplitude)
+        {
+            mSignalType = signalType;
+
+            for(int x = 0; x < channelCount; x++)
+            {
+                long frequency = firstFrequency + x * channelSpacing;
+
+                SyntheticChannel channel = switch(signalType)
+                {
+                    case P25_PHASE1 -> SyntheticFSK4Channel.createP25Phase1(frequency, amplitude);
+                    case DMR -> SyntheticFSK4Channel.createDMR(frequency, amplitude);
+                    case NBFM -> new SyntheticNBFMChannel(frequency, amplitude);
+                };
+
+                mChannels.add(channel);
+
+                if(controlChannel && x == 0)
+                {
+                    channel.setKeyed(true);
+                }
+                else
+                {
+                    mTrafficChannels.add(channel);
+                }
+            }
+
+            mRemainingCallDuration = new double[mTrafficChannels.size()];
+            mGrantsPerSecond = grantsPerMinute / 60.0;
+            mMeanCallDuration = meanCallDuration;
+        }
+
+        /**
+         * Signal type for the channels of this system
+         */
+        public SignalType getSignalType()
+        {
+            return mSignalType;
+        }
+
+        /**
+         * All channels for this system
+         */
+        public List<SyntheticChannel> getChannels()
+        {
+            return mChannels;
+        }
+
+        /**
+         * Number of channel grants issued
+         */
+        public long getGrantCount()
+        {
+            return mGrantCount;
+        }
+
+        /**
+         * Number of channel grants that could not be issued because all traffic channels were busy
+         */
+        public long getBlockedGrantCount()
+        {
+            return mBlockedGrantCount;
+        }
+
+        /**
+         * Number of currently keyed traffic channels
+         */
+        public int getActiveCallCount()
+        {
+            int count = 0;
+
+            for(SyntheticChannel channel: mTrafficChannels)
+            {
+                if(channel.isKeyed())
+                {
+                    count++;
+                }
+            }
+
+            return count;
+        }
+
+        /**
+         * Advances the call state of the traffic channels by the elapsed simulated time and issues new channel grants.
+         * @param elapsed simulated time in seconds
+         * @param random number generator
+         */
+        void update(double elapsed, Random random)
+        {
+            for(int x = 0; x < mTrafficChannels.size(); x++)
+            {
+                if(mRemainingCallDuration[x] > 0)
+                {
+                    mRemainingCallDuration[x] -= elapsed;
+
+                    if(mRemainingCallDuration[x] <= 0)
+                    {
+                        mTrafficChannels.get(x).setKeyed(false);
+                    }
+                }
+            }
+
+            int grants = poisson(mGrantsPerSecond * elapsed, random);
+
+            for(int grant = 0; grant < grants; grant++)
+            {
+                int idle = findIdleChannel(random);
+
+                if(idle >= 0)
+                {
+                    mRemainingCallDuration[idle] = -Math.log(1.0 - random.nextDouble()) * mMeanCallDuration;
+                    mTrafficChannels.get(idle).setKeyed(true);
+                    mGrantCount++;
+                }
+                else
+                {
+                    mBlockedGrantCount++;
+                }
+            }
+        }
+
+        /**
+         * Randomly selects an idle traffic channel
+         * @return index of the idle channel or -1 if all channels are busy
+         */
+        private int findIdleChannel(Random random)
+        {
+            int size = mTrafficChannels.size();
+
+            if(size == 0)
+            {
+                return -1;
+            }
+
+            int start = random.nextInt(size);
+
+            for(int x = 0; x < size; x++)
+            {
+                int index = (start + x) % size;
+
+                if(!mTrafficChannels.get(index).isKeyed())
+                {
+                    return index;
+                }
+            }
+
+            return -1;
+        }
+
+        /**
+         * Poisson distributed random count for the expected value
+         */
+        private static int poisson(double expected, Random random)
+        {
+            double limit = Math.exp(-expected);
+            double product = random.nextDouble();
+            int count = 0;
+
+            while(product > limit)
+            {
+                count++;
+                product *= random.nextDouble();
+            }
+
+            return count;
+        }
+    }
+}
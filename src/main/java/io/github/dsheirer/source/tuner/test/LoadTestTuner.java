@@ -0,0 +1,249 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2023 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.source.tuner.test;
+
+import io.github.dsheirer.module.decode.dmr.DMRDecoder;
+import io.github.dsheirer.module.decode.dmr.DecodeConfigDMR;
+import io.github.dsheirer.module.decode.p25.phase1.P25P1DecoderC4FM;
+import io.github.dsheirer.source.tuner.ITunerErrorListener;
+import io.github.dsheirer.source.tuner.LoggingTunerErrorListener;
+import io.github.dsheirer.source.tuner.Tuner;
+import io.github.dsheirer.source.tuner.TunerClass;
+import io.github.dsheirer.source.tuner.TunerType;
+import io.github.dsheirer.source.tuner.channel.ChannelSpecification;
+import io.github.dsheirer.source.tuner.channel.TunerChannel;
+import io.github.dsheirer.source.tuner.channel.TunerChannelSource;
+import io.github.dsheirer.source.tuner.manager.TestPolyphaseChannelSourceManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Synthetic trunked radio tuner for capacity testing.  Produces a wideband sample stream containing simulated P25
+ * Phase 1, DMR and NBFM radio systems with randomly granted traffic channels, so that the channelizer and decoder
+ * load for a given channel count can be measured on a host without any radio hardware.
+ */
+public class LoadTestTuner extends Tuner
+{
+    private final static Logger mLog = LoggerFactory.getLogger(LoadTestTuner.class);
+    private static int mInstanceCounter = 1;
+    private final int mInstanceID = mInstanceCounter++;
+
+    /**
+     * Constructs an instance
+     * @param tunerErrorListener to receive errors
+     * @param sampleRate for the wideband sample stream
+     * @param frequency for the tuner center frequency
+     */
+    public LoadTestTuner(ITunerErrorListener tunerErrorListener, int sampleRate, long frequency)
+    {
+        super(new LoadTestTunerController(sampleRate, frequency), tunerErrorListener);
+        setChannelSourceManager(new TestPolyphaseChannelSourceManager(getTunerController()));
+    }
+
+    /**
+     * Constructs an instance with the default sample rate and center frequency.
+     */
+    public LoadTestTuner(ITunerErrorListener tunerErrorListener)
+    {
+        this(tunerErrorListener, LoadTestTunerController.DEFAULT_SAMPLE_RATE, LoadTestTunerController.DEFAULT_FREQUENCY);
+    }
+
+    /**
+     * Returns the tuner controller cast as a load test tuner controller.
+     */
+    public LoadTestTunerController getTunerController()
+    {
+        return (LoadTestTunerController)super.getTunerController();
+    }
+
+    /**
+     * Synthetic signal generator for this tuner.
+     */
+    public LoadGenerator getLoadGenerator()
+    {
+        return getTunerController().getLoadGenerator();
+    }
+
+    @Override
+    public String getPreferredName()
+    {
+        return "Load Test Tuner-" + mInstanceID;
+    }
+
+    @Override
+    public String getUniqueID()
+    {
+        return getPreferredName();
+    }
+
+    @Override
+    public TunerClass getTunerClass()
+    {
+        return TunerClass.TEST_TUNER;
+    }
+
+    @Override
+    public TunerType getTunerType()
+    {
+        return TunerType.TEST;
+    }
+
+    @Override
+    public double getSampleSize()
+    {
+        return 16.0;
+    }
+
+    @Override
+    public int getMaximumUSBBitsPerSecond()
+    {
+        return 0;
+    }
+
+    /**
+     * Capacity test.  Runs the load generator unpaced with a decoder attached to every synthesized channel and reports
+     * the achieved multiple of real time.  A real time factor above 1.0 indicates that the host can sustain the
+     * configured channel count.
+     *
+     * Arguments (optional): P25 channel count, DMR channel count, NBFM channel count, test duration seconds
+     */
+    public static void main(String[] args)
+    {
+        int p25Channels = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+        int dmrChannels = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        int nbfmChannels = args.length > 2 ? Integer.parseInt(args[2]) : 4;
+        int duration = args.length > 3 ? Integer.parseInt(args[3]) : 30;
+
+        long frequency = LoadTestTunerController.DEFAULT_FREQUENCY;
+        int sampleRate = LoadTestTunerController.DEFAULT_SAMPLE_RATE;
+        LoadTestTuner tuner = new LoadTestTuner(new LoggingTunerErrorListener(), sampleRate, frequency);
+        LoadGenerator generator = tuner.getLoadGenerator();
+        generator.setSpeed(0);
+
+        long spacing = 12_500;
+        long first = frequency - sampleRate / 2 + 50_000;
+        generator.addSystem(new LoadGenerator.SyntheticSystem(LoadGenerator.SignalType.P25_PHASE1, first, spacing,
+            p25Channels, true, 30, 4.0, 0.5f));
+        first += p25Channels * spacing;
+        generator.addSystem(new LoadGenerator.SyntheticSystem(LoadGenerator.SignalType.DMR, first, spacing,
+            dmrChannels, true, 30, 4.0, 0.5f));
+        first += dmrChannels * spacing;
+        generator.addSystem(new LoadGenerator.SyntheticSystem(LoadGenerator.SignalType.NBFM, first, spacing,
+            nbfmChannels, false, 10, 6.0, 0.5f));
+
+        AtomicLong channelSampleCount = new AtomicLong();
+        AtomicLong messageCount = new AtomicLong();
+        List<TunerChannelSource> sources = new ArrayList<>();
+        ChannelSpecification specification = new ChannelSpecification(50000, 12500, 6000, 7000);
+
+        for(LoadGenerator.SyntheticSystem system: generator.getSystems())
+        {
+            for(SyntheticChannel channel: system.getChannels())
+            {
+                TunerChannelSource source = tuner.getChannelSourceManager()
+                    .getSource(new TunerChannel(channel.getFrequency(), 12500), specification);
+
+                if(source == null)
+                {
+                    mLog.error("Unable to obtain channel source for frequency [" + channel.getFrequency() + "]");
+                    continue;
+                }
+
+                if(system.getSignalType() == LoadGenerator.SignalType.DMR)
+                {
+                    DMRDecoder decoder = new DMRDecoder(new DecodeConfigDMR());
+                    decoder.setSampleRate(source.getSampleRate());
+                    decoder.setMessageListener(message -> messageCount.incrementAndGet());
+                    decoder.start();
+                    source.setListener(samples -> {
+                        channelSampleCount.addAndGet(samples.i().length);
+                        decoder.receive(samples);
+                    });
+                }
+                else if(system.getSignalType() == LoadGenerator.SignalType.P25_PHASE1)
+                {
+                    P25P1DecoderC4FM decoder = new P25P1DecoderC4FM();
+                    decoder.setSampleRate(source.getSampleRate());
+                    decoder.setMessageListener(message -> messageCount.incrementAndGet());
+                    decoder.start();
+                    source.setListener(samples -> {
+                        channelSampleCount.addAndGet(samples.i().length);
+                        decoder.receive(samples);
+                    });
+                }
+                else
+                {
+                    source.setListener(samples -> channelSampleCount.addAndGet(samples.i().length));
+                }
+
+                source.start();
+                sources.add(source);
+            }
+        }
+
+        mLog.info("Load test started - channels [" + sources.size() + "] sample rate [" + sampleRate + "]");
+
+        long start = System.nanoTime();
+
+        for(int x = 0; x < duration; x++)
+        {
+            try
+            {
+                Thread.sleep(1000);
+            }
+            catch(InterruptedException ie)
+            {
+                break;
+            }
+
+            double elapsed = (System.nanoTime() - start) / 1E9;
+            double simulated = generator.getGeneratedSampleCount() / (double)sampleRate;
+
+            StringBuilder sb = new StringBuilder();
+            sb.append("Channels [").append(sources.size());
+            sb.append("] Real Time Factor [").append(String.format("%.2f", simulated / elapsed));
+            sb.append("] Channel Samples [").append(channelSampleCount.get());
+            sb.append("] Messages [").append(messageCount.get()).append("]");
+
+            for(LoadGenerator.SyntheticSystem system: generator.getSystems())
+            {
+                sb.append(" Calls/Grants/Blocked [").append(system.getActiveCallCount()).append("/");
+                sb.append(system.getGrantCount()).append("/").append(system.getBlockedGrantCount()).append("]");
+            }
+
+            mLog.info(sb.toString());
+        }
+
+        for(TunerChannelSource source: sources)
+        {
+            source.stop();
+        }
+
+        double elapsed = (System.nanoTime() - start) / 1E9;
+        double simulated = generator.getGeneratedSampleCount() / (double)sampleRate;
+        mLog.info("Load test complete - channels [" + sources.size() + "] real time factor [" +
+            String.format("%.2f", simulated / elapsed) + "] - estimated maximum channels for this host [" +
+            (int)(sources.size() * simulated / elapsed) + "]");
+        System.exit(0);
+    }
+}
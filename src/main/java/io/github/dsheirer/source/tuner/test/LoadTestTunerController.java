@@ -0,0 +1,151 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2023 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.source.tuner.test;
+
+import io.github.dsheirer.buffer.INativeBuffer;
+import io.github.dsheirer.sample.Listener;
+import io.github.dsheirer.source.SourceException;
+import io.github.dsheirer.source.tuner.LoggingTunerErrorListener;
+import io.github.dsheirer.source.tuner.TunerController;
+import io.github.dsheirer.source.tuner.TunerType;
+import io.github.dsheirer.source.tuner.configuration.TunerConfiguration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Tuner controller for the synthetic trunked radio load generator.
+ */
+public class LoadTestTunerController extends TunerController
+{
+    private final static Logger mLog = LoggerFactory.getLogger(LoadTestTunerController.class);
+
+    public static final long MINIMUM_FREQUENCY = 1l;
+    public static final long MAXIMUM_FREQUENCY = 6_000_000_000l;
+    public static final int DEFAULT_SAMPLE_RATE = 2_400_000;
+    public static final long DEFAULT_FREQUENCY = 852_000_000l;
+    public static final float DEFAULT_NOISE_LEVEL = 0.01f;
+    public static final int SPECTRAL_FRAME_RATE = 20;
+
+    private final LoadGenerator mLoadGenerator;
+
+    /**
+     * Constructs an instance
+     * @param sampleRate of the generated wideband samples
+     * @param frequency of the tuner center frequency
+     */
+    public LoadTestTunerController(int sampleRate, long frequency)
+    {
+        super(new LoggingTunerErrorListener());
+
+        setMinimumFrequency(MINIMUM_FREQUENCY);
+        setMaximumFrequency(MAXIMUM_FREQUENCY);
+        setMiddleUnusableHalfBandwidth(0);
+        setUsableBandwidthPercentage(1.0);
+
+        mLoadGenerator = new LoadGenerator(sampleRate, frequency, sampleRate / SPECTRAL_FRAME_RATE,
+            DEFAULT_NOISE_LEVEL);
+
+        try
+        {
+            mFrequencyController.setFrequency(frequency);
+            mFrequencyController.setSampleRate(sampleRate);
+        }
+        catch(Exception e)
+        {
+            mLog.error("Error!", e);
+        }
+    }
+
+    /**
+     * Constructs an instance with the default sample rate and center frequency.
+     */
+    public LoadTestTunerController()
+    {
+        this(DEFAULT_SAMPLE_RATE, DEFAULT_FREQUENCY);
+    }
+
+    /**
+     * Synthetic signal generator for this tuner
+     */
+    public LoadGenerator getLoadGenerator()
+    {
+        return mLoadGenerator;
+    }
+
+    @Override
+    public int getBufferSampleCount()
+    {
+        return (int)(mLoadGenerator.getSampleRate() / SPECTRAL_FRAME_RATE);
+    }
+
+    @Override
+    public void start() throws SourceException
+    {
+        //No-op
+    }
+
+    @Override
+    public void stop()
+    {
+        mLoadGenerator.stop();
+    }
+
+    @Override
+    public TunerType getTunerType()
+    {
+        return TunerType.TEST;
+    }
+
+    @Override
+    public void addBufferListener(Listener<INativeBuffer> listener)
+    {
+        mLoadGenerator.addListener(listener);
+    }
+
+    @Override
+    public void removeBufferListener(Listener<INativeBuffer> listener)
+    {
+        mLoadGenerator.removeListener(listener);
+    }
+
+    @Override
+    public void apply(TunerConfiguration config) throws SourceException
+    {
+        mLog.error("Request to apply tuner configuration was ignored");
+    }
+
+    @Override
+    public long getTunedFrequency() throws SourceException
+    {
+        return mLoadGenerator.getCenterFrequency();
+    }
+
+    @Override
+    public void setTunedFrequency(long frequency) throws SourceException
+    {
+        mLoadGenerator.setCenterFrequency(frequency);
+    }
+
+    @Override
+    public double getCurrentSampleRate()
+    {
+        return mLoadGenerator.getSampleRate();
+    }
+}
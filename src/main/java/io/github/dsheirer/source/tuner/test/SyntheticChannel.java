@@ -0,0 +1,139 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2023 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.source.tuner.test;
+
+/**
+ * Synthetic frequency modulated channel signal for the load generator.  Sub-classes provide the instantaneous
+ * frequency deviation and this class adds the modulated complex signal, mixed to the channel's offset from the tuner
+ * center frequency, to a wideband complex sample buffer.
+ *
+ * The signal is produced with a rotating phasor where the phasor rotation is updated once per step (a small fixed
+ * number of samples) so that the cost per sample is a single complex multiply, allowing many channels to be
+ * synthesized faster than real time.
+ */
+public abstract class SyntheticChannel
+{
+    protected static final int STEP_SAMPLES = 16;
+    private static final double TWO_PI = 2.0 * Math.PI;
+    private final long mFrequency;
+    private final float mAmplitude;
+    private double mPhasorI = 1.0;
+    private double mPhasorQ = 0.0;
+    private long mSampleCount;
+    private boolean mKeyed;
+
+    /**
+     * Constructs an instance
+     * @param frequency of the channel in hertz
+     * @param amplitude of the channel signal
+     */
+    protected SyntheticChannel(long frequency, float amplitude)
+    {
+        mFrequency = frequency;
+        mAmplitude = amplitude;
+    }
+
+    /**
+     * Channel frequency
+     */
+    public long getFrequency()
+    {
+        return mFrequency;
+    }
+
+    /**
+     * Indicates if the channel is keyed (transmitting).
+     */
+    public boolean isKeyed()
+    {
+        return mKeyed;
+    }
+
+    /**
+     * Keys or un-keys the channel.  Keying the channel restarts the signal framing.
+     */
+    public void setKeyed(boolean keyed)
+    {
+        if(keyed && !mKeyed)
+        {
+            mSampleCount = 0;
+            reset();
+        }
+
+        mKeyed = keyed;
+    }
+
+    /**
+     * Resets the signal framing for a new transmission
+     */
+    protected abstract void reset();
+
+    /**
+     * Instantaneous frequency deviation at the sample count since the channel was keyed.
+     * @param sampleCount since the channel was keyed
+     * @param sampleRate of the wideband signal
+     * @return frequency deviation in hertz
+     */
+    protected abstract double getDeviation(long sampleCount, double sampleRate);
+
+    /**
+     * Adds this channel's signal to the interleaved complex sample buffer, when keyed.
+     * @param samples interleaved complex sample buffer to add to
+     * @param centerFrequency of the wideband signal
+     * @param sampleRate of the wideband signal
+     */
+    public void generate(float[] samples, long centerFrequency, double sampleRate)
+    {
+        if(!mKeyed)
+        {
+            return;
+        }
+
+        double offset = mFrequency - centerFrequency;
+        int sampleTotal = samples.length / 2;
+        double phasorI = mPhasorI;
+        double phasorQ = mPhasorQ;
+
+        for(int x = 0; x < sampleTotal; x += STEP_SAMPLES)
+        {
+            double angle = TWO_PI * (offset + getDeviation(mSampleCount, sampleRate)) / sampleRate;
+            double rotationI = Math.cos(angle);
+            double rotationQ = Math.sin(angle);
+            int end = Math.min(x + STEP_SAMPLES, sampleTotal);
+
+            for(int y = x; y < end; y++)
+            {
+                samples[2 * y] += (float)(phasorI * mAmplitude);
+                samples[2 * y + 1] += (float)(phasorQ * mAmplitude);
+
+                double i = phasorI * rotationI - phasorQ * rotationQ;
+                phasorQ = phasorI * rotationQ + phasorQ * rotationI;
+                phasorI = i;
+            }
+
+            mSampleCount += end - x;
+        }
+
+        //Normalize the phasor magnitude to remove accumulated rounding error
+        double magnitude = Math.sqrt(phasorI * phasorI + phasorQ * phasorQ);
+        mPhasorI = phasorI / magnitude;
+        mPhasorQ = phasorQ / magnitude;
+    }
+}
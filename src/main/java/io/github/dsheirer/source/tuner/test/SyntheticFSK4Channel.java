@@ -0,0 +1,158 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2023 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.source.tuner.test;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Synthetic 4-level FSK channel at 4800 symbols per second with periodic frame sync patterns, approximating a
+ * P25 Phase 1 C4FM or a DMR channel.  Symbol transitions are ramped to approximate the pulse shaping filter.
+ *
+ * Payload symbols are random, so the channel presents a realistic demodulation and sync detection load, but it does
+ * not carry decodable messages.
+ */
+public class SyntheticFSK4Channel extends SyntheticChannel
+{
+    public static final int SYMBOL_RATE = 4800;
+    private static final double RAMP_FRACTION = 0.25;
+
+    /**
+     * P25 Phase 1 frame sync 0x5575F5FF77FF, repeated every 864 symbols (180 ms LDU)
+     */
+    public static final int[] P25_PHASE1_SYNC = toDibits(0x5575F5FF77FFL);
+    public static final int P25_PHASE1_FRAME_SYMBOLS = 864;
+    public static final double P25_PHASE1_DEVIATION = 1800.0;
+
+    /**
+     * DMR base station sourced data sync 0xDFF57D75DF5D, centered in each 144 symbol (30 ms) burst
+     */
+    public static final int[] DMR_DATA_SYNC = toDibits(0xDFF57D75DF5DL);
+    public static final int DMR_FRAME_SYMBOLS = 144;
+    public static final int DMR_SYNC_OFFSET = 66;
+    public static final double DMR_DEVIATION = 1944.0;
+
+    private final int[] mSync;
+    private final int mSyncOffset;
+    private final int mFrameSymbols;
+    private final double[] mSymbolDeviations;
+    private long mCurrentSymbolIndex = -1;
+    private double mCurrentDeviation;
+    private double mPreviousDeviation;
+
+    /**
+     * Constructs an instance
+     * @param frequency of the channel
+     * @param amplitude of the signal
+     * @param sync dibits for the frame sync pattern
+     * @param syncOffset symbol offset of the sync pattern within each frame
+     * @param frameSymbols number of symbols per frame
+     * @param outerDeviation frequency deviation in hertz for the outer symbols (inner symbols are 1/3 of outer)
+     */
+    public SyntheticFSK4Channel(long frequency, float amplitude, int[] sync, int syncOffset, int frameSymbols,
+                                double outerDeviation)
+    {
+        super(frequency, amplitude);
+        mSync = sync;
+        mSyncOffset = syncOffset;
+        mFrameSymbols = frameSymbols;
+        double inner = outerDeviation / 3.0;
+        //Dibit to deviation: 00=+inner, 01=+outer, 10=-inner, 11=-outer
+        mSymbolDeviations = new double[]{inner, outerDeviation, -inner, -outerDeviation};
+    }
+
+    /**
+     * Creates a P25 Phase 1 C4FM channel
+     */
+    public static SyntheticFSK4Channel createP25Phase1(long frequency, float amplitude)
+    {
+        return new SyntheticFSK4Channel(frequency, amplitude, P25_PHASE1_SYNC, 0, P25_PHASE1_FRAME_SYMBOLS,
+            P25_PHASE1_DEVIATION);
+    }
+
+    /**
+     * Creates a DMR channel
+     */
+    public static SyntheticFSK4Channel createDMR(long frequency, float amplitude)
+    {
+        return new SyntheticFSK4Channel(frequency, amplitude, DMR_DATA_SYNC, DMR_SYNC_OFFSET, DMR_FRAME_SYMBOLS,
+            DMR_DEVIATION);
+    }
+
+    @Override
+    protected void reset()
+    {
+        mCurrentSymbolIndex = -1;
+        mCurrentDeviation = 0.0;
+        mPreviousDeviation = 0.0;
+    }
+
+    @Override
+    protected double getDeviation(long sampleCount, double sampleRate)
+    {
+        double symbolPosition = sampleCount * SYMBOL_RATE / sampleRate;
+        long symbolIndex = (long)symbolPosition;
+
+        if(symbolIndex != mCurrentSymbolIndex)
+        {
+            mCurrentSymbolIndex = symbolIndex;
+            mPreviousDeviation = mCurrentDeviation;
+            mCurrentDeviation = mSymbolDeviations[getDibit(symbolIndex)];
+        }
+
+        double fraction = symbolPosition - symbolIndex;
+
+        if(fraction < RAMP_FRACTION)
+        {
+            return mPreviousDeviation + (mCurrentDeviation - mPreviousDeviation) * (fraction / RAMP_FRACTION);
+        }
+
+        return mCurrentDeviation;
+    }
+
+    /**
+     * Dibit for the symbol index, from the sync pattern or random payload.
+     */
+    private int getDibit(long symbolIndex)
+    {
+        int frameOffset = (int)(symbolIndex % mFrameSymbols) - mSyncOffset;
+
+        if(0 <= frameOffset && frameOffset < mSync.length)
+        {
+            return mSync[frameOffset];
+        }
+
+        return ThreadLocalRandom.current().nextInt(4);
+    }
+
+    /**
+     * Converts a 48-bit sync pattern to an array of 24 dibits, most significant dibit first.
+     */
+    private static int[] toDibits(long pattern)
+    {
+        int[] dibits = new int[24];
+
+        for(int x = 0; x < 24; x++)
+        {
+            dibits[x] = (int)((pattern >> (46 - 2 * x)) & 0x3);
+        }
+
+        return dibits;
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2023 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.source.tuner.test;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Synthetic narrow band FM channel modulated with a voice band tone plus noise.
+ */
+public class SyntheticNBFMChannel extends SyntheticChannel
+{
+    private static final double DEVIATION = 2500.0;
+    private static final double TONE_FREQUENCY = 1000.0;
+    private static final double NOISE_FRACTION = 0.2;
+
+    /**
+     * Constructs an instance
+     * @param frequency of the channel
+     * @param amplitude of the signal
+     */
+    public SyntheticNBFMChannel(long frequency, float amplitude)
+    {
+        super(frequency, amplitude);
+    }
+
+    @Override
+    protected void reset()
+    {
+    }
+
+    @Override
+    protected double getDeviation(long sampleCount, double sampleRate)
+    {
+        double audio = (1.0 - NOISE_FRACTION) * Math.sin(2.0 * Math.PI * TONE_FREQUENCY * sampleCount / sampleRate) +
+            NOISE_FRACTION * (ThreadLocalRandom.current().nextDouble() * 2.0 - 1.0);
+        return DEVIATION * audio;
+    }
+}
@@ -0,0 +1,232 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2023 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.source.tuner.usb;
+
+/**
+ * USB transfer buffer pool statistics for a tuner.  Values are updated by the USB event processing thread and can be
+ * read from any thread.
+ */
+public class TransferStatistics
+{
+    private volatile int mTransferCount;
+    private volatile int mTransferBufferSize;
+    private volatile long mCompletedCount;
+    private volatile long mCompletedBytes;
+    private volatile long mLatencyTotal;
+    private volatile long mLatencyMax;
+    private volatile long mCallbackIntervalMax;
+    private volatile long mLowWaterCount;
+    private volatile long mExhaustedCount;
+    private volatile long mSubmitErrorCount;
+    private volatile long mResubmitCount;
+    private volatile long mGrowCount;
+    private long mLastCallback;
+
+    /**
+     * Updates the current pool configuration
+     * @param transferCount number of allocated transfers
+     * @param transferBufferSize in bytes
+     */
+    void setPool(int transferCount, int transferBufferSize)
+    {
+        mTransferCount = transferCount;
+        mTransferBufferSize = transferBufferSize;
+    }
+
+    /**
+     * Records a completed transfer callback.
+     * @param bytes transferred
+     * @param latency from transfer submission to completion in nanoseconds
+     * @param now nanosecond timestamp of the callback
+     * @return interval since the previous callback in nanoseconds, or zero for the first callback
+     */
+    long completed(int bytes, long latency, long now)
+    {
+        mCompletedCount++;
+        mCompletedBytes += bytes;
+
+        if(latency > 0)
+        {
+            mLatencyTotal += latency;
+            mLatencyMax = Math.max(mLatencyMax, latency);
+        }
+
+        long interval = mLastCallback > 0 ? now - mLastCallback : 0;
+        mLastCallback = now;
+        mCallbackIntervalMax = Math.max(mCallbackIntervalMax, interval);
+        return interval;
+    }
+
+    /**
+     * Records that the number of submitted transfers dropped below the low water mark.
+     */
+    void lowWater()
+    {
+        mLowWaterCount++;
+    }
+
+    /**
+     * Records that all transfers were returned from the USB stack before any could be resubmitted, meaning that
+     * samples were likely dropped by the device.
+     */
+    void exhausted()
+    {
+        mExhaustedCount++;
+    }
+
+    /**
+     * Records a failed transfer submission
+     */
+    void submitError()
+    {
+        mSubmitErrorCount++;
+    }
+
+    /**
+     * Records a successful resubmission of a transfer that previously failed submission
+     */
+    void resubmitted()
+    {
+        mResubmitCount++;
+    }
+
+    /**
+     * Records a transfer pool grow event
+     */
+    void grew()
+    {
+        mGrowCount++;
+    }
+
+    /**
+     * Resets the interval tracking at the start of a new streaming session
+     */
+    void resetInterval()
+    {
+        mLastCallback = 0;
+    }
+
+    /**
+     * Number of allocated transfers
+     */
+    public int getTransferCount()
+    {
+        return mTransferCount;
+    }
+
+    /**
+     * Size of each transfer buffer in bytes
+     */
+    public int getTransferBufferSize()
+    {
+        return mTransferBufferSize;
+    }
+
+    /**
+     * Number of completed transfers
+     */
+    public long getCompletedCount()
+    {
+        return mCompletedCount;
+    }
+
+    /**
+     * Number of sample bytes received
+     */
+    public long getCompletedBytes()
+    {
+        return mCompletedBytes;
+    }
+
+    /**
+     * Average transfer latency (submission to completion) in milliseconds
+     */
+    public double getAverageLatency()
+    {
+        long count = mCompletedCount;
+        return count > 0 ? mLatencyTotal / (double)count / 1E6 : 0.0;
+    }
+
+    /**
+     * Maximum transfer latency (submission to completion) in milliseconds
+     */
+    public double getMaxLatency()
+    {
+        return mLatencyMax / 1E6;
+    }
+
+    /**
+     * Maximum interval between transfer callbacks in milliseconds
+     */
+    public double getMaxCallbackInterval()
+    {
+        return mCallbackIntervalMax / 1E6;
+    }
+
+    /**
+     * Number of times the submitted transfer count dropped below the low water mark
+     */
+    public long getLowWaterCount()
+    {
+        return mLowWaterCount;
+    }
+
+    /**
+     * Number of times the transfer pool was fully drained
+     */
+    public long getExhaustedCount()
+    {
+        return mExhaustedCount;
+    }
+
+    /**
+     * Number of failed transfer submissions
+     */
+    public long getSubmitErrorCount()
+    {
+        return mSubmitErrorCount;
+    }
+
+    /**
+     * Number of successful resubmissions of previously failed transfers
+     */
+    public long getResubmitCount()
+    {
+        return mResubmitCount;
+    }
+
+    /**
+     * Number of times the transfer pool was grown
+     */
+    public long getGrowCount()
+    {
+        return mGrowCount;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "Transfers [" + getTransferCount() + " x " + getTransferBufferSize() + " bytes] Completed [" +
+            getCompletedCount() + "] Latency Avg/Max [" + String.format("%.1f/%.1f", getAverageLatency(),
+            getMaxLatency()) + " ms] Max Callback Interval [" + String.format("%.1f", getMaxCallbackInterval()) +
+            " ms] Low Water [" + getLowWaterCount() + "] Exhausted [" + getExhaustedCount() + "] Submit Errors [" +
+            getSubmitErrorCount() + "] Resubmits [" + getResubmitCount() + "] Grow [" + getGrowCount() + "]";
+    }
+}
@@ -30,6 +30,8 @@ import io.github.dsheirer.util.ThreadPool;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.LinkedTransferQueue;
 import java.util.concurrent.atomic.AtomicBoolean;
 import org.slf4j.Logger;
@@ -52,7 +54,11 @@ public abstract class USBTunerController extends TunerController
     private Logger mLog = LoggerFactory.getLogger(USBTunerController.class);
     private static final int USB_INTERFACE = 0x0;  //Common value for all currently supported devices
     private static final int USB_CONFIGURATION = 0x1;  //Common value for all currently supported devices
-    private static final int USB_BULK_TRANSFER_BUFFER_POOL_SIZE = 8;
+    private static final int USB_BULK_TRANSFER_BUFFER_POOL_MINIMUM_SIZE = 8;
+    private static final int USB_BULK_TRANSFER_BUFFER_POOL_MAXIMUM_SIZE = 128;
+    private static final int USB_BULK_TRANSFER_BUFFER_POOL_MAXIMUM_BYTES = 32 * 1024 * 1024;
+    private static final long USB_BULK_TRANSFER_BUFFER_POOL_DURATION_MS = 250;
+    private static final long USB_BULK_TRANSFER_BUFFER_POOL_GROW_INTERVAL_NS = 1_000_000_000l;
     protected static final byte USB_BULK_TRANSFER_ENDPOINT = (byte) 0x81;
     private static final long USB_BULK_TRANSFER_TIMEOUT_MS = 2000l;
 
@@ -65,6 +71,7 @@ public abstract class USBTunerController extends TunerController
     private TransferManager mTransferManager = new TransferManager();
     private UsbEventProcessor mEventProcessor = new UsbEventProcessor();
     private AtomicBoolean mStreaming = new AtomicBoolean();
+    private TransferStatistics mTransferStatistics = new TransferStatistics();
     private boolean mRunning = false;
 
     //Troubleshooting libusb bug: https://github.com/DSheirer/sdrtrunk/issues/1253
@@ -122,6 +129,24 @@ public abstract class USBTunerController extends TunerController
      */
     protected abstract int getTransferBufferSize();
 
+    /**
+     * Number of transfer buffer bytes per complex sample, used to size the transfer buffer pool from the sample rate.
+     * Sub-classes should override when the device delivers more than two (8-bit I/Q) bytes per complex sample.
+     * @return bytes per complex sample
+     */
+    protected int getTransferBytesPerSample()
+    {
+        return 2;
+    }
+
+    /**
+     * USB transfer buffer pool statistics for this tuner.
+     */
+    public TransferStatistics getTransferStatistics()
+    {
+        return mTransferStatistics;
+    }
+
     /**
      * Sub-class method to perform additional device setup steps after the USB interface has been claimed and before any
      * transfer operations start.
@@ -356,6 +381,8 @@ public abstract class USBTunerController extends TunerController
             //Perform final event processing iteration so LibUsb returns all of our cancelled tranfers
             mEventProcessor.handleFinalEvents();
 
+            mLog.info("USB tuner [" + mBus + ":" + mPortAddress + "] streaming stopped - " + mTransferStatistics);
+
             streamingCleanup();
         }
     }
@@ -531,10 +558,13 @@ public abstract class USBTunerController extends TunerController
         private int mTransferErrorCount = 0;
         private List<Transfer> mErrorTransfers = new ArrayList<>();
         private int mResubmitFailureLogCount = 0;
+        private Map<Transfer,Long> mSubmitTimestamps = new ConcurrentHashMap<>();
+        private long mLastGrowTimestamp;
 
         /**
          * Creates USB Transfers to carry the streaming sample data.  Transfer buffers are backed by native memory
-         * byte buffers outside the JVM.
+         * byte buffers outside the JVM.  The number of transfers is sized so that the submitted transfers can hold
+         * the target duration of samples at the tuner's current sample rate.
          *
          * @return list of transfers
          * @throws SourceException if there is an error creating transfers
@@ -545,25 +575,130 @@ public abstract class USBTunerController extends TunerController
             {
                 mAvailableTransfers = new ArrayList<>();
 
-                for(int x = 0; x < USB_BULK_TRANSFER_BUFFER_POOL_SIZE; x++)
+                int count = getInitialTransferCount();
+
+                for(int x = 0; x < count; x++)
                 {
-                    Transfer transfer = LibUsb.allocTransfer();
+                    mAvailableTransfers.add(createTransfer(x));
+                }
 
-                    if(transfer == null)
-                    {
-                        throw new SourceException("Couldn't allocate USB transfer buffer - out of memory");
-                    }
+                mTransferStatistics.setPool(mAvailableTransfers.size(), getTransferBufferSize());
+            }
 
-                    final ByteBuffer buffer = ByteBuffer.allocateDirect(getTransferBufferSize());
+            mTransferStatistics.resetInterval();
+            return mAvailableTransfers;
+        }
 
-                    LibUsb.fillBulkTransfer(transfer, mDeviceHandle, USB_BULK_TRANSFER_ENDPOINT, buffer,
-                            TransferManager.this, "Transfer Buffer " + x, USB_BULK_TRANSFER_TIMEOUT_MS);
+        /**
+         * Creates a USB transfer backed by a native memory byte buffer.
+         * @param index of the transfer
+         * @return transfer
+         * @throws SourceException if the transfer can't be allocated
+         */
+        private Transfer createTransfer(int index) throws SourceException
+        {
+            Transfer transfer = LibUsb.allocTransfer();
 
-                    mAvailableTransfers.add(transfer);
-                }
+            if(transfer == null)
+            {
+                throw new SourceException("Couldn't allocate USB transfer buffer - out of memory");
             }
 
-            return mAvailableTransfers;
+            final ByteBuffer buffer = ByteBuffer.allocateDirect(getTransferBufferSize());
+
+            LibUsb.fillBulkTransfer(transfer, mDeviceHandle, USB_BULK_TRANSFER_ENDPOINT, buffer,
+                    TransferManager.this, "Transfer Buffer " + index, USB_BULK_TRANSFER_TIMEOUT_MS);
+
+            return transfer;
+        }
+
+        /**
+         * Expected number of sample bytes per millisecond at the tuner's current sample rate.
+         */
+        private double getBytesPerMillisecond()
+        {
+            return getSampleRate() * getTransferBytesPerSample() / 1000.0;
+        }
+
+        /**
+         * Initial transfer count sized to hold the target duration of samples at the current sample rate.
+         */
+        private int getInitialTransferCount()
+        {
+            int count = (int)Math.ceil(USB_BULK_TRANSFER_BUFFER_POOL_DURATION_MS * getBytesPerMillisecond() /
+                    getTransferBufferSize());
+            return Math.max(USB_BULK_TRANSFER_BUFFER_POOL_MINIMUM_SIZE, Math.min(count, getMaximumTransferCount()));
+        }
+
+        /**
+         * Maximum transfer count allowed by the transfer pool memory cap.
+         */
+        private int getMaximumTransferCount()
+        {
+            int count = Math.min(USB_BULK_TRANSFER_BUFFER_POOL_MAXIMUM_SIZE,
+                    USB_BULK_TRANSFER_BUFFER_POOL_MAXIMUM_BYTES / getTransferBufferSize());
+            return Math.max(USB_BULK_TRANSFER_BUFFER_POOL_MINIMUM_SIZE, count);
+        }
+
+        /**
+         * Evaluates transfer pool pressure after a transfer callback and grows the pool when the number of transfers
+         * remaining with the USB stack falls below the low water mark (25%), or when the interval since the previous
+         * callback (jitter) consumed more than half of the pool's sample duration.  The pool grows by 25% per event,
+         * no more than once per second, up to the transfer pool memory cap.
+         *
+         * Note: this is invoked on the USB event processing thread.
+         *
+         * @param callbackInterval since the previous transfer callback in nanoseconds
+         */
+        private void checkPressure(long callbackInterval)
+        {
+            int poolSize = mAvailableTransfers.size();
+            int submitted = mInProgressTransfers.size();
+
+            if(submitted == 0)
+            {
+                mTransferStatistics.exhausted();
+            }
+
+            boolean lowWater = submitted < poolSize / 4;
+
+            if(lowWater)
+            {
+                mTransferStatistics.lowWater();
+            }
+
+            double bytesPerMs = getBytesPerMillisecond();
+            double poolDurationNs = bytesPerMs > 0 ? poolSize * getTransferBufferSize() / bytesPerMs * 1E6 : 0;
+            boolean jitter = poolDurationNs > 0 && callbackInterval > poolDurationNs / 2;
+
+            long now = System.nanoTime();
+
+            if((lowWater || jitter) && poolSize < getMaximumTransferCount() &&
+                    (now - mLastGrowTimestamp) > USB_BULK_TRANSFER_BUFFER_POOL_GROW_INTERVAL_NS)
+            {
+                mLastGrowTimestamp = now;
+                int toAdd = Math.min(Math.max(2, poolSize / 4), getMaximumTransferCount() - poolSize);
+
+                try
+                {
+                    for(int x = 0; x < toAdd; x++)
+                    {
+                        Transfer transfer = createTransfer(mAvailableTransfers.size());
+                        mAvailableTransfers.add(transfer);
+                        submitTransfer(transfer);
+                    }
+                }
+                catch(SourceException se)
+                {
+                    mLog.error("Unable to grow USB transfer buffer pool", se);
+                }
+
+                mTransferStatistics.setPool(mAvailableTransfers.size(), getTransferBufferSize());
+                mTransferStatistics.grew();
+                mLog.info("USB tuner [" + mBus + ":" + mPortAddress + "] transfer buffer pool under pressure (" +
+                        (lowWater ? "low water" : "callback jitter") + ") - increased transfer count to [" +
+                        mAvailableTransfers.size() + "]");
+            }
         }
 
         /**
@@ -597,6 +732,7 @@ public abstract class USBTunerController extends TunerController
             if(status == LibUsb.SUCCESS)
             {
                 mInProgressTransfers.add(transfer);
+                mSubmitTimestamps.put(transfer, System.nanoTime());
 
                 //Attempt to resubmit any previous transfers that failed on submit
                 if(!mErrorTransfers.isEmpty())
@@ -606,7 +742,9 @@ public abstract class USBTunerController extends TunerController
 
                     if(resubmitStatus == LibUsb.SUCCESS)
                     {
-                        mInProgressTransfers.add(transfer);
+                        mInProgressTransfers.add(toResubmit);
+                        mSubmitTimestamps.put(toResubmit, System.nanoTime());
+                        mTransferStatistics.resubmitted();
 
                         //Only log this if more than half of the total transfer buffers are in error-holding
                         if(mErrorTransfers.size() >= (mAvailableTransfers.size() / 2))
@@ -618,8 +756,9 @@ public abstract class USBTunerController extends TunerController
                     }
                     else
                     {
-                        mErrorTransfers.add(transfer);
+                        mErrorTransfers.add(toResubmit);
                         mTransferErrorCount++;
+                        mTransferStatistics.submitError();
 
                         //Only log this if more than half of the total transfer buffers are in error-holding
                         if(mErrorTransfers.size() >= (mAvailableTransfers.size() / 2))
@@ -636,6 +775,7 @@ public abstract class USBTunerController extends TunerController
             {
                 mErrorTransfers.add(transfer);
                 mTransferErrorCount++;
+                mTransferStatistics.submitError();
 
                 //Only log this if more than half of the total transfer buffers are in error-holding
                 if(mErrorTransfers.size() >= (mAvailableTransfers.size() / 2))
@@ -696,6 +836,8 @@ public abstract class USBTunerController extends TunerController
                 mAvailableTransfers.clear();
                 mAvailableTransfers = null;
             }
+
+            mSubmitTimestamps.clear();
         }
 
         @Override
@@ -714,6 +856,11 @@ public abstract class USBTunerController extends TunerController
                 case LibUsb.TRANSFER_CANCELLED:
                     int transferLength = transfer.actualLength();
 
+                    long now = System.nanoTime();
+                    Long submitted = mSubmitTimestamps.remove(transfer);
+                    long callbackInterval = mTransferStatistics.completed(transferLength,
+                            submitted != null ? now - submitted : 0, now);
+
                     if(transferLength > 0)
                     {
                         dispatchTransfer(transfer);
@@ -723,6 +870,7 @@ public abstract class USBTunerController extends TunerController
 
                     if(mAutoResubmitTransfers)
                     {
+                        checkPressure(callbackInterval);
                         submitTransfer(transfer);
                     }
                     break;
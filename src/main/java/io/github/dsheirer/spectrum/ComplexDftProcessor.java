@@ -20,6 +20,7 @@ package io.github.dsheirer.spectrum;
 
 import io.github.dsheirer.buffer.INativeBuffer;
 import io.github.dsheirer.controller.NamingThreadFactory;
+import io.github.dsheirer.dsp.window.Window;
 import io.github.dsheirer.dsp.window.WindowFactory;
 import io.github.dsheirer.dsp.window.WindowType;
 import io.github.dsheirer.properties.SystemProperties;
@@ -39,6 +40,9 @@ import org.slf4j.LoggerFactory;
 /**
  * Processes both complex samples or float samples and dispatches a float array of DFT results, using configurable fft
  * size and output dispatch timelines.
+ *
+ * A single DFT is calculated per display frame, independent of the source sample rate, and the sample, window and
+ * DFT results arrays are reused from frame to frame.  Processing stops entirely while the processor is stopped.
  */
 public class ComplexDftProcessor<T extends INativeBuffer> implements Listener<T>, IDFTWidthChangeProcessor
 {
@@ -47,7 +51,7 @@ public class ComplexDftProcessor<T extends INativeBuffer> implements Listener<T>
 
     //The Cosine and Hann windows seem to offer the best spectral display with minimal bin leakage/smearing
     private WindowType mWindowType = WindowType.BLACKMAN_HARRIS_7;
-    private float[] mWindow;
+    private Window mWindow;
     private DFTSize mDFTSize = DFTSize.FFT04096;
     private DFTSize mNewDFTSize = DFTSize.FFT04096;
     private FloatFFT_1D mFFT = new FloatFFT_1D(mDFTSize.getSize());
@@ -57,6 +61,7 @@ public class ComplexDftProcessor<T extends INativeBuffer> implements Listener<T>
     private ScheduledExecutorService mExecutorService = Executors.newSingleThreadScheduledExecutor(new NamingThreadFactory("sdrtrunk dft processor"));
     private CopyOnWriteArrayList<DFTResultsConverter> mListeners = new CopyOnWriteArrayList<>();
     private NativeBufferManager mDftBufferManager = new NativeBufferManager(mDFTSize.getSize() * 2);
+    private float[] mSamples = new float[mDFTSize.getSize() * 2];
     private float[] mPreviousSamples = new float[mDFTSize.getSize() * 2];
 
     public ComplexDftProcessor()
@@ -87,7 +92,7 @@ public class ComplexDftProcessor<T extends INativeBuffer> implements Listener<T>
 
     private void updateWindow()
     {
-        mWindow = WindowFactory.getWindow(mWindowType, mDFTSize.getSize() * 2);
+        mWindow = WindowFactory.getWindowImplementation(mWindowType, mDFTSize.getSize() * 2);
     }
 
     /**
@@ -175,10 +180,14 @@ public class ComplexDftProcessor<T extends INativeBuffer> implements Listener<T>
         try
         {
             //If this throws an IO exception, the buffer queue is (temporarily) empty and we return from the method
-            float[] samples = mDftBufferManager.get(mDFTSize.getSize());
-            WindowFactory.apply(mWindow, samples);
-            mFFT.complexForward(samples);
-            mPreviousSamples = samples;
+            mDftBufferManager.get(mSamples);
+            mWindow.apply(mSamples);
+            mFFT.complexForward(mSamples);
+
+            //Swap the reusable buffers - listeners process the dispatched results synchronously
+            float[] previous = mPreviousSamples;
+            mPreviousSamples = mSamples;
+            mSamples = previous;
         }
         catch(IOException ioe)
         {
@@ -248,6 +257,8 @@ public class ComplexDftProcessor<T extends INativeBuffer> implements Listener<T>
             mDFTSize = mNewDFTSize;
             updateWindow();
             mFFT = new FloatFFT_1D(mDFTSize.getSize());
+            mSamples = new float[mDFTSize.getSize() * 2];
+            mPreviousSamples = new float[mDFTSize.getSize() * 2];
         }
     }
 
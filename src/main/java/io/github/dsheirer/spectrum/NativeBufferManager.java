@@ -101,15 +101,29 @@ public class NativeBufferManager<T extends INativeBuffer>
      */
     public float[] get(int requestedSamples) throws IOException
     {
+        float[] samples = new float[requestedSamples * 2];
+        get(samples);
+        return samples;
+    }
+
+    /**
+     * Fills the (reusable) samples array with interleaved complex samples, where the number of complex samples
+     * requested is half of the array length.  If there are not sufficient samples in the queue to fully satisfy the
+     * request, an IOException is thrown and the samples array contents are unchanged.
+     * @param samples array to fill with interleaved complex sample pairs.
+     * @throws IOException if there are (temporarily) insufficient samples available.
+     */
+    public void get(float[] samples) throws IOException
+    {
+        int requestedSamples = samples.length / 2;
+
         //Update the producer's sample quota if it changes
         if(requestedSamples != mRequestSize)
         {
             mRequestSize = requestedSamples;
         }
 
-        List<T> drained = new ArrayList<>();
-        mTransferQueue.drainTo(drained);
-        mConsumerQueue.addAll(drained);
+        mTransferQueue.drainTo(mConsumerQueue);
 
         int count = 0;
 
@@ -123,7 +137,6 @@ public class NativeBufferManager<T extends INativeBuffer>
             throw new IOException("Insufficient samples.  Please try again later");
         }
 
-        float[] samples = new float[requestedSamples * 2];
         int samplesPointer = 0;
 
         for(T buffer: mConsumerQueue)
@@ -145,6 +158,5 @@ public class NativeBufferManager<T extends INativeBuffer>
         }
 
         mConsumerQueue.clear();
-        return samples;
     }
 }
@@ -39,8 +39,8 @@ import io.github.dsheirer.source.tuner.Tuner;
 import io.github.dsheirer.source.tuner.manager.DiscoveredTuner;
 import io.github.dsheirer.source.tuner.ui.DiscoveredTunerModel;
 import io.github.dsheirer.spectrum.OverlayPanel.ChannelDisplay;
-import io.github.dsheirer.spectrum.converter.ComplexDecibelConverter;
 import io.github.dsheirer.spectrum.converter.DFTResultsConverter;
+import io.github.dsheirer.spectrum.converter.DFTResultsConverterFactory;
 import io.github.dsheirer.spectrum.menu.AveragingItem;
 import io.github.dsheirer.spectrum.menu.DFTSizeItem;
 import io.github.dsheirer.spectrum.menu.FFTWindowTypeItem;
@@ -54,6 +54,7 @@ import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.awt.event.ComponentEvent;
 import java.awt.event.ComponentListener;
+import java.awt.event.HierarchyEvent;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseWheelEvent;
 import java.util.ArrayList;
@@ -108,6 +109,7 @@ public class SpectralDisplayPanel extends JPanel
     private SettingsManager mSettingsManager;
     private DiscoveredTunerModel mDiscoveredTunerModel;
     private Tuner mTuner;
+    private boolean mSuspended = false;
 
     /**
      * Spectral Display Panel provides a frequency component display with a
@@ -349,6 +351,14 @@ public class SpectralDisplayPanel extends JPanel
         mLayeredPanel = new JLayeredPane();
         mLayeredPanel.addComponentListener(new ResizeListener());
 
+        //Suspend DFT processing entirely while this panel is not showing
+        addHierarchyListener(event -> {
+            if((event.getChangeFlags() & HierarchyEvent.SHOWING_CHANGED) != 0)
+            {
+                updateSuspended();
+            }
+        });
+
         /**
          * Create a mouse adapter to handle mouse events over the spectrum
          * and waterfall panels
@@ -393,7 +403,7 @@ public class SpectralDisplayPanel extends JPanel
          * spectrum panel to receive the processed dft results
          */
         mComplexDftProcessor = new ComplexDftProcessor();
-        mDFTConverter = new ComplexDecibelConverter();
+        mDFTConverter = DFTResultsConverterFactory.getComplexDecibelConverter();
         mComplexDftProcessor.addConverter(mDFTConverter);
 
         mDFTConverter.addListener((DFTResultsListener)mSpectrumPanel);
@@ -426,14 +436,21 @@ public class SpectralDisplayPanel extends JPanel
 
         mComplexDftProcessor.clearBuffer();
 
-        mComplexDftProcessor.start();
-
         mTuner = tuner;
+        mSuspended = !isShowing();
+
+        if(!mSuspended)
+        {
+            mComplexDftProcessor.start();
+        }
 
         if(mTuner != null)
         {
-            //Register the dft processor to receive samples from the tuner
-            mTuner.getTunerController().addBufferListener(mComplexDftProcessor);
+            //Register the dft processor to receive samples from the tuner, unless this panel is hidden
+            if(!mSuspended)
+            {
+                mTuner.getTunerController().addBufferListener(mComplexDftProcessor);
+            }
 
             //Verify that the tuner is still non-null, in case it encountered an error on starting sample stream
             if(mTuner != null)
@@ -466,12 +483,41 @@ public class SpectralDisplayPanel extends JPanel
             mTuner = null;
         }
 
+        mSuspended = false;
         mComplexDftProcessor.stop();
         mComplexDftProcessor.clearBuffer();
         mSpectrumPanel.clearSpectrum();
         mWaterfallPanel.clearWaterfall();
     }
 
+    /**
+     * Suspends sample and DFT processing for the current tuner while this panel is not showing, and resumes processing
+     * once the panel is showing again.  While suspended, the DFT processor is deregistered from the tuner so that no
+     * sample buffers are delivered to it.
+     */
+    private void updateSuspended()
+    {
+        boolean showing = isShowing();
+
+        if(mTuner != null && mComplexDftProcessor != null)
+        {
+            if(showing && mSuspended)
+            {
+                mSuspended = false;
+                mComplexDftProcessor.clearBuffer();
+                mComplexDftProcessor.start();
+                mTuner.getTunerController().addBufferListener(mComplexDftProcessor);
+            }
+            else if(!showing && !mSuspended)
+            {
+                mSuspended = true;
+                mTuner.getTunerController().removeBufferListener(mComplexDftProcessor);
+                mComplexDftProcessor.stop();
+                mComplexDftProcessor.clearBuffer();
+            }
+        }
+    }
+
     /**
      * Currently displayed tuner
      */
@@ -23,6 +23,7 @@ import io.github.dsheirer.settings.ColorSetting.ColorSettingName;
 import io.github.dsheirer.settings.Setting;
 import io.github.dsheirer.settings.SettingChangeListener;
 import io.github.dsheirer.settings.SettingsManager;
+import io.github.dsheirer.util.SwingBatchDispatcher;
 import java.awt.Color;
 import java.awt.EventQueue;
 import java.awt.Graphics;
@@ -34,6 +35,8 @@ import java.awt.image.ColorModel;
 import java.awt.image.MemoryImageSource;
 import java.text.DecimalFormat;
 import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import org.apache.commons.math3.util.FastMath;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -52,6 +55,8 @@ public class WaterfallPanel extends JPanel implements DFTResultsListener,
     private static DecimalFormat CURSOR_FORMAT = new DecimalFormat("0.00000");
     private static final String PAUSED = "PAUSED - Right Click to Unpause";
     private static final String DISABLED = "DISABLED - Right Click to Select a Tuner";
+    private static final long ROW_FRAME_INTERVAL_MS = 40;
+    private static final int MAX_PENDING_ROWS = 100;
 
     private byte[] mPixels;
     private byte[] mPausedPixels;
@@ -71,6 +76,9 @@ public class WaterfallPanel extends JPanel implements DFTResultsListener,
     private int mDFTZoomWindowOffset = 0;
 
     private SettingsManager mSettingsManager;
+    private ConcurrentLinkedQueue<byte[]> mRecycledRows = new ConcurrentLinkedQueue<>();
+    private SwingBatchDispatcher<byte[]> mRowDispatcher = new SwingBatchDispatcher<>("Waterfall Panel",
+        ROW_FRAME_INTERVAL_MS, MAX_PENDING_ROWS, this::addRows);
 
     /**
      * Displays a scrolling window of multiple DFT frequency bin outputs over
@@ -356,7 +364,7 @@ public class WaterfallPanel extends JPanel implements DFTResultsListener,
     {
         mDisabled = false;
 
-        byte[] newPixels = new byte[update.length];
+        byte[] newPixels = getRow(update.length);
 
         /**
          * Find the average value and scale the display to it
@@ -389,9 +397,20 @@ public class WaterfallPanel extends JPanel implements DFTResultsListener,
             }
         }
 
-        //Task the swing event thread to add the new pixels to the pixel array and update the display
-        EventQueue.invokeLater(() -> {
-            if(mMemoryImageSource != null)
+        //Queue the new pixel row for coalesced addition to the pixel array on the swing event thread
+        mRowDispatcher.receive(newPixels);
+    }
+
+    /**
+     * Adds a batch of new pixel rows to the pixel array and updates the display once for the whole batch.  Note: this
+     * is invoked on the swing event thread.
+     * @param rows of new pixels, in arrival order
+     */
+    private void addRows(List<byte[]> rows)
+    {
+        if(mMemoryImageSource != null)
+        {
+            for(byte[] newPixels: rows)
             {
                 //If our FFT size changes, reset our pixel map and image source
                 if(mDFTSize != newPixels.length)
@@ -403,17 +422,48 @@ public class WaterfallPanel extends JPanel implements DFTResultsListener,
                 //Move the pixels down a row and add in the new pixels row
                 System.arraycopy(mPixels, 0, mPixels, mDFTSize, mPixels.length - mDFTSize);
                 System.arraycopy(newPixels, 0, mPixels, 0, newPixels.length);
+                recycle(newPixels);
+            }
 
-                if(mPaused)
-                {
-                    mMemoryImageSource.newPixels(mPausedPixels, mColorModel, 0, mDFTSize);
-                }
-                else
-                {
-                    mMemoryImageSource.newPixels(mPixels, mColorModel, 0, mDFTSize);
-                }
+            if(mPaused)
+            {
+                mMemoryImageSource.newPixels(mPausedPixels, mColorModel, 0, mDFTSize);
             }
-        });
+            else
+            {
+                mMemoryImageSource.newPixels(mPixels, mColorModel, 0, mDFTSize);
+            }
+        }
+    }
+
+    /**
+     * Provides a pixel row array of the requested length, reusing a recycled row when one is available.
+     * @param length of the row
+     * @return pixel row array
+     */
+    private byte[] getRow(int length)
+    {
+        byte[] row = mRecycledRows.poll();
+
+        while(row != null && row.length != length)
+        {
+            //Discard rows left over from a previous DFT size
+            row = mRecycledRows.poll();
+        }
+
+        return row != null ? row : new byte[length];
+    }
+
+    /**
+     * Returns a pixel row array to the recycle queue once its contents have been copied to the pixel array.
+     * @param row to recycle
+     */
+    private void recycle(byte[] row)
+    {
+        if(mRecycledRows.size() < MAX_PENDING_ROWS)
+        {
+            mRecycledRows.offer(row);
+        }
     }
 
     public void clearWaterfall()
@@ -75,9 +75,9 @@ public class ComplexDecibelConverter extends DFTResultsConverter
     {
 		int halfResults = results.length / 2;
 		
-//		float dftBinSizeScalor = 1.0f / (float)Math.pow( halfResults, 2.0 );
 		float dftBinSizeScalor = 1.0f / (float)halfResults;
-		
+
+		//Note: a new array is dispatched for each result set since listeners may retain the array for display
 		float[] processed = new float[ halfResults ];
 
 		int middle = processed.length / 2;
@@ -86,10 +86,8 @@ public class ComplexDecibelConverter extends DFTResultsConverter
 		{
 			//Calculate the magnitude squared (power) value from each bin's real 
 			//and imaginary value and scale it to the DFT bin size squared.
-			//Convert the scaled value to decibels.
-			float decibels = 10.0f * (float) FastMath.log10(
-				( ( results[ x ] * results[ x ] ) + 
-				  ( results[ x + 1 ] * results[ x + 1 ] ) ) * dftBinSizeScalor ); 
+			float power = ( ( results[ x ] * results[ x ] ) +
+				( results[ x + 1 ] * results[ x + 1 ] ) ) * dftBinSizeScalor;
 
 			// We have to swap the upper and lower halves of the JTransforms
 			// DFT results for correct display
@@ -98,14 +96,28 @@ public class ComplexDecibelConverter extends DFTResultsConverter
 			
 			if( index >= middle )
 			{
-				processed[ index - middle ] = decibels;
+				processed[ index - middle ] = power;
 			}
 			else
 			{
-				processed[ index + middle ] = decibels;
+				processed[ index + middle ] = power;
 			}
 		}
-		
+
+		toDecibels( processed );
+
 		dispatch( processed );
     }
+
+	/**
+	 * Converts the scaled power values to decibels, in place.
+	 * @param power values to convert
+	 */
+	protected void toDecibels( float[] power )
+	{
+		for( int x = 0; x < power.length; x++ )
+		{
+			power[ x ] = 10.0f * (float) FastMath.log10( power[ x ] );
+		}
+	}
 }
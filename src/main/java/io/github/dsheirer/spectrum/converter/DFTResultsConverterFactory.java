@@ -0,0 +1,48 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2023 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+package io.github.dsheirer.spectrum.converter;
+
+import io.github.dsheirer.vector.calibrate.CalibrationManager;
+import io.github.dsheirer.vector.calibrate.CalibrationType;
+import io.github.dsheirer.vector.calibrate.Implementation;
+
+/**
+ * Factory for creating DFT results converter implementations
+ */
+public class DFTResultsConverterFactory
+{
+    /**
+     * Creates a complex DFT results to decibels converter using calibration data to select the optimal implementation
+     * from scalar and vector options.
+     * @return converter instance
+     */
+    public static DFTResultsConverter getComplexDecibelConverter()
+    {
+        Implementation implementation = CalibrationManager.getInstance().getImplementation(CalibrationType.DECIBEL_CONVERTER);
+
+        switch(implementation)
+        {
+            case VECTOR_SIMD_PREFERRED:
+                return new VectorComplexDecibelConverter();
+            case SCALAR:
+            default:
+                return new ComplexDecibelConverter();
+        }
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2023 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+package io.github.dsheirer.spectrum.converter;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Vector SIMD implementation of the complex DFT results to decibels converter.
+ */
+public class VectorComplexDecibelConverter extends ComplexDecibelConverter
+{
+    private static final VectorSpecies<Float> VECTOR_SPECIES = FloatVector.SPECIES_PREFERRED;
+
+    /**
+     * Constructs an instance
+     */
+    public VectorComplexDecibelConverter()
+    {
+    }
+
+    @Override
+    protected void toDecibels(float[] power)
+    {
+        int x = 0;
+
+        //Converts the power values in multiples of the SIMD lane width
+        for(; x < VECTOR_SPECIES.loopBound(power.length); x += VECTOR_SPECIES.length())
+        {
+            FloatVector.fromArray(VECTOR_SPECIES, power, x)
+                    .lanewise(VectorOperators.LOG10)
+                    .mul(10.0f)
+                    .intoArray(power, x);
+        }
+
+        //Cleanup loop to convert the final indices that are not a multiple of the SIMD lane width
+        for(; x < power.length; x++)
+        {
+            power[x] = 10.0f * (float)Math.log10(power[x]);
+        }
+    }
+}
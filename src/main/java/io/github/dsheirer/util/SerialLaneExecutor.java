@@ -0,0 +1,236 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2023 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+
+package io.github.dsheirer.util;
+
+import io.github.dsheirer.controller.NamingThreadFactory;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Shared worker pool that executes tasks on serial lanes.
+ *
+ * Tasks submitted to a lane execute serially and in submission order, while separate lanes execute concurrently
+ * across the worker threads.  Each task carries a unit count (e.g. voice frames) and when the executor is constructed
+ * with a per-lane unit limit, tasks submitted to a lane that is over the limit are dropped so that a stalled lane
+ * can't consume unbounded memory.  Tasks with a zero unit count (e.g. control tasks) are never dropped.
+ */
+public class SerialLaneExecutor
+{
+    private final static Logger mLog = LoggerFactory.getLogger(SerialLaneExecutor.class);
+    private final ThreadPoolExecutor mExecutor;
+    private final String mName;
+    private final int mMaxTasksPerRun;
+    private final int mMaxPendingUnitsPerLane;
+    private final LongAdder mUnitCount = new LongAdder();
+    private final LongAdder mTaskCount = new LongAdder();
+    private final LongAdder mDroppedUnitCount = new LongAdder();
+    private final LongAdder mQueueLatencyNanos = new LongAdder();
+    private final AtomicLong mMaxQueueLatencyNanos = new AtomicLong();
+
+    /**
+     * Constructs an instance
+     * @param name for the worker threads and log messages
+     * @param threadCount number of worker threads
+     * @param maxTasksPerRun maximum tasks to execute for a lane before yielding the worker thread to other lanes
+     * @param maxPendingUnitsPerLane maximum pending units per lane, or zero for no limit
+     */
+    protected SerialLaneExecutor(String name, int threadCount, int maxTasksPerRun, int maxPendingUnitsPerLane)
+    {
+        mName = name;
+        mMaxTasksPerRun = maxTasksPerRun;
+        mMaxPendingUnitsPerLane = maxPendingUnitsPerLane;
+        mExecutor = new ThreadPoolExecutor(threadCount, threadCount, 30, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(), new NamingThreadFactory("sdrtrunk " + name));
+        mExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Creates a new serial execution lane.
+     */
+    public Lane createLane()
+    {
+        return new Lane();
+    }
+
+    /**
+     * Total number of units processed by executed tasks.
+     */
+    public long getUnitCount()
+    {
+        return mUnitCount.sum();
+    }
+
+    /**
+     * Total number of units dropped because a lane exceeded the pending unit limit.
+     */
+    public long getDroppedUnitCount()
+    {
+        return mDroppedUnitCount.sum();
+    }
+
+    /**
+     * Average latency between task submission and task execution, in milliseconds.
+     */
+    public double getAverageQueueLatency()
+    {
+        long tasks = mTaskCount.sum();
+        return tasks > 0 ? mQueueLatencyNanos.sum() / (double)tasks / 1E6 : 0.0;
+    }
+
+    /**
+     * Maximum latency between task submission and task execution, in milliseconds.
+     */
+    public double getMaxQueueLatency()
+    {
+        return mMaxQueueLatencyNanos.get() / 1E6;
+    }
+
+    /**
+     * Serial execution lane.  Tasks execute one at a time in submission order on the shared worker threads.
+     */
+    public class Lane
+    {
+        private final ConcurrentLinkedQueue<Task> mTasks = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger mPendingUnits = new AtomicInteger();
+        private final AtomicBoolean mScheduled = new AtomicBoolean();
+        private volatile Thread mExecutingThread;
+
+        private Lane()
+        {
+        }
+
+        /**
+         * Submits a task that processes the specified number of units.
+         * @param task to execute
+         * @param unitCount number of units processed by the task
+         * @return true if the task was accepted, or false if it was dropped because the lane is over the limit
+         */
+        public boolean execute(Runnable task, int unitCount)
+        {
+            if(unitCount > 0 && mMaxPendingUnitsPerLane > 0 && mPendingUnits.get() >= mMaxPendingUnitsPerLane)
+            {
+                mDroppedUnitCount.add(unitCount);
+                return false;
+            }
+
+            mPendingUnits.addAndGet(unitCount);
+            mTasks.add(new Task(task, unitCount, System.nanoTime()));
+            schedule();
+            return true;
+        }
+
+        /**
+         * Submits a task that is never dropped.
+         */
+        public void execute(Runnable task)
+        {
+            execute(task, 0);
+        }
+
+        /**
+         * Removes any pending tasks from this lane.
+         */
+        public void clear()
+        {
+            Task task = mTasks.poll();
+
+            while(task != null)
+            {
+                mPendingUnits.addAndGet(-task.unitCount());
+                task = mTasks.poll();
+            }
+        }
+
+        /**
+         * Indicates if the calling thread is currently executing a task for this lane.
+         */
+        public boolean isExecutingThread()
+        {
+            return mExecutingThread == Thread.currentThread();
+        }
+
+        /**
+         * Schedules this lane for execution if it has pending tasks and it is not already scheduled or executing.
+         */
+        private void schedule()
+        {
+            if(!mTasks.isEmpty() && mScheduled.compareAndSet(false, true))
+            {
+                mExecutor.execute(this::run);
+            }
+        }
+
+        /**
+         * Executes pending tasks, up to a maximum per run so that a busy lane doesn't starve the other lanes.
+         */
+        private void run()
+        {
+            mExecutingThread = Thread.currentThread();
+
+            try
+            {
+                int count = 0;
+                Task task;
+
+                while(count++ < mMaxTasksPerRun && (task = mTasks.poll()) != null)
+                {
+                    long latency = System.nanoTime() - task.enqueued();
+                    mQueueLatencyNanos.add(latency);
+                    mMaxQueueLatencyNanos.accumulateAndGet(latency, Math::max);
+                    mTaskCount.increment();
+
+                    try
+                    {
+                        task.runnable().run();
+                    }
+                    catch(Throwable t)
+                    {
+                        mLog.error("Error while executing " + mName + " task", t);
+                    }
+
+                    mPendingUnits.addAndGet(-task.unitCount());
+                    mUnitCount.add(task.unitCount());
+                }
+            }
+            finally
+            {
+                mExecutingThread = null;
+                mScheduled.set(false);
+                schedule();
+            }
+        }
+    }
+
+    /**
+     * Lane task
+     * @param runnable to execute
+     * @param unitCount number of units processed by the task
+     * @param enqueued timestamp in nanoseconds
+     */
+    private record Task(Runnable runnable, int unitCount, long enqueued) {}
+}
@@ -0,0 +1,178 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2023 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+package io.github.dsheirer.util;
+
+import io.github.dsheirer.sample.Listener;
+import java.awt.EventQueue;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.LinkedTransferQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Bridge for delivering elements from producer (decoder/DSP) threads to a Swing model on the event dispatch thread
+ * (EDT).  Elements are accumulated off of the EDT and delivered to the registered listener as a single batch, no more
+ * often than once per frame interval.  A new batch is not scheduled until the EDT has finished applying the previous
+ * batch, so that a busy EDT causes elements to coalesce into larger batches rather than flooding the event queue.
+ *
+ * The pending element queue is bounded.  When the UI cannot keep up and the bound is exceeded, the oldest pending
+ * elements are dropped and a periodic summary of the dropped element count is logged.
+ */
+public class SwingBatchDispatcher<E> implements Listener<E>
+{
+    private final static Logger mLog = LoggerFactory.getLogger(SwingBatchDispatcher.class);
+    public static final long DEFAULT_FRAME_INTERVAL_MS = 100;
+    public static final int DEFAULT_MAX_PENDING = 1000;
+    private static final long DROP_LOG_INTERVAL_MS = 30000;
+
+    private final LinkedTransferQueue<E> mQueue = new LinkedTransferQueue<>();
+    private final AtomicInteger mPendingCount = new AtomicInteger();
+    private final AtomicBoolean mDispatchScheduled = new AtomicBoolean();
+    private final AtomicLong mDroppedCount = new AtomicLong();
+    private final String mName;
+    private final long mFrameInterval;
+    private final int mMaxPending;
+    private final Listener<List<E>> mBatchListener;
+    private volatile long mLastDispatchTimestamp;
+    private long mLastDropLogTimestamp;
+    private long mDroppedSinceLastLog;
+
+    /**
+     * Constructs an instance
+     * @param name of the consumer for logging
+     * @param frameInterval minimum interval between batch deliveries in milliseconds
+     * @param maxPending maximum number of elements pending delivery before the oldest elements are dropped
+     * @param batchListener to receive each batch of elements on the Swing event dispatch thread
+     */
+    public SwingBatchDispatcher(String name, long frameInterval, int maxPending, Listener<List<E>> batchListener)
+    {
+        mName = name;
+        mFrameInterval = frameInterval;
+        mMaxPending = maxPending;
+        mBatchListener = batchListener;
+    }
+
+    /**
+     * Constructs an instance with the default frame interval and pending element limit.
+     * @param name of the consumer for logging
+     * @param batchListener to receive each batch of elements on the Swing event dispatch thread
+     */
+    public SwingBatchDispatcher(String name, Listener<List<E>> batchListener)
+    {
+        this(name, DEFAULT_FRAME_INTERVAL_MS, DEFAULT_MAX_PENDING, batchListener);
+    }
+
+    /**
+     * Enqueues the element for delivery in the next batch.  Safe to invoke from any thread.
+     * @param element to enqueue
+     */
+    @Override
+    public void receive(E element)
+    {
+        mQueue.add(element);
+        int pending = mPendingCount.incrementAndGet();
+
+        //Drop the oldest elements when the UI can't keep up
+        while(pending > mMaxPending && mQueue.poll() != null)
+        {
+            mDroppedCount.incrementAndGet();
+            pending = mPendingCount.decrementAndGet();
+        }
+
+        scheduleDispatch();
+    }
+
+    /**
+     * Total number of elements dropped since this dispatcher was created.
+     */
+    public long getDroppedCount()
+    {
+        return mDroppedCount.get();
+    }
+
+    /**
+     * Schedules a batch dispatch at the next frame boundary, if one is not already scheduled or in progress.
+     */
+    private void scheduleDispatch()
+    {
+        if(!mQueue.isEmpty() && mDispatchScheduled.compareAndSet(false, true))
+        {
+            long delay = Math.max(0, mLastDispatchTimestamp + mFrameInterval - System.currentTimeMillis());
+            ThreadPool.SCHEDULED.schedule(this::dispatch, delay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Drains the pending elements and delivers them to the listener as a single batch on the Swing event thread.
+     * Note: this should only be invoked on the scheduled executor thread.
+     */
+    private void dispatch()
+    {
+        List<E> batch = new ArrayList<>(mPendingCount.get());
+        int drained = mQueue.drainTo(batch);
+        mPendingCount.addAndGet(-drained);
+        logDropped();
+
+        EventQueue.invokeLater(() -> {
+            try
+            {
+                if(!batch.isEmpty())
+                {
+                    mBatchListener.receive(batch);
+                }
+            }
+            catch(Throwable t)
+            {
+                mLog.error("Error while dispatching batch of [" + batch.size() + "] elements to [" + mName + "]", t);
+            }
+
+            mLastDispatchTimestamp = System.currentTimeMillis();
+            mDispatchScheduled.set(false);
+
+            //Catch any elements that arrived after the queue was drained
+            scheduleDispatch();
+        });
+    }
+
+    /**
+     * Logs a summary of dropped elements, no more often than the drop log interval.
+     */
+    private void logDropped()
+    {
+        long dropped = mDroppedCount.get();
+
+        if(dropped > mDroppedSinceLastLog)
+        {
+            long now = System.currentTimeMillis();
+
+            if(now - mLastDropLogTimestamp > DROP_LOG_INTERVAL_MS)
+            {
+                mLog.warn("[" + mName + "] UI update rate exceeded - dropped [" + (dropped - mDroppedSinceLastLog) +
+                        "] pending updates");
+                mDroppedSinceLastLog = dropped;
+                mLastDropLogTimestamp = now;
+            }
+        }
+    }
+}
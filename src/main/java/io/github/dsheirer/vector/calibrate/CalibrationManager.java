@@ -26,6 +26,7 @@ import io.github.dsheirer.vector.calibrate.airspy.AirspySampleConverterCalibrati
 import io.github.dsheirer.vector.calibrate.airspy.AirspyUnpackedCalibration;
 import io.github.dsheirer.vector.calibrate.airspy.AirspyUnpackedInterleavedCalibration;
 import io.github.dsheirer.vector.calibrate.demodulator.FmDemodulatorCalibration;
+import io.github.dsheirer.vector.calibrate.filter.ComplexDecimationFirFilterCalibration;
 import io.github.dsheirer.vector.calibrate.filter.FirFilterCalibration;
 import io.github.dsheirer.vector.calibrate.filter.RealDcRemovalCalibration;
 import io.github.dsheirer.vector.calibrate.filter.RealHalfBand11TapFilterCalibration;
@@ -35,6 +36,7 @@ import io.github.dsheirer.vector.calibrate.filter.RealHalfBand63TapFilterCalibra
 import io.github.dsheirer.vector.calibrate.filter.RealHalfBandDefaultFilterCalibration;
 import io.github.dsheirer.vector.calibrate.gain.ComplexGainCalibration;
 import io.github.dsheirer.vector.calibrate.gain.ComplexGainControlCalibration;
+import io.github.dsheirer.vector.calibrate.magnitude.DecibelConverterCalibration;
 import io.github.dsheirer.vector.calibrate.magnitude.MagnitudeCalibration;
 import io.github.dsheirer.vector.calibrate.mixer.ComplexMixerCalibration;
 import io.github.dsheirer.vector.calibrate.oscillator.ComplexOscillatorCalibration;
@@ -101,9 +103,11 @@ public class CalibrationManager
             sInstance.add(new AirspyUnpackedInterleavedCalibration());
             sInstance.add(new AmDemodulatorCalibration());
             sInstance.add(new ComplexGainCalibration());
+            sInstance.add(new ComplexDecimationFirFilterCalibration());
             sInstance.add(new ComplexGainControlCalibration());
             sInstance.add(new ComplexOscillatorCalibration());
             sInstance.add(new ComplexMixerCalibration());
+            sInstance.add(new DecibelConverterCalibration());
             sInstance.add(new FirFilterCalibration());
             sInstance.add(new FmDemodulatorCalibration());
             sInstance.add(new MagnitudeCalibration());
@@ -116,7 +120,7 @@ public class CalibrationManager
             sInstance.add(new RealOscillatorCalibration());
 
 //            sInstance.add(new HilbertCalibration()); //Not currently used
-            sInstance.add(new WindowCalibration()); //Not currently used
+            sInstance.add(new WindowCalibration());
         }
 
         return sInstance;
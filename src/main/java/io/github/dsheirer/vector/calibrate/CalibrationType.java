@@ -37,7 +37,9 @@ public enum CalibrationType
     AIRSPY_UNPACKED_ITERATOR("Airspy Unpacked Iterator", 1),
     AM_DEMODULATOR("AM Demodulator", 1),
     DC_REMOVAL_REAL("Real DC Removal Filter", 1),
+    DECIBEL_CONVERTER("Decibel Converter", 1),
     FILTER_FIR("FIR Filter", 1),
+    FILTER_FIR_COMPLEX_DECIMATION("Complex Decimating FIR Filter", 1),
     FILTER_HALF_BAND_REAL_11_TAP("Real Half-Band Decimation Filter - 11 Tap", 1),
     FILTER_HALF_BAND_REAL_15_TAP("Real Half-Band Decimation Filter - 15 Tap", 1),
     FILTER_HALF_BAND_REAL_23_TAP("Real Half-Band Decimation Filter - 23 Tap", 1),
@@ -0,0 +1,167 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2023 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+package io.github.dsheirer.vector.calibrate.filter;
+
+import io.github.dsheirer.dsp.filter.FilterFactory;
+import io.github.dsheirer.dsp.filter.design.FilterDesignException;
+import io.github.dsheirer.dsp.filter.fir.complex.IComplexDecimationFilter;
+import io.github.dsheirer.dsp.filter.fir.complex.ScalarComplexDecimationFIRFilter;
+import io.github.dsheirer.dsp.filter.fir.complex.VectorComplexDecimationFIRFilter128Bit;
+import io.github.dsheirer.dsp.filter.fir.complex.VectorComplexDecimationFIRFilter256Bit;
+import io.github.dsheirer.dsp.filter.fir.complex.VectorComplexDecimationFIRFilter512Bit;
+import io.github.dsheirer.dsp.filter.fir.complex.VectorComplexDecimationFIRFilter64Bit;
+import io.github.dsheirer.dsp.filter.fir.complex.VectorComplexDecimationFIRFilterDefaultBit;
+import io.github.dsheirer.dsp.window.WindowType;
+import io.github.dsheirer.sample.complex.ComplexSamples;
+import io.github.dsheirer.vector.calibrate.Calibration;
+import io.github.dsheirer.vector.calibrate.CalibrationException;
+import io.github.dsheirer.vector.calibrate.CalibrationType;
+import io.github.dsheirer.vector.calibrate.Implementation;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorSpecies;
+import org.apache.commons.math3.stat.descriptive.moment.Mean;
+
+/**
+ * Calibration plugin for complex decimating FIR filters
+ */
+public class ComplexDecimationFirFilterCalibration extends Calibration
+{
+    private static final VectorSpecies<Float> VECTOR_SPECIES = FloatVector.SPECIES_PREFERRED;
+    private static final int BUFFER_SIZE = 2048;
+    private static final int DECIMATION = 2;
+    private static final int ITERATION_DURATION_MS = 1000;
+    private static final int WARMUP_ITERATIONS = 5;
+    private static final int TEST_ITERATIONS = 5;
+
+    private Map<Implementation,IComplexDecimationFilter> mFilters = new LinkedHashMap<>();
+
+    /**
+     * Constructs an instance
+     */
+    public ComplexDecimationFirFilterCalibration()
+    {
+        super(CalibrationType.FILTER_FIR_COMPLEX_DECIMATION);
+
+        try
+        {
+            float[] coefficients = FilterFactory.getSinc(0.25, 63, WindowType.BLACKMAN);
+            mFilters.put(Implementation.SCALAR, new ScalarComplexDecimationFIRFilter(coefficients, DECIMATION));
+            mFilters.put(Implementation.VECTOR_SIMD_PREFERRED,
+                    new VectorComplexDecimationFIRFilterDefaultBit(coefficients, DECIMATION));
+
+            if(VECTOR_SPECIES.length() >= 16)
+            {
+                mFilters.put(Implementation.VECTOR_SIMD_512,
+                        new VectorComplexDecimationFIRFilter512Bit(coefficients, DECIMATION));
+            }
+
+            if(VECTOR_SPECIES.length() >= 8)
+            {
+                mFilters.put(Implementation.VECTOR_SIMD_256,
+                        new VectorComplexDecimationFIRFilter256Bit(coefficients, DECIMATION));
+            }
+
+            if(VECTOR_SPECIES.length() >= 4)
+            {
+                mFilters.put(Implementation.VECTOR_SIMD_128,
+                        new VectorComplexDecimationFIRFilter128Bit(coefficients, DECIMATION));
+            }
+
+            if(VECTOR_SPECIES.length() >= 2)
+            {
+                mFilters.put(Implementation.VECTOR_SIMD_64,
+                        new VectorComplexDecimationFIRFilter64Bit(coefficients, DECIMATION));
+            }
+        }
+        catch(FilterDesignException fde)
+        {
+            mLog.error("Error creating sinc filter for complex decimating FIR filter calibration");
+        }
+    }
+
+    /**
+     * Performs calibration to determine optimal (Scalar vs Vector) operation type.
+     * @throws CalibrationException
+     */
+    @Override public void calibrate() throws CalibrationException
+    {
+        if(mFilters.isEmpty())
+        {
+            return;
+        }
+
+        ComplexSamples samples = new ComplexSamples(getFloatSamples(BUFFER_SIZE), getFloatSamples(BUFFER_SIZE), 0);
+
+        Mean mean = new Mean();
+
+        for(Map.Entry<Implementation,IComplexDecimationFilter> entry: mFilters.entrySet())
+        {
+            mean.clear();
+
+            for(int x = 0; x < WARMUP_ITERATIONS; x++)
+            {
+                mean.increment(test(entry.getValue(), samples));
+            }
+
+            mLog.info("COMPLEX DECIMATION FIR FILTER WARMUP - " + entry.getKey() + ": " +
+                    DECIMAL_FORMAT.format(mean.getResult()));
+        }
+
+        double bestScore = 0.0;
+
+        for(Map.Entry<Implementation,IComplexDecimationFilter> entry: mFilters.entrySet())
+        {
+            mean.clear();
+
+            for(int x = 0; x < TEST_ITERATIONS; x++)
+            {
+                mean.increment(test(entry.getValue(), samples));
+            }
+
+            mLog.info("COMPLEX DECIMATION FIR FILTER - " + entry.getKey() + ": " + DECIMAL_FORMAT.format(mean.getResult()));
+
+            if(mean.getResult() > bestScore)
+            {
+                bestScore = mean.getResult();
+                setImplementation(entry.getKey());
+            }
+        }
+
+        mLog.info("COMPLEX DECIMATION FIR FILTER - SET OPTIMAL IMPLEMENTATION TO: " + getImplementation());
+    }
+
+    private long test(IComplexDecimationFilter filter, ComplexSamples samples)
+    {
+        double accumulator = 0.0f;
+        long count = 0;
+
+        long start = System.currentTimeMillis();
+
+        while((System.currentTimeMillis() - start) < ITERATION_DURATION_MS)
+        {
+            ComplexSamples filtered = filter.filter(samples);
+            accumulator += filtered.i()[0];
+            count++;
+        }
+
+        return count + (long)(accumulator * 0);
+    }
+}
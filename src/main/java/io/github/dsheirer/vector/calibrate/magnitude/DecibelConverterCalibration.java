@@ -0,0 +1,119 @@
+/*
+ * *****************************************************************************
+ * Copyright (C) 2014-2023 Dennis Sheirer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ * ****************************************************************************
+ */
+package io.github.dsheirer.vector.calibrate.magnitude;
+
+import io.github.dsheirer.spectrum.converter.ComplexDecibelConverter;
+import io.github.dsheirer.spectrum.converter.DFTResultsConverter;
+import io.github.dsheirer.spectrum.converter.VectorComplexDecibelConverter;
+import io.github.dsheirer.vector.calibrate.Calibration;
+import io.github.dsheirer.vector.calibrate.CalibrationException;
+import io.github.dsheirer.vector.calibrate.CalibrationType;
+import io.github.dsheirer.vector.calibrate.Implementation;
+import org.apache.commons.math3.stat.descriptive.moment.Mean;
+
+/**
+ * Calculates the optimal (scalar vs vector) implementation for converting complex DFT results to decibels.
+ */
+public class DecibelConverterCalibration extends Calibration
+{
+    private static final int DFT_SIZE = 8192;
+    private static final int ITERATION_DURATION_MS = 1000;
+    private static final int WARMUP_ITERATIONS = 5;
+    private static final int TEST_ITERATIONS = 5;
+    private DFTResultsConverter mScalarConverter = new ComplexDecibelConverter();
+    private DFTResultsConverter mVectorConverter = new VectorComplexDecibelConverter();
+
+    /**
+     * Constructs an instance
+     */
+    public DecibelConverterCalibration()
+    {
+        super(CalibrationType.DECIBEL_CONVERTER);
+    }
+
+    @Override public void calibrate() throws CalibrationException
+    {
+        float[] results = getFloatSamples(DFT_SIZE * 2);
+
+        Mean scalarMean = new Mean();
+
+        for(int x = 0; x < WARMUP_ITERATIONS; x++)
+        {
+            scalarMean.increment(test(mScalarConverter, results));
+        }
+
+        mLog.info("DECIBEL CONVERTER WARMUP - SCALAR: " + DECIMAL_FORMAT.format(scalarMean.getResult()));
+
+        Mean vectorMean = new Mean();
+
+        for(int x = 0; x < WARMUP_ITERATIONS; x++)
+        {
+            vectorMean.increment(test(mVectorConverter, results));
+        }
+
+        mLog.info("DECIBEL CONVERTER WARMUP - VECTOR: " + DECIMAL_FORMAT.format(vectorMean.getResult()));
+
+        //Test starts ...
+        scalarMean.clear();
+
+        for(int x = 0; x < TEST_ITERATIONS; x++)
+        {
+            scalarMean.increment(test(mScalarConverter, results));
+        }
+
+        mLog.info("DECIBEL CONVERTER - SCALAR: " + DECIMAL_FORMAT.format(scalarMean.getResult()));
+
+        vectorMean.clear();
+
+        for(int x = 0; x < TEST_ITERATIONS; x++)
+        {
+            vectorMean.increment(test(mVectorConverter, results));
+        }
+
+        mLog.info("DECIBEL CONVERTER - VECTOR: " + DECIMAL_FORMAT.format(vectorMean.getResult()));
+
+        if(scalarMean.getResult() > vectorMean.getResult())
+        {
+            setImplementation(Implementation.SCALAR);
+        }
+        else
+        {
+            setImplementation(Implementation.VECTOR_SIMD_PREFERRED);
+        }
+
+        mLog.info("DECIBEL CONVERTER - OPTIMAL IMPLEMENTATION SET TO: " + getImplementation());
+    }
+
+    /**
+     * Counts the number of conversions completed by the converter within the iteration duration.
+     */
+    private long test(DFTResultsConverter converter, float[] results)
+    {
+        long start = System.currentTimeMillis();
+        long count = 0;
+
+        while((System.currentTimeMillis() - start) < ITERATION_DURATION_MS)
+        {
+            converter.receive(results);
+            count++;
+        }
+
+        return count;
+    }
+}